@@ -24,6 +24,12 @@ public class FetcherConstants {
 
     public static final String AGENT_FETCHER_INTERVAL = "agent.fetcher.interval";
     public static final int DEFAULT_AGENT_FETCHER_INTERVAL = 60;
+    // watch the task config instead of fetching it on the fixed interval
+    public static final String AGENT_FETCHER_WATCH_ENABLE = "agent.fetcher.watch.enable";
+    public static final boolean DEFAULT_AGENT_FETCHER_WATCH_ENABLE = false;
+    // the watch timeout in seconds, the manager holds the watch request at most 180 seconds
+    public static final String AGENT_FETCHER_WATCH_TIMEOUT = "agent.fetcher.watch.timeout";
+    public static final int DEFAULT_AGENT_FETCHER_WATCH_TIMEOUT = 120;
 
     public static final String AGENT_HEARTBEAT_INTERVAL = "agent.heartbeat.interval";
     public static final int DEFAULT_AGENT_HEARTBEAT_INTERVAL = 10;
@@ -40,6 +46,7 @@ public class FetcherConstants {
     public static final String AGENT_MANAGER_TASK_HTTP_PATH = "agent.manager.task.http.path";
     public static final String DEFAULT_AGENT_MANAGER_TASK_HTTP_PATH = "/agent/reportAndGetTask";
     public static final String DEFAULT_AGENT_MANAGER_CONFIG_HTTP_PATH = "/agent/getExistTaskConfig";
+    public static final String DEFAULT_AGENT_MANAGER_WATCH_CONFIG_HTTP_PATH = "/agent/watchExistTaskConfig";
 
     public static final String INSTALLER_MANAGER_CONFIG_HTTP_PATH = "installer.manager.config.http.path";
     public static final String DEFAULT_INSTALLER_MANAGER_CONFIG_HTTP_PATH = "/installer/getConfig";
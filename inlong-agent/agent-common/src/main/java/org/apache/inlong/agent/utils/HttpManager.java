@@ -73,6 +73,7 @@ public class HttpManager {
     private final String baseUrl;
     private final String secretId;
     private final String secretKey;
+    private final int timeout;
     private static boolean enableHttps;
 
     public HttpManager(AgentConfiguration conf) {
@@ -95,6 +96,7 @@ public class HttpManager {
         }
         this.secretId = secretId;
         this.secretKey = secretKey;
+        this.timeout = timeout;
     }
 
     /**
@@ -158,8 +160,30 @@ public class HttpManager {
      * @return response
      */
     public String doSentPost(String url, Object dto) {
+        return doSentPost(url, dto, (RequestConfig) null);
+    }
+
+    /**
+     * doPost with the extra wait time, such as the config watch request held by the manager
+     *
+     * @param dto content body needed to post
+     * @param extraWaitSeconds extra wait time added to the request timeout
+     * @return response
+     */
+    public String doSentPost(String url, Object dto, int extraWaitSeconds) {
+        long socketTimeoutInMs = TimeUnit.SECONDS.toMillis(timeout + extraWaitSeconds);
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) TimeUnit.SECONDS.toMillis(timeout))
+                .setSocketTimeout((int) socketTimeoutInMs).build();
+        return doSentPost(url, dto, requestConfig);
+    }
+
+    private String doSentPost(String url, Object dto, RequestConfig requestConfig) {
         try {
             HttpPost post = getHttpPost(url);
+            if (requestConfig != null) {
+                post.setConfig(requestConfig);
+            }
             Map<String, String> authHeader = getAuthHeader();
             authHeader.forEach((k, v) -> {
                 post.addHeader(k, v);
@@ -44,17 +44,23 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.inlong.agent.constant.AgentConstants.AGENT_CLUSTER_NAME;
 import static org.apache.inlong.agent.constant.AgentConstants.AGENT_UNIQ_ID;
 import static org.apache.inlong.agent.constant.AgentConstants.DEFAULT_AGENT_UNIQ_ID;
 import static org.apache.inlong.agent.constant.FetcherConstants.AGENT_FETCHER_INTERVAL;
+import static org.apache.inlong.agent.constant.FetcherConstants.AGENT_FETCHER_WATCH_ENABLE;
+import static org.apache.inlong.agent.constant.FetcherConstants.AGENT_FETCHER_WATCH_TIMEOUT;
 import static org.apache.inlong.agent.constant.FetcherConstants.AGENT_MANAGER_ADDR;
 import static org.apache.inlong.agent.constant.FetcherConstants.AGENT_MANAGER_RETURN_PARAM_DATA;
 import static org.apache.inlong.agent.constant.FetcherConstants.AGENT_MANAGER_TASK_HTTP_PATH;
 import static org.apache.inlong.agent.constant.FetcherConstants.DEFAULT_AGENT_FETCHER_INTERVAL;
+import static org.apache.inlong.agent.constant.FetcherConstants.DEFAULT_AGENT_FETCHER_WATCH_ENABLE;
+import static org.apache.inlong.agent.constant.FetcherConstants.DEFAULT_AGENT_FETCHER_WATCH_TIMEOUT;
 import static org.apache.inlong.agent.constant.FetcherConstants.DEFAULT_AGENT_MANAGER_CONFIG_HTTP_PATH;
 import static org.apache.inlong.agent.constant.FetcherConstants.DEFAULT_AGENT_MANAGER_TASK_HTTP_PATH;
+import static org.apache.inlong.agent.constant.FetcherConstants.DEFAULT_AGENT_MANAGER_WATCH_CONFIG_HTTP_PATH;
 import static org.apache.inlong.agent.plugin.fetcher.ManagerResultFormatter.getResultData;
 import static org.apache.inlong.agent.utils.AgentUtils.fetchLocalIp;
 import static org.apache.inlong.agent.utils.AgentUtils.fetchLocalUuid;
@@ -71,6 +77,9 @@ public class ManagerFetcher extends AbstractDaemon implements ProfileFetcher {
     private final String baseManagerUrl;
     private final String taskConfigUrl;
     private final String staticConfigUrl;
+    private final String watchConfigUrl;
+    private final boolean watchEnabled;
+    private final int watchTimeout;
     private final AgentConfiguration conf;
     private final String uniqId;
     private final AgentManager agentManager;
@@ -78,6 +87,8 @@ public class ManagerFetcher extends AbstractDaemon implements ProfileFetcher {
     private String localIp;
     private String uuid;
     private String clusterName;
+    // md5 of the task config submitted to the task manager
+    private String taskConfigMd5;
 
     public ManagerFetcher(AgentManager agentManager) {
         this.agentManager = agentManager;
@@ -87,6 +98,9 @@ public class ManagerFetcher extends AbstractDaemon implements ProfileFetcher {
             baseManagerUrl = httpManager.getBaseUrl();
             taskConfigUrl = buildTaskConfigUrl(baseManagerUrl);
             staticConfigUrl = buildStaticConfigUrl(baseManagerUrl);
+            watchTimeout = conf.getInt(AGENT_FETCHER_WATCH_TIMEOUT, DEFAULT_AGENT_FETCHER_WATCH_TIMEOUT);
+            watchConfigUrl = buildWatchConfigUrl(baseManagerUrl);
+            watchEnabled = conf.getBoolean(AGENT_FETCHER_WATCH_ENABLE, DEFAULT_AGENT_FETCHER_WATCH_ENABLE);
             uniqId = conf.get(AGENT_UNIQ_ID, DEFAULT_AGENT_UNIQ_ID);
             clusterName = conf.get(AGENT_CLUSTER_NAME);
         } else {
@@ -116,6 +130,16 @@ public class ManagerFetcher extends AbstractDaemon implements ProfileFetcher {
         return baseUrl + conf.get(AGENT_MANAGER_TASK_HTTP_PATH, DEFAULT_AGENT_MANAGER_CONFIG_HTTP_PATH);
     }
 
+    /**
+     * Build watch config url for manager according to config
+     *
+     * example - http://127.0.0.1:8080/inlong/manager/openapi/agent/watchExistTaskConfig?timeoutMs=120000
+     */
+    private String buildWatchConfigUrl(String baseUrl) {
+        return baseUrl + DEFAULT_AGENT_MANAGER_WATCH_CONFIG_HTTP_PATH + "?timeoutMs="
+                + TimeUnit.SECONDS.toMillis(watchTimeout);
+    }
+
     /**
      * Request manager to get commands, make sure it is not throwing exceptions
      */
@@ -139,8 +163,17 @@ public class ManagerFetcher extends AbstractDaemon implements ProfileFetcher {
      */
     public TaskResult getStaticConfig() {
         LOGGER.info("Get static config start");
-        String resultStr = httpManager.doSentPost(staticConfigUrl, getFetchRequest(null));
-        LOGGER.info("Url to get static config staticConfigUrl {}", staticConfigUrl);
+        String resultStr;
+        if (watchEnabled) {
+            // held by the manager until the task config changed or the watch timeout
+            TaskRequest request = getFetchRequest(null);
+            request.setMd5(taskConfigMd5);
+            resultStr = httpManager.doSentPost(watchConfigUrl, request, watchTimeout);
+            LOGGER.info("Url to watch static config watchConfigUrl {}", watchConfigUrl);
+        } else {
+            resultStr = httpManager.doSentPost(staticConfigUrl, getFetchRequest(null));
+            LOGGER.info("Url to get static config staticConfigUrl {}", staticConfigUrl);
+        }
         JsonObject resultData = getResultData(resultStr);
         JsonElement element = resultData.get(AGENT_MANAGER_RETURN_PARAM_DATA);
         LOGGER.info("Get static config  end");
@@ -175,6 +208,7 @@ public class ManagerFetcher extends AbstractDaemon implements ProfileFetcher {
         return () -> {
             Thread.currentThread().setName("ManagerFetcher");
             while (isRunnable()) {
+                boolean watched = false;
                 try {
                     TaskResult taskResult = getStaticConfig();
                     if (taskResult != null) {
@@ -184,13 +218,20 @@ public class ManagerFetcher extends AbstractDaemon implements ProfileFetcher {
                             taskProfiles.add(profile);
                         });
                         agentManager.getTaskManager().submitTaskProfiles(taskProfiles);
+                        taskConfigMd5 = taskResult.getMd5();
+                        watched = watchEnabled;
                     }
                 } catch (Throwable ex) {
                     LOGGER.warn("exception caught", ex);
                     ThreadUtils.threadThrowableHandler(Thread.currentThread(), ex);
                 } finally {
-                    AgentUtils.silenceSleepInSeconds(AgentUtils.getRandomBySeed(
-                            conf.getInt(AGENT_FETCHER_INTERVAL, DEFAULT_AGENT_FETCHER_INTERVAL)));
+                    // the watch request has waited for the changes, no need to wait for the interval
+                    if (watched) {
+                        AgentUtils.silenceSleepInSeconds(1);
+                    } else {
+                        AgentUtils.silenceSleepInSeconds(AgentUtils.getRandomBySeed(
+                                conf.getInt(AGENT_FETCHER_INTERVAL, DEFAULT_AGENT_FETCHER_INTERVAL)));
+                    }
                 }
             }
         };
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.protocol;
+
+import org.apache.inlong.audit.protocol.AuditApi.AuditMessageBatch;
+import org.apache.inlong.audit.protocol.AuditApi.AuditMessageBody;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Audit batch codec, converts between the audit message bodies and the columnar audit message batch.
+ */
+public class AuditBatchCodec {
+
+    /**
+     * Encode the bodies into a batch, the bodies are best sorted by log timestamp to get small deltas
+     *
+     * @param bodies
+     * @return
+     */
+    public static AuditMessageBatch encode(Collection<AuditMessageBody> bodies) {
+        AuditMessageBatch.Builder builder = AuditMessageBatch.newBuilder();
+        Map<String, Integer> dictionary = new HashMap<>();
+        long lastLogTs = 0;
+        for (AuditMessageBody body : bodies) {
+            builder.addLogTsDelta(body.getLogTs() - lastLogTs);
+            lastLogTs = body.getLogTs();
+            builder.addInlongGroupId(getIndex(builder, dictionary, body.getInlongGroupId()));
+            builder.addInlongStreamId(getIndex(builder, dictionary, body.getInlongStreamId()));
+            builder.addAuditId(getIndex(builder, dictionary, body.getAuditId()));
+            builder.addAuditTag(getIndex(builder, dictionary, body.getAuditTag()));
+            builder.addCount(body.getCount());
+            builder.addSize(body.getSize());
+            builder.addDelay(body.getDelay());
+            builder.addAuditVersion(body.getAuditVersion());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Decode the batch into bodies
+     *
+     * @param batch
+     * @return
+     * @throws IllegalArgumentException if the columns of the batch are not aligned, or an index is out of the
+     *         dictionary
+     */
+    public static List<AuditMessageBody> decode(AuditMessageBatch batch) {
+        int size = batch.getLogTsDeltaCount();
+        if (batch.getInlongGroupIdCount() != size || batch.getInlongStreamIdCount() != size
+                || batch.getAuditIdCount() != size || batch.getAuditTagCount() != size
+                || batch.getCountCount() != size || batch.getSizeCount() != size
+                || batch.getDelayCount() != size || batch.getAuditVersionCount() != size) {
+            throw new IllegalArgumentException("columns of audit message batch are not aligned");
+        }
+        List<AuditMessageBody> bodies = new ArrayList<>(size);
+        long logTs = 0;
+        for (int i = 0; i < size; i++) {
+            logTs += batch.getLogTsDelta(i);
+            bodies.add(AuditMessageBody.newBuilder()
+                    .setLogTs(logTs)
+                    .setInlongGroupId(getValue(batch, batch.getInlongGroupId(i)))
+                    .setInlongStreamId(getValue(batch, batch.getInlongStreamId(i)))
+                    .setAuditId(getValue(batch, batch.getAuditId(i)))
+                    .setAuditTag(getValue(batch, batch.getAuditTag(i)))
+                    .setCount(batch.getCount(i))
+                    .setSize(batch.getSize(i))
+                    .setDelay(batch.getDelay(i))
+                    .setAuditVersion(batch.getAuditVersion(i))
+                    .build());
+        }
+        return bodies;
+    }
+
+    private static String getValue(AuditMessageBatch batch, int index) {
+        // the index is an uint32 on the wire, so it may be negative here
+        if (index < 0 || index >= batch.getDictionaryCount()) {
+            throw new IllegalArgumentException("index " + Integer.toUnsignedString(index)
+                    + " is out of the dictionary of size " + batch.getDictionaryCount());
+        }
+        return batch.getDictionary(index);
+    }
+
+    private static int getIndex(AuditMessageBatch.Builder builder, Map<String, Integer> dictionary, String value) {
+        return dictionary.computeIfAbsent(value, k -> {
+            builder.addDictionary(k);
+            return builder.getDictionaryCount() - 1;
+        });
+    }
+}
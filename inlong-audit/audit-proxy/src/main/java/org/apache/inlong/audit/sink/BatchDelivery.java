@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.sink;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.flume.Channel;
+import org.apache.flume.Event;
+import org.apache.flume.Sink.Status;
+import org.apache.flume.Transaction;
+import org.apache.flume.instrumentation.SinkCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Batch delivery of a sink.
+ *
+ * Takes up to channelBatchSize events in one channel transaction, hands them to the MQ client asynchronously, and
+ * commits the transaction only after the MQ has acknowledged all of them. Otherwise the batch is rolled back and
+ * taken again later. The in-flight permits are shared by all the batches of the sink.
+ */
+public class BatchDelivery {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchDelivery.class);
+
+    private final String sinkName;
+    private final String mqName;
+    private final int channelBatchSize;
+    private final long sendTimeoutMs;
+    private final Semaphore inFlightPermits;
+    private final RateLimiter diskRateLimiter;
+    private final SinkCounter sinkCounter;
+
+    /**
+     * Sends one event asynchronously to the MQ.
+     */
+    public interface EventSender {
+
+        /**
+         * Send the event, the send callback must report the result to the batch of the event stat.
+         *
+         * @return false if the event can not be sent now, then the batch is rolled back
+         */
+        boolean send(Event event, EventStat eventStat) throws Exception;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param sinkName name of the sink, for log
+     * @param mqName name of the MQ, for log
+     * @param channelBatchSize max events of one transaction, must not exceed the transactionCapacity of the channel
+     * @param maxInFlight max events sent to the MQ and not acknowledged yet
+     * @param sendTimeoutMs max time of one batch, from taking the events to the last acknowledgement
+     * @param diskRateLimiter limiter of the bytes taken from the channel, may be null
+     * @param sinkCounter counter of the sink
+     */
+    public BatchDelivery(String sinkName, String mqName, int channelBatchSize, int maxInFlight, long sendTimeoutMs,
+            RateLimiter diskRateLimiter, SinkCounter sinkCounter) {
+        this.sinkName = sinkName;
+        this.mqName = mqName;
+        this.channelBatchSize = channelBatchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.inFlightPermits = new Semaphore(maxInFlight);
+        this.diskRateLimiter = diskRateLimiter;
+        this.sinkCounter = sinkCounter;
+    }
+
+    /**
+     * Deliver one batch of the channel.
+     *
+     * @param channel
+     * @param sender
+     * @return BACKOFF if the channel is empty or the batch is rolled back, otherwise READY
+     */
+    public Status process(Channel channel, EventSender sender) {
+        Status status = Status.READY;
+        Transaction tx = channel.getTransaction();
+        tx.begin();
+        try {
+            List<Event> events = takeEvents(channel);
+            if (events.isEmpty()) {
+                tx.commit();
+                return Status.BACKOFF;
+            }
+            SendBatch batch = new SendBatch(inFlightPermits, events.size(), sendTimeoutMs);
+            for (Event event : events) {
+                if (!batch.tryStartSend()) {
+                    break;
+                }
+                sinkCounter.incrementEventDrainAttemptCount();
+                boolean sent = false;
+                try {
+                    sent = sender.send(event, new EventStat(event, batch));
+                } finally {
+                    if (!sent) {
+                        batch.onSendFailure();
+                    }
+                }
+                if (!sent) {
+                    break;
+                }
+            }
+            // give up the events not sent yet, they are rolled back with the batch
+            batch.abort();
+            if (batch.await()) {
+                tx.commit();
+            } else {
+                logger.warn("[{}] {} of {} events are not sent to {} in {} ms, rollback the batch. Check if "
+                        + "{} server or network is ok.", sinkName, batch.getFailedCount(), batch.getSize(),
+                        mqName, batch.getElapsedMs(), mqName);
+                tx.rollback();
+                status = Status.BACKOFF;
+            }
+        } catch (Throwable t) {
+            logger.error("Process event failed! {}", sinkName, t);
+            try {
+                tx.rollback();
+            } catch (Throwable e) {
+                logger.error("{} transaction rollback exception", sinkName, e);
+            }
+            status = Status.BACKOFF;
+        } finally {
+            tx.close();
+        }
+        return status;
+    }
+
+    public int getAvailablePermits() {
+        return inFlightPermits.availablePermits();
+    }
+
+    private List<Event> takeEvents(Channel channel) {
+        List<Event> events = new ArrayList<>(channelBatchSize);
+        while (events.size() < channelBatchSize) {
+            Event event = channel.take();
+            if (event == null) {
+                break;
+            }
+            if (diskRateLimiter != null) {
+                diskRateLimiter.acquire(event.getBody().length);
+            }
+            events.add(event);
+        }
+        return events;
+    }
+}
@@ -27,12 +27,19 @@ public class EventStat {
 
     private Event event;
     private int myRetryCnt;
+    private SendBatch batch;
 
     public EventStat(Event event) {
         this.event = event;
         this.myRetryCnt = 0;
     }
 
+    public EventStat(Event event, SendBatch batch) {
+        this.event = event;
+        this.myRetryCnt = 0;
+        this.batch = batch;
+    }
+
     public EventStat(Event event, int retryCnt) {
         this.event = event;
         this.myRetryCnt = retryCnt;
@@ -49,5 +56,6 @@ public class EventStat {
     public void reset() {
         this.event = null;
         this.myRetryCnt = 0;
+        this.batch = null;
     }
 }
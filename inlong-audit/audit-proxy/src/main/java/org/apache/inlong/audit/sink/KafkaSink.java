@@ -19,7 +19,6 @@ package org.apache.inlong.audit.sink;
 
 import org.apache.inlong.audit.base.HighPriorityThreadFactory;
 import org.apache.inlong.audit.file.ConfigManager;
-import org.apache.inlong.audit.utils.FailoverChannelProcessorHolder;
 import org.apache.inlong.common.constant.MQType;
 import org.apache.inlong.common.pojo.audit.MQInfo;
 import org.apache.inlong.common.util.NetworkUtils;
@@ -27,10 +26,8 @@ import org.apache.inlong.common.util.NetworkUtils;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.flume.Channel;
 import org.apache.flume.Context;
 import org.apache.flume.Event;
-import org.apache.flume.Transaction;
 import org.apache.flume.conf.Configurable;
 import org.apache.flume.instrumentation.SinkCounter;
 import org.apache.flume.sink.AbstractSink;
@@ -40,13 +37,13 @@ import org.apache.kafka.clients.admin.DescribeClusterResult;
 import org.apache.kafka.clients.admin.ListTopicsResult;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.Node;
 import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
-import org.apache.pulsar.client.api.PulsarClientException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,7 +56,6 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -92,8 +88,8 @@ public class KafkaSink extends AbstractSink implements Configurable {
     private static ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(1,
             new HighPriorityThreadFactory("kafkaPerformance-Printer-thread"));
 
-    private KafkaProducer<String, byte[]> producer;
-    public Map<String, KafkaProducer<String, byte[]>> producerMap;
+    private Producer<String, byte[]> producer;
+    public Map<String, Producer<String, byte[]>> producerMap;
     private SinkCounter sinkCounter;
     private String topic;
 
@@ -102,16 +98,16 @@ public class KafkaSink extends AbstractSink implements Configurable {
     private static final int DEFAULT_TOPIC_REPLICATIONS = 2;
     private static final int DEFAULT_TOPIC_PARTITIONS = 3;
 
-    private volatile boolean canSend = false;
     private volatile boolean canTake = false;
-    private int threadNum;
-    private Thread[] sinkThreadPool;
 
-    private static final int BAD_EVENT_QUEUE_SIZE = 10000;
-    private static final int EVENT_QUEUE_SIZE = 1000;
     private static final int DEFAULT_LOG_EVERY_N_EVENTS = 100000;
-    private LinkedBlockingQueue<EventStat> resendQueue;
-    private LinkedBlockingQueue<Event> eventQueue;
+    // must not exceed the transactionCapacity of the channel
+    private static final int DEFAULT_CHANNEL_BATCH_SIZE = 100;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 10000;
+    private static final int DEFAULT_SEND_TIMEOUT_MS = 30000;
+
+    // for batch delivery
+    private BatchDelivery batchDelivery;
 
     // for log
     private Integer logEveryNEvents;
@@ -121,7 +117,9 @@ public class KafkaSink extends AbstractSink implements Configurable {
     // properties for stat
     private static final String LOG_EVERY_N_EVENTS = "log_every_n_events";
     private static final String DISK_IO_RATE_PER_SEC = "disk_io_rate_per_sec";
-    private static final String SINK_THREAD_NUM = "thread-num";
+    private static final String CHANNEL_BATCH_SIZE = "channel_batch_size";
+    private static final String MAX_IN_FLIGHT = "max_in_flight";
+    private static final String SEND_TIMEOUT_MS = "send_timeout_ms";
 
     // for stas
     private AtomicLong currentSuccessSendCnt = new AtomicLong(0);
@@ -131,8 +129,6 @@ public class KafkaSink extends AbstractSink implements Configurable {
     private static AtomicLong totalKafkaSuccSendCnt = new AtomicLong(0);
     private static AtomicLong totalKafkaSuccSendSize = new AtomicLong(0);
 
-    private boolean overflow = false;
-
     private String localIp = "127.0.0.1";
 
     static {
@@ -154,16 +150,10 @@ public class KafkaSink extends AbstractSink implements Configurable {
 
         sinkCounter.start();
         super.start();
-        this.canSend = true;
         this.canTake = true;
 
         // init topic producer
         initTopicProducer(topic);
-
-        for (int i = 0; i < sinkThreadPool.length; i++) {
-            sinkThreadPool[i] = new Thread(new SinkTask(), getName() + "_tube_sink_sender-" + i);
-            sinkThreadPool[i].start();
-        }
         logger.debug("kafka sink started");
     }
 
@@ -172,25 +162,6 @@ public class KafkaSink extends AbstractSink implements Configurable {
         logger.info("kafka sink stopping");
         // stop connection
         this.canTake = false;
-        int waitCount = 0;
-        while (eventQueue.size() != 0 && waitCount++ < 10) {
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                logger.info("Stop thread has been interrupt!");
-                break;
-            }
-        }
-        this.canSend = false;
-
-        if (sinkThreadPool != null) {
-            for (Thread thread : sinkThreadPool) {
-                if (thread != null) {
-                    thread.interrupt();
-                }
-            }
-            sinkThreadPool = null;
-        }
         super.stop();
         if (!scheduledExecutorService.isShutdown()) {
             scheduledExecutorService.shutdown();
@@ -199,46 +170,16 @@ public class KafkaSink extends AbstractSink implements Configurable {
         logger.debug("kafka sink stopped. Metrics:{}", sinkCounter);
     }
 
+    /**
+     * Deliver one batch of the channel, the transaction is committed only after Kafka has acknowledged all the
+     * events of the batch.
+     */
     @Override
     public Status process() {
-        logger.info("kafka sink processing");
         if (!this.canTake) {
             return Status.BACKOFF;
         }
-
-        Status status = Status.READY;
-        Channel channel = getChannel();
-        Transaction tx = channel.getTransaction();
-        tx.begin();
-        try {
-            Event event = channel.take();
-            if (event != null) {
-                if (diskRateLimiter != null) {
-                    diskRateLimiter.acquire(event.getBody().length);
-                }
-                if (!eventQueue.offer(event, 3 * 1000, TimeUnit.MILLISECONDS)) {
-                    logger.info("[{}] Channel --> Queue(not enough space, current code point) "
-                            + "--> Kafka, check if Kafka server or network is ok. (If this situation "
-                            + "last long time it will cause memoryChannel full and fileChannel write.)", getName());
-                    tx.rollback();
-                } else {
-                    tx.commit();
-                }
-            } else {
-                status = Status.BACKOFF;
-                tx.commit();
-            }
-        } catch (Throwable t) {
-            logger.error("Process event failed!" + this.getName(), t);
-            try {
-                tx.rollback();
-            } catch (Throwable e) {
-                logger.error("Kafka Sink transaction rollback exception = {}", e);
-            }
-        } finally {
-            tx.close();
-        }
-        return status;
+        return batchDelivery.process(getChannel(), (event, eventStat) -> sendMessage(event, topic, eventStat));
     }
 
     @Override
@@ -258,13 +199,12 @@ public class KafkaSink extends AbstractSink implements Configurable {
         logger.debug(this.getName() + " " + LOG_EVERY_N_EVENTS + " " + logEveryNEvents);
         Preconditions.checkArgument(logEveryNEvents > 0, "logEveryNEvents must be > 0");
 
-        resendQueue = new LinkedBlockingQueue<>(BAD_EVENT_QUEUE_SIZE);
-
-        String sinkThreadNum = context.getString(SINK_THREAD_NUM, "4");
-        threadNum = Integer.parseInt(sinkThreadNum);
-        Preconditions.checkArgument(threadNum > 0, "threadNum must be > 0");
-        sinkThreadPool = new Thread[threadNum];
-        eventQueue = new LinkedBlockingQueue<>(EVENT_QUEUE_SIZE);
+        int channelBatchSize = context.getInteger(CHANNEL_BATCH_SIZE, DEFAULT_CHANNEL_BATCH_SIZE);
+        Preconditions.checkArgument(channelBatchSize > 0, "channelBatchSize must be > 0");
+        int maxInFlight = context.getInteger(MAX_IN_FLIGHT, DEFAULT_MAX_IN_FLIGHT);
+        Preconditions.checkArgument(maxInFlight > 0, "maxInFlight must be > 0");
+        int sendTimeoutMs = context.getInteger(SEND_TIMEOUT_MS, DEFAULT_SEND_TIMEOUT_MS);
+        Preconditions.checkArgument(sendTimeoutMs > 0, "sendTimeoutMs must be > 0");
 
         diskIORatePerSec = context.getLong(DISK_IO_RATE_PER_SEC, 0L);
         if (diskIORatePerSec != 0) {
@@ -275,6 +215,9 @@ public class KafkaSink extends AbstractSink implements Configurable {
             sinkCounter = new SinkCounter(getName());
         }
 
+        batchDelivery = new BatchDelivery(getName(), "Kafka", channelBatchSize, maxInFlight, sendTimeoutMs,
+                diskRateLimiter, sinkCounter);
+
         localIp = NetworkUtils.getLocalIp();
 
         properties = new Properties();
@@ -347,7 +290,7 @@ public class KafkaSink extends AbstractSink implements Configurable {
         }
     }
 
-    private KafkaProducer<String, byte[]> getProducer(String topic) {
+    private Producer<String, byte[]> getProducer(String topic) {
         if (!producerMap.containsKey(topic)) {
             synchronized (this) {
                 if (!producerMap.containsKey(topic)) {
@@ -403,103 +346,25 @@ public class KafkaSink extends AbstractSink implements Configurable {
         }
     }
 
-    private void resendEvent(EventStat es, boolean isDecrement) {
-        try {
-            if (es == null || es.getEvent() == null) {
-                return;
-            }
-            if (!resendQueue.offer(es)) {
-                FailoverChannelProcessorHolder.getChannelProcessor().processEvent(es.getEvent());
-            }
-        } catch (Throwable throwable) {
-            logger.error("resendEvent e = {}", throwable);
-        }
-    }
-
-    class SinkTask implements Runnable {
-
-        @Override
-        public void run() {
-            logger.info("Sink task {} started.", Thread.currentThread().getName());
-            while (canSend) {
-                boolean decrementFlag = false;
-                Event event = null;
-                EventStat eventStat = null;
-                try {
-                    if (KafkaSink.this.overflow) {
-                        KafkaSink.this.overflow = false;
-                        Thread.sleep(10);
-                    }
-                    if (!resendQueue.isEmpty()) {
-                        // Send the data in the retry queue first
-                        eventStat = resendQueue.poll();
-                        if (eventStat != null) {
-                            event = eventStat.getEvent();
-                        }
-                    } else {
-                        event = eventQueue.take();
-                        eventStat = new EventStat(event);
-                        sinkCounter.incrementEventDrainAttemptCount();
-                    }
-
-                    if (event == null || StringUtils.isBlank(topic)) {
-                        logger.warn("event is null or no topic specified in event header, just skip");
-                        continue;
-                    }
-
-                    final EventStat es = eventStat;
-                    boolean sendResult = sendMessage(event, topic, es);
-                    if (!sendResult) {
-                        continue;
-                    }
-
-                    decrementFlag = true;
-                } catch (InterruptedException e) {
-                    logger.info("Thread {} has been interrupted!", Thread.currentThread().getName());
-                    return;
-                } catch (Throwable t) {
-                    if (t instanceof PulsarClientException) {
-                        String message = t.getMessage();
-                        if (message != null && (message.contains("No available queue for topic")
-                                || message.contains("The brokers of topic are all forbidden"))) {
-                            logger.info("IllegalTopicMap.put " + topic);
-                            continue;
-                        } else {
-                            try {
-                                Thread.sleep(100);
-                            } catch (InterruptedException e) {
-                                // ignore..
-                            }
-                        }
-                    }
-                    resendEvent(eventStat, decrementFlag);
-                }
-            }
+    private boolean sendMessage(Event event, String topic, EventStat es) {
+        Producer<String, byte[]> producer = getProducer(topic);
+        if (producer == null) {
+            logger.error("Get producer is null, topic:{}", topic);
+            return false;
         }
 
-        private boolean sendMessage(Event event, String topic, EventStat es) {
-            KafkaProducer<String, byte[]> producer = getProducer(topic);
-            if (producer == null) {
-                logger.error("Get producer is null, topic:{}", topic);
-                return false;
+        logger.debug("producer start to send msg...");
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, event.getBody());
+        producer.send(record, (recordMetadata, e) -> {
+            if (e == null) {
+                handleMessageSendSuccess(es);
+                es.getBatch().onSendSuccess();
+            } else {
+                logger.warn("Send message failed, error message: {}, event:{}",
+                        e.getMessage(), es.getEvent().hashCode());
+                es.getBatch().onSendFailure();
             }
-
-            logger.debug("producer start to send msg...");
-            ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, event.getBody());
-            producer.send(record, (recordMetadata, e) -> {
-
-                if (e == null) {
-                    handleMessageSendSuccess(es);
-                    return;
-                } else {
-                    logger.warn("Send message failed, error message: {}, resendQueue size: {}, event:{}",
-                            e.getMessage(), resendQueue.size(), es.getEvent().hashCode());
-                }
-
-                es.incRetryCnt();
-                resendEvent(es, true);
-            });
-            return true;
-        }
+        });
+        return true;
     }
 }
@@ -21,29 +21,21 @@ import org.apache.inlong.audit.base.HighPriorityThreadFactory;
 import org.apache.inlong.audit.sink.pulsar.CreatePulsarClientCallBack;
 import org.apache.inlong.audit.sink.pulsar.PulsarClientService;
 import org.apache.inlong.audit.sink.pulsar.SendMessageCallBack;
-import org.apache.inlong.audit.utils.FailoverChannelProcessorHolder;
 
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.RateLimiter;
-import io.netty.handler.codec.TooLongFrameException;
-import org.apache.flume.Channel;
 import org.apache.flume.Context;
-import org.apache.flume.Event;
 import org.apache.flume.EventDeliveryException;
-import org.apache.flume.Transaction;
 import org.apache.flume.conf.Configurable;
 import org.apache.flume.instrumentation.SinkCounter;
 import org.apache.flume.sink.AbstractSink;
-import org.apache.pulsar.client.api.PulsarClientException;
 import org.apache.pulsar.client.api.PulsarClientException.AlreadyClosedException;
 import org.apache.pulsar.client.api.PulsarClientException.NotConnectedException;
-import org.apache.pulsar.client.api.PulsarClientException.ProducerQueueIsFullError;
 import org.apache.pulsar.client.api.PulsarClientException.TopicTerminatedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -69,9 +61,11 @@ public class PulsarSink extends AbstractSink
     /*
      * default value
      */
-    private static int BAD_EVENT_QUEUE_SIZE = 10000;
-    private static int BATCH_SIZE = 10000;
     private static final int DEFAULT_LOG_EVERY_N_EVENTS = 100000;
+    // must not exceed the transactionCapacity of the channel
+    private static final int DEFAULT_CHANNEL_BATCH_SIZE = 100;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 10000;
+    private static final int DEFAULT_SEND_TIMEOUT_MS = 30 * 1000;
 
     /*
      * properties for stat
@@ -80,7 +74,11 @@ public class PulsarSink extends AbstractSink
 
     private static String DISK_IO_RATE_PER_SEC = "disk_io_rate_per_sec";
 
-    private static final String SINK_THREAD_NUM = "thread_num";
+    private static final String CHANNEL_BATCH_SIZE = "channel_batch_size";
+
+    private static final String MAX_IN_FLIGHT = "max_in_flight";
+
+    private static final String SEND_TIMEOUT_MS = "send_timeout_ms";
 
     /*
      * for log
@@ -105,36 +103,15 @@ public class PulsarSink extends AbstractSink
     private static AtomicLong totalPulsarSuccSendCnt = new AtomicLong(0);
 
     private static AtomicLong totalPulsarSuccSendSize = new AtomicLong(0);
-    /*
-     * for control
-     */
-    private boolean overflow = false;
-
-    private LinkedBlockingQueue<EventStat> resendQueue;
-
-    private long logCounter = 0;
-
-    private final AtomicLong currentInFlightCount = new AtomicLong(0);
-
-    /*
-     * whether the SendTask thread can send data to pulsar
-     */
-    private volatile boolean canSend = false;
-
     /*
      * Control whether the SinkRunner thread can read data from the Channel
      */
     private volatile boolean canTake = false;
 
-    private static int EVENT_QUEUE_SIZE = 1000;
-
-    private int threadNum;
-
     /*
-     * send thread pool
+     * for batch delivery, it bounds the messages in flight to pulsar
      */
-    private Thread[] sinkThreadPool;
-    private LinkedBlockingQueue<Event> eventQueue;
+    private BatchDelivery batchDelivery;
 
     private SinkCounter sinkCounter;
 
@@ -180,13 +157,12 @@ public class PulsarSink extends AbstractSink
         logger.debug(this.getName() + " " + LOG_EVERY_N_EVENTS + " " + logEveryNEvents);
         Preconditions.checkArgument(logEveryNEvents > 0, "logEveryNEvents must be > 0");
 
-        resendQueue = new LinkedBlockingQueue<EventStat>(BAD_EVENT_QUEUE_SIZE);
-
-        String sinkThreadNum = context.getString(SINK_THREAD_NUM, "4");
-        threadNum = Integer.parseInt(sinkThreadNum);
-        Preconditions.checkArgument(threadNum > 0, "threadNum must be > 0");
-        sinkThreadPool = new Thread[threadNum];
-        eventQueue = new LinkedBlockingQueue<Event>(EVENT_QUEUE_SIZE);
+        int channelBatchSize = context.getInteger(CHANNEL_BATCH_SIZE, DEFAULT_CHANNEL_BATCH_SIZE);
+        Preconditions.checkArgument(channelBatchSize > 0, "channelBatchSize must be > 0");
+        int maxInFlight = context.getInteger(MAX_IN_FLIGHT, DEFAULT_MAX_IN_FLIGHT);
+        Preconditions.checkArgument(maxInFlight > 0, "maxInFlight must be > 0");
+        int sendTimeoutMs = context.getInteger(SEND_TIMEOUT_MS, DEFAULT_SEND_TIMEOUT_MS);
+        Preconditions.checkArgument(sendTimeoutMs > 0, "sendTimeoutMs must be > 0");
 
         diskIORatePerSec = context.getLong(DISK_IO_RATE_PER_SEC, 0L);
         if (diskIORatePerSec != 0) {
@@ -196,6 +172,9 @@ public class PulsarSink extends AbstractSink
         if (sinkCounter == null) {
             sinkCounter = new SinkCounter(getName());
         }
+
+        batchDelivery = new BatchDelivery(getName(), "pulsar", channelBatchSize, maxInFlight, sendTimeoutMs,
+                diskRateLimiter, sinkCounter);
     }
 
     private void initTopic() throws Exception {
@@ -215,20 +194,12 @@ public class PulsarSink extends AbstractSink
         pulsarClientService.initCreateConnection(this);
 
         super.start();
-        this.canSend = true;
         this.canTake = true;
         try {
             initTopic();
         } catch (Exception e) {
             logger.info("meta sink start publish topic fail.", e);
         }
-
-        for (int i = 0; i < sinkThreadPool.length; i++) {
-            sinkThreadPool[i] = new Thread(new SinkTask(), getName()
-                    + "_pulsar_sink_sender-"
-                    + i);
-            sinkThreadPool[i].start();
-        }
         logger.debug("meta sink started");
     }
 
@@ -237,25 +208,6 @@ public class PulsarSink extends AbstractSink
         logger.info("pulsar sink stopping");
         pulsarClientService.close();
         this.canTake = false;
-        int waitCount = 0;
-        while (eventQueue.size() != 0 && waitCount++ < 10) {
-            try {
-                Thread.currentThread().sleep(1000);
-            } catch (InterruptedException e) {
-                logger.info("Stop thread has been interrupt!");
-                break;
-            }
-        }
-        this.canSend = false;
-
-        if (sinkThreadPool != null) {
-            for (Thread thread : sinkThreadPool) {
-                if (thread != null) {
-                    thread.interrupt();
-                }
-            }
-            sinkThreadPool = null;
-        }
         super.stop();
         if (!scheduledExecutorService.isShutdown()) {
             scheduledExecutorService.shutdown();
@@ -264,45 +216,17 @@ public class PulsarSink extends AbstractSink
         logger.debug("pulsar sink stopped. Metrics:{}", sinkCounter);
     }
 
+    /**
+     * Deliver one batch of the channel, the transaction is committed only after pulsar has acknowledged all the
+     * events of the batch.
+     */
     @Override
     public Status process() throws EventDeliveryException {
         if (!this.canTake) {
             return Status.BACKOFF;
         }
-
-        Status status = Status.READY;
-        Channel channel = getChannel();
-        Transaction tx = channel.getTransaction();
-        tx.begin();
-        try {
-            Event event = channel.take();
-            if (event != null) {
-                if (diskRateLimiter != null) {
-                    diskRateLimiter.acquire(event.getBody().length);
-                }
-                if (!eventQueue.offer(event, 3 * 1000, TimeUnit.MILLISECONDS)) {
-                    logger.info("[{}] Channel --> Queue(has no enough space,current code point) "
-                            + "--> pulsar,Check if pulsar server or network is ok.(if this situation "
-                            + "last long time it will cause memoryChannel full and fileChannel write.)", getName());
-                    tx.rollback();
-                } else {
-                    tx.commit();
-                }
-            } else {
-                status = Status.BACKOFF;
-                tx.commit();
-            }
-        } catch (Throwable t) {
-            logger.error("Process event failed!" + this.getName(), t);
-            try {
-                tx.rollback();
-            } catch (Throwable e) {
-                logger.error("Pulsar Sink transaction rollback exception = {}", e);
-            }
-        } finally {
-            tx.close();
-        }
-        return status;
+        return batchDelivery.process(getChannel(),
+                (event, eventStat) -> pulsarClientService.sendMessage(topic, event, this, eventStat));
     }
 
     @Override
@@ -328,7 +252,6 @@ public class PulsarSink extends AbstractSink
          * add to sinkCounter
          */
         sinkCounter.incrementEventDrainSuccessCount();
-        currentInFlightCount.decrementAndGet();
         currentSuccessSendCnt.incrementAndGet();
         long nowCnt = currentSuccessSendCnt.get();
         long oldCnt = lastSuccessSendCnt.get();
@@ -342,42 +265,17 @@ public class PulsarSink extends AbstractSink
                     });
             t1 = t2;
         }
+        eventStat.getBatch().onSendSuccess();
     }
 
     @Override
     public void handleMessageSendException(EventStat eventStat, Object e) {
-        if (e instanceof TooLongFrameException) {
-            PulsarSink.this.overflow = true;
-        } else if (e instanceof ProducerQueueIsFullError) {
-            PulsarSink.this.overflow = true;
-        } else if (!(e instanceof AlreadyClosedException
+        if (!(e instanceof AlreadyClosedException
                 || e instanceof NotConnectedException
                 || e instanceof TopicTerminatedException)) {
-            logger.error("handle message send exception ,msg will resend later, e = {}", e);
-        }
-        eventStat.incRetryCnt();
-        resendEvent(eventStat, true);
-    }
-
-    /**
-     * Resend the data and store the data in the memory cache.
-     * @param es
-     * @param isDecrement
-     */
-    private void resendEvent(EventStat es, boolean isDecrement) {
-        try {
-            if (isDecrement) {
-                currentInFlightCount.decrementAndGet();
-            }
-            if (es == null || es.getEvent() == null) {
-                return;
-            }
-            if (!resendQueue.offer(es)) {
-                FailoverChannelProcessorHolder.getChannelProcessor().processEvent(es.getEvent());
-            }
-        } catch (Throwable throwable) {
-            logger.error("resendEvent e = {}", throwable);
+            logger.error("handle message send exception, the batch will be rolled back, e = {}", e);
         }
+        eventStat.getBatch().onSendFailure();
     }
 
     static class PulsarPerformanceTask implements Runnable {
@@ -403,90 +301,4 @@ public class PulsarSink extends AbstractSink
             }
         }
     }
-
-    class SinkTask implements Runnable {
-
-        @Override
-        public void run() {
-            logger.info("Sink task {} started.", Thread.currentThread().getName());
-            while (canSend) {
-                boolean decrementFlag = false;
-                Event event = null;
-                EventStat eventStat = null;
-                try {
-                    if (PulsarSink.this.overflow) {
-                        PulsarSink.this.overflow = false;
-                        Thread.currentThread().sleep(10);
-                    }
-                    if (!resendQueue.isEmpty()) {
-                        /*
-                         * Send the data in the retry queue first
-                         */
-                        eventStat = resendQueue.poll();
-                        if (eventStat != null) {
-                            event = eventStat.getEvent();
-                        }
-                    } else {
-                        if (currentInFlightCount.get() > BATCH_SIZE) {
-                            /*
-                             * Under the condition that the number of unresponsive messages is greater than 1w, the
-                             * number of unresponsive messages sent to pulsar will be printed periodically
-                             */
-                            logCounter++;
-                            if (logCounter == 1 || logCounter % 100000 == 0) {
-                                logger.info(getName()
-                                        + " currentInFlightCount={} resendQueue"
-                                        + ".size={}",
-                                        currentInFlightCount.get(), resendQueue.size());
-                            }
-                            if (logCounter > Long.MAX_VALUE - 10) {
-                                logCounter = 0;
-                            }
-                        }
-                        event = eventQueue.take();
-                        eventStat = new EventStat(event);
-                        sinkCounter.incrementEventDrainAttemptCount();
-                    }
-                    logger.debug("Event is {}, topic = {} ", event, topic);
-
-                    if (event == null) {
-                        continue;
-                    }
-
-                    if (topic == null || topic.equals("")) {
-                        logger.warn("no topic specified in event header, just skip this event");
-                        continue;
-                    }
-
-                    final EventStat es = eventStat;
-                    boolean sendResult = pulsarClientService.sendMessage(topic, event,
-                            PulsarSink.this, es);
-                    if (!sendResult) {
-                        continue;
-                    }
-                    currentInFlightCount.incrementAndGet();
-                    decrementFlag = true;
-                } catch (InterruptedException e) {
-                    logger.info("Thread {} has been interrupted!", Thread.currentThread().getName());
-                    return;
-                } catch (Throwable t) {
-                    if (t instanceof PulsarClientException) {
-                        String message = t.getMessage();
-                        if (message != null && (message.contains("No available queue for topic")
-                                || message.contains("The brokers of topic are all forbidden"))) {
-                            logger.info("IllegalTopicMap.put " + topic);
-                            continue;
-                        } else {
-                            try {
-                                Thread.sleep(100);
-                            } catch (InterruptedException e) {
-                                // ignore..
-                            }
-                        }
-                    }
-                    resendEvent(eventStat, decrementFlag);
-                }
-            }
-        }
-    }
 }
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.sink;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The events taken from the channel in one transaction.
+ *
+ * Every event holds one permit of the sink's in-flight semaphore from the time it is handed to the MQ
+ * client until its send callback fires, which bounds the requests in flight per MQ. The transaction
+ * may only be committed once {@link #await()} reports that every event was acknowledged. Waiting for
+ * permits and for acknowledgements shares one deadline, so a batch never takes longer than its timeout.
+ */
+public class SendBatch {
+
+    private final Semaphore inFlightPermits;
+    private final int size;
+    private final CountDownLatch pendingLatch;
+    private final AtomicInteger failedCount = new AtomicInteger(0);
+    private final long createTime = System.currentTimeMillis();
+    private final long deadline;
+    // only touched by the thread that drives the transaction
+    private int startedCount = 0;
+
+    public SendBatch(Semaphore inFlightPermits, int size, long timeoutMs) {
+        this.inFlightPermits = inFlightPermits;
+        this.size = size;
+        this.pendingLatch = new CountDownLatch(size);
+        this.deadline = createTime + timeoutMs;
+    }
+
+    /**
+     * Acquire the in-flight permit for the next event of the batch.
+     *
+     * @return false if no permit became available before the deadline, then the caller should {@link #abort()}
+     */
+    public boolean tryStartSend() throws InterruptedException {
+        if (startedCount >= size || !inFlightPermits.tryAcquire(getRemainingMs(), TimeUnit.MILLISECONDS)) {
+            return false;
+        }
+        startedCount++;
+        return true;
+    }
+
+    /**
+     * The MQ has acknowledged an event, or the event was dropped on purpose and must not be resent.
+     */
+    public void onSendSuccess() {
+        complete(true);
+    }
+
+    /**
+     * An event could not be delivered, so the whole batch has to be rolled back.
+     */
+    public void onSendFailure() {
+        complete(false);
+    }
+
+    /**
+     * Give up the events that were not handed to the MQ yet, they are rolled back with the batch.
+     */
+    public void abort() {
+        while (startedCount < size) {
+            startedCount++;
+            failedCount.incrementAndGet();
+            pendingLatch.countDown();
+        }
+    }
+
+    /**
+     * Wait for the callbacks of all the started events until the deadline.
+     *
+     * @return true if every event was acknowledged and the transaction can be committed
+     */
+    public boolean await() throws InterruptedException {
+        return pendingLatch.await(getRemainingMs(), TimeUnit.MILLISECONDS) && failedCount.get() == 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getElapsedMs() {
+        return System.currentTimeMillis() - createTime;
+    }
+
+    private long getRemainingMs() {
+        return Math.max(deadline - System.currentTimeMillis(), 0);
+    }
+
+    private void complete(boolean success) {
+        if (!success) {
+            failedCount.incrementAndGet();
+        }
+        inFlightPermits.release();
+        pendingLatch.countDown();
+    }
+}
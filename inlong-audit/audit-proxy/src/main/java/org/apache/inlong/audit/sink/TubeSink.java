@@ -20,7 +20,6 @@ package org.apache.inlong.audit.sink;
 import org.apache.inlong.audit.base.HighPriorityThreadFactory;
 import org.apache.inlong.audit.consts.ConfigConstants;
 import org.apache.inlong.audit.file.ConfigManager;
-import org.apache.inlong.audit.utils.FailoverChannelProcessorHolder;
 import org.apache.inlong.common.constant.MQType;
 import org.apache.inlong.common.pojo.audit.MQInfo;
 import org.apache.inlong.common.util.NetworkUtils;
@@ -32,17 +31,14 @@ import org.apache.inlong.tubemq.client.producer.MessageSentCallback;
 import org.apache.inlong.tubemq.client.producer.MessageSentResult;
 import org.apache.inlong.tubemq.corebase.Message;
 import org.apache.inlong.tubemq.corebase.TErrCodeConstants;
-import org.apache.inlong.tubemq.corerpc.exception.OverflowException;
 
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.flume.Channel;
 import org.apache.flume.Context;
 import org.apache.flume.Event;
 import org.apache.flume.EventDeliveryException;
 import org.apache.flume.FlumeException;
-import org.apache.flume.Transaction;
 import org.apache.flume.conf.Configurable;
 import org.apache.flume.instrumentation.SinkCounter;
 import org.apache.flume.sink.AbstractSink;
@@ -54,7 +50,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -63,7 +58,9 @@ public class TubeSink extends AbstractSink implements Configurable {
 
     private static final Logger logger = LoggerFactory.getLogger(TubeSink.class);
 
-    private static final String SINK_THREAD_NUM = "thread-num";
+    private static final String CHANNEL_BATCH_SIZE = "channel-batch-size";
+
+    private static final String MAX_IN_FLIGHT = "max-in-flight";
 
     private static final int defaultRetryCnt = -1;
 
@@ -75,9 +72,10 @@ public class TubeSink extends AbstractSink implements Configurable {
 
     private static final TubePerformanceTask tubePerformanceTask = new TubePerformanceTask();
 
-    private static final int BAD_EVENT_QUEUE_SIZE = 10000;
+    // must not exceed the transactionCapacity of the channel
+    private static final int defaultChannelBatchSize = 100;
 
-    private static final int EVENT_QUEUE_SIZE = 1000;
+    private static final int defaultMaxInFlight = 10000;
 
     private static final String MASTER_HOST_PORT_LIST = "master-host-port-list";
 
@@ -116,22 +114,17 @@ public class TubeSink extends AbstractSink implements Configurable {
     private SinkCounter sinkCounter;
     private String topic;
     private volatile boolean canTake = false;
-    private volatile boolean canSend = false;
-    private LinkedBlockingQueue<EventStat> resendQueue;
-    private LinkedBlockingQueue<Event> eventQueue;
+    private BatchDelivery batchDelivery;
     private long diskIORatePerSec;
     private RateLimiter diskRateLimiter;
     private String masterHostAndPortList;
     private Integer logEveryNEvents;
     private Integer sendTimeout;
-    private int threadNum;
-    private Thread[] sinkThreadPool;
     private long linkMaxAllowedDelayedMsgCount;
     private long sessionWarnDelayedMsgCount;
     private long sessionMaxAllowedDelayedMsgCount;
     private long nettyWriteBufferHighWaterMark;
     private int recoverthreadcount;
-    private boolean overflow = false;
     /*
      * for stat
      */
@@ -162,7 +155,6 @@ public class TubeSink extends AbstractSink implements Configurable {
 
         sinkCounter.start();
         super.start();
-        this.canSend = true;
         this.canTake = true;
 
         try {
@@ -170,11 +162,6 @@ public class TubeSink extends AbstractSink implements Configurable {
         } catch (Exception e) {
             logger.error("tubesink start publish topic fail.", e);
         }
-
-        for (int i = 0; i < sinkThreadPool.length; i++) {
-            sinkThreadPool[i] = new Thread(new SinkTask(), getName() + "_tube_sink_sender-" + i);
-            sinkThreadPool[i].start();
-        }
         logger.debug("tubesink started");
 
     }
@@ -184,26 +171,6 @@ public class TubeSink extends AbstractSink implements Configurable {
         logger.info("tube sink stopping");
         destroyConnection();
         this.canTake = false;
-        int waitCount = 0;
-        while (eventQueue.size() != 0 && waitCount++ < 10) {
-            try {
-                Thread.currentThread().sleep(1000);
-            } catch (InterruptedException e) {
-                logger.info("Stop thread has been interrupt!");
-                break;
-            }
-        }
-        this.canSend = false;
-
-        if (sinkThreadPool != null) {
-            for (Thread thread : sinkThreadPool) {
-                if (thread != null) {
-                    thread.interrupt();
-                }
-            }
-            sinkThreadPool = null;
-        }
-
         super.stop();
         if (!scheduledExecutorService.isShutdown()) {
             scheduledExecutorService.shutdown();
@@ -212,46 +179,16 @@ public class TubeSink extends AbstractSink implements Configurable {
         logger.debug("tubesink stopped. Metrics:{}", sinkCounter);
     }
 
+    /**
+     * Deliver one batch of the channel, the transaction is committed only after tube has acknowledged all the
+     * events of the batch.
+     */
     @Override
     public Status process() throws EventDeliveryException {
-        logger.info("tube sink processing");
         if (!this.canTake) {
             return Status.BACKOFF;
         }
-        Status status = Status.READY;
-        Channel channel = getChannel();
-        Transaction tx = channel.getTransaction();
-        tx.begin();
-        try {
-            Event event = channel.take();
-            if (event != null) {
-                if (diskRateLimiter != null) {
-                    diskRateLimiter.acquire(event.getBody().length);
-                }
-                if (!eventQueue.offer(event, 3 * 1000, TimeUnit.MILLISECONDS)) {
-                    logger.info("[{}] Channel --> Queue(has no enough space,current code point) "
-                            + "--> Tube,Check if Tube server or network is ok.(if this situation last long time "
-                            + "it will cause memoryChannel full and fileChannel write.)", getName());
-                    tx.rollback();
-                } else {
-                    tx.commit();
-                }
-            } else {
-                status = Status.BACKOFF;
-                tx.commit();
-            }
-        } catch (Throwable t) {
-            logger.error("Process event failed!" + this.getName(), t);
-            try {
-                tx.rollback();
-            } catch (Throwable e) {
-                logger.error("tubesink transaction rollback exception", e);
-
-            }
-        } finally {
-            tx.close();
-        }
-        return status;
+        return batchDelivery.process(getChannel(), this::sendMessage);
     }
 
     @Override
@@ -283,13 +220,10 @@ public class TubeSink extends AbstractSink implements Configurable {
             sinkCounter = new SinkCounter(getName());
         }
 
-        resendQueue = new LinkedBlockingQueue<>(BAD_EVENT_QUEUE_SIZE);
-
-        String sinkThreadNum = context.getString(SINK_THREAD_NUM, "4");
-        threadNum = Integer.parseInt(sinkThreadNum);
-        Preconditions.checkArgument(threadNum > 0, "threadNum must be > 0");
-        sinkThreadPool = new Thread[threadNum];
-        eventQueue = new LinkedBlockingQueue<Event>(EVENT_QUEUE_SIZE);
+        int channelBatchSize = context.getInteger(CHANNEL_BATCH_SIZE, defaultChannelBatchSize);
+        Preconditions.checkArgument(channelBatchSize > 0, "channelBatchSize must be > 0");
+        int maxInFlight = context.getInteger(MAX_IN_FLIGHT, defaultMaxInFlight);
+        Preconditions.checkArgument(maxInFlight > 0, "maxInFlight must be > 0");
 
         diskIORatePerSec = context.getLong("disk-io-rate-per-sec", 0L);
         if (diskIORatePerSec != 0) {
@@ -307,6 +241,9 @@ public class TubeSink extends AbstractSink implements Configurable {
         recoverthreadcount = context.getInteger(ConfigConstants.RECOVER_THREAD_COUNT,
                 Runtime.getRuntime().availableProcessors() + 1);
 
+        batchDelivery = new BatchDelivery(getName(), "tube", channelBatchSize, maxInFlight, sendTimeout,
+                diskRateLimiter, sinkCounter);
+
     }
 
     /**
@@ -335,25 +272,6 @@ public class TubeSink extends AbstractSink implements Configurable {
 
     }
 
-    /**
-     * Resend the data and store the data in the memory cache.
-     *
-     * @param es
-     * @param isDecrement
-     */
-    private void resendEvent(EventStat es, boolean isDecrement) {
-        try {
-            if (es == null || es.getEvent() == null) {
-                return;
-            }
-            if (!resendQueue.offer(es)) {
-                FailoverChannelProcessorHolder.getChannelProcessor().processEvent(es.getEvent());
-            }
-        } catch (Throwable throwable) {
-            logger.error("resendEvent e = {}", throwable);
-        }
-    }
-
     /**
      * If this function is called successively without calling {@see #destroyConnection()}, only the
      * first call has any effect.
@@ -497,120 +415,62 @@ public class TubeSink extends AbstractSink implements Configurable {
         }
     }
 
-    class SinkTask implements Runnable {
-
-        @Override
-        public void run() {
-            logger.info("Sink task {} started.", Thread.currentThread().getName());
-            while (canSend) {
-                boolean decrementFlag = false;
-                Event event = null;
-                EventStat es = null;
-                String topic = null;
-                try {
-                    if (TubeSink.this.overflow) {
-                        TubeSink.this.overflow = false;
-                        Thread.sleep(10);
-                    }
-                    if (!resendQueue.isEmpty()) {
-                        // Send the data in the retry queue first
-                        es = resendQueue.poll();
-                        if (es != null) {
-                            event = es.getEvent();
-                            if (event.getHeaders().containsKey(TOPIC)) {
-                                topic = event.getHeaders().get(TOPIC);
-                            }
-                        }
-                    } else {
-                        event = eventQueue.take();
-                        es = new EventStat(event);
-                        if (event.getHeaders().containsKey(TOPIC)) {
-                            topic = event.getHeaders().get(TOPIC);
-                        }
-                    }
-
-                    if (event == null) {
-                        // ignore event is null, when multiple-thread SinkTask running
-                        // this null value comes from resendQueue
-                        continue;
-                    }
-
-                    if (topic == null || topic.equals("")) {
-                        logger.warn("no topic specified in event header, just skip this event");
-                        continue;
-                    }
-
-                    Long expireTime = illegalTopicMap.get(topic);
-                    if (expireTime != null) {
-                        long currentTime = System.currentTimeMillis();
-                        if (expireTime > currentTime) {
-                            continue;
-                        } else {
-
-                            illegalTopicMap.remove(topic);
-                        }
-                    }
-
-                    final EventStat eventStat = es;
-                    boolean sendResult = sendMessage(event, topic, eventStat);
-                    if (!sendResult) {
-                        continue;
-                    }
-
-                    decrementFlag = true;
-
-                } catch (InterruptedException e) {
-                    logger.info("Thread {} has been interrupted!", Thread.currentThread().getName());
-                    return;
-                } catch (Throwable throwable) {
-                    if (throwable instanceof TubeClientException) {
-                        String message = throwable.getMessage();
-                        if (message != null && (message.contains("No available queue for topic")
-                                || message.contains("The brokers of topic are all forbidden"))) {
-                            illegalTopicMap.put(topic, System.currentTimeMillis() + 60 * 1000);
-                            logger.info("IllegalTopicMap.put " + topic);
-                            continue;
-                        } else {
-                            try {
-                                Thread.sleep(100);
-                            } catch (InterruptedException e) {
-                                // ignore..
-                            }
-                        }
-                    }
-                    resendEvent(es, decrementFlag);
-                }
-            }
+    /**
+     * Send one event asynchronously, the result is reported to the batch of the event.
+     *
+     * @return false if the event can not be sent now, then the batch has to be rolled back
+     */
+    private boolean sendMessage(Event event, EventStat es) throws TubeClientException, InterruptedException {
+        String topic = event.getHeaders().get(TOPIC);
+        if (StringUtils.isEmpty(topic)) {
+            logger.warn("no topic specified in event header, just skip this event");
+            es.getBatch().onSendSuccess();
+            return true;
         }
 
-        private boolean sendMessage(Event event, String topic, EventStat es)
-                throws TubeClientException, InterruptedException {
-            MessageProducer producer = getProducer(topic);
-            if (producer == null) {
-                illegalTopicMap.put(topic, System.currentTimeMillis() + 30 * 1000);
-                logger.error("Get producer is null, topic:{}", topic);
+        Long expireTime = illegalTopicMap.get(topic);
+        if (expireTime != null) {
+            if (expireTime > System.currentTimeMillis()) {
                 return false;
             }
+            illegalTopicMap.remove(topic);
+        }
 
-            Message message = new Message(topic, event.getBody());
-            message.setAttrKeyVal("auditIp", localIp);
-            String streamId = "";
-            String groupId = "";
-            if (event.getHeaders().containsKey(org.apache.inlong.audit.consts.AttributeConstants.INLONG_STREAM_ID)) {
-                streamId = event.getHeaders().get(org.apache.inlong.audit.consts.AttributeConstants.INLONG_STREAM_ID);
-                message.setAttrKeyVal(org.apache.inlong.audit.consts.AttributeConstants.INLONG_STREAM_ID, streamId);
-            }
-            if (event.getHeaders().containsKey(org.apache.inlong.audit.consts.AttributeConstants.INLONG_GROUP_ID)) {
-                groupId = event.getHeaders().get(org.apache.inlong.audit.consts.AttributeConstants.INLONG_GROUP_ID);
-                message.setAttrKeyVal(org.apache.inlong.audit.consts.AttributeConstants.INLONG_GROUP_ID, groupId);
+        MessageProducer producer;
+        try {
+            producer = getProducer(topic);
+        } catch (TubeClientException e) {
+            String message = e.getMessage();
+            if (message != null && (message.contains("No available queue for topic")
+                    || message.contains("The brokers of topic are all forbidden"))) {
+                illegalTopicMap.put(topic, System.currentTimeMillis() + 60 * 1000);
+                logger.info("IllegalTopicMap.put " + topic);
+                return false;
             }
+            throw e;
+        }
+        if (producer == null) {
+            illegalTopicMap.put(topic, System.currentTimeMillis() + 30 * 1000);
+            logger.error("Get producer is null, topic:{}", topic);
+            return false;
+        }
 
-            logger.debug("producer start to send msg...");
-            producer.sendMessage(message, new MyCallback(es));
-
-            illegalTopicMap.remove(topic);
-            return true;
+        Message message = new Message(topic, event.getBody());
+        message.setAttrKeyVal("auditIp", localIp);
+        String streamId = "";
+        String groupId = "";
+        if (event.getHeaders().containsKey(org.apache.inlong.audit.consts.AttributeConstants.INLONG_STREAM_ID)) {
+            streamId = event.getHeaders().get(org.apache.inlong.audit.consts.AttributeConstants.INLONG_STREAM_ID);
+            message.setAttrKeyVal(org.apache.inlong.audit.consts.AttributeConstants.INLONG_STREAM_ID, streamId);
         }
+        if (event.getHeaders().containsKey(org.apache.inlong.audit.consts.AttributeConstants.INLONG_GROUP_ID)) {
+            groupId = event.getHeaders().get(org.apache.inlong.audit.consts.AttributeConstants.INLONG_GROUP_ID);
+            message.setAttrKeyVal(org.apache.inlong.audit.consts.AttributeConstants.INLONG_GROUP_ID, groupId);
+        }
+
+        logger.debug("producer start to send msg...");
+        producer.sendMessage(message, new MyCallback(es));
+        return true;
     }
 
     public class MyCallback implements MessageSentCallback {
@@ -627,38 +487,28 @@ public class TubeSink extends AbstractSink implements Configurable {
         public void onMessageSent(final MessageSentResult result) {
             if (result.isSuccess()) {
                 handleMessageSendSuccess(myEventStat);
+                myEventStat.getBatch().onSendSuccess();
                 return;
             }
 
-            // handle sent error
+            // handle sent error, the forbidden message will never be accepted, so it is dropped
             if (result.getErrCode() == TErrCodeConstants.FORBIDDEN) {
-                logger.warn("Send message failed, error message: {}, resendQueue size: {}, event:{}",
-                        result.getErrMsg(), resendQueue.size(),
-                        myEventStat.getEvent().hashCode());
-
+                logger.warn("Send message failed, error message: {}, event:{}",
+                        result.getErrMsg(), myEventStat.getEvent().hashCode());
+                myEventStat.getBatch().onSendSuccess();
                 return;
             }
             if (result.getErrCode() != TErrCodeConstants.SERVER_RECEIVE_OVERFLOW) {
-                logger.warn("Send message failed, error message: {}, resendQueue size: {}, event:{}",
-                        result.getErrMsg(), resendQueue.size(),
-                        myEventStat.getEvent().hashCode());
+                logger.warn("Send message failed, error message: {}, event:{}",
+                        result.getErrMsg(), myEventStat.getEvent().hashCode());
             }
-            myEventStat.incRetryCnt();
-            resendEvent(myEventStat, true);
-
+            myEventStat.getBatch().onSendFailure();
         }
 
         @Override
         public void onException(final Throwable e) {
-            Throwable t = e;
-            while (t.getCause() != null) {
-                t = t.getCause();
-            }
-            if (t instanceof OverflowException) {
-                org.apache.inlong.audit.sink.TubeSink.this.overflow = true;
-            }
-            myEventStat.incRetryCnt();
-            resendEvent(myEventStat, true);
+            logger.warn("Send message failed, event:{}", myEventStat.getEvent().hashCode(), e);
+            myEventStat.getBatch().onSendFailure();
         }
     }
 
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.source;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Receive stat, counts the bytes and stats received from the audit sdk,
+ * and logs the bytes per stat on the wire of the plain requests and the batch requests every minute.
+ */
+public class ReceiveStat {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReceiveStat.class);
+    private static final ReceiveStat INSTANCE = new ReceiveStat();
+    private static final long LOG_INTERVAL_MS = 60 * 1000;
+
+    private final AtomicLong requestCount = new AtomicLong(0);
+    private final AtomicLong requestBytes = new AtomicLong(0);
+    private final AtomicLong requestStats = new AtomicLong(0);
+    private final AtomicLong batchCount = new AtomicLong(0);
+    private final AtomicLong batchBytes = new AtomicLong(0);
+    private final AtomicLong batchStats = new AtomicLong(0);
+    private final AtomicLong lastLogTime = new AtomicLong(System.currentTimeMillis());
+
+    public static ReceiveStat getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Record a received request
+     *
+     * @param bytes bytes of the request on the wire
+     * @param stats number of stats in the request
+     * @param batch whether the request is a compact batch
+     */
+    public void record(int bytes, int stats, boolean batch) {
+        if (batch) {
+            batchCount.incrementAndGet();
+            batchBytes.addAndGet(bytes);
+            batchStats.addAndGet(stats);
+        } else {
+            requestCount.incrementAndGet();
+            requestBytes.addAndGet(bytes);
+            requestStats.addAndGet(stats);
+        }
+        long lastTime = lastLogTime.get();
+        long currentTime = System.currentTimeMillis();
+        if (currentTime - lastTime >= LOG_INTERVAL_MS && lastLogTime.compareAndSet(lastTime, currentTime)) {
+            log();
+        }
+    }
+
+    private void log() {
+        long plainStats = requestStats.getAndSet(0);
+        long plainBytes = requestBytes.getAndSet(0);
+        long compactStats = batchStats.getAndSet(0);
+        long compactBytes = batchBytes.getAndSet(0);
+        LOGGER.info("Receive {} requests with {} stats, {} bytes per stat; {} batches with {} stats, {} bytes per stat",
+                requestCount.getAndSet(0), plainStats, plainStats == 0 ? 0 : plainBytes / plainStats,
+                batchCount.getAndSet(0), compactStats, compactStats == 0 ? 0 : compactBytes / compactStats);
+    }
+}
@@ -18,10 +18,12 @@
 package org.apache.inlong.audit.source;
 
 import org.apache.inlong.audit.protocol.AuditApi.AuditMessageBody;
+import org.apache.inlong.audit.protocol.AuditApi.AuditMessageHeader;
 import org.apache.inlong.audit.protocol.AuditApi.AuditReply;
 import org.apache.inlong.audit.protocol.AuditApi.AuditReply.RSP_CODE;
 import org.apache.inlong.audit.protocol.AuditApi.AuditRequest;
 import org.apache.inlong.audit.protocol.AuditApi.BaseCommand;
+import org.apache.inlong.audit.protocol.AuditBatchCodec;
 import org.apache.inlong.audit.protocol.AuditData;
 import org.apache.inlong.audit.protocol.Commands;
 
@@ -40,6 +42,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -127,7 +130,7 @@ public class ServerMessageHandler extends ChannelInboundHandlerAdapter {
                 break;
             case AUDIT_REQUEST:
                 checkArgument(cmd.hasAuditRequest());
-                AuditReply auditReply = handleRequest(cmd.getAuditRequest());
+                AuditReply auditReply = handleRequest(cmd.getAuditRequest(), len);
                 channelBuffer = Commands.getAuditReplyBuffer(auditReply);
                 break;
             case AUDIT_REPLY:
@@ -140,7 +143,7 @@ public class ServerMessageHandler extends ChannelInboundHandlerAdapter {
         }
     }
 
-    private AuditReply handleRequest(AuditRequest auditRequest) throws Exception {
+    private AuditReply handleRequest(AuditRequest auditRequest, int requestBytes) throws Exception {
         if (auditRequest == null) {
             throw new Exception("audit request cannot be null");
         }
@@ -148,32 +151,18 @@ public class ServerMessageHandler extends ChannelInboundHandlerAdapter {
                 .setRequestId(auditRequest.getRequestId())
                 .setRspCode(RSP_CODE.SUCCESS)
                 .build();
+        if (auditRequest.hasMsgBatch()) {
+            return handleBatchRequest(auditRequest, requestBytes, reply);
+        }
         List<AuditMessageBody> bodyList = auditRequest.getMsgBodyList();
+        ReceiveStat.getInstance().record(requestBytes, bodyList.size(), false);
         int errorMsgBody = 0;
         LOGGER.debug("Receive message count: {}", auditRequest.getMsgBodyCount());
         for (AuditMessageBody auditMessageBody : bodyList) {
-            long msgDays = messageDays(auditMessageBody.getLogTs());
-            if (msgDays >= this.msgValidThresholdDays) {
-                LOGGER.debug("Discard the data as it is from {} days ago, only the data with a log timestamp"
-                        + " less than {} days is valid", msgDays, this.msgValidThresholdDays);
+            if (!isValidMessage(auditMessageBody)) {
                 continue;
             }
-            AuditData auditData = new AuditData();
-            auditData.setIp(auditRequest.getMsgHeader().getIp());
-            auditData.setThreadId(auditRequest.getMsgHeader().getThreadId());
-            auditData.setDockerId(auditRequest.getMsgHeader().getDockerId());
-            auditData.setPacketId(auditRequest.getMsgHeader().getPacketId());
-            auditData.setSdkTs(auditRequest.getMsgHeader().getSdkTs());
-
-            auditData.setLogTs(auditMessageBody.getLogTs());
-            auditData.setAuditId(auditMessageBody.getAuditId());
-            auditData.setAuditTag(auditMessageBody.getAuditTag());
-            auditData.setCount(auditMessageBody.getCount());
-            auditData.setDelay(auditMessageBody.getDelay());
-            auditData.setInlongGroupId(auditMessageBody.getInlongGroupId());
-            auditData.setInlongStreamId(auditMessageBody.getInlongStreamId());
-            auditData.setSize(auditMessageBody.getSize());
-            auditData.setAuditVersion(auditMessageBody.getAuditVersion());
+            AuditData auditData = toAuditData(auditRequest.getMsgHeader(), auditMessageBody);
             LOGGER.debug("Receive message info: {} {} {} {} {} {} {}",
                     auditData.getIp(),
                     auditData.getAuditId(),
@@ -203,6 +192,75 @@ public class ServerMessageHandler extends ChannelInboundHandlerAdapter {
         return reply;
     }
 
+    /**
+     * Handle the request of a compact batch, and write the whole batch as one event
+     */
+    private AuditReply handleBatchRequest(AuditRequest auditRequest, int requestBytes, AuditReply reply) {
+        List<AuditMessageBody> bodyList;
+        try {
+            bodyList = AuditBatchCodec.decode(auditRequest.getMsgBatch());
+        } catch (IllegalArgumentException ex) {
+            LOGGER.error("decode audit message batch error, discard it: ", ex);
+            return reply.toBuilder()
+                    .setMessage("decode audit message batch error, discard it")
+                    .setRspCode(RSP_CODE.FAILED)
+                    .build();
+        }
+        ReceiveStat.getInstance().record(requestBytes, bodyList.size(), true);
+        LOGGER.debug("Receive message batch count: {}", bodyList.size());
+        List<AuditData> auditDataList = new ArrayList<>(bodyList.size());
+        for (AuditMessageBody auditMessageBody : bodyList) {
+            if (isValidMessage(auditMessageBody)) {
+                auditDataList.add(toAuditData(auditRequest.getMsgHeader(), auditMessageBody));
+            }
+        }
+        if (auditDataList.isEmpty()) {
+            return reply;
+        }
+        try {
+            byte[] body = GSON.toJson(auditDataList).getBytes(StandardCharsets.UTF_8);
+            Event event = EventBuilder.withBody(body, null);
+            processor.processEvent(event);
+        } catch (Throwable ex) {
+            LOGGER.error("writing data batch error, discard it: ", ex);
+            reply = reply.toBuilder()
+                    .setMessage("writing data batch error, discard it, error body count=" + auditDataList.size())
+                    .setRspCode(RSP_CODE.FAILED)
+                    .build();
+        }
+        return reply;
+    }
+
+    private boolean isValidMessage(AuditMessageBody auditMessageBody) {
+        long msgDays = messageDays(auditMessageBody.getLogTs());
+        if (msgDays >= this.msgValidThresholdDays) {
+            LOGGER.debug("Discard the data as it is from {} days ago, only the data with a log timestamp"
+                    + " less than {} days is valid", msgDays, this.msgValidThresholdDays);
+            return false;
+        }
+        return true;
+    }
+
+    private AuditData toAuditData(AuditMessageHeader msgHeader, AuditMessageBody auditMessageBody) {
+        AuditData auditData = new AuditData();
+        auditData.setIp(msgHeader.getIp());
+        auditData.setThreadId(msgHeader.getThreadId());
+        auditData.setDockerId(msgHeader.getDockerId());
+        auditData.setPacketId(msgHeader.getPacketId());
+        auditData.setSdkTs(msgHeader.getSdkTs());
+
+        auditData.setLogTs(auditMessageBody.getLogTs());
+        auditData.setAuditId(auditMessageBody.getAuditId());
+        auditData.setAuditTag(auditMessageBody.getAuditTag());
+        auditData.setCount(auditMessageBody.getCount());
+        auditData.setDelay(auditMessageBody.getDelay());
+        auditData.setInlongGroupId(auditMessageBody.getInlongGroupId());
+        auditData.setInlongStreamId(auditMessageBody.getInlongStreamId());
+        auditData.setSize(auditMessageBody.getSize());
+        auditData.setAuditVersion(auditMessageBody.getAuditVersion());
+        return auditData;
+    }
+
     public long messageDays(long logTs) {
         long currentTime = System.currentTimeMillis();
         long timeDiff = currentTime - logTs;
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.sink;
+
+import com.google.common.base.Charsets;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.apache.flume.Channel;
+import org.apache.flume.Context;
+import org.apache.flume.Sink.Status;
+import org.apache.flume.Transaction;
+import org.apache.flume.channel.MemoryChannel;
+import org.apache.flume.conf.Configurables;
+import org.apache.flume.event.EventBuilder;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Test the commit and rollback of the batches of KafkaSink with a mock producer.
+ */
+public class KafkaSinkDeliveryTest {
+
+    private static final String TOPIC = "inlong-audit";
+    private static final int EVENT_NUM = 5;
+    private static final int SEND_TIMEOUT_MS = 300;
+
+    private Channel channel;
+    private KafkaSink sink;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        channel = new MemoryChannel();
+        Context channelContext = new Context();
+        channelContext.put("capacity", "100");
+        channelContext.put("transactionCapacity", "10");
+        channelContext.put("keep-alive", "0");
+        Configurables.configure(channel, channelContext);
+        channel.start();
+
+        sink = new KafkaSink();
+        sink.setName("kafka-sink");
+        sink.setChannel(channel);
+        Context context = new Context();
+        context.put("topic", TOPIC);
+        context.put("channel_batch_size", "10");
+        context.put("send_timeout_ms", String.valueOf(SEND_TIMEOUT_MS));
+        Configurables.configure(sink, context);
+        // start() would connect to Kafka, only open the sink for taking events
+        FieldUtils.writeField(sink, "canTake", true, true);
+
+        Transaction tx = channel.getTransaction();
+        tx.begin();
+        for (int i = 0; i < EVENT_NUM; i++) {
+            channel.put(EventBuilder.withBody("audit-" + i, Charsets.UTF_8));
+        }
+        tx.commit();
+        tx.close();
+
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        channel.stop();
+    }
+
+    @Test
+    public void testCommitAfterAllAcks() {
+        MockProducer<String, byte[]> producer = mockProducer(true);
+        Assert.assertEquals(Status.READY, sink.process());
+        Assert.assertEquals(EVENT_NUM, producer.history().size());
+        Assert.assertEquals(0, countChannelEvents());
+        Assert.assertEquals(Status.BACKOFF, sink.process());
+    }
+
+    @Test
+    public void testRollbackOnFailedCallback() {
+        MockProducer<String, byte[]> producer = mockProducer(false);
+        executor.execute(() -> {
+            while (producer.history().size() < EVENT_NUM) {
+                Thread.yield();
+            }
+            for (int i = 0; i < EVENT_NUM - 1; i++) {
+                producer.completeNext();
+            }
+            producer.errorNext(new KafkaException("send failed"));
+        });
+        Assert.assertEquals(Status.BACKOFF, sink.process());
+        Assert.assertEquals(EVENT_NUM, countChannelEvents());
+        Assert.assertEquals(10000, getAvailablePermits());
+    }
+
+    @Test
+    public void testRollbackOnTimeout() {
+        MockProducer<String, byte[]> producer = mockProducer(false);
+        long startTime = System.currentTimeMillis();
+        Assert.assertEquals(Status.BACKOFF, sink.process());
+        long elapsedMs = System.currentTimeMillis() - startTime;
+        Assert.assertTrue("process took " + elapsedMs + " ms", elapsedMs < 2 * SEND_TIMEOUT_MS);
+        Assert.assertEquals(EVENT_NUM, countChannelEvents());
+
+        // the late acknowledgements return the permits
+        Assert.assertEquals(10000 - EVENT_NUM, getAvailablePermits());
+        while (producer.completeNext()) {
+            // complete all
+        }
+        Assert.assertEquals(10000, getAvailablePermits());
+    }
+
+    @Test
+    public void testRollbackOnSendException() {
+        MockProducer<String, byte[]> producer = mockProducer(true);
+        producer.sendException = new KafkaException("producer closed");
+        Assert.assertEquals(Status.BACKOFF, sink.process());
+        Assert.assertEquals(EVENT_NUM, countChannelEvents());
+        Assert.assertEquals(10000, getAvailablePermits());
+    }
+
+    private MockProducer<String, byte[]> mockProducer(boolean autoComplete) {
+        MockProducer<String, byte[]> producer =
+                new MockProducer<>(autoComplete, new StringSerializer(), new ByteArraySerializer());
+        sink.producerMap.put(TOPIC, producer);
+        return producer;
+    }
+
+    private int getAvailablePermits() {
+        try {
+            return ((BatchDelivery) FieldUtils.readField(sink, "batchDelivery", true)).getAvailablePermits();
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int countChannelEvents() {
+        int count = 0;
+        Transaction tx = channel.getTransaction();
+        tx.begin();
+        while (channel.take() != null) {
+            count++;
+        }
+        tx.rollback();
+        tx.close();
+        return count;
+    }
+}
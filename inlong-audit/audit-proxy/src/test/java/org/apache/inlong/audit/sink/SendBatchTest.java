@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.sink;
+
+import com.google.common.base.Charsets;
+import org.apache.flume.Channel;
+import org.apache.flume.Context;
+import org.apache.flume.Sink.Status;
+import org.apache.flume.Transaction;
+import org.apache.flume.channel.MemoryChannel;
+import org.apache.flume.conf.Configurables;
+import org.apache.flume.event.EventBuilder;
+import org.apache.flume.instrumentation.SinkCounter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SendBatchTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SendBatchTest.class);
+
+    private static final int EVENT_NUM = 2000;
+    private static final int MAX_IN_FLIGHT = 100;
+    private static final long ACK_LATENCY_MS = 1;
+    private static final long TIMEOUT_MS = 10000;
+
+    /*
+     * local stand-in of a MQ client, every send is acknowledged asynchronously after ACK_LATENCY_MS
+     */
+    private ScheduledExecutorService standInMq;
+
+    @Before
+    public void setUp() {
+        standInMq = Executors.newScheduledThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        standInMq.shutdownNow();
+    }
+
+    @Test
+    public void testInFlightBounded() throws InterruptedException {
+        Semaphore permits = new Semaphore(2);
+        AtomicInteger maxInFlight = new AtomicInteger(0);
+        SendBatch batch = new SendBatch(permits, 10, TIMEOUT_MS);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(batch.tryStartSend());
+            maxInFlight.accumulateAndGet(2 - permits.availablePermits(), Math::max);
+            standInMq.schedule(batch::onSendSuccess, ACK_LATENCY_MS, TimeUnit.MILLISECONDS);
+        }
+        Assert.assertTrue(batch.await());
+        Assert.assertEquals(2, maxInFlight.get());
+        Assert.assertEquals(2, permits.availablePermits());
+    }
+
+    @Test
+    public void testFailureRollsBackBatch() throws InterruptedException {
+        Semaphore permits = new Semaphore(2);
+        SendBatch batch = new SendBatch(permits, 3, TIMEOUT_MS);
+        Assert.assertTrue(batch.tryStartSend());
+        batch.onSendSuccess();
+        Assert.assertTrue(batch.tryStartSend());
+        batch.onSendFailure();
+        batch.abort();
+        Assert.assertFalse(batch.await());
+        Assert.assertEquals(2, batch.getFailedCount());
+        Assert.assertEquals(2, permits.availablePermits());
+    }
+
+    /**
+     * Waiting for permits and for acknowledgements share the deadline of the batch.
+     */
+    @Test
+    public void testSingleDeadline() throws InterruptedException {
+        Semaphore permits = new Semaphore(1);
+        SendBatch batch = new SendBatch(permits, 2, 200);
+        Assert.assertTrue(batch.tryStartSend());
+        // the first event is never acknowledged, so there is no permit for the second one
+        Assert.assertFalse(batch.tryStartSend());
+        batch.abort();
+        Assert.assertFalse(batch.await());
+        long elapsedMs = batch.getElapsedMs();
+        Assert.assertTrue("batch took " + elapsedMs + " ms", elapsedMs >= 200 && elapsedMs < 400);
+        Assert.assertEquals(0, permits.availablePermits());
+
+        // the late acknowledgement still returns the permit
+        batch.onSendSuccess();
+        Assert.assertEquals(1, permits.availablePermits());
+    }
+
+    /**
+     * Compare the per-event transaction with the batched transaction of the batch delivery on the stand-in MQ.
+     */
+    @Test
+    public void testBatchedDelivery() {
+        long[] perEvent = deliver(1);
+        long[] batched = deliver(500);
+        logger.info("per-event transaction: {} events/s, p99 commit latency {} ms", perEvent[0], perEvent[1]);
+        logger.info("batched transaction: {} events/s, p99 commit latency {} ms", batched[0], batched[1]);
+        Assert.assertTrue(batched[0] > perEvent[0]);
+    }
+
+    /**
+     * @return throughput in events per second, and p99 latency in ms of one call of process
+     */
+    private long[] deliver(int batchSize) {
+        Channel channel = new MemoryChannel();
+        Context context = new Context();
+        context.put("capacity", String.valueOf(EVENT_NUM));
+        context.put("transactionCapacity", String.valueOf(batchSize));
+        context.put("keep-alive", "0");
+        Configurables.configure(channel, context);
+        channel.start();
+
+        for (int i = 0; i < EVENT_NUM; i += batchSize) {
+            Transaction tx = channel.getTransaction();
+            tx.begin();
+            for (int j = i; j < Math.min(i + batchSize, EVENT_NUM); j++) {
+                channel.put(EventBuilder.withBody("audit-" + j, Charsets.UTF_8));
+            }
+            tx.commit();
+            tx.close();
+        }
+
+        AtomicInteger deliveredCount = new AtomicInteger(0);
+        BatchDelivery delivery = new BatchDelivery("stand-in-sink", "stand-in", batchSize, MAX_IN_FLIGHT,
+                TIMEOUT_MS, null, new SinkCounter("stand-in-sink-" + batchSize));
+        List<Long> commitLatencies = new ArrayList<>();
+        long startTime = System.nanoTime();
+        while (true) {
+            long batchStart = System.nanoTime();
+            Status status = delivery.process(channel, (event, eventStat) -> {
+                standInMq.schedule(() -> {
+                    deliveredCount.incrementAndGet();
+                    eventStat.getBatch().onSendSuccess();
+                }, ACK_LATENCY_MS, TimeUnit.MILLISECONDS);
+                return true;
+            });
+            if (status == Status.BACKOFF) {
+                break;
+            }
+            commitLatencies.add(System.nanoTime() - batchStart);
+        }
+        long costNanos = System.nanoTime() - startTime;
+        channel.stop();
+
+        Assert.assertEquals(EVENT_NUM, deliveredCount.get());
+        Assert.assertEquals(MAX_IN_FLIGHT, delivery.getAvailablePermits());
+        Collections.sort(commitLatencies);
+        long p99 = commitLatencies.get((int) Math.ceil(commitLatencies.size() * 0.99) - 1);
+        return new long[]{
+                EVENT_NUM * TimeUnit.SECONDS.toNanos(1) / costNanos,
+                TimeUnit.NANOSECONDS.toMillis(p99)
+        };
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.inlong.audit;
 
 import org.apache.inlong.audit.loader.SocketAddressListLoader;
 import org.apache.inlong.audit.protocol.AuditApi;
+import org.apache.inlong.audit.protocol.AuditBatchCodec;
 import org.apache.inlong.audit.send.SenderManager;
 import org.apache.inlong.audit.util.AuditConfig;
 import org.apache.inlong.audit.util.AuditDimensions;
@@ -34,6 +35,7 @@ import org.slf4j.LoggerFactory;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -44,6 +46,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static org.apache.inlong.audit.consts.ConfigConstants.DEFAULT_AUDIT_TAG;
@@ -55,7 +58,7 @@ public class AuditReporterImpl implements Serializable {
     private static final Logger LOGGER = LoggerFactory.getLogger(AuditReporterImpl.class);
     private static final String FIELD_SEPARATORS = ":";
     private static final long DEFAULT_AUDIT_VERSION = -1;
-    private static final int BATCH_NUM = 100;
+    private static final int DEFAULT_BATCH_NUM = 100;
     private final ReentrantLock GLOBAL_LOCK = new ReentrantLock();
     private static final int PERIOD = 1000 * 60;
     private final ConcurrentHashMap<Long, ConcurrentHashMap<String, StatInfo>> preStatMap =
@@ -81,6 +84,10 @@ public class AuditReporterImpl implements Serializable {
     private static final long DEFAULT_ISOLATE_KEY = 0;
     private int flushStatThreshold = 100;
     private boolean autoFlush = true;
+    private int batchNum = DEFAULT_BATCH_NUM;
+    private boolean compactBatchEnable = false;
+    private final AtomicLong sentStatCount = new AtomicLong(0);
+    private final AtomicLong sentByteCount = new AtomicLong(0);
 
     /**
      * Set stat threshold
@@ -101,6 +108,25 @@ public class AuditReporterImpl implements Serializable {
         this.autoFlush = autoFlush;
     }
 
+    /**
+     * Set the max number of audit items in one request
+     *
+     * @param batchNum
+     */
+    public void setBatchNum(int batchNum) {
+        this.batchNum = batchNum;
+    }
+
+    /**
+     * Send the audit items as a compact batch, in which the strings are dictionary coded and
+     * the log timestamps are delta coded. Only enable it when all the audit proxies support the batch.
+     *
+     * @param compactBatchEnable
+     */
+    public void setCompactBatchEnable(boolean compactBatchEnable) {
+        this.compactBatchEnable = compactBatchEnable;
+    }
+
     /**
      * Init
      */
@@ -321,7 +347,10 @@ public class AuditReporterImpl implements Serializable {
 
         clearExpiredKey(isolateKey);
 
-        LOGGER.info("Finish report audit data");
+        long statCount = sentStatCount.getAndSet(0);
+        long byteCount = sentByteCount.getAndSet(0);
+        LOGGER.info("Finish report audit data, stat count {}, bytes {}, bytes per stat {}", statCount, byteCount,
+                statCount == 0 ? 0 : byteCount / statCount);
     }
 
     /**
@@ -330,7 +359,29 @@ public class AuditReporterImpl implements Serializable {
     private void sendByBaseCommand(AuditApi.AuditRequest auditRequest) {
         AuditApi.BaseCommand.Builder baseCommand = AuditApi.BaseCommand.newBuilder();
         baseCommand.setType(AUDIT_REQUEST).setAuditRequest(auditRequest).build();
-        manager.send(baseCommand.build(), auditRequest);
+        AuditApi.BaseCommand command = baseCommand.build();
+        sentStatCount.addAndGet(auditRequest.getMsgBodyCount()
+                + auditRequest.getMsgBatch().getLogTsDeltaCount());
+        sentByteCount.addAndGet(command.getSerializedSize());
+        manager.send(command, auditRequest);
+    }
+
+    /**
+     * Send the audit items as compact batches
+     */
+    private void sendByCompactBatch(AuditApi.AuditRequest.Builder requestBuild,
+            List<AuditApi.AuditMessageBody> bodyList) {
+        // sort by log time to make the deltas of log time small
+        bodyList.sort(Comparator.comparingLong(AuditApi.AuditMessageBody::getLogTs));
+        for (int start = 0; start < bodyList.size(); start += batchNum) {
+            List<AuditApi.AuditMessageBody> batch = bodyList.subList(start,
+                    Math.min(start + batchNum, bodyList.size()));
+            requestBuild.setRequestId(manager.nextRequestId())
+                    .setMsgHeader(requestBuild.getMsgHeader().toBuilder().setPacketId(packageId++))
+                    .setMsgBatch(AuditBatchCodec.encode(batch));
+            sendByBaseCommand(requestBuild.build());
+        }
+        requestBuild.clearMsgBatch();
     }
 
     /**
@@ -451,6 +502,7 @@ public class AuditReporterImpl implements Serializable {
                 .build();
         AuditApi.AuditRequest.Builder requestBuild = AuditApi.AuditRequest.newBuilder();
         requestBuild.setMsgHeader(msgHeader).setRequestId(manager.nextRequestId());
+        List<AuditApi.AuditMessageBody> bodyList = new ArrayList<>();
         // Process the stat info for all threads
         for (Map.Entry<String, StatInfo> entry : summaryStatMap.get(isolateKey).entrySet()) {
             // Entry key order: logTime inlongGroupID inlongStreamID auditID auditTag auditVersion
@@ -473,9 +525,13 @@ public class AuditReporterImpl implements Serializable {
                     .setDelay(value.delay.get())
                     .setAuditVersion(auditVersion)
                     .build();
+            if (compactBatchEnable) {
+                bodyList.add(msgBody);
+                continue;
+            }
             requestBuild.addMsgBody(msgBody);
 
-            if (dataId++ >= BATCH_NUM) {
+            if (dataId++ >= batchNum) {
                 dataId = 0;
                 packageId++;
                 sendByBaseCommand(requestBuild.build());
@@ -483,7 +539,9 @@ public class AuditReporterImpl implements Serializable {
             }
         }
 
-        if (requestBuild.getMsgBodyCount() > 0) {
+        if (compactBatchEnable) {
+            sendByCompactBatch(requestBuild, bodyList);
+        } else if (requestBuild.getMsgBodyCount() > 0) {
             sendByBaseCommand(requestBuild.build());
             requestBuild.clearMsgBody();
         }
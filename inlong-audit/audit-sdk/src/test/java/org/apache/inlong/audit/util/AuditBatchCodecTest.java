@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.util;
+
+import org.apache.inlong.audit.protocol.AuditApi;
+import org.apache.inlong.audit.protocol.AuditBatchCodec;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AuditBatchCodecTest {
+
+    @Test
+    public void encodeAndDecode() {
+        List<AuditApi.AuditMessageBody> bodyList = new ArrayList<>();
+        long logTs = 1700000040000L;
+        for (int i = 0; i < 1000; i++) {
+            bodyList.add(AuditApi.AuditMessageBody.newBuilder()
+                    .setLogTs(logTs + (i / 100) * 60000L)
+                    .setInlongGroupId("test_inlong_group_" + (i % 10))
+                    .setInlongStreamId("test_inlong_stream_" + (i % 50))
+                    .setAuditId(String.valueOf(i % 4))
+                    .setAuditTag("")
+                    .setCount(i)
+                    .setSize(i * 100L)
+                    .setDelay(i * 10L)
+                    .setAuditVersion(-1)
+                    .build());
+        }
+        AuditApi.AuditMessageBatch batch = AuditBatchCodec.encode(bodyList);
+        assertEquals(bodyList, AuditBatchCodec.decode(batch));
+        assertEquals(10 + 50 + 4 + 1, batch.getDictionaryCount());
+
+        int bodyBytes = AuditApi.AuditRequest.newBuilder().addAllMsgBody(bodyList).build().getSerializedSize();
+        int batchBytes = AuditApi.AuditRequest.newBuilder().setMsgBatch(batch).build().getSerializedSize();
+        assertTrue(batchBytes * 3 < bodyBytes);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeNotAlignedBatch() {
+        AuditBatchCodec.decode(AuditApi.AuditMessageBatch.newBuilder().addLogTsDelta(0).build());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeIndexOutOfDictionary() {
+        AuditApi.AuditMessageBatch batch = AuditBatchCodec.encode(Collections.singletonList(
+                AuditApi.AuditMessageBody.newBuilder()
+                        .setLogTs(1700000040000L)
+                        .setInlongGroupId("test_inlong_group")
+                        .setInlongStreamId("test_inlong_stream")
+                        .setAuditId("3")
+                        .setAuditTag("")
+                        .build()));
+        AuditBatchCodec.decode(batch.toBuilder().setInlongStreamId(0, batch.getDictionaryCount()).build());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeNegativeIndex() {
+        AuditApi.AuditMessageBatch batch = AuditBatchCodec.encode(Collections.singletonList(
+                AuditApi.AuditMessageBody.newBuilder().setLogTs(1700000040000L).build()));
+        // an index above Integer.MAX_VALUE on the wire
+        AuditBatchCodec.decode(batch.toBuilder().setAuditId(0, -1).build());
+    }
+}
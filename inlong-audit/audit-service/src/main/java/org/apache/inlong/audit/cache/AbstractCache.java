@@ -21,43 +21,53 @@ import org.apache.inlong.audit.config.Configuration;
 import org.apache.inlong.audit.entities.AuditCycle;
 import org.apache.inlong.audit.entities.StatData;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Collections;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static org.apache.inlong.audit.config.OpenApiConstants.DEFAULT_API_CACHE_EXPIRED_HOURS;
-import static org.apache.inlong.audit.config.OpenApiConstants.DEFAULT_API_CACHE_MAX_SIZE;
 import static org.apache.inlong.audit.config.OpenApiConstants.KEY_API_CACHE_EXPIRED_HOURS;
-import static org.apache.inlong.audit.config.OpenApiConstants.KEY_API_CACHE_MAX_SIZE;
 import static org.apache.inlong.audit.consts.ConfigConstants.DEFAULT_AUDIT_TAG;
 
 /**
  * Abstract cache.
+ * Every (group id, stream id, audit id, audit tag) is a series, whose dimensions are kept as dictionary ids,
+ * and whose stats of the latest slots are kept in primitive ring buffers.
+ * Every cache has its own dictionary, which the monitor shrinks to the ids of the series left after the expired
+ * ones are removed. The monitor holds the write lock meanwhile, so no id is handed out while it is removed.
  */
 public class AbstractCache {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractCache.class);
-    protected final Cache<String, StatData> cache;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int MINUTES_OF_HOUR = 60;
+    protected final Map<SeriesKey, StatSeries> cache = new ConcurrentHashMap<>();
+    protected final DimensionDictionary dictionary = new DimensionDictionary();
+    private final ReadWriteLock dictionaryLock = new ReentrantReadWriteLock();
     protected final ScheduledExecutorService monitorTimer = Executors.newSingleThreadScheduledExecutor();
     protected AuditCycle auditCycle;
+    protected final int capacity;
     private static final int DEFAULT_MONITOR_INTERVAL = 1;
 
     protected AbstractCache(AuditCycle auditCycle) {
-        cache = Caffeine.newBuilder()
-                .maximumSize(Configuration.getInstance().get(KEY_API_CACHE_MAX_SIZE,
-                        DEFAULT_API_CACHE_MAX_SIZE))
-                .expireAfterWrite(Configuration.getInstance().get(KEY_API_CACHE_EXPIRED_HOURS,
-                        DEFAULT_API_CACHE_EXPIRED_HOURS), TimeUnit.HOURS)
-                .build();
         this.auditCycle = auditCycle;
+        this.capacity = Math.max(1, Configuration.getInstance().get(KEY_API_CACHE_EXPIRED_HOURS,
+                DEFAULT_API_CACHE_EXPIRED_HOURS) * MINUTES_OF_HOUR / auditCycle.getValue());
         monitorTimer.scheduleWithFixedDelay(new Runnable() {
 
             @Override
@@ -68,41 +78,212 @@ public class AbstractCache {
     }
 
     /**
-     * Get cache
+     * Put data
      *
+     * @param data
+     */
+    public void put(StatData data) {
+        long slot;
+        try {
+            slot = toSlot(data.getLogTs());
+        } catch (DateTimeParseException e) {
+            LOGGER.error("Invalid log ts of {}", data, e);
+            return;
+        }
+        dictionaryLock.readLock().lock();
+        try {
+            SeriesKey key = new SeriesKey(
+                    dictionary.getOrCreateId(data.getInlongGroupId()),
+                    dictionary.getOrCreateId(data.getInlongStreamId()),
+                    dictionary.getOrCreateId(data.getAuditId()),
+                    dictionary.getOrCreateId(data.getAuditTag()));
+            cache.computeIfAbsent(key, k -> new StatSeries(capacity))
+                    .put(slot, data.getCount(), data.getSize(), data.getDelay());
+        } finally {
+            dictionaryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get data of the slots between start time and end time, both inclusive
+     *
+     * @param startTime
+     * @param endTime
+     * @param inlongGroupId
+     * @param inlongStreamId
+     * @param auditId
+     * @param auditTag
      * @return
      */
-    public Cache<String, StatData> getCache() {
-        return cache;
+    public List<StatData> getData(String startTime, String endTime, String inlongGroupId, String inlongStreamId,
+            String auditId, String auditTag) {
+        List<StatData> result = new LinkedList<>();
+        long startSlot;
+        long endSlot;
+        try {
+            startSlot = toSlot(startTime);
+            endSlot = toSlot(endTime);
+        } catch (DateTimeParseException e) {
+            LOGGER.error("Invalid time range [{}]-[{}]", startTime, endTime, e);
+            return result;
+        }
+        StatSeries series;
+        String tag = auditTag;
+        dictionaryLock.readLock().lock();
+        try {
+            series = getSeries(inlongGroupId, inlongStreamId, auditId, auditTag);
+            if (null == series) {
+                // Compatible with scenarios where the auditTag openapi parameter can be empty.
+                tag = auditTag + DEFAULT_AUDIT_TAG;
+                series = getSeries(inlongGroupId, inlongStreamId, auditId, tag);
+            }
+        } finally {
+            dictionaryLock.readLock().unlock();
+        }
+        if (null == series) {
+            return result;
+        }
+        String resultTag = tag;
+        series.get(startSlot, endSlot, (slot, count, size, delay) -> {
+            StatData data = new StatData();
+            data.setLogTs(fromSlot(slot));
+            data.setInlongGroupId(inlongGroupId);
+            data.setInlongStreamId(inlongStreamId);
+            data.setAuditId(auditId);
+            data.setAuditTag(resultTag);
+            data.setCount(count);
+            data.setSize(size);
+            data.setDelay(delay);
+            result.add(data);
+        });
+        return result;
     }
 
     /**
-     * Get data
+     * Get the number of series
      *
-     * @param key
      * @return
      */
-    public List<StatData> getData(String key) {
-        StatData statData = cache.getIfPresent(key);
-        if (null == statData) {
-            // Compatible with scenarios where the auditTag openapi parameter can be empty.
-            statData = cache.getIfPresent(key + DEFAULT_AUDIT_TAG);
+    public int getSeriesCount() {
+        return cache.size();
+    }
+
+    /**
+     * Get the number of values in the dictionary
+     *
+     * @return
+     */
+    public int getDictionarySize() {
+        return dictionary.size();
+    }
+
+    /**
+     * Get the estimated memory of all series in bytes
+     *
+     * @return
+     */
+    public long getEstimatedMemory() {
+        long bytes = 0;
+        for (StatSeries series : cache.values()) {
+            bytes += series.estimateBytes() + SeriesKey.BYTES;
         }
-        return statData == null ? new LinkedList<>() : Collections.singletonList(statData);
+        return bytes;
     }
 
     /**
      * Destroy
      */
     public void destroy() {
-        cache.cleanUp();
+        cache.clear();
         monitorTimer.shutdown();
     }
 
+    private StatSeries getSeries(String inlongGroupId, String inlongStreamId, String auditId, String auditTag) {
+        int groupId = dictionary.getId(inlongGroupId);
+        int streamId = dictionary.getId(inlongStreamId);
+        int auditIdId = dictionary.getId(auditId);
+        int tagId = dictionary.getId(auditTag);
+        if (groupId == DimensionDictionary.ABSENT_ID || streamId == DimensionDictionary.ABSENT_ID
+                || auditIdId == DimensionDictionary.ABSENT_ID || tagId == DimensionDictionary.ABSENT_ID) {
+            return null;
+        }
+        return cache.get(new SeriesKey(groupId, streamId, auditIdId, tagId));
+    }
+
+    /**
+     * Convert the time to the slot of the cycle, the time is taken as a local date time
+     */
+    private long toSlot(String time) {
+        return toSlot(LocalDateTime.parse(time, DATE_FORMATTER));
+    }
+
+    private long toSlot(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC) / 60, auditCycle.getValue());
+    }
+
+    private String fromSlot(long slot) {
+        return LocalDateTime.ofEpochSecond(slot * auditCycle.getValue() * 60, 0, ZoneOffset.UTC)
+                .format(DATE_FORMATTER);
+    }
+
+    /**
+     * Monitor, remove the series whose slots are all expired, and the dictionary values no series refers to
+     */
+    void monitor() {
+        long currentSlot = toSlot(LocalDateTime.now());
+        dictionaryLock.writeLock().lock();
+        try {
+            cache.values().removeIf(series -> series.isExpired(currentSlot));
+            Set<Integer> usedIds = new HashSet<>();
+            for (SeriesKey key : cache.keySet()) {
+                usedIds.add(key.groupId);
+                usedIds.add(key.streamId);
+                usedIds.add(key.auditId);
+                usedIds.add(key.auditTag);
+            }
+            dictionary.retain(usedIds);
+        } finally {
+            dictionaryLock.writeLock().unlock();
+        }
+        LOGGER.info("{} api local cache series={}, dictionary size={}, estimated memory={} bytes",
+                auditCycle, cache.size(), dictionary.size(), getEstimatedMemory());
+    }
+
     /**
-     * Monitor
+     * Series key of dictionary ids
      */
-    private void monitor() {
-        LOGGER.info("{} api local cache size={}", auditCycle, cache.estimatedSize());
+    protected static class SeriesKey {
+
+        // object header and four int fields
+        private static final int BYTES = 32;
+        private final int groupId;
+        private final int streamId;
+        private final int auditId;
+        private final int auditTag;
+
+        SeriesKey(int groupId, int streamId, int auditId, int auditTag) {
+            this.groupId = groupId;
+            this.streamId = streamId;
+            this.auditId = auditId;
+            this.auditTag = auditTag;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SeriesKey)) {
+                return false;
+            }
+            SeriesKey that = (SeriesKey) o;
+            return groupId == that.groupId && streamId == that.streamId
+                    && auditId == that.auditId && auditTag == that.auditTag;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((groupId * 31 + streamId) * 31 + auditId) * 31 + auditTag;
+        }
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.cache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dimension dictionary, maps the dimension values such as group id, stream id, audit id and audit tag to int ids,
+ * so that every series only keeps the ids instead of the strings.
+ * The values no series refers to anymore are removed by {@link #retain(Set)}, so the dictionary does not grow with
+ * every value ever seen.
+ */
+public class DimensionDictionary {
+
+    public static final int ABSENT_ID = -1;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger idGenerator = new AtomicInteger(0);
+
+    /**
+     * Get the id of the value, allocate a new one if absent
+     *
+     * @param value
+     * @return
+     */
+    public int getOrCreateId(String value) {
+        return ids.computeIfAbsent(value, k -> idGenerator.getAndIncrement());
+    }
+
+    /**
+     * Get the id of the value
+     *
+     * @param value
+     * @return the id, or ABSENT_ID if the value has never been put into the dictionary
+     */
+    public int getId(String value) {
+        Integer id = ids.get(value);
+        return id == null ? ABSENT_ID : id;
+    }
+
+    /**
+     * Remove the values whose ids are not in use, the removed ids are never allocated again
+     *
+     * @param usedIds
+     */
+    public void retain(Set<Integer> usedIds) {
+        ids.values().removeIf(id -> !usedIds.contains(id));
+    }
+
+    /**
+     * Get the number of values
+     *
+     * @return
+     */
+    public int size() {
+        return ids.size();
+    }
+}
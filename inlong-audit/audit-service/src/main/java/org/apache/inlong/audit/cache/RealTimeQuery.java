@@ -22,6 +22,8 @@ import org.apache.inlong.audit.entities.JdbcConfig;
 import org.apache.inlong.audit.entities.StatData;
 import org.apache.inlong.audit.service.ConfigService;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.slf4j.Logger;
@@ -33,8 +35,17 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.apache.inlong.audit.config.ConfigConstants.CACHE_PREP_STMTS;
 import static org.apache.inlong.audit.config.ConfigConstants.DEFAULT_CACHE_PREP_STMTS;
@@ -49,6 +60,14 @@ import static org.apache.inlong.audit.config.ConfigConstants.KEY_PREP_STMT_CACHE
 import static org.apache.inlong.audit.config.ConfigConstants.KEY_PREP_STMT_CACHE_SQL_LIMIT;
 import static org.apache.inlong.audit.config.ConfigConstants.PREP_STMT_CACHE_SIZE;
 import static org.apache.inlong.audit.config.ConfigConstants.PREP_STMT_CACHE_SQL_LIMIT;
+import static org.apache.inlong.audit.config.OpenApiConstants.DEFAULT_API_REAL_CACHE_EXPIRED_MS;
+import static org.apache.inlong.audit.config.OpenApiConstants.DEFAULT_API_REAL_CACHE_MAX_SIZE;
+import static org.apache.inlong.audit.config.OpenApiConstants.DEFAULT_API_REAL_QUERY_THREADS;
+import static org.apache.inlong.audit.config.OpenApiConstants.DEFAULT_API_REAL_QUERY_TIMEOUT_MS;
+import static org.apache.inlong.audit.config.OpenApiConstants.KEY_API_REAL_CACHE_EXPIRED_MS;
+import static org.apache.inlong.audit.config.OpenApiConstants.KEY_API_REAL_CACHE_MAX_SIZE;
+import static org.apache.inlong.audit.config.OpenApiConstants.KEY_API_REAL_QUERY_THREADS;
+import static org.apache.inlong.audit.config.OpenApiConstants.KEY_API_REAL_QUERY_TIMEOUT_MS;
 import static org.apache.inlong.audit.config.SqlConstants.DEFAULT_SOURCE_QUERY_IDS_SQL;
 import static org.apache.inlong.audit.config.SqlConstants.DEFAULT_SOURCE_QUERY_IPS_SQL;
 import static org.apache.inlong.audit.config.SqlConstants.DEFAULT_SOURCE_QUERY_MINUTE_SQL;
@@ -58,11 +77,17 @@ import static org.apache.inlong.audit.config.SqlConstants.KEY_SOURCE_QUERY_MINUT
 
 /**
  * Real time query data from audit source.
+ *
+ * The audit sources are queried concurrently, and the first source in the configured order that returns data
+ * within the query timeout wins. Identical queries issued while one is in flight share its result. A result is
+ * kept for a short time only if every source before the winner answered, a result that fell back to a later
+ * source because an earlier one failed or timed out is not cached.
  */
 public class RealTimeQuery {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RealTimeQuery.class);
     private static volatile RealTimeQuery realTimeQuery = null;
+    private static final String CACHE_KEY_SEPARATOR = "\u0001";
 
     private final List<DataSource> dataSourceList = new LinkedList<>();
 
@@ -70,11 +95,21 @@ public class RealTimeQuery {
     private final String queryIdsByIpSql;
     private final String queryReportIpsSql;
 
+    private final int queryTimeoutMs;
+    private final ExecutorService queryExecutor;
+    private final AsyncCache<String, List<StatData>> resultCache;
+
     private RealTimeQuery() {
-        List<JdbcConfig> jdbcConfigList = ConfigService.getInstance().getAllAuditSource();
-        for (JdbcConfig jdbcConfig : jdbcConfigList) {
-            dataSourceList.add(createDataSource(jdbcConfig));
-        }
+        this(createDataSources(),
+                Configuration.getInstance().get(KEY_API_REAL_QUERY_TIMEOUT_MS, DEFAULT_API_REAL_QUERY_TIMEOUT_MS),
+                Configuration.getInstance().get(KEY_API_REAL_QUERY_THREADS, DEFAULT_API_REAL_QUERY_THREADS),
+                Configuration.getInstance().get(KEY_API_REAL_CACHE_EXPIRED_MS, DEFAULT_API_REAL_CACHE_EXPIRED_MS),
+                Configuration.getInstance().get(KEY_API_REAL_CACHE_MAX_SIZE, DEFAULT_API_REAL_CACHE_MAX_SIZE));
+    }
+
+    RealTimeQuery(List<DataSource> dataSources, int queryTimeoutMs, int queryThreads, int cacheExpiredMs,
+            int cacheMaxSize) {
+        dataSourceList.addAll(dataSources);
 
         queryLogTsSql = Configuration.getInstance().get(KEY_SOURCE_QUERY_MINUTE_SQL,
                 DEFAULT_SOURCE_QUERY_MINUTE_SQL);
@@ -82,6 +117,13 @@ public class RealTimeQuery {
                 DEFAULT_SOURCE_QUERY_IDS_SQL);
         queryReportIpsSql = Configuration.getInstance().get(KEY_SOURCE_QUERY_IPS_SQL,
                 DEFAULT_SOURCE_QUERY_IPS_SQL);
+
+        this.queryTimeoutMs = queryTimeoutMs;
+        queryExecutor = Executors.newFixedThreadPool(queryThreads);
+        resultCache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheExpiredMs, TimeUnit.MILLISECONDS)
+                .maximumSize(cacheMaxSize)
+                .buildAsync();
     }
 
     public static RealTimeQuery getInstance() {
@@ -95,10 +137,18 @@ public class RealTimeQuery {
         return realTimeQuery;
     }
 
+    private static List<DataSource> createDataSources() {
+        List<DataSource> dataSources = new LinkedList<>();
+        for (JdbcConfig jdbcConfig : ConfigService.getInstance().getAllAuditSource()) {
+            dataSources.add(createDataSource(jdbcConfig));
+        }
+        return dataSources;
+    }
+
     /**
      * Create data source.
      */
-    private DataSource createDataSource(JdbcConfig jdbcConfig) {
+    private static DataSource createDataSource(JdbcConfig jdbcConfig) {
         HikariConfig config = new HikariConfig();
         config.setDriverClassName(jdbcConfig.getDriverClass());
         config.setJdbcUrl(jdbcConfig.getJdbcUrl());
@@ -118,6 +168,83 @@ public class RealTimeQuery {
         return new HikariDataSource(config);
     }
 
+    /**
+     * Get the result of a query from the cache, or run it if it is neither cached nor in flight.
+     *
+     * @param cacheKey
+     * @param query
+     * @return
+     */
+    List<StatData> query(String cacheKey, SourceQuery query) {
+        CompletableFuture<List<StatData>> newFuture = new CompletableFuture<>();
+        CompletableFuture<List<StatData>> future = resultCache.asMap().putIfAbsent(cacheKey, newFuture);
+        if (future == null) {
+            future = newFuture;
+            SourcesResult result = null;
+            try {
+                result = queryAllSources(query);
+            } finally {
+                // the waiting queries share the result, but it is only cached if no earlier source was skipped
+                newFuture.complete(result == null ? Collections.emptyList()
+                        : Collections.unmodifiableList(result.statDataList));
+                if (result == null || !result.cacheable) {
+                    resultCache.asMap().remove(cacheKey, newFuture);
+                }
+            }
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException | ExecutionException exception) {
+            LOGGER.error("Wait for the in flight query has exception! key={}", cacheKey, exception);
+            return new LinkedList<>();
+        }
+    }
+
+    /**
+     * Query all the audit sources concurrently, all of them share the same deadline.
+     *
+     * @param query
+     * @return the result of the first source in order that has data, or an empty result if no source has data
+     */
+    private SourcesResult queryAllSources(SourceQuery query) {
+        List<Future<List<StatData>>> futures = new ArrayList<>(dataSourceList.size());
+        for (DataSource dataSource : dataSourceList) {
+            futures.add(queryExecutor.submit(() -> query.query(dataSource)));
+        }
+        long deadline = System.currentTimeMillis() + queryTimeoutMs;
+        boolean allAnswered = true;
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    List<StatData> statDataList = futures.get(i).get(
+                            Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+                    if (!statDataList.isEmpty()) {
+                        return new SourcesResult(statDataList, allAnswered);
+                    }
+                } catch (TimeoutException timeoutException) {
+                    LOGGER.warn("Query audit source {} timeout after {} ms", i, queryTimeoutMs);
+                    allAnswered = false;
+                } catch (ExecutionException exception) {
+                    LOGGER.error("Query audit source {} has exception!", i, exception.getCause());
+                    allAnswered = false;
+                }
+            }
+        } catch (InterruptedException interruptedException) {
+            LOGGER.warn("Query audit sources has been interrupted!");
+            Thread.currentThread().interrupt();
+            allAnswered = false;
+        } finally {
+            for (Future<List<StatData>> future : futures) {
+                future.cancel(false);
+            }
+        }
+        return new SourcesResult(new LinkedList<>(), allAnswered);
+    }
+
+    private String buildCacheKey(String... params) {
+        return String.join(CACHE_KEY_SEPARATOR, params);
+    }
+
     /**
      * Query the audit data of log time.
      *
@@ -130,17 +257,8 @@ public class RealTimeQuery {
      */
     public List<StatData> queryLogTs(String startTime, String endTime, String inlongGroupId,
             String inlongStreamId, String auditId) {
-        List<StatData> statDataList = new LinkedList<>();
-        for (DataSource dataSource : dataSourceList) {
-            statDataList =
-                    doQueryLogTs(dataSource, startTime, endTime, inlongGroupId, inlongStreamId, auditId);
-            if (!statDataList.isEmpty()) {
-                break;
-            }
-            LOGGER.info("Change another audit source to query data! Params is: {} {} {} {} {}",
-                    startTime, endTime, inlongGroupId, inlongStreamId, auditId);
-        }
-        return statDataList;
+        return query(buildCacheKey("logTs", startTime, endTime, inlongGroupId, inlongStreamId, auditId),
+                dataSource -> doQueryLogTs(dataSource, startTime, endTime, inlongGroupId, inlongStreamId, auditId));
     }
 
     /**
@@ -155,10 +273,11 @@ public class RealTimeQuery {
      * @return
      */
     private List<StatData> doQueryLogTs(DataSource dataSource, String startTime, String endTime, String inlongGroupId,
-            String inlongStreamId, String auditId) {
+            String inlongStreamId, String auditId) throws SQLException {
         List<StatData> result = new LinkedList<>();
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement pstat = connection.prepareStatement(queryLogTsSql)) {
+            pstat.setQueryTimeout(getQueryTimeoutSeconds());
             pstat.setString(1, startTime);
             pstat.setString(2, endTime);
             pstat.setString(3, inlongGroupId);
@@ -177,11 +296,7 @@ public class RealTimeQuery {
                     data.setDelay(resultSet.getLong(8));
                     result.add(data);
                 }
-            } catch (SQLException sqlException) {
-                LOGGER.error("Query log time has SQL exception!, datasource={} ", dataSource, sqlException);
             }
-        } catch (Exception exception) {
-            LOGGER.error("Query log time has exception!, datasource={} ", dataSource, exception);
         }
         return result;
     }
@@ -196,14 +311,8 @@ public class RealTimeQuery {
      * @return
      */
     public List<StatData> queryIdsByIp(String startTime, String endTime, String ip, String auditId) {
-        List<StatData> statDataList = new LinkedList<>();
-        for (DataSource dataSource : dataSourceList) {
-            statDataList = doQueryIdsByIp(dataSource, startTime, endTime, ip, auditId);
-            if (!statDataList.isEmpty()) {
-                break;
-            }
-        }
-        return statDataList;
+        return query(buildCacheKey("idsByIp", startTime, endTime, ip, auditId),
+                dataSource -> doQueryIdsByIp(dataSource, startTime, endTime, ip, auditId));
     }
 
     /**
@@ -217,10 +326,11 @@ public class RealTimeQuery {
      * @return
      */
     private List<StatData> doQueryIdsByIp(DataSource dataSource, String startTime, String endTime, String ip,
-            String auditId) {
+            String auditId) throws SQLException {
         List<StatData> result = new LinkedList<>();
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement pstat = connection.prepareStatement(queryIdsByIpSql)) {
+            pstat.setQueryTimeout(getQueryTimeoutSeconds());
             pstat.setString(1, startTime);
             pstat.setString(2, endTime);
             pstat.setString(3, auditId);
@@ -237,11 +347,7 @@ public class RealTimeQuery {
                     data.setDelay(resultSet.getLong(7));
                     result.add(data);
                 }
-            } catch (SQLException sqlException) {
-                LOGGER.error("Query inLongGroupIds has SQL exception!, datasource={} ", dataSource, sqlException);
             }
-        } catch (Exception exception) {
-            LOGGER.error("Query inLongGroupIds has exception!, datasource={} ", dataSource, exception);
         }
         return result;
     }
@@ -258,14 +364,8 @@ public class RealTimeQuery {
      */
     public List<StatData> queryIpsById(String startTime, String endTime, String inlongGroupId,
             String inlongStreamId, String auditId) {
-        List<StatData> statDataList = new LinkedList<>();
-        for (DataSource dataSource : dataSourceList) {
-            statDataList = doQueryIpsById(dataSource, startTime, endTime, inlongGroupId, inlongStreamId, auditId);
-            if (!statDataList.isEmpty()) {
-                break;
-            }
-        }
-        return statDataList;
+        return query(buildCacheKey("ipsById", startTime, endTime, inlongGroupId, inlongStreamId, auditId),
+                dataSource -> doQueryIpsById(dataSource, startTime, endTime, inlongGroupId, inlongStreamId, auditId));
     }
 
     /**
@@ -281,10 +381,11 @@ public class RealTimeQuery {
      */
     private List<StatData> doQueryIpsById(DataSource dataSource, String startTime, String endTime,
             String inlongGroupId,
-            String inlongStreamId, String auditId) {
+            String inlongStreamId, String auditId) throws SQLException {
         List<StatData> result = new LinkedList<>();
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement pstat = connection.prepareStatement(queryReportIpsSql)) {
+            pstat.setQueryTimeout(getQueryTimeoutSeconds());
             pstat.setString(1, startTime);
             pstat.setString(2, endTime);
             pstat.setString(3, inlongGroupId);
@@ -299,12 +400,35 @@ public class RealTimeQuery {
                     data.setDelay(resultSet.getLong(4));
                     result.add(data);
                 }
-            } catch (SQLException sqlException) {
-                LOGGER.error("Query ips has SQL exception!, datasource={} ", dataSource, sqlException);
             }
-        } catch (Exception exception) {
-            LOGGER.error("Query ips has exception! ", exception);
         }
         return result;
     }
+
+    private int getQueryTimeoutSeconds() {
+        return (int) TimeUnit.MILLISECONDS.toSeconds(queryTimeoutMs + 999);
+    }
+
+    /**
+     * Query of one audit source, a failure is thrown instead of being returned as an empty result
+     */
+    interface SourceQuery {
+
+        List<StatData> query(DataSource dataSource) throws SQLException;
+    }
+
+    /**
+     * Result of querying all the audit sources
+     */
+    private static class SourcesResult {
+
+        private final List<StatData> statDataList;
+        // whether every source before the one giving the result answered in time
+        private final boolean cacheable;
+
+        SourcesResult(List<StatData> statDataList, boolean cacheable) {
+            this.statDataList = statDataList;
+            this.cacheable = cacheable;
+        }
+    }
 }
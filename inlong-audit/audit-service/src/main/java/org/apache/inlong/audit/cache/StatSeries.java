@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.cache;
+
+import java.util.Arrays;
+
+/**
+ * Stat series of one (group id, stream id, audit id, audit tag),
+ * keeps the count, size and delay of the latest slots in primitive ring buffers.
+ * The buffers start small and grow with the span of the kept slots, up to the capacity.
+ */
+public class StatSeries {
+
+    private static final long EMPTY_SLOT = Long.MIN_VALUE;
+    private static final int INITIAL_LENGTH = 4;
+    // object header, fields and the headers of the four arrays
+    private static final int FIXED_BYTES = 40 + 4 * 16;
+    private static final int BYTES_PER_SLOT = 4 * Long.BYTES;
+
+    private final int capacity;
+    private long[] slots;
+    private long[] counts;
+    private long[] sizes;
+    private long[] delays;
+    private long latestSlot = EMPTY_SLOT;
+    private long oldestSlot = EMPTY_SLOT;
+
+    public StatSeries(int capacity) {
+        this.capacity = capacity;
+        allocate(Math.min(capacity, INITIAL_LENGTH));
+    }
+
+    /**
+     * Put the stat of a slot, the slots older than the capacity of the latest slot are ignored
+     *
+     * @param slot
+     * @param count
+     * @param size
+     * @param delay
+     */
+    public synchronized void put(long slot, long count, long size, long delay) {
+        if (latestSlot == EMPTY_SLOT) {
+            latestSlot = slot;
+            oldestSlot = slot;
+        } else {
+            if (slot <= latestSlot - capacity) {
+                return;
+            }
+            latestSlot = Math.max(latestSlot, slot);
+            oldestSlot = Math.max(Math.min(oldestSlot, slot), latestSlot - capacity + 1);
+            long span = latestSlot - oldestSlot + 1;
+            if (span > slots.length) {
+                grow((int) Math.min(capacity, Math.max(span, 2L * slots.length)));
+            }
+        }
+        int index = indexOf(slot);
+        slots[index] = slot;
+        counts[index] = count;
+        sizes[index] = size;
+        delays[index] = delay;
+    }
+
+    /**
+     * Get the stats of the slots between start slot and end slot, both inclusive
+     *
+     * @param startSlot
+     * @param endSlot
+     * @param visitor
+     */
+    public synchronized void get(long startSlot, long endSlot, SlotVisitor visitor) {
+        if (latestSlot == EMPTY_SLOT) {
+            return;
+        }
+        long from = Math.max(startSlot, latestSlot - capacity + 1);
+        long to = Math.min(endSlot, latestSlot);
+        for (long slot = from; slot <= to; slot++) {
+            int index = indexOf(slot);
+            if (slots[index] == slot) {
+                visitor.visit(slot, counts[index], sizes[index], delays[index]);
+            }
+        }
+    }
+
+    /**
+     * Whether all slots are older than the capacity of the given slot
+     *
+     * @param currentSlot
+     * @return
+     */
+    public synchronized boolean isExpired(long currentSlot) {
+        return latestSlot <= currentSlot - capacity;
+    }
+
+    /**
+     * Estimate the memory of the series in bytes
+     *
+     * @return
+     */
+    public synchronized long estimateBytes() {
+        return FIXED_BYTES + (long) BYTES_PER_SLOT * slots.length;
+    }
+
+    /**
+     * Get the number of slots the buffers can hold now
+     *
+     * @return
+     */
+    synchronized int getLength() {
+        return slots.length;
+    }
+
+    private int indexOf(long slot) {
+        return (int) Math.floorMod(slot, (long) slots.length);
+    }
+
+    private void allocate(int length) {
+        slots = new long[length];
+        Arrays.fill(slots, EMPTY_SLOT);
+        counts = new long[length];
+        sizes = new long[length];
+        delays = new long[length];
+    }
+
+    /**
+     * Grow the buffers, and move the kept slots to their index in the new buffers
+     */
+    private void grow(int length) {
+        long[] oldSlots = slots;
+        long[] oldCounts = counts;
+        long[] oldSizes = sizes;
+        long[] oldDelays = delays;
+        allocate(length);
+        for (int i = 0; i < oldSlots.length; i++) {
+            long slot = oldSlots[i];
+            if (slot != EMPTY_SLOT && slot >= oldestSlot) {
+                int index = indexOf(slot);
+                slots[index] = slot;
+                counts[index] = oldCounts[i];
+                sizes[index] = oldSizes[i];
+                delays[index] = oldDelays[i];
+            }
+        }
+    }
+
+    /**
+     * Slot visitor
+     */
+    public interface SlotVisitor {
+
+        void visit(long slot, long count, long size, long delay);
+    }
+}
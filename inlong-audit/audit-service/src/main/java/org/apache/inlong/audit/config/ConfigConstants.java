@@ -58,6 +58,13 @@ public class ConfigConstants {
     public static final String KEY_SUMMARY_DAILY_STAT_BACK_TIMES = "summary.daily.stat.back.times";
     public static final int DEFAULT_SUMMARY_DAILY_STAT_BACK_TIMES = 2;
 
+    public static final String KEY_SUMMARY_INCREMENTAL_ENABLE = "summary.incremental.enable";
+    public static final boolean DEFAULT_SUMMARY_INCREMENTAL_ENABLE = false;
+    public static final String KEY_SUMMARY_INCREMENTAL_INTERVAL_SECONDS = "summary.incremental.interval.seconds";
+    public static final int DEFAULT_SUMMARY_INCREMENTAL_INTERVAL_SECONDS = 30;
+    public static final String KEY_SUMMARY_INCREMENTAL_OVERLAP_SECONDS = "summary.incremental.overlap.seconds";
+    public static final int DEFAULT_SUMMARY_INCREMENTAL_OVERLAP_SECONDS = 60;
+
     public static final String KEY_STAT_BACK_INITIAL_OFFSET = "stat.back.initial.offset";
     public static final int DEFAULT_STAT_BACK_INITIAL_OFFSET = 0;
 
@@ -39,13 +39,18 @@ public class OpenApiConstants {
     public static final int DEFAULT_API_BACKLOG_SIZE = 100;
     public static final String KEY_API_REAL_LIMITER_QPS = "api.real.limiter.qps";
     public static final double DEFAULT_API_REAL_LIMITER_QPS = 100.0;
+    public static final String KEY_API_REAL_QUERY_THREADS = "api.real.query.threads";
+    public static final int DEFAULT_API_REAL_QUERY_THREADS = 20;
+    public static final String KEY_API_REAL_QUERY_TIMEOUT_MS = "api.real.query.timeout.ms";
+    public static final int DEFAULT_API_REAL_QUERY_TIMEOUT_MS = 5000;
 
     // Cache config
-    public static final String KEY_API_CACHE_MAX_SIZE = "api.cache.max.size";
-    public static final int DEFAULT_API_CACHE_MAX_SIZE = 50000000;
-
     public static final String KEY_API_CACHE_EXPIRED_HOURS = "api.cache.expired.hours";
     public static final int DEFAULT_API_CACHE_EXPIRED_HOURS = 12;
+    public static final String KEY_API_REAL_CACHE_EXPIRED_MS = "api.real.cache.expired.ms";
+    public static final int DEFAULT_API_REAL_CACHE_EXPIRED_MS = 10000;
+    public static final String KEY_API_REAL_CACHE_MAX_SIZE = "api.real.cache.max.size";
+    public static final int DEFAULT_API_REAL_CACHE_MAX_SIZE = 10000;
 
     // Http config
     public static final String PARAMS_START_TIME = "startTime";
@@ -115,6 +115,14 @@ public class SqlConstants {
                     "AND audit_id = ? \n" +
                     "GROUP BY inlong_group_id, inlong_stream_id, audit_id, audit_tag";
 
+    public static final String KEY_MYSQL_SOURCE_QUERY_INCREMENTAL_SQL = "mysql.query.incremental.sql";
+    public static final String DEFAULT_MYSQL_SOURCE_QUERY_INCREMENTAL_SQL =
+            "SELECT log_ts, inlong_group_id, inlong_stream_id, audit_id, audit_tag\n" +
+                    ", count, size, delay, update_time\n" +
+                    "FROM audit_data_temp\n" +
+                    "WHERE update_time >= ? \n" +
+                    "AND log_ts >= ? ";
+
     public static final String KEY_MYSQL_SOURCE_QUERY_DAY_SQL = "mysql.query.day.sql";
     public static final String DEFAULT_MYSQL_SOURCE_QUERY_DAY_SQL =
             "select log_ts,inlong_group_id,inlong_stream_id,audit_id,audit_tag,count,size,delay " +
@@ -26,7 +26,6 @@ import org.apache.inlong.audit.config.Configuration;
 import org.apache.inlong.audit.entities.ApiType;
 import org.apache.inlong.audit.entities.AuditCycle;
 import org.apache.inlong.audit.entities.StatData;
-import org.apache.inlong.audit.utils.CacheUtils;
 
 import com.google.common.util.concurrent.RateLimiter;
 import com.google.gson.Gson;
@@ -214,11 +213,13 @@ public class ApiService {
                     statData = handleMinutesApi(params);
                     break;
                 case HOUR:
-                    String cacheKey =
-                            CacheUtils.buildCacheKey(params.get(PARAMS_START_TIME), params.get(PARAMS_INLONG_GROUP_Id),
-                                    params.get(PARAMS_INLONG_STREAM_Id), params.get(PARAMS_AUDIT_ID),
-                                    params.get(PARAMS_AUDIT_TAG));
-                    statData = HourCache.getInstance().getData(cacheKey);
+                    statData = HourCache.getInstance().getData(
+                            params.get(PARAMS_START_TIME),
+                            params.get(PARAMS_END_TIME),
+                            params.get(PARAMS_INLONG_GROUP_Id),
+                            params.get(PARAMS_INLONG_STREAM_Id),
+                            params.get(PARAMS_AUDIT_ID),
+                            params.get(PARAMS_AUDIT_TAG));
                     break;
                 case DAY:
                     statData = DayCache.getInstance().getData(
@@ -257,9 +258,6 @@ public class ApiService {
         }
 
         private List<StatData> handleMinutesApi(Map<String, String> params) {
-            String cacheKey = CacheUtils.buildCacheKey(params.get(PARAMS_START_TIME),
-                    params.get(PARAMS_INLONG_GROUP_Id),
-                    params.get(PARAMS_INLONG_STREAM_Id), params.get(PARAMS_AUDIT_ID), params.get(PARAMS_AUDIT_TAG));
             int cycle = Integer.parseInt(params.get(PARAMS_AUDIT_CYCLE));
             List<StatData> statData = null;
             switch (AuditCycle.fromInt(cycle)) {
@@ -271,10 +269,22 @@ public class ApiService {
                             params.get(PARAMS_AUDIT_ID));
                     break;
                 case MINUTE_10:
-                    statData = TenMinutesCache.getInstance().getData(cacheKey);
+                    statData = TenMinutesCache.getInstance().getData(
+                            params.get(PARAMS_START_TIME),
+                            params.get(PARAMS_END_TIME),
+                            params.get(PARAMS_INLONG_GROUP_Id),
+                            params.get(PARAMS_INLONG_STREAM_Id),
+                            params.get(PARAMS_AUDIT_ID),
+                            params.get(PARAMS_AUDIT_TAG));
                     break;
                 case MINUTE_30:
-                    statData = HalfHourCache.getInstance().getData(cacheKey);
+                    statData = HalfHourCache.getInstance().getData(
+                            params.get(PARAMS_START_TIME),
+                            params.get(PARAMS_END_TIME),
+                            params.get(PARAMS_INLONG_GROUP_Id),
+                            params.get(PARAMS_INLONG_STREAM_Id),
+                            params.get(PARAMS_AUDIT_ID),
+                            params.get(PARAMS_AUDIT_TAG));
                     break;
                 default:
                     LOGGER.error("Unsupported cycle type! cycle is {}", cycle);
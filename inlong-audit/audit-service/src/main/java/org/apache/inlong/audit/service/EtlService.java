@@ -31,6 +31,7 @@ import org.apache.inlong.audit.selector.api.SelectorConfig;
 import org.apache.inlong.audit.selector.api.SelectorFactory;
 import org.apache.inlong.audit.sink.CacheSink;
 import org.apache.inlong.audit.sink.JdbcSink;
+import org.apache.inlong.audit.source.IncrementalJdbcSource;
 import org.apache.inlong.audit.source.JdbcSource;
 import org.apache.inlong.audit.utils.JdbcUtils;
 import org.apache.inlong.common.util.NetworkUtils;
@@ -38,26 +39,32 @@ import org.apache.inlong.common.util.NetworkUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.EnumMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.apache.inlong.audit.config.ConfigConstants.DEFAULT_DATA_QUEUE_SIZE;
 import static org.apache.inlong.audit.config.ConfigConstants.DEFAULT_SELECTOR_FOLLOWER_LISTEN_CYCLE_MS;
 import static org.apache.inlong.audit.config.ConfigConstants.DEFAULT_SELECTOR_SERVICE_ID;
 import static org.apache.inlong.audit.config.ConfigConstants.DEFAULT_SUMMARY_DAILY_STAT_BACK_TIMES;
+import static org.apache.inlong.audit.config.ConfigConstants.DEFAULT_SUMMARY_INCREMENTAL_ENABLE;
 import static org.apache.inlong.audit.config.ConfigConstants.DEFAULT_SUMMARY_REALTIME_STAT_BACK_TIMES;
 import static org.apache.inlong.audit.config.ConfigConstants.KEY_DATA_QUEUE_SIZE;
 import static org.apache.inlong.audit.config.ConfigConstants.KEY_SELECTOR_FOLLOWER_LISTEN_CYCLE_MS;
 import static org.apache.inlong.audit.config.ConfigConstants.KEY_SELECTOR_SERVICE_ID;
 import static org.apache.inlong.audit.config.ConfigConstants.KEY_SUMMARY_DAILY_STAT_BACK_TIMES;
+import static org.apache.inlong.audit.config.ConfigConstants.KEY_SUMMARY_INCREMENTAL_ENABLE;
 import static org.apache.inlong.audit.config.ConfigConstants.KEY_SUMMARY_REALTIME_STAT_BACK_TIMES;
 import static org.apache.inlong.audit.config.SqlConstants.DEFAULT_MYSQL_SINK_INSERT_DAY_SQL;
 import static org.apache.inlong.audit.config.SqlConstants.DEFAULT_MYSQL_SINK_INSERT_TEMP_SQL;
+import static org.apache.inlong.audit.config.SqlConstants.DEFAULT_MYSQL_SOURCE_QUERY_INCREMENTAL_SQL;
 import static org.apache.inlong.audit.config.SqlConstants.DEFAULT_MYSQL_SOURCE_QUERY_TEMP_SQL;
 import static org.apache.inlong.audit.config.SqlConstants.DEFAULT_SOURCE_STAT_SQL;
 import static org.apache.inlong.audit.config.SqlConstants.KEY_MYSQL_SINK_INSERT_DAY_SQL;
 import static org.apache.inlong.audit.config.SqlConstants.KEY_MYSQL_SINK_INSERT_TEMP_SQL;
+import static org.apache.inlong.audit.config.SqlConstants.KEY_MYSQL_SOURCE_QUERY_INCREMENTAL_SQL;
 import static org.apache.inlong.audit.config.SqlConstants.KEY_MYSQL_SOURCE_QUERY_TEMP_SQL;
 import static org.apache.inlong.audit.config.SqlConstants.KEY_SOURCE_STAT_SQL;
 
@@ -71,6 +78,7 @@ public class EtlService {
     private JdbcSource mysqlSourceOfTenMinutesCache;
     private JdbcSource mysqlSourceOfHalfHourCache;
     private JdbcSource mysqlSourceOfHourCache;
+    private IncrementalJdbcSource mysqlSourceOfRollup;
     private JdbcSink mysqlSinkOfDay;
     private final List<JdbcSource> auditJdbcSources = new LinkedList<>();
     private JdbcSink mysqlSinkOfTemp;
@@ -96,10 +104,14 @@ public class EtlService {
      * Start the etl service.
      */
     public void start() {
-        mysqlToMysqlOfDay();
-        mysqlToTenMinutesCache();
-        mysqlToHalfHourCache();
-        mysqlToHourCache();
+        if (Configuration.getInstance().get(KEY_SUMMARY_INCREMENTAL_ENABLE, DEFAULT_SUMMARY_INCREMENTAL_ENABLE)) {
+            mysqlToRollup();
+        } else {
+            mysqlToMysqlOfDay();
+            mysqlToTenMinutesCache();
+            mysqlToHalfHourCache();
+            mysqlToHourCache();
+        }
 
         initSelector();
         waitToBeLeader();
@@ -123,6 +135,47 @@ public class EtlService {
         mysqlSinkOfDay.start();
     }
 
+    /**
+     * Read the updated data from mysql data source incrementally, roll it up in memory,
+     * and store the rollups in local caches for openapi and in the target mysql table of day.
+     */
+    private void mysqlToRollup() {
+        Map<AuditCycle, DataQueue> dataQueues = new EnumMap<>(AuditCycle.class);
+        DataQueue tenMinutesQueue = new DataQueue(queueSize);
+        DataQueue halfHourQueue = new DataQueue(queueSize);
+        DataQueue hourQueue = new DataQueue(queueSize);
+        DataQueue dayQueue = new DataQueue(queueSize);
+        dataQueues.put(AuditCycle.MINUTE_10, tenMinutesQueue);
+        dataQueues.put(AuditCycle.MINUTE_30, halfHourQueue);
+        dataQueues.put(AuditCycle.HOUR, hourQueue);
+        dataQueues.put(AuditCycle.DAY, dayQueue);
+
+        JdbcConfig jdbcConfig = JdbcUtils.buildMysqlConfig();
+        SourceConfig sourceConfig = new SourceConfig(AuditCycle.MINUTE_5,
+                Configuration.getInstance().get(KEY_MYSQL_SOURCE_QUERY_INCREMENTAL_SQL,
+                        DEFAULT_MYSQL_SOURCE_QUERY_INCREMENTAL_SQL),
+                statBackTimes,
+                jdbcConfig.getDriverClass(),
+                jdbcConfig.getJdbcUrl(),
+                jdbcConfig.getUserName(),
+                jdbcConfig.getPassword());
+        mysqlSourceOfRollup = new IncrementalJdbcSource(dataQueues, sourceConfig,
+                Configuration.getInstance().get(KEY_SUMMARY_DAILY_STAT_BACK_TIMES,
+                        DEFAULT_SUMMARY_DAILY_STAT_BACK_TIMES));
+        mysqlSourceOfRollup.start();
+
+        cacheSinkOfTenMinutesCache = new CacheSink(tenMinutesQueue, TenMinutesCache.getInstance());
+        cacheSinkOfTenMinutesCache.start();
+        cacheSinkOfHalfHourCache = new CacheSink(halfHourQueue, HalfHourCache.getInstance());
+        cacheSinkOfHalfHourCache.start();
+        cacheSinkOfHourCache = new CacheSink(hourQueue, HourCache.getInstance());
+        cacheSinkOfHourCache.start();
+
+        mysqlSinkOfDay = new JdbcSink(dayQueue, buildMysqlSinkConfig(
+                Configuration.getInstance().get(KEY_MYSQL_SINK_INSERT_DAY_SQL, DEFAULT_MYSQL_SINK_INSERT_DAY_SQL)));
+        mysqlSinkOfDay.start();
+    }
+
     /**
      * Aggregate data from mysql data source and store in local cache for openapi.
      */
@@ -132,7 +185,7 @@ public class EtlService {
                 new JdbcSource(dataQueue, buildMysqlSourceConfig(AuditCycle.MINUTE_10, statBackTimes));
         mysqlSourceOfTenMinutesCache.start();
 
-        cacheSinkOfTenMinutesCache = new CacheSink(dataQueue, TenMinutesCache.getInstance().getCache());
+        cacheSinkOfTenMinutesCache = new CacheSink(dataQueue, TenMinutesCache.getInstance());
         cacheSinkOfTenMinutesCache.start();
     }
 
@@ -145,7 +198,7 @@ public class EtlService {
                 new JdbcSource(dataQueue, buildMysqlSourceConfig(AuditCycle.MINUTE_30, statBackTimes));
         mysqlSourceOfHalfHourCache.start();
 
-        cacheSinkOfHalfHourCache = new CacheSink(dataQueue, HalfHourCache.getInstance().getCache());
+        cacheSinkOfHalfHourCache = new CacheSink(dataQueue, HalfHourCache.getInstance());
         cacheSinkOfHalfHourCache.start();
     }
 
@@ -157,7 +210,7 @@ public class EtlService {
         mysqlSourceOfHourCache = new JdbcSource(dataQueue, buildMysqlSourceConfig(AuditCycle.HOUR, statBackTimes));
         mysqlSourceOfHourCache.start();
 
-        cacheSinkOfHourCache = new CacheSink(dataQueue, HourCache.getInstance().getCache());
+        cacheSinkOfHourCache = new CacheSink(dataQueue, HourCache.getInstance());
         cacheSinkOfHourCache.start();
     }
 
@@ -280,17 +333,22 @@ public class EtlService {
      */
     public void stop() {
         running = false;
-        mysqlSourceOfTemp.destroy();
+        if (mysqlSourceOfRollup != null) {
+            mysqlSourceOfRollup.destroy();
+        } else {
+            mysqlSourceOfTemp.destroy();
+            mysqlSourceOfTenMinutesCache.destroy();
+            mysqlSourceOfHalfHourCache.destroy();
+            mysqlSourceOfHourCache.destroy();
+        }
         mysqlSinkOfDay.destroy();
 
         for (JdbcSource source : auditJdbcSources) {
             source.destroy();
         }
-        mysqlSinkOfTemp.destroy();
-
-        mysqlSourceOfTenMinutesCache.destroy();
-        mysqlSourceOfHalfHourCache.destroy();
-        mysqlSourceOfHourCache.destroy();
+        if (mysqlSinkOfTemp != null) {
+            mysqlSinkOfTemp.destroy();
+        }
 
         cacheSinkOfTenMinutesCache.destroy();
         cacheSinkOfHalfHourCache.destroy();
@@ -17,12 +17,11 @@
 
 package org.apache.inlong.audit.sink;
 
+import org.apache.inlong.audit.cache.AbstractCache;
 import org.apache.inlong.audit.channel.DataQueue;
 import org.apache.inlong.audit.config.Configuration;
 import org.apache.inlong.audit.entities.StatData;
-import org.apache.inlong.audit.utils.CacheUtils;
 
-import com.github.benmanes.caffeine.cache.Cache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,10 +42,10 @@ public class CacheSink {
     private static final Logger LOGGER = LoggerFactory.getLogger(CacheSink.class);
     private final ScheduledExecutorService sinkTimer = Executors.newSingleThreadScheduledExecutor();
     private final DataQueue dataQueue;
-    private final Cache<String, StatData> cache;
+    private final AbstractCache cache;
     private final int pullTimeOut;
 
-    public CacheSink(DataQueue dataQueue, Cache<String, StatData> cache) {
+    public CacheSink(DataQueue dataQueue, AbstractCache cache) {
         this.dataQueue = dataQueue;
         this.cache = cache;
         pullTimeOut = Configuration.getInstance().get(KEY_QUEUE_PULL_TIMEOUT,
@@ -71,9 +70,7 @@ public class CacheSink {
         try {
             StatData data = dataQueue.pull(pullTimeOut, TimeUnit.MILLISECONDS);
             while (data != null) {
-                String cacheKey = CacheUtils.buildCacheKey(data.getLogTs(), data.getInlongGroupId(),
-                        data.getInlongStreamId(), data.getAuditId(), data.getAuditTag());
-                cache.put(cacheKey, data);
+                cache.put(data);
                 data = dataQueue.pull(pullTimeOut, TimeUnit.MILLISECONDS);
             }
         } catch (Exception exception) {
@@ -0,0 +1,373 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.source;
+
+import org.apache.inlong.audit.channel.DataQueue;
+import org.apache.inlong.audit.config.Configuration;
+import org.apache.inlong.audit.entities.AuditCycle;
+import org.apache.inlong.audit.entities.SourceConfig;
+import org.apache.inlong.audit.entities.StatData;
+import org.apache.inlong.audit.service.ConfigService;
+import org.apache.inlong.audit.utils.CacheUtils;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.inlong.audit.config.ConfigConstants.CACHE_PREP_STMTS;
+import static org.apache.inlong.audit.config.ConfigConstants.DEFAULT_CACHE_PREP_STMTS;
+import static org.apache.inlong.audit.config.ConfigConstants.DEFAULT_CONNECTION_TIMEOUT;
+import static org.apache.inlong.audit.config.ConfigConstants.DEFAULT_DATASOURCE_POOL_SIZE;
+import static org.apache.inlong.audit.config.ConfigConstants.DEFAULT_PREP_STMT_CACHE_SIZE;
+import static org.apache.inlong.audit.config.ConfigConstants.DEFAULT_PREP_STMT_CACHE_SQL_LIMIT;
+import static org.apache.inlong.audit.config.ConfigConstants.DEFAULT_SUMMARY_INCREMENTAL_INTERVAL_SECONDS;
+import static org.apache.inlong.audit.config.ConfigConstants.DEFAULT_SUMMARY_INCREMENTAL_OVERLAP_SECONDS;
+import static org.apache.inlong.audit.config.ConfigConstants.KEY_CACHE_PREP_STMTS;
+import static org.apache.inlong.audit.config.ConfigConstants.KEY_DATASOURCE_CONNECTION_TIMEOUT;
+import static org.apache.inlong.audit.config.ConfigConstants.KEY_DATASOURCE_POOL_SIZE;
+import static org.apache.inlong.audit.config.ConfigConstants.KEY_PREP_STMT_CACHE_SIZE;
+import static org.apache.inlong.audit.config.ConfigConstants.KEY_PREP_STMT_CACHE_SQL_LIMIT;
+import static org.apache.inlong.audit.config.ConfigConstants.KEY_SUMMARY_INCREMENTAL_INTERVAL_SECONDS;
+import static org.apache.inlong.audit.config.ConfigConstants.KEY_SUMMARY_INCREMENTAL_OVERLAP_SECONDS;
+import static org.apache.inlong.audit.config.ConfigConstants.PREP_STMT_CACHE_SIZE;
+import static org.apache.inlong.audit.config.ConfigConstants.PREP_STMT_CACHE_SQL_LIMIT;
+import static org.apache.inlong.audit.config.OpenApiConstants.DEFAULT_PARAMS_AUDIT_TAG;
+import static org.apache.inlong.audit.entities.AuditCycle.DAY;
+
+/**
+ * Incremental jdbc source.
+ * Reads only the rows of the temp table updated since the last high watermark,
+ * and maintains the rollups of every target cycle in memory by applying the change of each row.
+ * The rollups changed in a round are pushed to the data queue of their cycle.
+ * The state is only changed after all the updated rows of a round have been read,
+ * so a failed round is retried from the same high watermark.
+ */
+public class IncrementalJdbcSource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalJdbcSource.class);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int MINUTES_OF_DAY = 1440;
+
+    private final ScheduledExecutorService statTimer = Executors.newSingleThreadScheduledExecutor();
+    private final Map<AuditCycle, DataQueue> dataQueues;
+    private final SourceConfig sourceConfig;
+    private final int dailyBackTimes;
+    private final long overlapMs;
+    private DataSource dataSource;
+
+    // The state below is only accessed by the stat timer.
+    // Latest row of the temp table, used to compute the change when the row is replaced.
+    private final Map<String, StatData> rows = new HashMap<>();
+    private final Map<AuditCycle, Map<String, StatData>> rollups = new EnumMap<>(AuditCycle.class);
+    // Keys of the rollups changed but not pushed yet.
+    private final Map<AuditCycle, Set<String>> pendingKeys = new EnumMap<>(AuditCycle.class);
+    private Set<String> statAuditIds = new HashSet<>();
+    private long highWatermark = Long.MIN_VALUE;
+
+    /**
+     * Constructor
+     *
+     * @param dataQueues data queue of each target cycle
+     * @param sourceConfig source config, the stat back times is in hours for the minute and hour cycles
+     * @param dailyBackTimes stat back times in days for the day cycle
+     */
+    public IncrementalJdbcSource(Map<AuditCycle, DataQueue> dataQueues, SourceConfig sourceConfig,
+            int dailyBackTimes) {
+        this.dataQueues = dataQueues;
+        this.sourceConfig = sourceConfig;
+        this.dailyBackTimes = dailyBackTimes;
+        this.overlapMs = TimeUnit.SECONDS.toMillis(Configuration.getInstance().get(
+                KEY_SUMMARY_INCREMENTAL_OVERLAP_SECONDS, DEFAULT_SUMMARY_INCREMENTAL_OVERLAP_SECONDS));
+        for (AuditCycle auditCycle : dataQueues.keySet()) {
+            rollups.put(auditCycle, new HashMap<>());
+            pendingKeys.put(auditCycle, new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Start
+     */
+    public void start() {
+        createDataSource();
+        statTimer.scheduleWithFixedDelay(this::stat,
+                0,
+                Configuration.getInstance().get(KEY_SUMMARY_INCREMENTAL_INTERVAL_SECONDS,
+                        DEFAULT_SUMMARY_INCREMENTAL_INTERVAL_SECONDS),
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stat the rows updated since the last high watermark
+     */
+    private void stat() {
+        Set<String> auditIds = new HashSet<>(ConfigService.getInstance().getAuditIds());
+        if (auditIds.isEmpty()) {
+            LOGGER.info("No audit id need to stat!");
+            return;
+        }
+        stat(LocalDateTime.now(), auditIds);
+    }
+
+    /**
+     * Stat a round at the given time
+     *
+     * @param now current time, which decides the stat back times
+     * @param auditIds audit ids need to stat
+     */
+    void stat(LocalDateTime now, Set<String> auditIds) {
+        long currentTimestamp = System.currentTimeMillis();
+        if (!auditIds.equals(statAuditIds)) {
+            // the rows of the new audit ids are older than the high watermark, so rebuild all rollups
+            LOGGER.info("Audit ids changed from {} to {}, rebuild all rollups", statAuditIds, auditIds);
+            rows.clear();
+            rollups.values().forEach(Map::clear);
+            pendingKeys.values().forEach(Set::clear);
+            highWatermark = Long.MIN_VALUE;
+            statAuditIds = auditIds;
+        }
+
+        String realtimeStart = now.truncatedTo(ChronoUnit.HOURS)
+                .minusHours(sourceConfig.getStatBackTimes() - 1).format(DATE_FORMATTER);
+        String dailyStart = now.truncatedTo(ChronoUnit.DAYS)
+                .minusDays(dailyBackTimes - 1).format(DATE_FORMATTER);
+        String scanStart = dataQueues.containsKey(DAY) && dailyStart.compareTo(realtimeStart) < 0
+                ? dailyStart
+                : realtimeStart;
+
+        // re-read an overlap before the high watermark, in case of rows committed late with an earlier update time
+        Timestamp updateFrom = new Timestamp(highWatermark == Long.MIN_VALUE ? 0 : highWatermark - overlapMs);
+        List<StatData> updatedRows = query(updateFrom, scanStart);
+        if (updatedRows == null) {
+            return;
+        }
+        for (StatData data : updatedRows) {
+            highWatermark = Math.max(highWatermark, data.getUpdateTime().getTime());
+            if (statAuditIds.contains(data.getAuditId())) {
+                apply(data, realtimeStart);
+            }
+        }
+        int pushCount = push();
+        evict(scanStart, realtimeStart, dailyStart);
+
+        LOGGER.info("Stat {} updated rows since {}, push {} rollups, {} rows in memory, cost time:{}ms",
+                updatedRows.size(), updateFrom, pushCount, rows.size(),
+                System.currentTimeMillis() - currentTimestamp);
+    }
+
+    /**
+     * Query the rows updated since the given time
+     *
+     * @param updateFrom the min update time
+     * @param scanStart the min log time
+     * @return the updated rows, or null if the query failed
+     */
+    protected List<StatData> query(Timestamp updateFrom, String scanStart) {
+        List<StatData> updatedRows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement pstat = connection.prepareStatement(sourceConfig.getQuerySql())) {
+            pstat.setTimestamp(1, updateFrom);
+            pstat.setString(2, scanStart);
+            try (ResultSet resultSet = pstat.executeQuery()) {
+                while (resultSet.next()) {
+                    StatData data = new StatData();
+                    data.setLogTs(resultSet.getTimestamp(1).toLocalDateTime().format(DATE_FORMATTER));
+                    data.setInlongGroupId(resultSet.getString(2));
+                    data.setInlongStreamId(resultSet.getString(3));
+                    data.setAuditId(resultSet.getString(4));
+                    String auditTag = resultSet.getString(5);
+                    data.setAuditTag(auditTag == null ? DEFAULT_PARAMS_AUDIT_TAG : auditTag);
+                    data.setCount(resultSet.getLong(6));
+                    data.setSize(resultSet.getLong(7));
+                    data.setDelay(resultSet.getLong(8));
+                    data.setUpdateTime(resultSet.getTimestamp(9));
+                    updatedRows.add(data);
+                }
+            }
+        } catch (Exception exception) {
+            LOGGER.error("Query has exception! ", exception);
+            return null;
+        }
+        return updatedRows;
+    }
+
+    /**
+     * Apply the change of a row to the rollup of every cycle
+     */
+    private void apply(StatData data, String realtimeStart) {
+        String rowKey = CacheUtils.buildCacheKey(data.getLogTs(), data.getInlongGroupId(),
+                data.getInlongStreamId(), data.getAuditId(), data.getAuditTag());
+        StatData last = rows.put(rowKey, data);
+        long count = data.getCount();
+        long size = data.getSize();
+        long delay = data.getDelay();
+        if (last != null) {
+            count -= last.getCount();
+            size -= last.getSize();
+            delay -= last.getDelay();
+        }
+        if (last != null && count == 0 && size == 0 && delay == 0) {
+            return;
+        }
+        LocalDateTime logTs = LocalDateTime.parse(data.getLogTs(), DATE_FORMATTER);
+        boolean realtime = data.getLogTs().compareTo(realtimeStart) >= 0;
+        for (Map.Entry<AuditCycle, Map<String, StatData>> entry : rollups.entrySet()) {
+            if (!realtime && entry.getKey() != DAY) {
+                continue;
+            }
+            String periodStart = getPeriodStart(logTs, entry.getKey().getValue());
+            String rollupKey = CacheUtils.buildCacheKey(periodStart, data.getInlongGroupId(),
+                    data.getInlongStreamId(), data.getAuditId(), data.getAuditTag());
+            StatData rollup = entry.getValue().computeIfAbsent(rollupKey, k -> {
+                StatData statData = new StatData();
+                statData.setLogTs(periodStart);
+                statData.setInlongGroupId(data.getInlongGroupId());
+                statData.setInlongStreamId(data.getInlongStreamId());
+                statData.setAuditId(data.getAuditId());
+                statData.setAuditTag(data.getAuditTag());
+                statData.setCount(0L);
+                statData.setSize(0L);
+                statData.setDelay(0L);
+                return statData;
+            });
+            rollup.setCount(rollup.getCount() + count);
+            rollup.setSize(rollup.getSize() + size);
+            rollup.setDelay(rollup.getDelay() + delay);
+            pendingKeys.get(entry.getKey()).add(rollupKey);
+        }
+    }
+
+    /**
+     * Push the pending rollups, the ones not pushed are kept for the next round
+     *
+     * @return the number of pushed rollups
+     */
+    private int push() {
+        int pushCount = 0;
+        try {
+            for (Map.Entry<AuditCycle, Set<String>> entry : pendingKeys.entrySet()) {
+                Map<String, StatData> rollup = rollups.get(entry.getKey());
+                DataQueue dataQueue = dataQueues.get(entry.getKey());
+                Iterator<String> keyIterator = entry.getValue().iterator();
+                while (keyIterator.hasNext()) {
+                    StatData data = rollup.get(keyIterator.next());
+                    if (data != null) {
+                        dataQueue.push(copy(data));
+                        pushCount++;
+                    }
+                    keyIterator.remove();
+                }
+            }
+        } catch (InterruptedException e) {
+            LOGGER.error("Push rollup data has exception! ", e);
+            Thread.currentThread().interrupt();
+        }
+        return pushCount;
+    }
+
+    /**
+     * Evict the rows and rollups that are out of the stat back times
+     */
+    private void evict(String scanStart, String realtimeStart, String dailyStart) {
+        // keep the rows as long as any rollup they belong to, a row before the scan start is never read again
+        rows.values().removeIf(row -> row.getLogTs().compareTo(scanStart) < 0);
+        for (Map.Entry<AuditCycle, Map<String, StatData>> entry : rollups.entrySet()) {
+            String start = entry.getKey() == DAY ? dailyStart : realtimeStart;
+            entry.getValue().values().removeIf(rollup -> rollup.getLogTs().compareTo(start) < 0);
+        }
+    }
+
+    /**
+     * Get the start of the period which the log time belongs to
+     *
+     * @param logTs
+     * @param cycle cycle in minutes, which must be a divisor of a day
+     * @return
+     */
+    public static String getPeriodStart(LocalDateTime logTs, int cycle) {
+        LocalDateTime dayStart = logTs.truncatedTo(ChronoUnit.DAYS);
+        long minuteOfDay = ChronoUnit.MINUTES.between(dayStart, logTs);
+        long periodMinute = cycle >= MINUTES_OF_DAY ? 0 : minuteOfDay - minuteOfDay % cycle;
+        return dayStart.plusMinutes(periodMinute).format(DATE_FORMATTER);
+    }
+
+    private StatData copy(StatData rollup) {
+        StatData data = new StatData();
+        data.setLogTs(rollup.getLogTs());
+        data.setInlongGroupId(rollup.getInlongGroupId());
+        data.setInlongStreamId(rollup.getInlongStreamId());
+        data.setAuditId(rollup.getAuditId());
+        data.setAuditTag(rollup.getAuditTag());
+        data.setCount(rollup.getCount());
+        data.setSize(rollup.getSize());
+        data.setDelay(rollup.getDelay());
+        return data;
+    }
+
+    /**
+     * Create data source
+     */
+    protected void createDataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setDriverClassName(sourceConfig.getDriverClassName());
+        config.setJdbcUrl(sourceConfig.getJdbcUrl());
+        config.setUsername(sourceConfig.getUsername());
+        config.setPassword(sourceConfig.getPassword());
+        config.setConnectionTimeout(Configuration.getInstance().get(KEY_DATASOURCE_CONNECTION_TIMEOUT,
+                DEFAULT_CONNECTION_TIMEOUT));
+        config.addDataSourceProperty(CACHE_PREP_STMTS,
+                Configuration.getInstance().get(KEY_CACHE_PREP_STMTS, DEFAULT_CACHE_PREP_STMTS));
+        config.addDataSourceProperty(PREP_STMT_CACHE_SIZE,
+                Configuration.getInstance().get(KEY_PREP_STMT_CACHE_SIZE, DEFAULT_PREP_STMT_CACHE_SIZE));
+        config.addDataSourceProperty(PREP_STMT_CACHE_SQL_LIMIT,
+                Configuration.getInstance().get(KEY_PREP_STMT_CACHE_SQL_LIMIT, DEFAULT_PREP_STMT_CACHE_SQL_LIMIT));
+        config.setMaximumPoolSize(
+                Configuration.getInstance().get(KEY_DATASOURCE_POOL_SIZE,
+                        DEFAULT_DATASOURCE_POOL_SIZE));
+        dataSource = new HikariDataSource(config);
+    }
+
+    /**
+     * Destroy
+     */
+    public void destroy() {
+        statTimer.shutdown();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.cache;
+
+import org.apache.inlong.audit.entities.AuditCycle;
+import org.apache.inlong.audit.entities.StatData;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+public class AbstractCacheTest {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final LocalDateTime CURRENT_HOUR = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+    private AbstractCache cache;
+
+    @Before
+    public void setUp() {
+        // an hour cache keeps the latest 12 hours by default
+        cache = new AbstractCache(AuditCycle.HOUR);
+    }
+
+    @After
+    public void tearDown() {
+        cache.destroy();
+    }
+
+    @Test
+    public void testGetDataClipsRange() {
+        for (int i = 0; i < 3; i++) {
+            cache.put(createData("g", "s", "3", "t", CURRENT_HOUR.minusHours(i), i + 1));
+        }
+        List<StatData> result = cache.getData(format(CURRENT_HOUR.minusHours(1)), format(CURRENT_HOUR.plusHours(5)),
+                "g", "s", "3", "t");
+        Assert.assertEquals(2, result.size());
+        Assert.assertEquals(format(CURRENT_HOUR.minusHours(1)), result.get(0).getLogTs());
+        Assert.assertEquals(2L, (long) result.get(0).getCount());
+        Assert.assertEquals(format(CURRENT_HOUR), result.get(1).getLogTs());
+        Assert.assertEquals(1L, (long) result.get(1).getCount());
+    }
+
+    @Test
+    public void testDefaultAuditTagFallback() {
+        cache.put(createData("g", "s", "3", "-1", CURRENT_HOUR, 5));
+        // the empty audit tag of the openapi falls back to the default audit tag
+        List<StatData> result = cache.getData(format(CURRENT_HOUR), format(CURRENT_HOUR), "g", "s", "3", "");
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals("-1", result.get(0).getAuditTag());
+        Assert.assertEquals(5L, (long) result.get(0).getCount());
+
+        Assert.assertTrue(cache.getData(format(CURRENT_HOUR), format(CURRENT_HOUR), "g", "s", "3", "t").isEmpty());
+        Assert.assertTrue(cache.getData(format(CURRENT_HOUR), format(CURRENT_HOUR), "g", "s", "4", "").isEmpty());
+    }
+
+    @Test
+    public void testMonitorRemovesExpiredSeries() {
+        cache.put(createData("expired", "s", "3", "t", CURRENT_HOUR.minusDays(2), 1));
+        cache.put(createData("alive", "s", "3", "t", CURRENT_HOUR, 1));
+        Assert.assertTrue(cache.getDictionarySize() <= 5);
+
+        cache.monitor();
+        Assert.assertEquals(1, cache.getSeriesCount());
+        // the group id of the expired series is removed from the dictionary
+        Assert.assertEquals(4, cache.getDictionarySize());
+        Assert.assertTrue(cache.getData(format(CURRENT_HOUR.minusDays(2)), format(CURRENT_HOUR.minusDays(2)),
+                "expired", "s", "3", "t").isEmpty());
+        Assert.assertEquals(1, cache.getData(format(CURRENT_HOUR), format(CURRENT_HOUR),
+                "alive", "s", "3", "t").size());
+
+        // the removed value gets a new id when it is put again
+        cache.put(createData("expired", "s", "3", "t", CURRENT_HOUR, 7));
+        List<StatData> result = cache.getData(format(CURRENT_HOUR), format(CURRENT_HOUR), "expired", "s", "3", "t");
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals(7L, (long) result.get(0).getCount());
+        Assert.assertTrue(cache.getEstimatedMemory() > 0);
+    }
+
+    private static StatData createData(String groupId, String streamId, String auditId, String auditTag,
+            LocalDateTime logTs, long count) {
+        StatData data = new StatData();
+        data.setLogTs(format(logTs));
+        data.setInlongGroupId(groupId);
+        data.setInlongStreamId(streamId);
+        data.setAuditId(auditId);
+        data.setAuditTag(auditTag);
+        data.setCount(count);
+        data.setSize(count);
+        data.setDelay(count);
+        return data;
+    }
+
+    private static String format(LocalDateTime time) {
+        return time.format(DATE_FORMATTER);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.cache;
+
+import org.apache.inlong.audit.entities.StatData;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RealTimeQueryTest {
+
+    private static final int QUERY_TIMEOUT_MS = 500;
+
+    private final List<DataSource> dataSources = new ArrayList<>();
+    private final AtomicInteger sourceQueries = new AtomicInteger();
+
+    @Test
+    public void testFallbackOrder() {
+        RealTimeQuery query = createQuery(3);
+        // the second source is the first one in order with data, although the third one answers first
+        RealTimeQuery.SourceQuery sourceQuery = dataSource -> {
+            int index = countQuery(dataSource);
+            if (index == 1) {
+                sleep(100);
+            }
+            return index == 0 ? new ArrayList<>() : result("source" + index);
+        };
+        Assert.assertEquals("source1", query.query("key", sourceQuery).get(0).getIp());
+
+        // every source before the second one answered, so the result is cached
+        sourceQueries.set(0);
+        Assert.assertEquals("source1", query.query("key", sourceQuery).get(0).getIp());
+        Assert.assertEquals(0, sourceQueries.get());
+    }
+
+    @Test
+    public void testFallbackAfterFailureNotCached() {
+        RealTimeQuery query = createQuery(2);
+        RealTimeQuery.SourceQuery sourceQuery = dataSource -> {
+            if (countQuery(dataSource) == 0) {
+                throw new SQLException("source0 is down");
+            }
+            return result("source1");
+        };
+        Assert.assertEquals("source1", query.query("key", sourceQuery).get(0).getIp());
+
+        // the first source failed, so the next query asks all the sources again
+        Assert.assertEquals("source1", query.query("key", sourceQuery).get(0).getIp());
+        Assert.assertEquals(4, sourceQueries.get());
+    }
+
+    @Test
+    public void testSharedDeadline() {
+        RealTimeQuery query = createQuery(3);
+        // the first two sources time out, the third one answers at once
+        RealTimeQuery.SourceQuery sourceQuery = dataSource -> {
+            if (countQuery(dataSource) < 2) {
+                sleep(QUERY_TIMEOUT_MS * 4);
+            }
+            return result("source2");
+        };
+        long start = System.currentTimeMillis();
+        List<StatData> result = query.query("key", sourceQuery);
+        long elapsed = System.currentTimeMillis() - start;
+        Assert.assertEquals("source2", result.get(0).getIp());
+        // one timeout for all the sources, not one per source
+        Assert.assertTrue("elapsed " + elapsed + " ms", elapsed < QUERY_TIMEOUT_MS * 2);
+
+        // the result fell back from the timed out sources, so it is not cached
+        sourceQueries.set(0);
+        Assert.assertEquals("source2", query.query("key", dataSource -> {
+            countQuery(dataSource);
+            return result("source2");
+        }).get(0).getIp());
+        Assert.assertTrue(sourceQueries.get() > 0);
+    }
+
+    @Test
+    public void testNoSourceAnswered() {
+        RealTimeQuery query = createQuery(1);
+        RealTimeQuery.SourceQuery sourceQuery = dataSource -> {
+            countQuery(dataSource);
+            sleep(QUERY_TIMEOUT_MS * 4);
+            return result("source0");
+        };
+        Assert.assertTrue(query.query("key", sourceQuery).isEmpty());
+        Assert.assertTrue(query.query("key", dataSource -> {
+            countQuery(dataSource);
+            return new ArrayList<>();
+        }).isEmpty());
+        Assert.assertEquals(2, sourceQueries.get());
+    }
+
+    @Test(timeout = 10000)
+    public void testSingleFlight() throws Exception {
+        RealTimeQuery query = createQuery(2);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        RealTimeQuery.SourceQuery sourceQuery = dataSource -> {
+            int index = countQuery(dataSource);
+            started.countDown();
+            await(release);
+            return result("source" + index);
+        };
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<List<StatData>>> futures = new ArrayList<>();
+            futures.add(callers.submit(() -> query.query("key", sourceQuery)));
+            Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+            // the identical queries issued while the first one is in flight wait for its result
+            futures.add(callers.submit(() -> query.query("key", sourceQuery)));
+            futures.add(callers.submit(() -> query.query("key", sourceQuery)));
+            Thread.sleep(50);
+            release.countDown();
+            for (Future<List<StatData>> future : futures) {
+                Assert.assertEquals("source0", future.get().get(0).getIp());
+            }
+            Assert.assertEquals(2, sourceQueries.get());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private RealTimeQuery createQuery(int sourceCount) {
+        for (int i = 0; i < sourceCount; i++) {
+            dataSources.add((DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+                    new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+                        if ("hashCode".equals(method.getName())) {
+                            return System.identityHashCode(proxy);
+                        }
+                        if ("equals".equals(method.getName())) {
+                            return proxy == args[0];
+                        }
+                        return null;
+                    }));
+        }
+        return new RealTimeQuery(dataSources, QUERY_TIMEOUT_MS, 8, 60000, 100);
+    }
+
+    /**
+     * Count the query, and return the index of the source
+     */
+    private int countQuery(DataSource dataSource) {
+        sourceQueries.incrementAndGet();
+        return dataSources.indexOf(dataSource);
+    }
+
+    private static List<StatData> result(String ip) {
+        StatData data = new StatData();
+        data.setIp(ip);
+        return new ArrayList<>(Collections.singletonList(data));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
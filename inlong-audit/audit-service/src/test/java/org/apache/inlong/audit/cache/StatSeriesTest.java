@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class StatSeriesTest {
+
+    @Test
+    public void testWrapAround() {
+        StatSeries series = new StatSeries(4);
+        for (long slot = 0; slot < 10; slot++) {
+            series.put(slot, slot, slot * 10, slot * 100);
+        }
+        // only the latest 4 slots are kept after the ring buffer wrapped around
+        Assert.assertEquals(Arrays.asList(6L, 7L, 8L, 9L), getSlots(series, 0, 9));
+        List<long[]> stats = new ArrayList<>();
+        series.get(8, 8, (slot, count, size, delay) -> stats.add(new long[]{slot, count, size, delay}));
+        Assert.assertEquals(1, stats.size());
+        Assert.assertArrayEquals(new long[]{8, 8, 80, 800}, stats.get(0));
+    }
+
+    @Test
+    public void testPutOlderThanCapacity() {
+        StatSeries series = new StatSeries(4);
+        series.put(10, 1, 1, 1);
+        // older than the capacity of the latest slot, ignored
+        series.put(6, 2, 2, 2);
+        // still within the capacity, kept
+        series.put(7, 3, 3, 3);
+        Assert.assertEquals(Arrays.asList(7L, 10L), getSlots(series, 0, 20));
+
+        // a later slot moves the window, the slots out of it are not returned anymore
+        series.put(12, 4, 4, 4);
+        Assert.assertEquals(Arrays.asList(10L, 12L), getSlots(series, 0, 20));
+    }
+
+    @Test
+    public void testRangeClipping() {
+        StatSeries series = new StatSeries(8);
+        Assert.assertEquals(Collections.emptyList(), getSlots(series, 0, 10));
+        for (long slot = 100; slot <= 105; slot++) {
+            series.put(slot, 1, 1, 1);
+        }
+        Assert.assertEquals(Arrays.asList(102L, 103L), getSlots(series, 102, 103));
+        Assert.assertEquals(Arrays.asList(100L, 101L), getSlots(series, 0, 101));
+        Assert.assertEquals(Arrays.asList(104L, 105L), getSlots(series, 104, 200));
+        Assert.assertEquals(Collections.emptyList(), getSlots(series, 106, 200));
+        Assert.assertEquals(Collections.emptyList(), getSlots(series, 103, 102));
+    }
+
+    @Test
+    public void testGrowWithSpan() {
+        StatSeries series = new StatSeries(720);
+        long initialBytes = series.estimateBytes();
+        series.put(1000, 1, 1, 1);
+        series.put(1001, 2, 2, 2);
+        Assert.assertTrue(series.getLength() < 720);
+        Assert.assertEquals(initialBytes, series.estimateBytes());
+
+        // the slots kept before growing are moved to their index in the grown buffers
+        series.put(1100, 3, 3, 3);
+        series.put(990, 4, 4, 4);
+        Assert.assertTrue(series.getLength() >= 111);
+        Assert.assertTrue(series.estimateBytes() > initialBytes);
+        Assert.assertEquals(Arrays.asList(990L, 1000L, 1001L, 1100L), getSlots(series, 0, 2000));
+
+        // the buffers never grow beyond the capacity
+        series.put(5000, 5, 5, 5);
+        series.put(4500, 6, 6, 6);
+        Assert.assertEquals(720, series.getLength());
+        Assert.assertEquals(Arrays.asList(4500L, 5000L), getSlots(series, 0, 6000));
+    }
+
+    @Test
+    public void testExpired() {
+        StatSeries series = new StatSeries(4);
+        series.put(10, 1, 1, 1);
+        Assert.assertFalse(series.isExpired(13));
+        Assert.assertTrue(series.isExpired(14));
+    }
+
+    private static List<Long> getSlots(StatSeries series, long startSlot, long endSlot) {
+        List<Long> slots = new ArrayList<>();
+        series.get(startSlot, endSlot, (slot, count, size, delay) -> slots.add(slot));
+        return slots;
+    }
+}
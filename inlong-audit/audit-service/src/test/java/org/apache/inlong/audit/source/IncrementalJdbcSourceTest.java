@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.source;
+
+import org.apache.inlong.audit.channel.DataQueue;
+import org.apache.inlong.audit.entities.AuditCycle;
+import org.apache.inlong.audit.entities.SourceConfig;
+import org.apache.inlong.audit.entities.StatData;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+public class IncrementalJdbcSourceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 30);
+    private static final long BASE_TIME = 1714530600000L;
+    private static final long SECOND = 1000L;
+    private static final Set<String> AUDIT_IDS = Collections.singleton("3");
+
+    private final DataQueue hourQueue = new DataQueue(100);
+    private final DataQueue dayQueue = new DataQueue(100);
+    private TestSource source;
+
+    @Before
+    public void setUp() {
+        Map<AuditCycle, DataQueue> dataQueues = new EnumMap<>(AuditCycle.class);
+        dataQueues.put(AuditCycle.HOUR, hourQueue);
+        dataQueues.put(AuditCycle.DAY, dayQueue);
+        // stat the current hour for the hour cycle, and today and yesterday for the day cycle
+        SourceConfig sourceConfig = new SourceConfig(AuditCycle.MINUTE, "", 1, "", "", "", "");
+        source = new TestSource(dataQueues, sourceConfig, 2);
+    }
+
+    @Test
+    public void testApplyReplacedRow() throws Exception {
+        source.write("2024-05-01 12:01:00", 10, BASE_TIME);
+        source.write("2024-05-01 12:02:00", 5, BASE_TIME);
+        source.stat(NOW, AUDIT_IDS);
+        assertCounts(pull(hourQueue), 15L);
+        assertCounts(pull(dayQueue), 15L);
+
+        // the row is replaced with the latest value, only the change is applied
+        source.write("2024-05-01 12:01:00", 12, BASE_TIME + SECOND);
+        source.stat(NOW, AUDIT_IDS);
+        assertCounts(pull(hourQueue), 17L);
+        assertCounts(pull(dayQueue), 17L);
+    }
+
+    @Test
+    public void testOverlapIsNotCountedTwice() throws Exception {
+        source.write("2024-05-01 12:01:00", 10, BASE_TIME);
+        source.stat(NOW, AUDIT_IDS);
+        assertCounts(pull(hourQueue), 10L);
+        assertCounts(pull(dayQueue), 10L);
+
+        // the row is read again in the overlap without any change
+        source.stat(NOW, AUDIT_IDS);
+        assertCounts(pull(hourQueue));
+        assertCounts(pull(dayQueue));
+
+        // a row committed late with an update time before the high watermark
+        source.write("2024-05-01 12:02:00", 3, BASE_TIME - 30 * SECOND);
+        source.stat(NOW, AUDIT_IDS);
+        assertCounts(pull(hourQueue), 13L);
+        assertCounts(pull(dayQueue), 13L);
+    }
+
+    @Test
+    public void testRowOfDailyWindowIsKept() throws Exception {
+        source.write("2024-04-30 10:00:00", 10, BASE_TIME);
+        source.stat(NOW, AUDIT_IDS);
+        assertCounts(pull(hourQueue));
+        assertCounts(pull(dayQueue), 10L);
+
+        // move the high watermark far beyond the overlap of the first row
+        source.write("2024-05-01 12:01:00", 1, BASE_TIME + 3600 * SECOND);
+        source.stat(NOW, AUDIT_IDS);
+        pull(hourQueue);
+        pull(dayQueue);
+
+        // the row out of the realtime window but in the daily window is rewritten
+        source.write("2024-04-30 10:00:00", 12, BASE_TIME + 3601 * SECOND);
+        source.stat(NOW, AUDIT_IDS);
+        assertCounts(pull(hourQueue));
+        assertCounts(pull(dayQueue), 12L);
+    }
+
+    @Test
+    public void testFailedRoundKeepsState() throws Exception {
+        source.write("2024-05-01 12:01:00", 10, BASE_TIME);
+        source.stat(NOW, AUDIT_IDS);
+        assertCounts(pull(hourQueue), 10L);
+        assertCounts(pull(dayQueue), 10L);
+
+        source.write("2024-05-01 12:01:00", 20, BASE_TIME + SECOND);
+        source.failNext = true;
+        source.stat(NOW, AUDIT_IDS);
+        assertCounts(pull(hourQueue));
+        assertCounts(pull(dayQueue));
+
+        source.stat(NOW, AUDIT_IDS);
+        assertCounts(pull(hourQueue), 20L);
+        assertCounts(pull(dayQueue), 20L);
+    }
+
+    @Test
+    public void testEvictRollupOutOfWindow() throws Exception {
+        source.write("2024-05-01 12:01:00", 10, BASE_TIME);
+        source.stat(NOW, AUDIT_IDS);
+        pull(hourQueue);
+        pull(dayQueue);
+
+        // an hour later the rollup of the last hour is evicted, the day rollup is kept
+        source.write("2024-05-01 13:01:00", 1, BASE_TIME + SECOND);
+        source.write("2024-05-01 12:01:00", 11, BASE_TIME + SECOND);
+        source.stat(NOW.plusHours(1), AUDIT_IDS);
+        assertCounts(pull(hourQueue), 1L);
+        assertCounts(pull(dayQueue), 12L);
+    }
+
+    private static List<StatData> pull(DataQueue dataQueue) throws InterruptedException {
+        List<StatData> result = new ArrayList<>();
+        StatData data;
+        while ((data = dataQueue.pull(0, TimeUnit.MILLISECONDS)) != null) {
+            result.add(data);
+        }
+        return result;
+    }
+
+    private static void assertCounts(List<StatData> pushed, Long... counts) {
+        List<Long> actual = new ArrayList<>();
+        for (StatData data : pushed) {
+            actual.add(data.getCount());
+        }
+        Assert.assertEquals(Arrays.asList(counts), actual);
+    }
+
+    /**
+     * Source reading the rows from an in-memory temp table
+     */
+    private static class TestSource extends IncrementalJdbcSource {
+
+        private final Map<String, StatData> table = new LinkedHashMap<>();
+        private boolean failNext;
+
+        TestSource(Map<AuditCycle, DataQueue> dataQueues, SourceConfig sourceConfig, int dailyBackTimes) {
+            super(dataQueues, sourceConfig, dailyBackTimes);
+        }
+
+        void write(String logTs, long count, long updateTime) {
+            StatData data = new StatData();
+            data.setLogTs(logTs);
+            data.setInlongGroupId("group");
+            data.setInlongStreamId("stream");
+            data.setAuditId("3");
+            data.setAuditTag("");
+            data.setCount(count);
+            data.setSize(count * 10);
+            data.setDelay(0L);
+            data.setUpdateTime(new Timestamp(updateTime));
+            table.put(logTs, data);
+        }
+
+        @Override
+        protected List<StatData> query(Timestamp updateFrom, String scanStart) {
+            if (failNext) {
+                failNext = false;
+                return null;
+            }
+            List<StatData> result = new ArrayList<>();
+            for (StatData data : table.values()) {
+                if (!data.getUpdateTime().before(updateFrom) && data.getLogTs().compareTo(scanStart) >= 0) {
+                    StatData row = new StatData();
+                    row.setLogTs(data.getLogTs());
+                    row.setInlongGroupId(data.getInlongGroupId());
+                    row.setInlongStreamId(data.getInlongStreamId());
+                    row.setAuditId(data.getAuditId());
+                    row.setAuditTag(data.getAuditTag());
+                    row.setCount(data.getCount());
+                    row.setSize(data.getSize());
+                    row.setDelay(data.getDelay());
+                    row.setUpdateTime(data.getUpdateTime());
+                    result.add(row);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -30,6 +30,18 @@ public class StoreConfig {
     @Value("${audit.config.store.mode:mysql}")
     private String store;
 
+    @Value("${audit.config.aggregate.enable:false}")
+    private boolean aggregateEnable;
+
+    @Value("${audit.config.aggregate.windowMs:60000}")
+    private long aggregateWindowMs;
+
+    @Value("${audit.config.aggregate.latenessMs:60000}")
+    private long aggregateLatenessMs;
+
+    @Value("${audit.config.aggregate.flushIntervalMs:1000}")
+    private long aggregateFlushIntervalMs;
+
     public boolean isMysqlStore() {
         return store.contains("mysql");
     }
@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.service;
+
+import org.apache.inlong.audit.config.StoreConfig;
+import org.apache.inlong.audit.protocol.AuditData;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AuditAggregator, merges the audit records of the same
+ * (window, ip, group, stream, auditId, auditTag, auditVersion) key in memory,
+ * and writes one record per key to the insert services once the window is closed.
+ *
+ * <p>A window is closed when the watermark (the max log time seen so far, but no later than the current time
+ * plus the allowed lateness) passes the window end plus the allowed lateness, or when its key has not been
+ * updated for the allowed lateness. Exact duplicates of the same SDK packet inside one window are only counted
+ * once, the same as the GROUP BY dedup of the query side, and the dedup set is released when the window closes.
+ *
+ * <p>The records are held in memory for up to the window plus the allowed lateness, and are lost if the
+ * process crashes before they are flushed.
+ */
+public class AuditAggregator implements InsertData, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuditAggregator.class);
+
+    private final List<InsertData> insertServiceList;
+    private final long windowMs;
+    private final long latenessMs;
+    private final long flushIntervalMs;
+
+    private final Map<AggregateKey, AggregateValue> aggregateMap = new ConcurrentHashMap<>();
+    private final AtomicLong watermark = new AtomicLong(Long.MIN_VALUE);
+    // packet id of the merged records, seeded by the start time so that the rows of different runs differ
+    private final AtomicLong packetIdGenerator = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final AtomicLong inputCounter = new AtomicLong(0);
+    private final AtomicLong outputCounter = new AtomicLong(0);
+    private final ScheduledExecutorService timerService = Executors.newSingleThreadScheduledExecutor();
+
+    /**
+     * Constructor
+     *
+     * @param insertServiceList the services to write the merged records to
+     * @param storeConfig store config, such as window size and allowed lateness
+     */
+    public AuditAggregator(List<InsertData> insertServiceList, StoreConfig storeConfig) {
+        this.insertServiceList = insertServiceList;
+        this.windowMs = storeConfig.getAggregateWindowMs();
+        this.latenessMs = storeConfig.getAggregateLatenessMs();
+        this.flushIntervalMs = storeConfig.getAggregateFlushIntervalMs();
+    }
+
+    /**
+     * start
+     */
+    public void start() {
+        timerService.scheduleWithFixedDelay(() -> {
+            try {
+                this.flush(false);
+            } catch (Throwable t) {
+                LOG.error("Flush aggregated audit data failure!", t);
+            }
+        }, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        LOG.info("AuditAggregator started, windowMs={}, latenessMs={}, flushIntervalMs={}",
+                windowMs, latenessMs, flushIntervalMs);
+    }
+
+    /**
+     * insert
+     */
+    @Override
+    public void insert(AuditData msgBody) {
+        inputCounter.incrementAndGet();
+        // a log time in the future must not close the windows still receiving data
+        long eventTime = Math.min(msgBody.getLogTs(), System.currentTimeMillis() + latenessMs);
+        watermark.accumulateAndGet(eventTime, Math::max);
+        long windowStart = msgBody.getLogTs() - Math.floorMod(msgBody.getLogTs(), windowMs);
+        AggregateKey key = new AggregateKey(windowStart, msgBody);
+        aggregateMap.compute(key, (k, value) -> {
+            if (value == null) {
+                value = new AggregateValue(msgBody);
+            }
+            value.merge(msgBody);
+            return value;
+        });
+    }
+
+    /**
+     * flush the closed windows, or all windows if force is true
+     *
+     * @param force whether to flush all windows
+     * @return the number of records written to each insert service
+     */
+    public synchronized int flush(boolean force) {
+        long currentWatermark = watermark.get();
+        long now = System.currentTimeMillis();
+        List<AuditData> outputList = new ArrayList<>();
+        for (AggregateKey key : aggregateMap.keySet()) {
+            AggregateValue value = aggregateMap.get(key);
+            if (value == null) {
+                continue;
+            }
+            boolean closed = key.windowStart + windowMs + latenessMs <= currentWatermark
+                    || now - value.updateTime >= latenessMs;
+            if (!force && !closed) {
+                continue;
+            }
+            // remove() and the compute() of insert() lock the same bin, so no merge is lost
+            value = aggregateMap.remove(key);
+            if (value != null) {
+                outputList.add(this.toAuditData(key, value));
+                value.packets.clear();
+            }
+        }
+        for (AuditData data : outputList) {
+            for (InsertData service : insertServiceList) {
+                try {
+                    service.insert(data);
+                } catch (Exception e) {
+                    LOG.error(e.getMessage(), e);
+                }
+            }
+        }
+        if (!outputList.isEmpty()) {
+            long output = outputCounter.addAndGet(outputList.size());
+            LOG.debug("Flush {} aggregated audit data, total input {}, total output {}",
+                    outputList.size(), inputCounter.get(), output);
+        }
+        return outputList.size();
+    }
+
+    /**
+     * get the number of keys waiting to be flushed
+     */
+    public int getPendingSize() {
+        return aggregateMap.size();
+    }
+
+    /**
+     * close
+     */
+    @Override
+    public void close() {
+        timerService.shutdown();
+        this.flush(true);
+    }
+
+    private AuditData toAuditData(AggregateKey key, AggregateValue value) {
+        AuditData data = new AuditData();
+        data.setIp(key.ip);
+        data.setInlongGroupId(key.inlongGroupId);
+        data.setInlongStreamId(key.inlongStreamId);
+        data.setAuditId(key.auditId);
+        data.setAuditTag(key.auditTag);
+        data.setAuditVersion(key.auditVersion);
+        data.setLogTs(key.windowStart);
+        data.setDockerId(value.dockerId);
+        data.setThreadId(value.threadId);
+        data.setSdkTs(value.sdkTs);
+        data.setPacketId(packetIdGenerator.incrementAndGet());
+        data.setCount(value.count);
+        data.setSize(value.size);
+        data.setDelay(value.delay);
+        return data;
+    }
+
+    /**
+     * AggregateKey
+     */
+    private static class AggregateKey {
+
+        private final long windowStart;
+        private final String ip;
+        private final String inlongGroupId;
+        private final String inlongStreamId;
+        private final String auditId;
+        private final String auditTag;
+        private final long auditVersion;
+
+        AggregateKey(long windowStart, AuditData data) {
+            this.windowStart = windowStart;
+            this.ip = data.getIp();
+            this.inlongGroupId = data.getInlongGroupId();
+            this.inlongStreamId = data.getInlongStreamId();
+            this.auditId = data.getAuditId();
+            this.auditTag = data.getAuditTag();
+            this.auditVersion = data.getAuditVersion();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof AggregateKey)) {
+                return false;
+            }
+            AggregateKey that = (AggregateKey) o;
+            return windowStart == that.windowStart
+                    && auditVersion == that.auditVersion
+                    && Objects.equals(ip, that.ip)
+                    && Objects.equals(inlongGroupId, that.inlongGroupId)
+                    && Objects.equals(inlongStreamId, that.inlongStreamId)
+                    && Objects.equals(auditId, that.auditId)
+                    && Objects.equals(auditTag, that.auditTag);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(windowStart, ip, inlongGroupId, inlongStreamId, auditId, auditTag, auditVersion);
+        }
+    }
+
+    /**
+     * AggregateValue, only accessed inside the compute() of its key
+     */
+    private static class AggregateValue {
+
+        private final String dockerId;
+        private final String threadId;
+        private final Set<String> packets = new HashSet<>();
+        private long sdkTs;
+        private long count;
+        private long size;
+        private long delay;
+        private volatile long updateTime;
+
+        AggregateValue(AuditData data) {
+            this.dockerId = data.getDockerId();
+            this.threadId = data.getThreadId();
+        }
+
+        void merge(AuditData data) {
+            String packet = data.getDockerId() + "|" + data.getThreadId() + "|" + data.getSdkTs() + "|"
+                    + data.getPacketId() + "|" + data.getLogTs() + "|" + data.getCount() + "|"
+                    + data.getSize() + "|" + data.getDelay();
+            this.updateTime = System.currentTimeMillis();
+            if (!packets.add(packet)) {
+                return;
+            }
+            this.sdkTs = Math.max(sdkTs, data.getSdkTs());
+            this.count += data.getCount();
+            this.size += data.getSize();
+            this.delay += data.getDelay();
+        }
+    }
+}
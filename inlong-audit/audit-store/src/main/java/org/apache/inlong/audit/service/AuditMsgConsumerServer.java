@@ -43,17 +43,19 @@ import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
 
 @Service
-public class AuditMsgConsumerServer implements InitializingBean {
+public class AuditMsgConsumerServer implements InitializingBean, DisposableBean {
 
     private static final Logger LOG = LoggerFactory.getLogger(AuditMsgConsumerServer.class);
     @Autowired
@@ -68,6 +70,8 @@ public class AuditMsgConsumerServer implements InitializingBean {
     private ClickHouseConfig chConfig;
     // ClickHouseService
     private ClickHouseService ckService;
+    // pre-aggregation stage before the insert services
+    private AuditAggregator aggregator;
 
     private static final String DEFAULT_CONFIG_PROPERTIES = "application.properties";
 
@@ -85,6 +89,10 @@ public class AuditMsgConsumerServer implements InitializingBean {
         List<MQInfo> mqInfoList = getClusterFromManager();
         BaseConsume mqConsume = null;
         List<InsertData> insertServiceList = this.getInsertServiceList();
+        if (storeConfig.isAggregateEnable()) {
+            aggregator = new AuditAggregator(insertServiceList, storeConfig);
+            insertServiceList = Collections.singletonList(aggregator);
+        }
 
         for (MQInfo mqInfo : mqInfoList) {
             if (mqConfig.isPulsar() && MQType.PULSAR.equals(mqInfo.getMqType())) {
@@ -112,9 +120,22 @@ public class AuditMsgConsumerServer implements InitializingBean {
         if (storeConfig.isClickHouseStore()) {
             ckService.start();
         }
+        if (aggregator != null) {
+            aggregator.start();
+        }
         mqConsume.start();
     }
 
+    /**
+     * Flush the aggregated data before destroying bean
+     */
+    @Override
+    public void destroy() {
+        if (aggregator != null) {
+            aggregator.close();
+        }
+    }
+
     /**
      * getInsertServiceList
      *
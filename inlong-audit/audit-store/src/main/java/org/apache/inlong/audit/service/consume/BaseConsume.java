@@ -32,6 +32,8 @@ public abstract class BaseConsume {
 
     private static final Logger LOG = LoggerFactory.getLogger(BaseConsume.class);
 
+    private static final String BATCH_PREFIX = "[";
+
     private final Gson gson = new Gson();
 
     protected List<InsertData> insertServiceList;
@@ -48,12 +50,21 @@ public abstract class BaseConsume {
     public abstract void start();
 
     /**
-     * handleMessage
+     * handleMessage, the body is an audit data, or an array of audit data forwarded as a batch
      * @param body
      * @throws Exception
      */
     protected void handleMessage(String body) throws Exception {
-        AuditData msgBody = gson.fromJson(body, AuditData.class);
+        if (body.startsWith(BATCH_PREFIX)) {
+            for (AuditData msgBody : gson.fromJson(body, AuditData[].class)) {
+                this.insert(msgBody);
+            }
+            return;
+        }
+        this.insert(gson.fromJson(body, AuditData.class));
+    }
+
+    private void insert(AuditData msgBody) {
         this.insertServiceList.forEach((service) -> {
             try {
                 service.insert(msgBody);
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.audit.service;
+
+import org.apache.inlong.audit.config.StoreConfig;
+import org.apache.inlong.audit.protocol.AuditData;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class AuditAggregatorTest {
+
+    private static final long MINUTE = 60000L;
+    private static final long BASE_TIME = 1700000000000L - 1700000000000L % MINUTE;
+
+    private final List<AuditData> outputList = Collections.synchronizedList(new ArrayList<>());
+    private AuditAggregator aggregator;
+
+    @Before
+    public void setUp() {
+        StoreConfig storeConfig = new StoreConfig();
+        storeConfig.setAggregateWindowMs(MINUTE);
+        storeConfig.setAggregateLatenessMs(MINUTE);
+        storeConfig.setAggregateFlushIntervalMs(1000);
+        aggregator = new AuditAggregator(Collections.singletonList(outputList::add), storeConfig);
+    }
+
+    @Test
+    public void testMergeSameKey() {
+        for (int i = 0; i < 100; i++) {
+            aggregator.insert(createAuditData("127.0.0.1", BASE_TIME + i, i, 10, 100, 5));
+        }
+        aggregator.insert(createAuditData("127.0.0.2", BASE_TIME, 0, 10, 100, 5));
+        Assert.assertEquals(2, aggregator.getPendingSize());
+
+        // the watermark has not passed the window end plus lateness
+        Assert.assertEquals(0, aggregator.flush(false));
+
+        Assert.assertEquals(2, aggregator.flush(true));
+        Assert.assertEquals(0, aggregator.getPendingSize());
+        AuditData merged = outputList.stream()
+                .filter(data -> "127.0.0.1".equals(data.getIp()))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        Assert.assertEquals(BASE_TIME, merged.getLogTs());
+        Assert.assertEquals(1000, merged.getCount());
+        Assert.assertEquals(10000, merged.getSize());
+        Assert.assertEquals(500, merged.getDelay());
+    }
+
+    @Test
+    public void testDropDuplicatePacket() {
+        AuditData data = createAuditData("127.0.0.1", BASE_TIME, 1, 10, 100, 5);
+        aggregator.insert(data);
+        aggregator.insert(data);
+        aggregator.flush(true);
+        Assert.assertEquals(1, outputList.size());
+        Assert.assertEquals(10, outputList.get(0).getCount());
+    }
+
+    @Test
+    public void testFlushOnWatermark() {
+        aggregator.insert(createAuditData("127.0.0.1", BASE_TIME, 1, 10, 100, 5));
+        aggregator.insert(createAuditData("127.0.0.1", BASE_TIME + MINUTE, 2, 10, 100, 5));
+        Assert.assertEquals(0, aggregator.flush(false));
+
+        // the watermark passes the end of the first window plus lateness
+        aggregator.insert(createAuditData("127.0.0.1", BASE_TIME + 2 * MINUTE, 3, 10, 100, 5));
+        Assert.assertEquals(1, aggregator.flush(false));
+        Assert.assertEquals(BASE_TIME, outputList.get(0).getLogTs());
+        Assert.assertEquals(2, aggregator.getPendingSize());
+    }
+
+    @Test
+    public void testFutureLogTimeNotCloseWindow() {
+        long now = System.currentTimeMillis();
+        long windowStart = now - now % MINUTE;
+        aggregator.insert(createAuditData("127.0.0.1", windowStart, 1, 10, 100, 5));
+
+        // the watermark is clamped to the current time plus lateness
+        aggregator.insert(createAuditData("127.0.0.1", now + 100 * MINUTE, 2, 10, 100, 5));
+        Assert.assertEquals(0, aggregator.flush(false));
+        Assert.assertEquals(2, aggregator.getPendingSize());
+    }
+
+    private AuditData createAuditData(String ip, long logTs, long packetId, long count, long size, long delay) {
+        AuditData data = new AuditData();
+        data.setIp(ip);
+        data.setDockerId("docker");
+        data.setThreadId("thread");
+        data.setSdkTs(logTs);
+        data.setPacketId(packetId);
+        data.setLogTs(logTs);
+        data.setInlongGroupId("group");
+        data.setInlongStreamId("stream");
+        data.setAuditId("1");
+        data.setAuditTag("");
+        data.setAuditVersion(-1);
+        data.setCount(count);
+        data.setSize(size);
+        data.setDelay(delay);
+        return data;
+    }
+}
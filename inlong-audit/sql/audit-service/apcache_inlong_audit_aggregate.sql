@@ -43,7 +43,8 @@ CREATE TABLE IF NOT EXISTS `audit_data_temp`
     `size`             BIGINT       NOT NULL DEFAULT '0' COMMENT 'Message size',
     `delay`            BIGINT       NOT NULL DEFAULT '0' COMMENT 'Message delay count',
     `update_time`      timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT 'Update time',
-    PRIMARY KEY (`log_ts`,`inlong_group_id`,`inlong_stream_id`,`audit_id`,`audit_tag`)
+    PRIMARY KEY (`log_ts`,`inlong_group_id`,`inlong_stream_id`,`audit_id`,`audit_tag`),
+    INDEX idx_update_time (`update_time`)
 ) ENGINE = InnoDB
 DEFAULT CHARSET = utf8 COMMENT ='Inlong audit data temp table';
 
@@ -40,4 +40,9 @@ public class TaskRequest {
 
     private List<CommandEntity> commandInfo = new ArrayList<>();
 
+    /**
+     * Md5 of the task config held by the agent, used to watch the changes of the task config
+     */
+    private String md5;
+
 }
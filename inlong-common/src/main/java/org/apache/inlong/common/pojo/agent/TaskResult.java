@@ -35,5 +35,6 @@ public class TaskResult {
 
     private List<CmdConfig> cmdConfigs;
     private List<DataConfig> dataConfigs;
+    private String md5;
 
 }
\ No newline at end of file
@@ -42,4 +42,9 @@ public class DataProxyConfigRequest {
      */
     private String md5;
 
+    /**
+     * DataProxy cluster config version, the Manager returns the changes since this version if it still holds them
+     */
+    private Long version;
+
 }
@@ -17,6 +17,9 @@
 
 package org.apache.inlong.common.pojo.dataproxy;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * DataProxyConfigResponse
  */
@@ -24,6 +27,7 @@ public class DataProxyConfigResponse {
 
     public static final int SUCC = 0; // success
     public static final int NOUPDATE = 1; // no update, for same md5
+    public static final int DELTA = 2; // only the changes since the requested version
     public static final int FAIL = -1; // general error
     public static final int REQ_PARAMS_ERROR = -101; // error request parameter
 
@@ -31,6 +35,9 @@ public class DataProxyConfigResponse {
     private Integer errCode;
     private String md5;
     private DataProxyCluster data;
+    private Long version;
+    // the removed inlong ids, only used for DELTA response
+    private List<InLongIdObject> removedInlongIds = new ArrayList<>();
 
     /**
      * get result
@@ -104,4 +111,40 @@ public class DataProxyConfigResponse {
         this.data = data;
     }
 
+    /**
+     * get version
+     *
+     * @return the version
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * set version
+     *
+     * @param version the version to set
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * get removedInlongIds
+     *
+     * @return the removedInlongIds
+     */
+    public List<InLongIdObject> getRemovedInlongIds() {
+        return removedInlongIds;
+    }
+
+    /**
+     * set removedInlongIds
+     *
+     * @param removedInlongIds the removedInlongIds to set
+     */
+    public void setRemovedInlongIds(List<InLongIdObject> removedInlongIds) {
+        this.removedInlongIds = removedInlongIds;
+    }
+
 }
@@ -79,6 +79,10 @@ public class CommonConfigHolder {
     // max allowed wait duration
     private static final String KEY_META_CONFIG_SYNC_WAST_ALARM_MS = "meta.config.sync.wast.alarm.ms";
     public static final long VAL_DEF_META_CONFIG_SYNC_WAST_ALARM_MS = 30000L;
+    // whether to watch the meta config, the watch request is held by the Manager until the config changed
+    // or the sync interval passed, instead of requesting the config every 3 sync intervals
+    private static final String KEY_ENABLE_META_CONFIG_WATCH = "meta.config.watch.enable";
+    public static final boolean VAL_DEF_ENABLE_META_CONFIG_WATCH = false;
     // whether to startup using the local metadata.json file without connecting to the Manager
     private static final String KEY_ENABLE_STARTUP_USING_LOCAL_META_FILE =
             "startup.using.local.meta.file.enable";
@@ -169,6 +173,7 @@ public class CommonConfigHolder {
     private boolean enableStartupUsingLocalMetaFile = VAL_DEF_ENABLE_STARTUP_USING_LOCAL_META_FILE;
     private long metaConfigSyncInvlMs = VAL_DEF_CONFIG_SYNC_INTERVAL_MS;
     private long metaConfigWastAlarmMs = VAL_DEF_META_CONFIG_SYNC_WAST_ALARM_MS;
+    private boolean enableMetaConfigWatch = VAL_DEF_ENABLE_META_CONFIG_WATCH;
     private boolean enableAudit = VAL_DEF_ENABLE_AUDIT;
     private final HashSet<String> auditProxys = new HashSet<>();
     private String auditFilePath = VAL_DEF_AUDIT_FILE_PATH;
@@ -261,6 +266,10 @@ public class CommonConfigHolder {
         return metaConfigWastAlarmMs;
     }
 
+    public boolean isEnableMetaConfigWatch() {
+        return enableMetaConfigWatch;
+    }
+
     public boolean isEnableUnConfigTopicAccept() {
         return enableUnConfigTopicAccept;
     }
@@ -422,6 +431,11 @@ public class CommonConfigHolder {
         if (StringUtils.isNotBlank(tmpValue)) {
             this.metaConfigWastAlarmMs = NumberUtils.toLong(tmpValue.trim(), VAL_DEF_META_CONFIG_SYNC_WAST_ALARM_MS);
         }
+        // read enable meta config watch
+        tmpValue = this.props.get(KEY_ENABLE_META_CONFIG_WATCH);
+        if (StringUtils.isNotEmpty(tmpValue)) {
+            this.enableMetaConfigWatch = "TRUE".equalsIgnoreCase(tmpValue.trim());
+        }
         // read enable startup using local meta file
         tmpValue = this.props.get(KEY_ENABLE_STARTUP_USING_LOCAL_META_FILE);
         if (StringUtils.isNotEmpty(tmpValue)) {
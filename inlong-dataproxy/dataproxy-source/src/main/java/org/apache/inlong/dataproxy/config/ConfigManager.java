@@ -142,8 +142,16 @@ public class ConfigManager {
         return metaConfigHolder.getConfigMd5();
     }
 
-    public boolean updateMetaConfigInfo(String inDataMd5, String inDataJsonStr) {
-        return metaConfigHolder.updateConfigMap(inDataMd5, inDataJsonStr);
+    public long getMetaConfigVersion() {
+        return metaConfigHolder.getConfigVersion();
+    }
+
+    public boolean updateMetaConfigInfo(String inDataMd5, Long inDataVersion, String inDataJsonStr) {
+        return metaConfigHolder.updateConfigMap(inDataMd5, inDataVersion, inDataJsonStr);
+    }
+
+    public boolean applyMetaConfigDelta(String baseDataMd5, DataProxyConfigResponse deltaConfig) {
+        return metaConfigHolder.applyConfigDelta(baseDataMd5, deltaConfig);
     }
 
     // register meta-config callback
@@ -231,6 +239,7 @@ public class ConfigManager {
         private final CloseableHttpClient httpClient;
         private final Gson gson = new Gson();
         private boolean isRunning = true;
+        private static final int HTTP_TIMEOUT_MS = 50000;
         private final AtomicInteger managerIpListIndex = new AtomicInteger(0);
 
         private ReloadConfigWorker(ConfigManager managerInstance) {
@@ -262,7 +271,12 @@ public class ConfigManager {
                         }
                     }
                     // connect to manager
-                    if (fisrtCheck) {
+                    if (CommonConfigHolder.getInstance().isEnableMetaConfigWatch()) {
+                        // held by the manager until the config changed or the sync interval passed
+                        if (checkRemoteConfig()) {
+                            continue;
+                        }
+                    } else if (fisrtCheck) {
                         fisrtCheck = false;
                         checkRemoteConfig();
                         count = 0;
@@ -296,7 +310,7 @@ public class ConfigManager {
         }
 
         private synchronized CloseableHttpClient constructHttpClient() {
-            long timeoutInMs = TimeUnit.MILLISECONDS.toMillis(50000);
+            long timeoutInMs = TimeUnit.MILLISECONDS.toMillis(HTTP_TIMEOUT_MS);
             RequestConfig requestConfig = RequestConfig.custom()
                     .setConnectTimeout((int) timeoutInMs)
                     .setSocketTimeout((int) timeoutInMs).build();
@@ -309,7 +323,7 @@ public class ConfigManager {
             return (int) (Math.random() * (max + 1 - min)) + min;
         }
 
-        private void checkRemoteConfig() {
+        private boolean checkRemoteConfig() {
             String proxyClusterName = CommonConfigHolder.getInstance().getClusterName();
             String proxyClusterTag = CommonConfigHolder.getInstance().getClusterTag();
             if (StringUtils.isBlank(proxyClusterName) || StringUtils.isBlank(proxyClusterTag)) {
@@ -317,20 +331,21 @@ public class ConfigManager {
                         CommonConfigHolder.KEY_PROXY_CLUSTER_NAME,
                         CommonConfigHolder.KEY_PROXY_CLUSTER_TAG,
                         CommonConfigHolder.COMMON_CONFIG_FILE_NAME);
-                return;
+                return false;
             }
             List<String> managerIpList = CommonConfigHolder.getInstance().getManagerHosts();
             if (managerIpList == null || managerIpList.size() == 0) {
                 LOG.error("Found manager ip list are empty, can't quest remote configure!");
-                return;
+                return false;
             }
             int managerIpSize = managerIpList.size();
             for (int i = 0; i < managerIpList.size(); i++) {
                 String host = managerIpList.get(Math.abs(managerIpListIndex.getAndIncrement()) % managerIpSize);
                 if (this.reloadDataProxyConfig(proxyClusterName, proxyClusterTag, host)) {
-                    break;
+                    return true;
                 }
             }
+            return false;
         }
 
         /**
@@ -339,16 +354,32 @@ public class ConfigManager {
         private boolean reloadDataProxyConfig(String clusterName, String clusterTag, String host) {
             String url = null;
             HttpPost httpPost = null;
+            boolean watch = CommonConfigHolder.getInstance().isEnableMetaConfigWatch();
+            long watchTimeoutMs = watch ? CommonConfigHolder.getInstance().getMetaConfigSyncInvlMs() : 0L;
             try {
-                url = "http://" + host + ConfigConstants.MANAGER_PATH
-                        + ConfigConstants.MANAGER_GET_ALL_CONFIG_PATH;
+                if (watch) {
+                    url = "http://" + host + ConfigConstants.MANAGER_PATH
+                            + ConfigConstants.MANAGER_WATCH_META_CONFIG_PATH + "?timeoutMs=" + watchTimeoutMs;
+                } else {
+                    url = "http://" + host + ConfigConstants.MANAGER_PATH
+                            + ConfigConstants.MANAGER_GET_META_CONFIG_PATH;
+                }
                 httpPost = HttpUtils.getHttPost(url);
+                if (watch) {
+                    httpPost.setConfig(RequestConfig.custom()
+                            .setConnectTimeout(HTTP_TIMEOUT_MS)
+                            .setSocketTimeout((int) (HTTP_TIMEOUT_MS + watchTimeoutMs)).build());
+                }
                 // request body
                 DataProxyConfigRequest request = new DataProxyConfigRequest();
                 request.setClusterName(clusterName);
                 request.setClusterTag(clusterTag);
                 if (StringUtils.isNotBlank(configManager.getMetaConfigMD5())) {
                     request.setMd5(configManager.getMetaConfigMD5());
+                    // request only the changes since the held version
+                    if (configManager.getMetaConfigVersion() > 0) {
+                        request.setVersion(configManager.getMetaConfigVersion());
+                    }
                 }
                 httpPost.setEntity(HttpUtils.getEntity(request));
                 if (LOG.isDebugEnabled()) {
@@ -359,7 +390,7 @@ public class ConfigManager {
                 long startTime = System.currentTimeMillis();
                 CloseableHttpResponse response = httpClient.execute(httpPost);
                 String returnStr = EntityUtils.toString(response.getEntity());
-                long dltTime = System.currentTimeMillis() - startTime;
+                long dltTime = System.currentTimeMillis() - startTime - watchTimeoutMs;
                 if (dltTime >= CommonConfigHolder.getInstance().getMetaConfigWastAlarmMs()) {
                     LOG.warn("End to request {} to get config info, WAIST {} ms, over alarm value {} ms",
                             url, dltTime, CommonConfigHolder.getInstance().getMetaConfigWastAlarmMs());
@@ -382,7 +413,8 @@ public class ConfigManager {
                             url, request, proxyResponse.getErrCode());
                     return false;
                 }
-                if (proxyResponse.getErrCode() != DataProxyConfigResponse.SUCC) {
+                if (proxyResponse.getErrCode() != DataProxyConfigResponse.SUCC
+                        && proxyResponse.getErrCode() != DataProxyConfigResponse.DELTA) {
                     if (proxyResponse.getErrCode() != DataProxyConfigResponse.NOUPDATE) {
                         LOG.warn("Get config failure from url:{}, with params {}, error code is {}",
                                 url, request, proxyResponse.getErrCode());
@@ -398,7 +430,14 @@ public class ConfigManager {
                     return true;
                 }
                 // update meta configure
-                if (configManager.updateMetaConfigInfo(proxyResponse.getMd5(), returnStr)) {
+                boolean updated;
+                if (proxyResponse.getErrCode() == DataProxyConfigResponse.DELTA) {
+                    updated = configManager.applyMetaConfigDelta(request.getMd5(), proxyResponse);
+                } else {
+                    updated = configManager.updateMetaConfigInfo(
+                            proxyResponse.getMd5(), proxyResponse.getVersion(), returnStr);
+                }
+                if (updated) {
                     if (!ConfigManager.handshakeManagerOk.get()) {
                         ConfigManager.handshakeManagerOk.set(true);
                         LOG.info("Get config success from manager and updated, set handshake status is ok!");
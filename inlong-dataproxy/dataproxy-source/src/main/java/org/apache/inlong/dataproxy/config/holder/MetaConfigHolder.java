@@ -48,6 +48,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -70,8 +71,10 @@ public class MetaConfigHolder extends ConfigHolder {
     // meta data
     private String dataMd5 = "";
     private String dataStr = "";
+    private long dataVersion = 0;
     private final AtomicLong lastUpdVersion = new AtomicLong(0);
     private String tmpDataMd5 = "";
+    private long tmpDataVersion = 0;
     private final AtomicLong lastSyncVersion = new AtomicLong(0);
     // cached data
     private final List<String> defTopics = new ArrayList<>();
@@ -153,7 +156,18 @@ public class MetaConfigHolder extends ConfigHolder {
         }
     }
 
-    public boolean updateConfigMap(String inDataMd5, String inDataJsonStr) {
+    /**
+     * get the config version assigned by the Manager, 0 if unknown
+     */
+    public long getConfigVersion() {
+        if (this.lastSyncVersion.get() > this.lastUpdVersion.get()) {
+            return tmpDataVersion;
+        } else {
+            return dataVersion;
+        }
+    }
+
+    public boolean updateConfigMap(String inDataMd5, Long inDataVersion, String inDataJsonStr) {
         if (StringUtils.isBlank(inDataMd5)
                 || StringUtils.isBlank(inDataJsonStr)) {
             return false;
@@ -171,7 +185,71 @@ public class MetaConfigHolder extends ConfigHolder {
                     return false;
                 }
             }
-            return storeConfigToFile(inDataMd5, inDataJsonStr);
+            return storeConfigToFile(inDataMd5, inDataVersion, inDataJsonStr);
+        }
+    }
+
+    /**
+     * apply the changes since the cached config, and store the merged config to file
+     *
+     * @param baseDataMd5 md5 of the config which the changes are based on
+     * @param deltaConfig the changes, includes the changed inlong ids and the whole cache cluster set
+     * @return whether the merged config is stored
+     */
+    public boolean applyConfigDelta(String baseDataMd5, DataProxyConfigResponse deltaConfig) {
+        if (StringUtils.isBlank(baseDataMd5)
+                || StringUtils.isBlank(deltaConfig.getMd5())
+                || deltaConfig.getVersion() == null
+                || deltaConfig.getData() == null
+                || deltaConfig.getData().getProxyCluster() == null) {
+            return false;
+        }
+        synchronized (this.lastSyncVersion) {
+            if (this.lastSyncVersion.get() > this.lastUpdVersion.get()) {
+                LOG.info("Load changed metadata {} , but reloading content, over {} ms",
+                        getFileName(), System.currentTimeMillis() - this.lastSyncVersion.get());
+                return false;
+            }
+            if (!baseDataMd5.equals(dataMd5) || deltaConfig.getMd5().equals(dataMd5)) {
+                return false;
+            }
+            DataProxyConfigResponse metaConfig = null;
+            if (StringUtils.isNotBlank(dataStr)) {
+                metaConfig = GSON.fromJson(dataStr, DataProxyConfigResponse.class);
+            }
+            if (metaConfig == null
+                    || metaConfig.getData() == null
+                    || metaConfig.getData().getProxyCluster() == null) {
+                // request the full config next time
+                LOG.warn("Apply changed metadata {} failure, the cached content is malformed", getFileName());
+                this.dataVersion = 0;
+                return false;
+            }
+            // merge the changed inlong ids
+            Map<String, InLongIdObject> inlongIdMap = new LinkedHashMap<>();
+            for (InLongIdObject idObject : metaConfig.getData().getProxyCluster().getInlongIds()) {
+                inlongIdMap.put(getInlongIdKey(idObject), idObject);
+            }
+            if (deltaConfig.getRemovedInlongIds() != null) {
+                for (InLongIdObject idObject : deltaConfig.getRemovedInlongIds()) {
+                    inlongIdMap.remove(getInlongIdKey(idObject));
+                }
+            }
+            ProxyClusterObject proxyClusterObject = deltaConfig.getData().getProxyCluster();
+            int changedCount = proxyClusterObject.getInlongIds().size();
+            for (InLongIdObject idObject : proxyClusterObject.getInlongIds()) {
+                inlongIdMap.put(getInlongIdKey(idObject), idObject);
+            }
+            proxyClusterObject.setInlongIds(new ArrayList<>(inlongIdMap.values()));
+            metaConfig.getData().setProxyCluster(proxyClusterObject);
+            metaConfig.getData().setCacheClusterSet(deltaConfig.getData().getCacheClusterSet());
+            metaConfig.setMd5(deltaConfig.getMd5());
+            metaConfig.setVersion(deltaConfig.getVersion());
+            LOG.info("Apply changed metadata {}, {} inlong ids changed, {} inlong ids removed, version {}",
+                    getFileName(), changedCount,
+                    deltaConfig.getRemovedInlongIds() == null ? 0 : deltaConfig.getRemovedInlongIds().size(),
+                    deltaConfig.getVersion());
+            return storeConfigToFile(deltaConfig.getMd5(), deltaConfig.getVersion(), GSON.toJson(metaConfig));
         }
     }
 
@@ -303,6 +381,7 @@ public class MetaConfigHolder extends ConfigHolder {
         // update cached data
         this.dataMd5 = metaConfig.getMd5();
         this.dataStr = jsonString;
+        this.dataVersion = metaConfig.getVersion() == null ? 0 : metaConfig.getVersion();
         if (this.lastSyncVersion.get() == 0) {
             this.lastUpdVersion.set(System.currentTimeMillis());
             this.lastSyncVersion.compareAndSet(0, this.lastUpdVersion.get());
@@ -431,10 +510,17 @@ public class MetaConfigHolder extends ConfigHolder {
         return tmpTopicConfigMap;
     }
 
+    /**
+     * get the key of inlong id, same inlong id may be configured with different topics
+     */
+    private String getInlongIdKey(InLongIdObject idObject) {
+        return idObject.getInlongId() + "#" + idObject.getTopic();
+    }
+
     /**
      * store meta config to file
      */
-    private boolean storeConfigToFile(String inDataMd5, String metaJsonStr) {
+    private boolean storeConfigToFile(String inDataMd5, Long inDataVersion, String metaJsonStr) {
         boolean isSuccess = false;
         String filePath = getFilePath();
         if (StringUtils.isBlank(filePath)) {
@@ -454,6 +540,7 @@ public class MetaConfigHolder extends ConfigHolder {
             FileUtils.copyFile(tmpNewFile, sourceFile);
             tmpNewFile.delete();
             tmpDataMd5 = inDataMd5;
+            tmpDataVersion = inDataVersion == null ? 0 : inDataVersion;
             lastSyncVersion.set(System.currentTimeMillis());
             isSuccess = true;
             setFileChanged();
@@ -124,6 +124,8 @@ public class ConfigConstants {
 
     public static final String MANAGER_PATH = "/inlong/manager/openapi";
     public static final String MANAGER_GET_ALL_CONFIG_PATH = "/dataproxy/getAllConfig";
+    public static final String MANAGER_GET_META_CONFIG_PATH = "/dataproxy/getMetaConfig";
+    public static final String MANAGER_WATCH_META_CONFIG_PATH = "/dataproxy/watchMetaConfig";
     public static final String MANAGER_HEARTBEAT_REPORT = "/heartbeat/report";
 
     public static final String MANAGER_AUTH_SECRET_ID = "manager.auth.secretId";
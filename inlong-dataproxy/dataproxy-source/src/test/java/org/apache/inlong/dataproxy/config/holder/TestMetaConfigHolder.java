@@ -17,12 +17,22 @@
 
 package org.apache.inlong.dataproxy.config.holder;
 
+import org.apache.inlong.common.pojo.dataproxy.DataProxyConfigResponse;
+import org.apache.inlong.common.pojo.dataproxy.InLongIdObject;
 import org.apache.inlong.dataproxy.config.ConfigManager;
 import org.apache.inlong.dataproxy.config.pojo.CacheClusterConfig;
 
+import com.google.gson.Gson;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -30,13 +40,39 @@ import java.util.List;
  */
 public class TestMetaConfigHolder {
 
+    private static final Gson GSON = new Gson();
+    private static final String BASE_MD5 = "5a3f5939bb7368f493bf41c1d785b8f3";
+
+    private MetaConfigHolder metaConfigHolder;
+    private File metaFile;
+    private String metaContent;
+
+    @Before
+    public void setUp() throws Exception {
+        ConfigManager.handshakeManagerOk.set(true);
+        metaConfigHolder = new MetaConfigHolder();
+        metaFile = new File(metaConfigHolder.getFilePath());
+        metaContent = FileUtils.readFileToString(metaFile, StandardCharsets.UTF_8);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        // applying a delta rewrites the meta file and backs up the old one
+        FileUtils.writeStringToFile(metaFile, metaContent, StandardCharsets.UTF_8);
+        File[] backupFiles = metaFile.getParentFile().listFiles(
+                (dir, name) -> name.startsWith(metaFile.getName() + "."));
+        if (backupFiles != null) {
+            for (File backupFile : backupFiles) {
+                FileUtils.deleteQuietly(backupFile);
+            }
+        }
+    }
+
     @Test
     public void test() {
-        ConfigManager.handshakeManagerOk.set(true);
-        MetaConfigHolder metaConfigHolder = new MetaConfigHolder();
         boolean result = metaConfigHolder.loadFromFileToHolder();
         Assert.assertTrue(result);
-        Assert.assertEquals(metaConfigHolder.getConfigMd5(), "5a3f5939bb7368f493bf41c1d785b8f3");
+        Assert.assertEquals(metaConfigHolder.getConfigMd5(), BASE_MD5);
         Assert.assertEquals("test_group",
                 metaConfigHolder.getSourceTopicName("test_group", "stream1"));
         Assert.assertNull(metaConfigHolder.getSourceTopicName("aaa", "stream1"));
@@ -46,4 +82,86 @@ public class TestMetaConfigHolder {
 
     }
 
+    @Test
+    public void testApplyConfigDeltaAddAndUpdate() throws Exception {
+        Assert.assertTrue(metaConfigHolder.loadFromFileToHolder());
+        DataProxyConfigResponse delta = createDelta("delta_md5_1", 2L);
+        delta.getData().getProxyCluster().setInlongIds(new ArrayList<>());
+        delta.getData().getProxyCluster().getInlongIds().add(createInlongId("test_group.stream1", "stream1",
+                "test_group_new"));
+        delta.getData().getProxyCluster().getInlongIds().add(createInlongId("test_group.stream2", "stream2",
+                "test_group2"));
+        Assert.assertTrue(metaConfigHolder.applyConfigDelta(BASE_MD5, delta));
+
+        // the changed inlong id is replaced in place, the new one is appended
+        List<InLongIdObject> inlongIds = readStoredInlongIds();
+        Assert.assertEquals(2, inlongIds.size());
+        Assert.assertEquals("test_group.stream1", inlongIds.get(0).getInlongId());
+        Assert.assertEquals("test_group_new", inlongIds.get(0).getParams().get("namespace"));
+        Assert.assertEquals("test_group.stream2", inlongIds.get(1).getInlongId());
+
+        Assert.assertTrue(metaConfigHolder.loadFromFileToHolder());
+        Assert.assertEquals("delta_md5_1", metaConfigHolder.getConfigMd5());
+        Assert.assertEquals(2L, metaConfigHolder.getConfigVersion());
+        Assert.assertEquals("test_group_new", metaConfigHolder.getSourceTopicName("test_group", "stream1"));
+        Assert.assertEquals("test_group2", metaConfigHolder.getSourceTopicName("test_group", "stream2"));
+    }
+
+    @Test
+    public void testApplyConfigDeltaRemoveAndReplaceTopic() throws Exception {
+        Assert.assertTrue(metaConfigHolder.loadFromFileToHolder());
+        DataProxyConfigResponse delta = createDelta("delta_md5_2", 3L);
+        // the same inlong id is moved to another topic
+        delta.getData().getProxyCluster().setInlongIds(Collections.singletonList(
+                createInlongId("test_group.stream1", "stream1_new", "test_group")));
+        delta.setRemovedInlongIds(Collections.singletonList(
+                createInlongId("test_group.stream1", "stream1", "test_group")));
+        Assert.assertTrue(metaConfigHolder.applyConfigDelta(BASE_MD5, delta));
+
+        List<InLongIdObject> inlongIds = readStoredInlongIds();
+        Assert.assertEquals(1, inlongIds.size());
+        Assert.assertEquals("test_group.stream1", inlongIds.get(0).getInlongId());
+        Assert.assertEquals("stream1_new", inlongIds.get(0).getTopic());
+
+        // then the inlong id is deleted
+        Assert.assertTrue(metaConfigHolder.loadFromFileToHolder());
+        delta = createDelta("delta_md5_3", 4L);
+        delta.getData().getProxyCluster().setInlongIds(new ArrayList<>());
+        delta.setRemovedInlongIds(Collections.singletonList(
+                createInlongId("test_group.stream1", "stream1_new", "test_group")));
+        Assert.assertTrue(metaConfigHolder.applyConfigDelta("delta_md5_2", delta));
+        Assert.assertTrue(readStoredInlongIds().isEmpty());
+    }
+
+    @Test
+    public void testApplyConfigDeltaOnStaleBase() throws Exception {
+        Assert.assertTrue(metaConfigHolder.loadFromFileToHolder());
+        DataProxyConfigResponse delta = createDelta("delta_md5_4", 5L);
+        Assert.assertFalse(metaConfigHolder.applyConfigDelta("stale_md5", delta));
+        // the delta of the current config is not applied again
+        delta.setMd5(BASE_MD5);
+        Assert.assertFalse(metaConfigHolder.applyConfigDelta(BASE_MD5, delta));
+        Assert.assertEquals(metaContent, FileUtils.readFileToString(metaFile, StandardCharsets.UTF_8));
+        Assert.assertEquals(BASE_MD5, metaConfigHolder.getConfigMd5());
+    }
+
+    private DataProxyConfigResponse createDelta(String md5, Long version) {
+        DataProxyConfigResponse delta = GSON.fromJson(metaContent, DataProxyConfigResponse.class);
+        delta.setMd5(md5);
+        delta.setVersion(version);
+        return delta;
+    }
+
+    private InLongIdObject createInlongId(String inlongId, String topic, String namespace) {
+        InLongIdObject idObject = new InLongIdObject();
+        idObject.setInlongId(inlongId);
+        idObject.setTopic(topic);
+        idObject.getParams().put("namespace", namespace);
+        return idObject;
+    }
+
+    private List<InLongIdObject> readStoredInlongIds() throws Exception {
+        String content = FileUtils.readFileToString(metaFile, StandardCharsets.UTF_8);
+        return GSON.fromJson(content, DataProxyConfigResponse.class).getData().getProxyCluster().getInlongIds();
+    }
 }
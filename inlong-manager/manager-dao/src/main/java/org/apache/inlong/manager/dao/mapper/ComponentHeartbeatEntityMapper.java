@@ -32,6 +32,8 @@ public interface ComponentHeartbeatEntityMapper {
 
     int insertOrUpdateByKey(ComponentHeartbeatEntity record);
 
+    int insertOrUpdateAll(@Param("list") List<ComponentHeartbeatEntity> list);
+
     ComponentHeartbeatEntity selectByKey(@Param("component") String component, @Param("instance") String instance);
 
     List<ComponentHeartbeatEntity> selectByCondition(@Param("request") HeartbeatPageRequest request);
@@ -55,6 +55,11 @@ public interface InlongClusterNodeEntityMapper {
      */
     int updateStatus(@Param("id") Integer id, @Param("nextStatus") Integer nextStatus, @Param("status") Integer status);
 
+    /**
+     * Update the node load of the given nodes by their ids in one statement.
+     */
+    int updateNodeLoadByIds(@Param("list") List<InlongClusterNodeEntity> list);
+
     int deleteById(Integer id);
 
 }
\ No newline at end of file
@@ -47,6 +47,8 @@ public interface InlongGroupEntityMapper {
 
     InlongGroupEntity selectByGroupId(String groupId);
 
+    List<InlongGroupEntity> selectByGroupIds(@Param("groupIds") List<String> groupIds);
+
     InlongGroupEntity selectByGroupIdForUpdate(String groupId);
 
     List<InlongGroupEntity> selectByCondition(InlongGroupPageRequest request);
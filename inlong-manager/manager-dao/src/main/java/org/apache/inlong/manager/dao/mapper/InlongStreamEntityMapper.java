@@ -53,6 +53,8 @@ public interface InlongStreamEntityMapper {
 
     List<InlongStreamEntity> selectByGroupId(@Param("groupId") String groupId);
 
+    List<InlongStreamEntity> selectByGroupIds(@Param("groupIds") List<String> groupIds);
+
     int selectCountByGroupId(@Param("groupId") String groupId);
 
     @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
@@ -23,6 +23,7 @@ import org.apache.inlong.manager.pojo.source.SourcePageRequest;
 import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
 import java.util.List;
 
 @Repository
@@ -52,6 +53,16 @@ public interface StreamSourceEntityMapper {
     StreamSourceEntity selectOneByTaskMapIdAndAgentIp(@Param("taskMapId") Integer taskMapId,
             @Param("agentIp") String agentIp);
 
+    /**
+     * Query the task map ids which already have the sub source of the given agent ip
+     *
+     * @param taskMapIds task map ids, which are the ids of the template sources
+     * @param agentIp agent ip
+     * @return task map ids having the sub source
+     */
+    List<Integer> selectTaskMapIdsByAgentIp(@Param("taskMapIds") List<Integer> taskMapIds,
+            @Param("agentIp") String agentIp);
+
     /**
      * Query un-deleted sources by the given agentIp.
      */
@@ -105,6 +116,18 @@ public interface StreamSourceEntityMapper {
     List<StreamSourceEntity> selectByStatusAndCluster(@Param("statusList") List<Integer> statusList,
             @Param("clusterName") String clusterName, @Param("agentIp") String agentIp, @Param("uuid") String uuid);
 
+    /**
+     * Select the id, agent cluster name, agent ip and modify time of the sources modified at or after the given time.
+     *
+     * @apiNote Sources with is_deleted > 0 should also be returned to notify agents to clear their local tasks.
+     */
+    List<StreamSourceEntity> selectModifiedSources(@Param("modifyTime") Date modifyTime);
+
+    /**
+     * Select the current time of the database, which is the clock of the modify time of sources.
+     */
+    Date selectCurrentTime();
+
     /**
      * Select all sources by groupIds
      */
@@ -448,6 +448,26 @@ public interface InlongClusterService {
      */
     String getMetaConfig(String clusterName, String md5);
 
+    /**
+     * Get data proxy cluster config by the given cluster name, only the changes since the given version
+     * are returned if they are still available, otherwise the full config is returned.
+     *
+     * @param clusterName data proxy cluster name
+     * @param md5 md5 of the config held by the data proxy
+     * @param version version of the config held by the data proxy, null means the full config is required
+     * @return data proxy config
+     */
+    String getMetaConfig(String clusterName, String md5, Long version);
+
+    /**
+     * Check whether the config held by the data proxy is changed.
+     *
+     * @param clusterName data proxy cluster name
+     * @param md5 md5 of the config held by the data proxy
+     * @return whether changed
+     */
+    boolean isMetaConfigChanged(String clusterName, String md5);
+
     /**
      * Get the MQ info by cluster tag for Audit
      *
@@ -1459,6 +1459,16 @@ public class InlongClusterServiceImpl implements InlongClusterService {
 
     @Override
     public String getMetaConfig(String clusterName, String md5) {
+        return getMetaConfig(clusterName, md5, null);
+    }
+
+    @Override
+    public boolean isMetaConfigChanged(String clusterName, String md5) {
+        return !Objects.equals(proxyRepositoryV2.getProxyMd5(clusterName), md5);
+    }
+
+    @Override
+    public String getMetaConfig(String clusterName, String md5, Long version) {
         DataProxyConfigResponse response = new DataProxyConfigResponse();
         String configMd5 = proxyRepositoryV2.getProxyMd5(clusterName);
         if (configMd5 == null) {
@@ -1476,6 +1486,14 @@ public class InlongClusterServiceImpl implements InlongClusterService {
             return GSON.toJson(response);
         }
 
+        // only the changes since the version held by the DataProxy
+        if (version != null) {
+            String deltaJson = proxyRepositoryV2.getProxyConfigDeltaJson(clusterName, version, md5);
+            if (deltaJson != null) {
+                return deltaJson;
+            }
+        }
+
         String configJson = proxyRepositoryV2.getProxyConfigJson(clusterName);
         if (configJson == null) {
             response.setResult(false);
@@ -54,6 +54,14 @@ public interface AgentService {
 
     TaskResult getExistTaskConfig(TaskRequest request);
 
+    /**
+     * Check whether the exist task config held by the agent is changed.
+     *
+     * @param request Request of the task, includes the md5 of the task config held by the agent.
+     * @return Whether changed.
+     */
+    boolean isExistTaskConfigChanged(TaskRequest request);
+
     /**
      * Divide the agent into different groups, which collect different stream source tasks.
      *
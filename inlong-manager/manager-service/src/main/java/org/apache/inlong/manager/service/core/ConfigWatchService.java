@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.manager.service.core;
+
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The service interface for the config watch of Agents and DataProxies,
+ * the watch request is held until the config of the client changed or the watch timeout.
+ */
+public interface ConfigWatchService {
+
+    String AGENT_WATCH_KEY_PREFIX = "agent#";
+    String DATAPROXY_WATCH_KEY_PREFIX = "dataproxy#";
+
+    /**
+     * Get the watch key of the Agent.
+     *
+     * @param clusterName Agent cluster name
+     * @param agentIp Agent ip
+     * @return watch key
+     */
+    static String getAgentWatchKey(String clusterName, String agentIp) {
+        return getAgentClusterWatchKeyPrefix(clusterName) + agentIp;
+    }
+
+    /**
+     * Get the watch key prefix of all Agents in the cluster.
+     *
+     * @param clusterName Agent cluster name
+     * @return watch key prefix
+     */
+    static String getAgentClusterWatchKeyPrefix(String clusterName) {
+        return AGENT_WATCH_KEY_PREFIX + clusterName + "#";
+    }
+
+    /**
+     * Get the watch key of the DataProxy cluster.
+     *
+     * @param clusterName DataProxy cluster name
+     * @return watch key
+     */
+    static String getDataProxyWatchKey(String clusterName) {
+        return DATAPROXY_WATCH_KEY_PREFIX + clusterName;
+    }
+
+    /**
+     * Watch the config of the given key.
+     *
+     * @param watchKey key of the watched config
+     * @param timeoutMs timeout of the watch, limited by the max watch timeout
+     * @param changed whether the config held by the client is changed
+     * @param result the latest config, returned when the config changed or the watch timeout
+     * @return deferred result of the latest config
+     */
+    <T> DeferredResult<T> watch(String watchKey, long timeoutMs, BooleanSupplier changed, Supplier<T> result);
+
+    /**
+     * Notify the watches of the given key to check their config.
+     *
+     * @param watchKey key of the watched config
+     */
+    void notifyChanged(String watchKey);
+
+    /**
+     * Notify the watches whose key starts with the given prefix to check their config.
+     *
+     * @param watchKeyPrefix prefix of the key of the watched config
+     */
+    void notifyChangedByPrefix(String watchKeyPrefix);
+
+}
@@ -69,10 +69,12 @@ import org.apache.inlong.manager.pojo.module.ModuleDTO;
 import org.apache.inlong.manager.pojo.source.file.FileSourceDTO;
 import org.apache.inlong.manager.pojo.stream.InlongStreamInfo;
 import org.apache.inlong.manager.service.core.AgentService;
+import org.apache.inlong.manager.service.core.ConfigWatchService;
 import org.apache.inlong.manager.service.source.SourceOperatorFactory;
 import org.apache.inlong.manager.service.source.SourceSnapshotOperator;
 import org.apache.inlong.manager.service.source.StreamSourceOperator;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.base.Joiner;
@@ -85,6 +87,7 @@ import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -99,12 +102,14 @@ import javax.annotation.PostConstruct;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
@@ -114,6 +119,8 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -131,6 +138,7 @@ public class AgentServiceImpl implements AgentService {
     private static final int ISSUED_STATUS = 3;
     private static final int MODULUS_100 = 100;
     private static final int TASK_FETCH_SIZE = 2;
+    private static final int SNAPSHOT_BATCH_SIZE = 500;
     private static final Gson GSON = new Gson();
     private final ExecutorService executorService = new ThreadPoolExecutor(
             5,
@@ -145,6 +153,13 @@ public class AgentServiceImpl implements AgentService {
     private LoadingCache<TaskRequest, List<StreamSourceEntity>> taskCache;
     @Getter
     private LoadingCache<ConfigRequest, ConfigResult> moduleConfigCache;
+    // key: mq type#cluster tag, the MQ clusters shared by the task requests of all agents
+    private Cache<String, List<InlongClusterEntity>> mqClusterCache;
+    // metrics of the task requests and the queries issued to assemble their tasks
+    @Getter
+    private final LongAdder taskRequestCount = new LongAdder();
+    @Getter
+    private final LongAdder taskQueryCount = new LongAdder();
 
     @Value("${source.update.enabled:false}")
     private Boolean updateTaskTimeoutEnabled;
@@ -162,6 +177,13 @@ public class AgentServiceImpl implements AgentService {
     private Integer dataAddTaskCleanInterval;
     @Value("${add.task.retention.days:7}")
     private Integer retentionDays;
+    @Value("${source.watch.probe.interval.seconds:5}")
+    private Integer watchProbeInterval;
+    // the modify time of the last probed source, only the sources modified since then are probed,
+    // it starts from the current time of database, which is the clock of the modify time
+    private Date lastProbedModifyTime;
+    // the ids of the probed sources whose modify time is the last probed modify time
+    private final Set<Integer> lastProbedSourceIds = new HashSet<>();
 
     @Value("#{${module.name.map:{'agent':1}}}")
     private Map<String, Integer> moduleNameIdMap = new HashMap<>();
@@ -186,6 +208,8 @@ public class AgentServiceImpl implements AgentService {
     private ModuleConfigEntityMapper moduleConfigEntityMapper;
     @Autowired
     private PackageConfigEntityMapper packageConfigEntityMapper;
+    @Autowired
+    private ConfigWatchService configWatchService;
 
     /**
      * Start the update task
@@ -199,6 +223,9 @@ public class AgentServiceImpl implements AgentService {
         taskCache = Caffeine.newBuilder()
                 .expireAfterWrite(expireTime * 2L, TimeUnit.SECONDS)
                 .build(this::fetchTask);
+        mqClusterCache = Caffeine.newBuilder()
+                .expireAfterWrite(expireTime, TimeUnit.SECONDS)
+                .build();
         LOGGER.debug("start to reload config for installer.");
         try {
             moduleConfigCache = Caffeine.newBuilder()
@@ -256,6 +283,21 @@ public class AgentServiceImpl implements AgentService {
             }, 0, dataAddTaskCleanInterval, TimeUnit.SECONDS);
             LOGGER.info("clean sub task started successfully");
         }
+        if (watchProbeInterval > 0) {
+            ThreadFactory factory = new ThreadFactoryBuilder()
+                    .setNameFormat("scheduled-source-watch-probe-%d")
+                    .setDaemon(true)
+                    .build();
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(factory);
+            executor.scheduleWithFixedDelay(() -> {
+                try {
+                    probeModifiedSources();
+                } catch (Throwable t) {
+                    LOGGER.error("probe modified sources error", t);
+                }
+            }, 0, watchProbeInterval, TimeUnit.SECONDS);
+            LOGGER.info("probe modified sources started successfully");
+        }
     }
 
     @Override
@@ -333,12 +375,14 @@ public class AgentServiceImpl implements AgentService {
             throw new BusinessException("agent request or agent ip was empty, just return");
         }
 
-        preProcessFileTask(request);
-        preProcessNonFileTasks(request);
-        List<DataConfig> tasks = processQueuedTasks(request);
+        TaskQueryContext context = new TaskQueryContext();
+        preProcessFileTask(request, context);
+        preProcessNonFileTasks(request, context);
+        List<DataConfig> tasks = processQueuedTasks(request, context);
 
         // Query pending special commands
-        List<CmdConfig> cmdConfigs = getAgentCmdConfigs(request);
+        List<CmdConfig> cmdConfigs = getAgentCmdConfigs(request, context);
+        recordTaskQueries(request, context, tasks.size());
         return TaskResult.builder().dataConfigs(tasks).cmdConfigs(cmdConfigs).build();
     }
 
@@ -347,19 +391,21 @@ public class AgentServiceImpl implements AgentService {
         LOGGER.debug("begin to get all exist task by request={}", request);
         // Query pending special commands
         List<DataConfig> runningTaskConfig = Lists.newArrayList();
-        List<StreamSourceEntity> sourceEntities = taskCache.get(request);
+        List<StreamSourceEntity> sourceEntities = taskCache.get(getTaskCacheKey(request));
         try {
-            List<CmdConfig> cmdConfigs = getAgentCmdConfigs(request);
-            if (CollectionUtils.isEmpty(sourceEntities)) {
-                return TaskResult.builder().dataConfigs(runningTaskConfig).cmdConfigs(cmdConfigs).build();
-            }
-            for (StreamSourceEntity sourceEntity : sourceEntities) {
-                int op = getOp(sourceEntity.getStatus());
-                DataConfig dataConfig = getDataConfig(sourceEntity, op);
-                runningTaskConfig.add(dataConfig);
+            TaskQueryContext context = new TaskQueryContext();
+            List<CmdConfig> cmdConfigs = getAgentCmdConfigs(request, context);
+            if (CollectionUtils.isNotEmpty(sourceEntities)) {
+                context.loadGroups(sourceEntities);
+                for (StreamSourceEntity sourceEntity : sourceEntities) {
+                    int op = getOp(sourceEntity.getStatus());
+                    DataConfig dataConfig = getDataConfig(sourceEntity, op, context);
+                    runningTaskConfig.add(dataConfig);
+                }
             }
+            recordTaskQueries(request, context, runningTaskConfig.size());
             TaskResult taskResult = TaskResult.builder().dataConfigs(runningTaskConfig).cmdConfigs(cmdConfigs).build();
-
+            taskResult.setMd5(DigestUtils.md5Hex(GSON.toJson(taskResult)));
             return taskResult;
         } catch (Exception e) {
             LOGGER.error("get all exist task failed:", e);
@@ -368,6 +414,11 @@ public class AgentServiceImpl implements AgentService {
 
     }
 
+    @Override
+    public boolean isExistTaskConfigChanged(TaskRequest request) {
+        return !Objects.equals(getExistTaskConfig(request).getMd5(), request.getMd5());
+    }
+
     @Override
     @Transactional(rollbackFor = Throwable.class, isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
     public Boolean bindGroup(AgentClusterNodeBindGroupRequest request) {
@@ -454,7 +505,7 @@ public class AgentServiceImpl implements AgentService {
     /**
      * Query the tasks that source is waited to be operated.(only clusterName and ip matched it can be operated)
      */
-    private List<DataConfig> processQueuedTasks(TaskRequest request) {
+    private List<DataConfig> processQueuedTasks(TaskRequest request, TaskQueryContext context) {
         HashSet<SourceStatus> needAddStatusSet = Sets.newHashSet(SourceStatus.TOBE_ISSUED_SET);
         if (PullJobTypeEnum.NEVER == PullJobTypeEnum.getPullJobType(request.getPullJobType())) {
             LOGGER.debug("agent pull job type is [NEVER], just pull to be active tasks");
@@ -465,15 +516,18 @@ public class AgentServiceImpl implements AgentService {
         List<StreamSourceEntity> sourceEntities = sourceMapper.selectByStatusAndCluster(
                 needAddStatusSet.stream().map(SourceStatus::getCode).collect(Collectors.toList()),
                 request.getClusterName(), request.getAgentIp(), request.getUuid());
+        context.countQuery();
+        context.loadGroups(sourceEntities);
         List<DataConfig> issuedTasks = Lists.newArrayList();
         for (StreamSourceEntity sourceEntity : sourceEntities) {
             int op = getOp(sourceEntity.getStatus());
             int nextStatus = getNextStatus(sourceEntity.getStatus());
             sourceEntity.setPreviousStatus(sourceEntity.getStatus());
             sourceEntity.setStatus(nextStatus);
+            context.countQuery();
             if (sourceMapper.updateByPrimaryKeySelective(sourceEntity) == 1) {
                 sourceEntity.setVersion(sourceEntity.getVersion() + 1);
-                DataConfig dataConfig = getDataConfig(sourceEntity, op);
+                DataConfig dataConfig = getDataConfig(sourceEntity, op, context);
                 issuedTasks.add(dataConfig);
                 LOGGER.info("Offer source task({}) for agent({}) in cluster({})",
                         dataConfig, request.getAgentIp(), request.getClusterName());
@@ -484,7 +538,7 @@ public class AgentServiceImpl implements AgentService {
 
     // todo:If many agents pull the same non-file task in this place, wouldn’t it be a problem?
     // it will issue multiple tasks
-    private void preProcessNonFileTasks(TaskRequest taskRequest) {
+    private void preProcessNonFileTasks(TaskRequest taskRequest, TaskQueryContext context) {
         List<Integer> needAddStatusList;
         if (PullJobTypeEnum.NEVER == PullJobTypeEnum.getPullJobType(taskRequest.getPullJobType())) {
             LOGGER.debug("agent pull job type is [NEVER], just pull to be active tasks");
@@ -497,24 +551,26 @@ public class AgentServiceImpl implements AgentService {
                 SourceType.MYSQL_BINLOG, SourceType.POSTGRESQL);
         List<StreamSourceEntity> sourceEntities = sourceMapper.selectByStatusAndType(needAddStatusList, sourceTypes,
                 TASK_FETCH_SIZE);
+        context.countQuery();
         for (StreamSourceEntity sourceEntity : sourceEntities) {
             // refresh agent ip and uuid to make it can be processed in queued task
             sourceEntity.setAgentIp(taskRequest.getAgentIp());
             sourceEntity.setUuid(taskRequest.getUuid());
             sourceMapper.updateByPrimaryKeySelective(sourceEntity);
+            context.countQuery();
         }
     }
 
-    private void preProcessFileTask(TaskRequest taskRequest) {
-        preProcessTemplateFileTask(taskRequest);
-        preProcessLabelFileTasks(taskRequest);
+    private void preProcessFileTask(TaskRequest taskRequest, TaskQueryContext context) {
+        preProcessTemplateFileTask(taskRequest, context);
+        preProcessLabelFileTasks(taskRequest, context);
     }
 
     /**
      * Add subtasks to template tasks.
      * (Template task are agent_ip is null and task_map_id is null)
      */
-    private void preProcessTemplateFileTask(TaskRequest taskRequest) {
+    private void preProcessTemplateFileTask(TaskRequest taskRequest, TaskQueryContext context) {
         List<Integer> needCopiedStatusList = Arrays.asList(SourceStatus.TO_BE_ISSUED_ADD.getCode(),
                 SourceStatus.TO_BE_ISSUED_ACTIVE.getCode());
         final String agentIp = taskRequest.getAgentIp();
@@ -525,19 +581,28 @@ public class AgentServiceImpl implements AgentService {
         // find those node whose tag match stream_source tag and agent ip match stream_source agent ip
         List<StreamSourceEntity> sourceEntities = sourceMapper.selectTemplateSourceByCluster(needCopiedStatusList,
                 Lists.newArrayList(SourceType.FILE), agentClusterName);
+        context.countQuery();
+        if (sourceEntities.isEmpty()) {
+            return;
+        }
         Set<GroupStatus> noNeedAddTask = Sets.newHashSet(
                 GroupStatus.CONFIG_OFFLINE_SUCCESSFUL, GroupStatus.CONFIG_OFFLINE_ING, GroupStatus.CONFIG_DELETING,
                 GroupStatus.CONFIG_DELETED);
+        context.loadGroups(sourceEntities);
+        Set<Integer> subSourceTaskMapIds = new HashSet<>();
+        for (List<StreamSourceEntity> batch : Lists.partition(sourceEntities, SNAPSHOT_BATCH_SIZE)) {
+            subSourceTaskMapIds.addAll(sourceMapper.selectTaskMapIdsByAgentIp(
+                    batch.stream().map(StreamSourceEntity::getId).collect(Collectors.toList()), agentIp));
+            context.countQuery();
+        }
         sourceEntities.stream()
                 .forEach(sourceEntity -> {
-                    InlongGroupEntity groupEntity = groupMapper.selectByGroupId(sourceEntity.getInlongGroupId());
+                    InlongGroupEntity groupEntity = context.getGroup(sourceEntity.getInlongGroupId());
                     if (groupEntity != null && noNeedAddTask.contains(GroupStatus.forCode(groupEntity.getStatus()))) {
                         return;
                     }
-                    StreamSourceEntity subSource = sourceMapper.selectOneByTaskMapIdAndAgentIp(sourceEntity.getId(),
-                            agentIp);
-                    if (subSource == null) {
-                        InlongClusterNodeEntity clusterNodeEntity = selectByIpAndCluster(agentClusterName, agentIp);
+                    if (!subSourceTaskMapIds.contains(sourceEntity.getId())) {
+                        InlongClusterNodeEntity clusterNodeEntity = context.getClusterNode(agentClusterName, agentIp);
                         // if stream_source match node_group with node, clone a subtask for this Agent.
                         // note: a new source name with random suffix is generated to adhere to the unique constraint
                         if (matchGroup(sourceEntity, clusterNodeEntity)) {
@@ -550,6 +615,7 @@ public class AgentServiceImpl implements AgentService {
                             fileEntity.setStatus(SourceStatus.TO_BE_ISSUED_ADD.getCode());
                             // create new sub source task
                             sourceMapper.insert(fileEntity);
+                            context.countQuery();
                             LOGGER.info("Transform new template task({}) for agent({}) in cluster({}).",
                                     fileEntity.getId(), taskRequest.getAgentIp(), taskRequest.getClusterName());
                         }
@@ -563,7 +629,7 @@ public class AgentServiceImpl implements AgentService {
      * 2.cluster name match
      * Send the corresponding task action request according to the matching state of the tag and the current state
      */
-    private void preProcessLabelFileTasks(TaskRequest taskRequest) {
+    private void preProcessLabelFileTasks(TaskRequest taskRequest, TaskQueryContext context) {
         List<Integer> needProcessedStatusList = Arrays.asList(
                 SourceStatus.SOURCE_NORMAL.getCode(),
                 SourceStatus.SOURCE_FAILED.getCode(),
@@ -576,9 +642,11 @@ public class AgentServiceImpl implements AgentService {
         Preconditions.expectTrue(StringUtils.isNotBlank(agentIp) || StringUtils.isNotBlank(agentClusterName),
                 "both agent ip and cluster name are blank when fetching file task");
 
-        InlongClusterNodeEntity clusterNodeEntity = selectByIpAndCluster(agentClusterName, agentIp);
+        InlongClusterNodeEntity clusterNodeEntity = context.getClusterNode(agentClusterName, agentIp);
         List<StreamSourceEntity> sourceEntities = sourceMapper.selectByAgentIpAndCluster(needProcessedStatusList,
                 Lists.newArrayList(SourceType.FILE), agentIp, agentClusterName);
+        context.countQuery();
+        context.loadGroups(sourceEntities);
 
         sourceEntities.forEach(sourceEntity -> {
             // case: agent tag unbind and mismatch source task
@@ -593,10 +661,11 @@ public class AgentServiceImpl implements AgentService {
                         agentIp, agentClusterName);
                 sourceMapper.updateStatus(
                         sourceEntity.getId(), SourceStatus.TO_BE_ISSUED_STOP.getCode(), false);
+                context.countQuery();
             }
 
             // case: agent tag rebind and match source task again and stream is not in 'SUSPENDED' status
-            InlongGroupEntity groupEntity = groupMapper.selectByGroupId(sourceEntity.getInlongGroupId());
+            InlongGroupEntity groupEntity = context.getGroup(sourceEntity.getInlongGroupId());
             Set<SourceStatus> exceptedMatchedSourceStatus = Sets.newHashSet(
                     SourceStatus.SOURCE_NORMAL,
                     SourceStatus.TO_BE_ISSUED_ADD,
@@ -612,6 +681,7 @@ public class AgentServiceImpl implements AgentService {
                         agentIp, agentClusterName);
                 sourceMapper.updateStatus(
                         sourceEntity.getId(), SourceStatus.TO_BE_ISSUED_ACTIVE.getCode(), false);
+                context.countQuery();
             }
         });
     }
@@ -626,14 +696,6 @@ public class AgentServiceImpl implements AgentService {
         }
     }
 
-    private InlongClusterNodeEntity selectByIpAndCluster(String clusterName, String ip) {
-        InlongClusterEntity clusterEntity = clusterMapper.selectByNameAndType(clusterName, ClusterType.AGENT);
-        if (clusterEntity == null) {
-            return null;
-        }
-        return clusterNodeMapper.selectByParentIdAndIp(clusterEntity.getId(), ip).stream().findFirst().orElse(null);
-    }
-
     private int getOp(int status) {
         return status % MODULUS_100;
     }
@@ -648,9 +710,10 @@ public class AgentServiceImpl implements AgentService {
      *
      * @param entity stream source entity.
      * @param op operation code for add, delete, etc.
+     * @param context query context of the task request, which holds the loaded groups and streams.
      * @return data config.
      */
-    private DataConfig getDataConfig(StreamSourceEntity entity, int op) {
+    private DataConfig getDataConfig(StreamSourceEntity entity, int op, TaskQueryContext context) {
         DataConfig dataConfig = new DataConfig();
         dataConfig.setIp(entity.getAgentIp());
         dataConfig.setUuid(entity.getUuid());
@@ -667,8 +730,8 @@ public class AgentServiceImpl implements AgentService {
         dataConfig.setInlongGroupId(groupId);
         dataConfig.setInlongStreamId(streamId);
 
-        InlongGroupEntity groupEntity = groupMapper.selectByGroupId(groupId);
-        InlongStreamEntity streamEntity = streamMapper.selectByIdentifier(groupId, streamId);
+        InlongGroupEntity groupEntity = context.getGroup(groupId);
+        InlongStreamEntity streamEntity = context.getStream(groupId, streamId);
         StreamSourceOperator sourceOperator = operatorFactory.getInstance(entity.getSourceType());
         String extParams = sourceOperator.getExtParams(entity);
         if (groupEntity != null && streamEntity != null) {
@@ -697,7 +760,7 @@ public class AgentServiceImpl implements AgentService {
                         .type(groupEntity.getMqType())
                         .clusterTagList(clusterTagList)
                         .build();
-                List<InlongClusterEntity> mqClusterList = clusterMapper.selectByCondition(pageRequest);
+                List<InlongClusterEntity> mqClusterList = context.getMqClusters(pageRequest);
                 for (InlongClusterEntity cluster : mqClusterList) {
                     MQClusterInfo clusterInfo = new MQClusterInfo();
                     clusterInfo.setUrl(cluster.getUrl());
@@ -777,9 +840,11 @@ public class AgentServiceImpl implements AgentService {
      * Get the agent command config by the agent ip.
      *
      * @param taskRequest task request info.
+     * @param context query context of the task request.
      * @return agent command config list.
      */
-    private List<CmdConfig> getAgentCmdConfigs(TaskRequest taskRequest) {
+    private List<CmdConfig> getAgentCmdConfigs(TaskRequest taskRequest, TaskQueryContext context) {
+        context.countQuery();
         return sourceCmdConfigMapper.queryCmdByAgentIp(taskRequest.getAgentIp()).stream().map(cmd -> {
             CmdConfig cmdConfig = new CmdConfig();
             cmdConfig.setDataTime(cmd.getSpecifiedDataTime());
@@ -812,6 +877,86 @@ public class AgentServiceImpl implements AgentService {
         return sourceGroups.stream().anyMatch(clusterNodeGroups::contains);
     }
 
+    /**
+     * The md5 of the task config held by the agent is not a part of the cache key
+     */
+    private TaskRequest getTaskCacheKey(TaskRequest request) {
+        if (request.getMd5() == null) {
+            return request;
+        }
+        TaskRequest cacheKey = new TaskRequest();
+        cacheKey.setClusterName(request.getClusterName());
+        cacheKey.setAgentIp(request.getAgentIp());
+        cacheKey.setUuid(request.getUuid());
+        cacheKey.setPullJobType(request.getPullJobType());
+        cacheKey.setCommandInfo(request.getCommandInfo());
+        return cacheKey;
+    }
+
+    /**
+     * Probe the sources modified since the last probe, which may be modified by any manager node,
+     * then invalidate the cached tasks and notify the config watches of the related agents.
+     */
+    private void probeModifiedSources() {
+        if (lastProbedModifyTime == null) {
+            lastProbedModifyTime = sourceMapper.selectCurrentTime();
+            return;
+        }
+        List<StreamSourceEntity> modifiedSources = sourceMapper.selectModifiedSources(lastProbedModifyTime);
+        for (Pair<String, String> modifiedAgent : collectModifiedAgents(modifiedSources)) {
+            String clusterName = modifiedAgent.getLeft();
+            String agentIp = modifiedAgent.getRight();
+            taskCache.asMap().keySet().removeIf(key -> (clusterName == null
+                    || clusterName.equals(key.getClusterName()))
+                    && (agentIp == null || agentIp.equals(key.getAgentIp())));
+            // the sources without cluster name or agent ip are issued to all the matched agents
+            if (clusterName == null) {
+                configWatchService.notifyChangedByPrefix(ConfigWatchService.AGENT_WATCH_KEY_PREFIX);
+            } else if (agentIp == null) {
+                configWatchService.notifyChangedByPrefix(
+                        ConfigWatchService.getAgentClusterWatchKeyPrefix(clusterName));
+            } else {
+                configWatchService.notifyChanged(ConfigWatchService.getAgentWatchKey(clusterName, agentIp));
+            }
+        }
+    }
+
+    /**
+     * Collect the cluster name and agent ip of the modified sources which have not been probed, then move the
+     * last probed modify time forward. The sources modified at the last probed modify time are selected again
+     * by the next probe, so the ids of them are kept to skip the ones already probed.
+     */
+    Set<Pair<String, String>> collectModifiedAgents(List<StreamSourceEntity> modifiedSources) {
+        long lastModifyTime = lastProbedModifyTime.getTime();
+        long maxModifyTime = lastModifyTime;
+        Set<Integer> maxModifyTimeIds = new HashSet<>();
+        Set<Pair<String, String>> modifiedAgents = new HashSet<>();
+        for (StreamSourceEntity entity : modifiedSources) {
+            if (entity.getModifyTime() == null) {
+                continue;
+            }
+            long modifyTime = entity.getModifyTime().getTime();
+            if (modifyTime < lastModifyTime
+                    || (modifyTime == lastModifyTime && lastProbedSourceIds.contains(entity.getId()))) {
+                continue;
+            }
+            if (modifyTime > maxModifyTime) {
+                maxModifyTime = modifyTime;
+                maxModifyTimeIds.clear();
+            }
+            if (modifyTime == maxModifyTime) {
+                maxModifyTimeIds.add(entity.getId());
+            }
+            modifiedAgents.add(Pair.of(entity.getInlongClusterName(), entity.getAgentIp()));
+        }
+        if (maxModifyTime > lastModifyTime) {
+            lastProbedModifyTime = new Date(maxModifyTime);
+            lastProbedSourceIds.clear();
+        }
+        lastProbedSourceIds.addAll(maxModifyTimeIds);
+        return modifiedAgents;
+    }
+
     private List<StreamSourceEntity> fetchTask(TaskRequest request) {
         final String clusterName = request.getClusterName();
         final String ip = request.getAgentIp();
@@ -884,4 +1029,95 @@ public class AgentServiceImpl implements AgentService {
         }
         return configs;
     }
+
+    private void recordTaskQueries(TaskRequest request, TaskQueryContext context, int taskNum) {
+        taskRequestCount.increment();
+        taskQueryCount.add(context.queryCount);
+        LOGGER.debug("assembled {} tasks for agent({}) in cluster({}) with {} queries",
+                taskNum, request.getAgentIp(), request.getClusterName(), context.queryCount);
+    }
+
+    /**
+     * Query context of one task request.
+     * <p/>
+     * The groups and streams of the sources are bulk loaded once and shared by all the sources of the request,
+     * instead of being queried for each source. The MQ clusters are shared by the requests of all agents.
+     */
+    private class TaskQueryContext {
+
+        // key: inlong group id, the groups not found are kept as empty
+        private final Map<String, Optional<InlongGroupEntity>> groupMap = new HashMap<>();
+        // key: inlong group id#inlong stream id
+        private final Map<String, InlongStreamEntity> streamMap = new HashMap<>();
+        // key: agent cluster name#agent ip
+        private final Map<String, Optional<InlongClusterNodeEntity>> nodeMap = new HashMap<>();
+        private int queryCount = 0;
+
+        private void countQuery() {
+            queryCount++;
+        }
+
+        /**
+         * Load the groups and streams of the given sources which were not loaded yet
+         */
+        private void loadGroups(List<StreamSourceEntity> sourceEntities) {
+            loadGroupsByIds(sourceEntities.stream().map(StreamSourceEntity::getInlongGroupId)
+                    .collect(Collectors.toList()));
+        }
+
+        private void loadGroupsByIds(List<String> groupIds) {
+            List<String> unloadedIds = groupIds.stream()
+                    .filter(groupId -> groupId != null && !groupMap.containsKey(groupId))
+                    .distinct()
+                    .collect(Collectors.toList());
+            for (List<String> batch : Lists.partition(unloadedIds, SNAPSHOT_BATCH_SIZE)) {
+                Map<String, InlongGroupEntity> groups = groupMapper.selectByGroupIds(batch).stream()
+                        .collect(Collectors.toMap(InlongGroupEntity::getInlongGroupId, Function.identity(),
+                                (group1, group2) -> group1));
+                for (String groupId : batch) {
+                    groupMap.put(groupId, Optional.ofNullable(groups.get(groupId)));
+                }
+                for (InlongStreamEntity stream : streamMapper.selectByGroupIds(batch)) {
+                    streamMap.put(stream.getInlongGroupId() + InlongConstants.SHARP + stream.getInlongStreamId(),
+                            stream);
+                }
+                queryCount += 2;
+            }
+        }
+
+        private InlongGroupEntity getGroup(String groupId) {
+            if (groupId == null) {
+                return null;
+            }
+            loadGroupsByIds(Collections.singletonList(groupId));
+            return groupMap.get(groupId).orElse(null);
+        }
+
+        private InlongStreamEntity getStream(String groupId, String streamId) {
+            if (getGroup(groupId) == null) {
+                return null;
+            }
+            return streamMap.get(groupId + InlongConstants.SHARP + streamId);
+        }
+
+        private InlongClusterNodeEntity getClusterNode(String clusterName, String ip) {
+            return nodeMap.computeIfAbsent(clusterName + InlongConstants.SHARP + ip, key -> {
+                countQuery();
+                InlongClusterEntity clusterEntity = clusterMapper.selectByNameAndType(clusterName, ClusterType.AGENT);
+                if (clusterEntity == null) {
+                    return Optional.empty();
+                }
+                countQuery();
+                return clusterNodeMapper.selectByParentIdAndIp(clusterEntity.getId(), ip).stream().findFirst();
+            }).orElse(null);
+        }
+
+        private List<InlongClusterEntity> getMqClusters(ClusterPageRequest pageRequest) {
+            String key = pageRequest.getType() + InlongConstants.SHARP + pageRequest.getClusterTagList();
+            return mqClusterCache.get(key, k -> {
+                countQuery();
+                return clusterMapper.selectByCondition(pageRequest);
+            });
+        }
+    }
 }
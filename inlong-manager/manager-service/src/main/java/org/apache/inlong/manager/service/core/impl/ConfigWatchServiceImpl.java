@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.manager.service.core.impl;
+
+import org.apache.inlong.manager.pojo.user.LoginUserUtils;
+import org.apache.inlong.manager.pojo.user.UserInfo;
+import org.apache.inlong.manager.service.core.ConfigWatchService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Config watch service, keeps the pending watches in memory indexed by the watch key.
+ */
+@Service
+public class ConfigWatchServiceImpl implements ConfigWatchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigWatchServiceImpl.class);
+    private static final long MAX_WATCH_TIMEOUT_MS = 180000L;
+
+    // key: watch key, value: pending watches
+    private final Map<String, Set<Watch<?>>> watchMap = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> DeferredResult<T> watch(String watchKey, long timeoutMs, BooleanSupplier changed, Supplier<T> result) {
+        long timeout = Math.max(0, Math.min(timeoutMs, MAX_WATCH_TIMEOUT_MS));
+        DeferredResult<T> deferredResult = new DeferredResult<>(timeout);
+        if (timeout == 0 || changed.getAsBoolean()) {
+            deferredResult.setResult(result.get());
+            return deferredResult;
+        }
+        Watch<T> watch = new Watch<>(watchKey, LoginUserUtils.getLoginUser(), deferredResult, changed, result);
+        deferredResult.onTimeout(() -> {
+            setLoginUser(watch.loginUser);
+            try {
+                watch.complete();
+            } finally {
+                LoginUserUtils.removeUserLoginInfo();
+            }
+        });
+        deferredResult.onError(t -> removeWatch(watch));
+        deferredResult.onCompletion(() -> removeWatch(watch));
+        addWatch(watch);
+        // the config may be changed before the watch was added
+        if (changed.getAsBoolean()) {
+            watch.complete();
+        }
+        return deferredResult;
+    }
+
+    @Override
+    public void notifyChanged(String watchKey) {
+        Set<Watch<?>> watches = watchMap.remove(watchKey);
+        if (watches != null) {
+            checkWatches(watches);
+        }
+    }
+
+    @Override
+    public void notifyChangedByPrefix(String watchKeyPrefix) {
+        List<String> watchKeys = new ArrayList<>();
+        for (String watchKey : watchMap.keySet()) {
+            if (watchKey.startsWith(watchKeyPrefix)) {
+                watchKeys.add(watchKey);
+            }
+        }
+        for (String watchKey : watchKeys) {
+            notifyChanged(watchKey);
+        }
+    }
+
+    private void checkWatches(Set<Watch<?>> watches) {
+        for (Watch<?> watch : watches) {
+            // the watch is checked out of the request thread, with the login user of the request
+            setLoginUser(watch.loginUser);
+            try {
+                if (watch.changed.getAsBoolean()) {
+                    watch.complete();
+                } else {
+                    addWatch(watch);
+                }
+            } catch (Throwable t) {
+                LOGGER.error("failed to check the config watch of key={}", watch.watchKey, t);
+                watch.deferredResult.setErrorResult(t);
+            } finally {
+                LoginUserUtils.removeUserLoginInfo();
+            }
+        }
+    }
+
+    private static void setLoginUser(UserInfo loginUser) {
+        // the watch requests of the openapi may be without login user
+        if (loginUser != null) {
+            LoginUserUtils.setUserLoginInfo(loginUser);
+        }
+    }
+
+    private void addWatch(Watch<?> watch) {
+        watchMap.compute(watch.watchKey, (key, watches) -> {
+            if (watches == null) {
+                watches = ConcurrentHashMap.newKeySet();
+            }
+            if (!watch.deferredResult.isSetOrExpired()) {
+                watches.add(watch);
+            }
+            return watches.isEmpty() ? null : watches;
+        });
+    }
+
+    private void removeWatch(Watch<?> watch) {
+        watchMap.computeIfPresent(watch.watchKey, (key, watches) -> {
+            watches.remove(watch);
+            return watches.isEmpty() ? null : watches;
+        });
+    }
+
+    /**
+     * Pending watch of one client
+     */
+    private static class Watch<T> {
+
+        private final String watchKey;
+        private final UserInfo loginUser;
+        private final DeferredResult<T> deferredResult;
+        private final BooleanSupplier changed;
+        private final Supplier<T> result;
+
+        private Watch(String watchKey, UserInfo loginUser, DeferredResult<T> deferredResult,
+                BooleanSupplier changed, Supplier<T> result) {
+            this.watchKey = watchKey;
+            this.loginUser = loginUser;
+            this.deferredResult = deferredResult;
+            this.changed = changed;
+            this.result = result;
+        }
+
+        private void complete() {
+            try {
+                deferredResult.setResult(result.get());
+            } catch (Throwable t) {
+                LOGGER.error("failed to get the latest config of key={}", watchKey, t);
+                deferredResult.setErrorResult(t);
+            }
+        }
+    }
+}
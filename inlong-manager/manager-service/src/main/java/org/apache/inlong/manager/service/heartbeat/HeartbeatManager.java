@@ -49,6 +49,8 @@ import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.github.benmanes.caffeine.cache.Scheduler;
 import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import lombok.Getter;
 import lombok.SneakyThrows;
@@ -62,12 +64,17 @@ import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -77,6 +84,7 @@ import java.util.stream.Collectors;
 public class HeartbeatManager implements AbstractHeartbeatManager {
 
     private static final String AUTO_REGISTERED = "auto registered";
+    private static final int FLUSH_BATCH_SIZE = 500;
     private static final Gson GSON = new Gson();
 
     @Getter
@@ -93,6 +101,13 @@ public class HeartbeatManager implements AbstractHeartbeatManager {
     private StreamSourceEntityMapper sourceMapper;
     @Autowired
     private ComponentHeartbeatEntityMapper componentHeartbeatMapper;
+    @Autowired
+    private HeartbeatWriteBuffer heartbeatWriteBuffer;
+
+    // key: parentId#type#ip#port#protocolType, value: id of the cluster node which was registered
+    private final Map<String, Integer> clusterNodeIds = new ConcurrentHashMap<>();
+    // key: id of the cluster node, value: the latest node load not flushed yet
+    private final Map<Integer, Integer> pendingNodeLoads = new ConcurrentHashMap<>();
 
     @Value("${cluster.heartbeat.interval:30}")
     private Long heartbeatIntervalFactor;
@@ -100,6 +115,9 @@ public class HeartbeatManager implements AbstractHeartbeatManager {
     @Value("${reset.nodeStatus.enabled:false}")
     private Boolean resetNodeStatusEnabled;
 
+    @Value("${heartbeat.flush.interval.seconds:5}")
+    private Integer flushInterval;
+
     /**
      * Check whether the configuration information carried in the heartbeat has been updated
      *
@@ -140,12 +158,52 @@ public class HeartbeatManager implements AbstractHeartbeatManager {
         clusterInfoCache = Caffeine.newBuilder()
                 .expireAfterAccess(expireTime * 2L, TimeUnit.SECONDS)
                 .build(this::fetchCluster);
+
+        // the node loads changed by the heartbeats are coalesced and updated in bulk
+        if (flushInterval > 0) {
+            ThreadFactory factory = new ThreadFactoryBuilder()
+                    .setNameFormat("scheduled-node-load-flush-%d")
+                    .setDaemon(true)
+                    .build();
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(factory);
+            executor.scheduleWithFixedDelay(() -> {
+                try {
+                    flushNodeLoads();
+                } catch (Throwable t) {
+                    log.error("flush node loads error", t);
+                }
+            }, flushInterval, flushInterval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Flush the coalesced node loads to the DB.
+     */
+    public synchronized void flushNodeLoads() {
+        List<InlongClusterNodeEntity> nodes = new ArrayList<>(pendingNodeLoads.size());
+        for (Integer nodeId : pendingNodeLoads.keySet()) {
+            Integer nodeLoad = pendingNodeLoads.remove(nodeId);
+            if (nodeLoad != null) {
+                InlongClusterNodeEntity node = new InlongClusterNodeEntity();
+                node.setId(nodeId);
+                node.setNodeLoad(nodeLoad);
+                nodes.add(node);
+            }
+        }
+        for (List<InlongClusterNodeEntity> batch : Lists.partition(nodes, FLUSH_BATCH_SIZE)) {
+            int updated = clusterNodeMapper.updateNodeLoadByIds(batch);
+            if (updated < batch.size()) {
+                // some nodes were deleted, they will be registered again by the next modified heartbeat
+                Set<Integer> batchIds = batch.stream().map(InlongClusterNodeEntity::getId).collect(Collectors.toSet());
+                clusterNodeIds.values().removeIf(batchIds::contains);
+            }
+        }
     }
 
     @SneakyThrows
     @Override
     public void reportHeartbeat(HeartbeatMsg heartbeat) {
-        ComponentHeartbeat componentHeartbeat = heartbeat.componentHeartbeat();
+        ComponentHeartbeat componentHeartbeat = getComponentKey(heartbeat);
         ClusterInfo clusterInfo = clusterInfoCache.get(componentHeartbeat);
         if (clusterInfo == null) {
             log.error("not found any cluster by name={} and type={}", componentHeartbeat.getClusterName(),
@@ -183,6 +241,9 @@ public class HeartbeatManager implements AbstractHeartbeatManager {
             }
         }
 
+        boolean configModified = heartbeatConfigModified(lastHeartbeat, heartbeat);
+        boolean onlyLoadModified = lastHeartbeat != null
+                && Objects.equals(lastHeartbeat.getNodeGroup(), heartbeat.getNodeGroup());
         int handlerNum = 0;
         for (int i = 0; i < ports.length; i++) {
             // deep clone the heartbeat
@@ -202,19 +263,34 @@ public class HeartbeatManager implements AbstractHeartbeatManager {
             }
             // uninstall node event
             if (NodeSrvStatus.SERVICE_UNINSTALL.equals(heartbeat.getNodeSrvStatus())) {
+                clusterNodeIds.remove(getClusterNodeKey(clusterInfo, heartbeatMsg));
                 InlongClusterNodeEntity clusterNode = getClusterNode(clusterInfo, heartbeatMsg);
                 deleteClusterNode(clusterNode);
                 continue;
             }
 
-            if (heartbeatConfigModified(lastHeartbeat, heartbeat)) {
+            if (configModified) {
+                // only the load of the registered node was modified, update it by the next flush
+                Integer clusterNodeId = clusterNodeIds.get(getClusterNodeKey(clusterInfo, heartbeatMsg));
+                if (onlyLoadModified && clusterNodeId != null) {
+                    updateNodeLoad(clusterNodeId, heartbeatMsg.getLoad());
+                    handlerNum++;
+                    continue;
+                }
                 InlongClusterNodeEntity clusterNode = getClusterNode(clusterInfo, heartbeatMsg);
                 if (clusterNode == null) {
                     handlerNum += insertClusterNode(clusterInfo, heartbeatMsg, clusterInfo.getCreator());
                 } else {
-                    handlerNum += updateClusterNode(clusterNode, heartbeatMsg);
-                    // If the agent report succeeds, restore the source status
-                    if (Objects.equals(clusterNode.getType(), ClusterType.AGENT)) {
+                    boolean recovered = lastHeartbeat == null
+                            || !Objects.equals(clusterNode.getStatus(), NodeStatus.NORMAL.getStatus());
+                    int updated = updateClusterNode(clusterNode, heartbeatMsg);
+                    if (updated > 0) {
+                        clusterNodeIds.put(getClusterNodeKey(clusterInfo, heartbeatMsg), clusterNode.getId());
+                    }
+                    handlerNum += updated;
+                    // If the agent report succeeds, restore the source status,
+                    // only required when the agent was recovered from heartbeat timeout
+                    if (recovered && Objects.equals(clusterNode.getType(), ClusterType.AGENT)) {
                         // If the agent report succeeds, restore the source status
                         List<Integer> needUpdateIds = sourceMapper.selectHeartbeatTimeoutIds(null, heartbeat.getIp(),
                                 heartbeat.getClusterName());
@@ -236,7 +312,7 @@ public class HeartbeatManager implements AbstractHeartbeatManager {
     @SneakyThrows
     private void evictClusterNode(HeartbeatMsg heartbeat) {
         log.debug("evict cluster node");
-        ComponentHeartbeat componentHeartbeat = heartbeat.componentHeartbeat();
+        ComponentHeartbeat componentHeartbeat = getComponentKey(heartbeat);
         ClusterInfo clusterInfo = clusterInfoCache.getIfPresent(componentHeartbeat);
         if (clusterInfo == null) {
             log.error("not found any cluster by name={} and type={}", componentHeartbeat.getClusterName(),
@@ -255,6 +331,11 @@ public class HeartbeatManager implements AbstractHeartbeatManager {
                 protocolTypes = null;
             }
         }
+        // The heartbeat received by this manager may be not flushed to the DB yet
+        if (heartbeatWriteBuffer.hasPending(componentHeartbeat.getComponentType(), componentHeartbeat.getIp())) {
+            heartbeatCache.put(componentHeartbeat, heartbeat);
+            return;
+        }
         // If the manager has multiple nodes, need to determine that the heartbeat is updated
         // heartbeatInterval() is the reporting interval of cluster nodes, multiplied by two to prevent network
         // fluctuations
@@ -276,6 +357,7 @@ public class HeartbeatManager implements AbstractHeartbeatManager {
             } else {
                 heartbeatMsg.setProtocolType(protocolType);
             }
+            clusterNodeIds.remove(getClusterNodeKey(clusterInfo, heartbeatMsg));
             InlongClusterNodeEntity clusterNode = getClusterNode(clusterInfo, heartbeatMsg);
             if (clusterNode == null) {
                 log.error("not found any cluster node by type={}, ip={}, port={}",
@@ -287,6 +369,27 @@ public class HeartbeatManager implements AbstractHeartbeatManager {
         }
     }
 
+    /**
+     * The node load changes with almost every heartbeat, so it is not a part of the cache key
+     */
+    private static ComponentHeartbeat getComponentKey(HeartbeatMsg heartbeat) {
+        ComponentHeartbeat componentHeartbeat = heartbeat.componentHeartbeat();
+        componentHeartbeat.setLoad(null);
+        return componentHeartbeat;
+    }
+
+    private void updateNodeLoad(Integer clusterNodeId, Integer nodeLoad) {
+        pendingNodeLoads.put(clusterNodeId, nodeLoad);
+        if (flushInterval <= 0) {
+            flushNodeLoads();
+        }
+    }
+
+    private static String getClusterNodeKey(ClusterInfo clusterInfo, HeartbeatMsg heartbeat) {
+        return Joiner.on(InlongConstants.SHARP).useForNull("").join(clusterInfo.getId(),
+                heartbeat.getComponentType(), heartbeat.getIp(), heartbeat.getPort(), heartbeat.getProtocolType());
+    }
+
     private InlongClusterNodeEntity getClusterNode(ClusterInfo clusterInfo, HeartbeatMsg heartbeat) {
         ClusterNodeRequest nodeRequest = new ClusterNodeRequest();
         nodeRequest.setParentId(clusterInfo.getId());
@@ -18,8 +18,6 @@
 package org.apache.inlong.manager.service.heartbeat;
 
 import org.apache.inlong.common.enums.ComponentTypeEnum;
-import org.apache.inlong.common.heartbeat.GroupHeartbeat;
-import org.apache.inlong.common.heartbeat.StreamHeartbeat;
 import org.apache.inlong.manager.common.enums.ErrorCodeEnum;
 import org.apache.inlong.manager.common.enums.SourceStatus;
 import org.apache.inlong.manager.common.exceptions.BusinessException;
@@ -51,8 +49,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 /**
  * Heartbeat service layer implementation
  */
@@ -66,6 +62,8 @@ public class HeartbeatServiceImpl implements HeartbeatService {
     @Lazy
     private HeartbeatManager heartbeatManager;
     @Autowired
+    private HeartbeatWriteBuffer heartbeatWriteBuffer;
+    @Autowired
     private StreamSourceEntityMapper sourceMapper;
     @Autowired
     private ComponentHeartbeatEntityMapper componentHeartbeatMapper;
@@ -248,29 +246,8 @@ public class HeartbeatServiceImpl implements HeartbeatService {
         if (log.isDebugEnabled()) {
             log.debug("heartbeat request json = {}", GSON.toJson(request));
         }
-        String component = request.getComponentType();
-        String instanceIp = request.getIp();
-        Long reportTime = request.getReportTime();
-
-        // Add component heartbeats
-        ComponentHeartbeatEntity entity = new ComponentHeartbeatEntity();
-        entity.setComponent(component);
-        entity.setInstance(instanceIp);
-        entity.setReportTime(reportTime);
-        componentHeartbeatMapper.insertOrUpdateByKey(entity);
-
-        // Add group heartbeats
-        List<GroupHeartbeat> groupHeartbeats = request.getGroupHeartbeats();
-        if (CollectionUtils.isNotEmpty(groupHeartbeats)) {
-            groupHeartbeatMapper.insertOrUpdateAll(component, instanceIp, reportTime, groupHeartbeats);
-        }
-
-        // Add stream heartbeats
-        List<StreamHeartbeat> streamHeartbeats = request.getStreamHeartbeats();
-        if (CollectionUtils.isNotEmpty(streamHeartbeats)) {
-            streamHeartbeatMapper.insertOrUpdateAll(component, instanceIp, reportTime, streamHeartbeats);
-        }
-
+        // Add component, group and stream heartbeats, they are flushed to the DB in bulk
+        heartbeatWriteBuffer.add(request);
         return true;
     }
 
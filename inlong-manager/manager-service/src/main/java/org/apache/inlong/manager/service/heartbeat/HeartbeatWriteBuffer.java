@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.manager.service.heartbeat;
+
+import org.apache.inlong.common.heartbeat.GroupHeartbeat;
+import org.apache.inlong.common.heartbeat.HeartbeatMsg;
+import org.apache.inlong.common.heartbeat.StreamHeartbeat;
+import org.apache.inlong.manager.common.consts.InlongConstants;
+import org.apache.inlong.manager.dao.entity.ComponentHeartbeatEntity;
+import org.apache.inlong.manager.dao.mapper.ComponentHeartbeatEntityMapper;
+import org.apache.inlong.manager.dao.mapper.GroupHeartbeatEntityMapper;
+import org.apache.inlong.manager.dao.mapper.StreamHeartbeatEntityMapper;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections.CollectionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer of the component heartbeats.
+ * <p/>
+ * The heartbeats of each component instance are coalesced in memory, only the latest report is kept,
+ * then they are flushed to the DB by bulk upserts periodically.
+ */
+@Slf4j
+@Component
+public class HeartbeatWriteBuffer {
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    @Value("${heartbeat.flush.interval.seconds:5}")
+    private Integer flushInterval;
+
+    @Autowired
+    private ComponentHeartbeatEntityMapper componentHeartbeatMapper;
+    @Autowired
+    private GroupHeartbeatEntityMapper groupHeartbeatMapper;
+    @Autowired
+    private StreamHeartbeatEntityMapper streamHeartbeatMapper;
+
+    // key: component#instance, value: the coalesced heartbeats not flushed yet
+    private final Map<String, PendingHeartbeat> pendingHeartbeats = new ConcurrentHashMap<>();
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        if (flushInterval <= 0) {
+            log.info("heartbeat write-behind was disabled, the heartbeats are written directly");
+            return;
+        }
+        ThreadFactory factory = new ThreadFactoryBuilder()
+                .setNameFormat("scheduled-heartbeat-flush-%d")
+                .setDaemon(true)
+                .build();
+        executor = Executors.newSingleThreadScheduledExecutor(factory);
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Throwable t) {
+                log.error("flush heartbeats error", t);
+            }
+        }, flushInterval, flushInterval, TimeUnit.SECONDS);
+        log.info("flush heartbeats started successfully");
+    }
+
+    @PreDestroy
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+        flush();
+    }
+
+    /**
+     * Buffer the heartbeat, it will be written to the DB by the next flush.
+     */
+    public void add(HeartbeatMsg heartbeat) {
+        String key = getKey(heartbeat.getComponentType(), heartbeat.getIp());
+        pendingHeartbeats.compute(key, (k, pending) -> {
+            if (pending == null) {
+                pending = new PendingHeartbeat(heartbeat.getComponentType(), heartbeat.getIp());
+            }
+            pending.merge(heartbeat);
+            return pending;
+        });
+        if (flushInterval <= 0) {
+            flush();
+        }
+    }
+
+    /**
+     * Whether there is a heartbeat of the component instance which was not flushed yet.
+     */
+    public boolean hasPending(String component, String instance) {
+        return pendingHeartbeats.containsKey(getKey(component, instance));
+    }
+
+    /**
+     * Flush all the buffered heartbeats to the DB.
+     */
+    public synchronized void flush() {
+        List<PendingHeartbeat> flushList = new ArrayList<>(pendingHeartbeats.size());
+        for (String key : pendingHeartbeats.keySet()) {
+            PendingHeartbeat pending = pendingHeartbeats.remove(key);
+            if (pending != null) {
+                flushList.add(pending);
+            }
+        }
+        if (flushList.isEmpty()) {
+            return;
+        }
+
+        List<ComponentHeartbeatEntity> entities = new ArrayList<>(flushList.size());
+        for (PendingHeartbeat pending : flushList) {
+            ComponentHeartbeatEntity entity = new ComponentHeartbeatEntity();
+            entity.setComponent(pending.component);
+            entity.setInstance(pending.instance);
+            entity.setReportTime(pending.reportTime);
+            entities.add(entity);
+        }
+        for (List<ComponentHeartbeatEntity> batch : Lists.partition(entities, FLUSH_BATCH_SIZE)) {
+            componentHeartbeatMapper.insertOrUpdateAll(batch);
+        }
+
+        for (PendingHeartbeat pending : flushList) {
+            if (!pending.groupHeartbeats.isEmpty()) {
+                groupHeartbeatMapper.insertOrUpdateAll(pending.component, pending.instance, pending.reportTime,
+                        new ArrayList<>(pending.groupHeartbeats.values()));
+            }
+            if (!pending.streamHeartbeats.isEmpty()) {
+                streamHeartbeatMapper.insertOrUpdateAll(pending.component, pending.instance, pending.reportTime,
+                        new ArrayList<>(pending.streamHeartbeats.values()));
+            }
+        }
+        log.debug("success to flush heartbeats of {} instances", flushList.size());
+    }
+
+    private static String getKey(String component, String instance) {
+        return component + InlongConstants.SHARP + instance;
+    }
+
+    /**
+     * Heartbeats of one component instance which are not flushed yet
+     */
+    private static class PendingHeartbeat {
+
+        private final String component;
+        private final String instance;
+        private Long reportTime;
+        // key: inlong group id
+        private final Map<String, GroupHeartbeat> groupHeartbeats = new LinkedHashMap<>();
+        // key: inlong group id#inlong stream id
+        private final Map<String, StreamHeartbeat> streamHeartbeats = new LinkedHashMap<>();
+
+        private PendingHeartbeat(String component, String instance) {
+            this.component = component;
+            this.instance = instance;
+        }
+
+        private void merge(HeartbeatMsg heartbeat) {
+            this.reportTime = heartbeat.getReportTime();
+            if (CollectionUtils.isNotEmpty(heartbeat.getGroupHeartbeats())) {
+                for (GroupHeartbeat groupHeartbeat : heartbeat.getGroupHeartbeats()) {
+                    groupHeartbeats.put(groupHeartbeat.getInlongGroupId(), groupHeartbeat);
+                }
+            }
+            if (CollectionUtils.isNotEmpty(heartbeat.getStreamHeartbeats())) {
+                for (StreamHeartbeat streamHeartbeat : heartbeat.getStreamHeartbeats()) {
+                    streamHeartbeats.put(streamHeartbeat.getInlongGroupId() + InlongConstants.SHARP
+                            + streamHeartbeat.getInlongStreamId(), streamHeartbeat);
+                }
+            }
+        }
+    }
+}
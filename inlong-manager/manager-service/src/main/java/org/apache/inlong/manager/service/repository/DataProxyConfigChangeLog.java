@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.manager.service.repository;
+
+import org.apache.inlong.common.pojo.dataproxy.DataProxyCluster;
+import org.apache.inlong.common.pojo.dataproxy.DataProxyConfigResponse;
+import org.apache.inlong.common.pojo.dataproxy.InLongIdObject;
+import org.apache.inlong.common.pojo.dataproxy.ProxyClusterObject;
+
+import com.google.gson.Gson;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * DataProxyConfigChangeLog
+ * Versioned config of one DataProxy cluster, keeps the inlong id changes between the recent versions,
+ * so that the DataProxy holding one of these versions only pulls the changes instead of the full config.
+ */
+public class DataProxyConfigChangeLog {
+
+    public static final int DEFAULT_MAX_CHANGE_COUNT = 64;
+
+    private static final Gson GSON = new Gson();
+
+    private final int maxChangeCount;
+    private long version;
+    private String md5;
+    private DataProxyCluster config;
+    // key: inlongId#topic, value: json of InLongIdObject
+    private Map<String, String> inlongIdJsonMap = new HashMap<>();
+    private final LinkedList<Change> changes = new LinkedList<>();
+    // key: base version, value: json of the delta response, cleared on each new version
+    private final Map<Long, String> deltaJsonCache = new HashMap<>();
+
+    public DataProxyConfigChangeLog() {
+        this(DEFAULT_MAX_CHANGE_COUNT);
+    }
+
+    public DataProxyConfigChangeLog(int maxChangeCount) {
+        this.maxChangeCount = maxChangeCount;
+    }
+
+    /**
+     * Update the config of the cluster, the version is increased if the md5 changed
+     *
+     * @param newMd5 md5 of the new config
+     * @param newConfig new config
+     * @return the version of the new config
+     */
+    public synchronized long update(String newMd5, DataProxyCluster newConfig) {
+        Map<String, InLongIdObject> newIdMap = toInlongIdMap(newConfig);
+        Map<String, String> newIdJsonMap = new HashMap<>();
+        for (Entry<String, InLongIdObject> entry : newIdMap.entrySet()) {
+            newIdJsonMap.put(entry.getKey(), GSON.toJson(entry.getValue()));
+        }
+        if (md5 == null) {
+            this.version = System.currentTimeMillis();
+        } else if (!md5.equals(newMd5)) {
+            Change change = new Change(version, md5);
+            for (Entry<String, InLongIdObject> entry : newIdMap.entrySet()) {
+                String oldJson = inlongIdJsonMap.get(entry.getKey());
+                if (oldJson == null || !oldJson.equals(newIdJsonMap.get(entry.getKey()))) {
+                    change.upserts.put(entry.getKey(), entry.getValue());
+                }
+            }
+            for (Entry<String, InLongIdObject> entry : toInlongIdMap(config).entrySet()) {
+                if (!newIdMap.containsKey(entry.getKey())) {
+                    change.removes.put(entry.getKey(), entry.getValue());
+                }
+            }
+            changes.addLast(change);
+            while (changes.size() > maxChangeCount) {
+                changes.removeFirst();
+            }
+            this.version++;
+            this.deltaJsonCache.clear();
+        }
+        this.md5 = newMd5;
+        this.config = newConfig;
+        this.inlongIdJsonMap = newIdJsonMap;
+        return version;
+    }
+
+    /**
+     * Get the changes since the given version
+     *
+     * @param baseVersion version held by the DataProxy
+     * @param baseMd5 md5 held by the DataProxy
+     * @return json of the delta response, or null if the full config should be returned
+     */
+    public synchronized String getDeltaJson(long baseVersion, String baseMd5) {
+        String deltaJson = deltaJsonCache.get(baseVersion);
+        if (deltaJson != null) {
+            return baseMd5.equals(findBaseMd5(baseVersion)) ? deltaJson : null;
+        }
+        int index = 0;
+        for (Change change : changes) {
+            if (change.baseVersion == baseVersion) {
+                break;
+            }
+            index++;
+        }
+        // the base version was evicted, or generated by another manager
+        if (index >= changes.size() || !changes.get(index).baseMd5.equals(baseMd5)) {
+            return null;
+        }
+        Map<String, InLongIdObject> upserts = new LinkedHashMap<>();
+        Map<String, InLongIdObject> removes = new LinkedHashMap<>();
+        for (Change change : changes.subList(index, changes.size())) {
+            for (Entry<String, InLongIdObject> entry : change.upserts.entrySet()) {
+                removes.remove(entry.getKey());
+                upserts.put(entry.getKey(), entry.getValue());
+            }
+            for (Entry<String, InLongIdObject> entry : change.removes.entrySet()) {
+                upserts.remove(entry.getKey());
+                removes.put(entry.getKey(), entry.getValue());
+            }
+        }
+        // the full config is smaller than the changes
+        if (upserts.size() + removes.size() >= inlongIdJsonMap.size()) {
+            return null;
+        }
+        ProxyClusterObject proxyCluster = config.getProxyCluster();
+        ProxyClusterObject deltaProxyCluster = new ProxyClusterObject();
+        deltaProxyCluster.setName(proxyCluster.getName());
+        deltaProxyCluster.setSetName(proxyCluster.getSetName());
+        deltaProxyCluster.setZone(proxyCluster.getZone());
+        deltaProxyCluster.setChannels(proxyCluster.getChannels());
+        deltaProxyCluster.setSources(proxyCluster.getSources());
+        deltaProxyCluster.setSinks(proxyCluster.getSinks());
+        deltaProxyCluster.setInlongIds(new ArrayList<>(upserts.values()));
+        DataProxyCluster deltaConfig = new DataProxyCluster();
+        deltaConfig.setProxyCluster(deltaProxyCluster);
+        deltaConfig.setCacheClusterSet(config.getCacheClusterSet());
+
+        DataProxyConfigResponse response = new DataProxyConfigResponse();
+        response.setResult(true);
+        response.setErrCode(DataProxyConfigResponse.DELTA);
+        response.setMd5(md5);
+        response.setVersion(version);
+        response.setData(deltaConfig);
+        response.setRemovedInlongIds(new ArrayList<>(removes.values()));
+        deltaJson = GSON.toJson(response);
+        deltaJsonCache.put(baseVersion, deltaJson);
+        return deltaJson;
+    }
+
+    /**
+     * getVersion
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * getInlongIdKey
+     */
+    public static String getInlongIdKey(InLongIdObject inlongId) {
+        return inlongId.getInlongId() + "#" + inlongId.getTopic();
+    }
+
+    private String findBaseMd5(long baseVersion) {
+        for (Change change : changes) {
+            if (change.baseVersion == baseVersion) {
+                return change.baseMd5;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, InLongIdObject> toInlongIdMap(DataProxyCluster config) {
+        Map<String, InLongIdObject> result = new HashMap<>();
+        if (config == null || config.getProxyCluster() == null) {
+            return result;
+        }
+        List<InLongIdObject> inlongIds = config.getProxyCluster().getInlongIds();
+        if (inlongIds == null) {
+            return result;
+        }
+        for (InLongIdObject inlongId : inlongIds) {
+            result.put(getInlongIdKey(inlongId), inlongId);
+        }
+        return result;
+    }
+
+    /**
+     * Changes from the base version to the next version
+     */
+    private static class Change {
+
+        private final long baseVersion;
+        private final String baseMd5;
+        private final Map<String, InLongIdObject> upserts = new HashMap<>();
+        private final Map<String, InLongIdObject> removes = new HashMap<>();
+
+        private Change(long baseVersion, String baseMd5) {
+            this.baseVersion = baseVersion;
+            this.baseMd5 = baseMd5;
+        }
+    }
+}
@@ -45,6 +45,7 @@ import org.apache.inlong.manager.pojo.dataproxy.InlongGroupId;
 import org.apache.inlong.manager.pojo.dataproxy.InlongStreamId;
 import org.apache.inlong.manager.pojo.dataproxy.ProxyCluster;
 import org.apache.inlong.manager.pojo.sink.SinkPageRequest;
+import org.apache.inlong.manager.service.core.ConfigWatchService;
 import org.apache.inlong.manager.service.core.SortConfigLoader;
 
 import com.google.common.base.Splitter;
@@ -106,6 +107,8 @@ public class DataProxyConfigRepositoryV2 implements IRepository {
     private Map<String, String> proxyConfigJson = new ConcurrentHashMap<>();
     // key: proxyClusterName, value: md5
     private Map<String, String> proxyMd5Map = new ConcurrentHashMap<>();
+    // key: proxyClusterName, value: versioned changes of the config
+    private final Map<String, DataProxyConfigChangeLog> proxyChangeLogMap = new ConcurrentHashMap<>();
 
     private long reloadInterval;
 
@@ -119,6 +122,8 @@ public class DataProxyConfigRepositoryV2 implements IRepository {
     private StreamSinkEntityMapper streamSinkMapper;
     @Autowired
     private SortConfigLoader sortConfigLoader;
+    @Autowired
+    private ConfigWatchService configWatchService;
 
     @PostConstruct
     public void initialize() {
@@ -465,10 +470,13 @@ public class DataProxyConfigRepositoryV2 implements IRepository {
             // json
             String jsonDataProxyCluster = GSON.toJson(proxyObj);
             String md5 = DigestUtils.md5Hex(jsonDataProxyCluster);
+            long version = proxyChangeLogMap.computeIfAbsent(entry.getKey(), k -> new DataProxyConfigChangeLog())
+                    .update(md5, proxyObj);
             DataProxyConfigResponse response = new DataProxyConfigResponse();
             response.setResult(true);
             response.setErrCode(DataProxyConfigResponse.SUCC);
             response.setMd5(md5);
+            response.setVersion(version);
             response.setData(proxyObj);
             String jsonResponse = GSON.toJson(response);
             newProxyConfigJson.put(entry.getKey(), jsonResponse);
@@ -476,8 +484,17 @@ public class DataProxyConfigRepositoryV2 implements IRepository {
         }
 
         // replace
+        Map<String, String> oldProxyMd5Map = this.proxyMd5Map;
         this.proxyConfigJson = newProxyConfigJson;
         this.proxyMd5Map = newProxyMd5Map;
+        this.proxyChangeLogMap.keySet().retainAll(proxyClusterMap.keySet());
+
+        // notify the config watches of the changed clusters
+        for (Entry<String, String> entry : newProxyMd5Map.entrySet()) {
+            if (!entry.getValue().equals(oldProxyMd5Map.get(entry.getKey()))) {
+                configWatchService.notifyChanged(ConfigWatchService.getDataProxyWatchKey(entry.getKey()));
+            }
+        }
     }
 
     /**
@@ -507,6 +524,17 @@ public class DataProxyConfigRepositoryV2 implements IRepository {
         return this.proxyConfigJson.get(clusterName);
     }
 
+    /**
+     * getProxyConfigDeltaJson, return null if the changes since the version are not available
+     */
+    public String getProxyConfigDeltaJson(String clusterName, long version, String md5) {
+        DataProxyConfigChangeLog changeLog = this.proxyChangeLogMap.get(clusterName);
+        if (changeLog == null || md5 == null) {
+            return null;
+        }
+        return changeLog.getDeltaJson(version, md5);
+    }
+
     /**
      * changeClusterTag
      */
@@ -73,6 +73,43 @@ public class HeartbeatManagerTest extends ServiceBaseTest {
         Assertions.assertEquals((int) clusterNode.getStatus(), NodeStatus.NORMAL.getStatus());
     }
 
+    @Test
+    void testReportHeartbeatThroughput() {
+        heartbeatManager.reportHeartbeat(createHeartbeatMsg("46803", -2));
+        // the second heartbeat resolves the registered node, the following ones only coalesce the load
+        heartbeatManager.reportHeartbeat(createHeartbeatMsg("46803", -1));
+
+        int count = 10000;
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            heartbeatManager.reportHeartbeat(createHeartbeatMsg("46803", i));
+        }
+        long costTime = Math.max(1, System.currentTimeMillis() - startTime);
+        log.info("reported {} heartbeats in {} ms, throughput={}/s", count, costTime, count * 1000L / costTime);
+
+        heartbeatManager.flushNodeLoads();
+        HeartbeatMsg msg = createHeartbeatMsg("46803", count - 1);
+        List<InlongClusterEntity> clusterEntities = clusterMapper.selectByKey(null, msg.getClusterName(),
+                msg.getComponentType());
+        ClusterNodeRequest nodeRequest = new ClusterNodeRequest();
+        nodeRequest.setParentId(clusterEntities.get(0).getId());
+        nodeRequest.setType(msg.getComponentType());
+        nodeRequest.setIp(msg.getIp());
+        nodeRequest.setPort(Integer.valueOf(msg.getPort()));
+        nodeRequest.setProtocolType(ProtocolType.HTTP);
+        InlongClusterNodeEntity clusterNode = clusterNodeMapper.selectByUniqueKey(nodeRequest);
+        Assertions.assertNotNull(clusterNode);
+        Assertions.assertEquals(count - 1, (int) clusterNode.getNodeLoad());
+        Assertions.assertEquals((int) clusterNode.getStatus(), NodeStatus.NORMAL.getStatus());
+    }
+
+    private HeartbeatMsg createHeartbeatMsg(String port, int load) {
+        HeartbeatMsg heartbeatMsg = createHeartbeatMsg();
+        heartbeatMsg.setPort(port);
+        heartbeatMsg.setLoad(load);
+        return heartbeatMsg;
+    }
+
     private HeartbeatMsg createHeartbeatMsg() {
         HeartbeatMsg heartbeatMsg = new HeartbeatMsg();
         heartbeatMsg.setIp("127.0.0.1");
@@ -220,6 +220,28 @@ class AgentServiceTest extends ServiceBaseTest {
                 .size());
     }
 
+    /**
+     * Test the queries to assemble the tasks do not grow with the groups and streams of the tasks.
+     */
+    @Test
+    public void testTaskQueryCount() {
+        int taskNum = 4;
+        for (int i = 0; i < taskNum; i++) {
+            saveSource("group1");
+        }
+        bindGroup(true, "group1");
+
+        AgentServiceImpl agentServiceImpl = (AgentServiceImpl) agentService;
+        long requestCount = agentServiceImpl.getTaskRequestCount().sum();
+        long queryCount = agentServiceImpl.getTaskQueryCount().sum();
+        TaskResult taskResult = agent.pullTask();
+        Assertions.assertEquals(taskNum, taskResult.getDataConfigs().size());
+        Assertions.assertEquals(requestCount + 1, agentServiceImpl.getTaskRequestCount().sum());
+        // only the sub task insert and the issued status update are issued for each task
+        long taskQueries = agentServiceImpl.getTaskQueryCount().sum() - queryCount;
+        Assertions.assertTrue(taskQueries <= 2L * taskNum + 12, "too many queries: " + taskQueries);
+    }
+
     /**
      * Test node group mismatch source task and next time rematch source task.
      */
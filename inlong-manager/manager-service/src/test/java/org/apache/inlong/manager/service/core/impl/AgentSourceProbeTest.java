@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.manager.service.core.impl;
+
+import org.apache.inlong.manager.dao.entity.StreamSourceEntity;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * Test for probing the agents of the modified sources
+ */
+class AgentSourceProbeTest {
+
+    private final AgentServiceImpl agentService = new AgentServiceImpl();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(agentService, "lastProbedModifyTime", new Date(1000L));
+    }
+
+    @Test
+    void testSourcesAtBoundaryNotProbedAgain() {
+        Set<Pair<String, String>> agents = agentService.collectModifiedAgents(Lists.newArrayList(
+                source(1, "c1", "ip1", 1000L), source(2, "c1", "ip2", 2000L)));
+        Assertions.assertEquals(Sets.newHashSet(Pair.of("c1", "ip1"), Pair.of("c1", "ip2")), agents);
+
+        // the next probe selects the source at the last probed modify time again
+        agents = agentService.collectModifiedAgents(Lists.newArrayList(source(2, "c1", "ip2", 2000L)));
+        Assertions.assertTrue(agents.isEmpty());
+        agents = agentService.collectModifiedAgents(Lists.newArrayList(source(2, "c1", "ip2", 2000L)));
+        Assertions.assertTrue(agents.isEmpty());
+    }
+
+    @Test
+    void testSourceModifiedAtBoundaryLaterProbed() {
+        agentService.collectModifiedAgents(Lists.newArrayList(source(1, "c1", "ip1", 2000L)));
+
+        // another source committed later with the same modify time
+        Set<Pair<String, String>> agents = agentService.collectModifiedAgents(Lists.newArrayList(
+                source(1, "c1", "ip1", 2000L), source(2, "c2", "ip2", 2000L)));
+        Assertions.assertEquals(Sets.newHashSet(Pair.of("c2", "ip2")), agents);
+
+        agents = agentService.collectModifiedAgents(Lists.newArrayList(
+                source(1, "c1", "ip1", 2000L), source(2, "c2", "ip2", 2000L)));
+        Assertions.assertTrue(agents.isEmpty());
+
+        // a source modified again moves the boundary forward
+        agents = agentService.collectModifiedAgents(Lists.newArrayList(
+                source(1, "c1", "ip1", 3000L), source(2, "c2", "ip2", 2000L)));
+        Assertions.assertEquals(Sets.newHashSet(Pair.of("c1", "ip1")), agents);
+    }
+
+    @Test
+    void testAgentsDeduplicated() {
+        Set<Pair<String, String>> agents = agentService.collectModifiedAgents(Lists.newArrayList(
+                source(1, "c1", "ip1", 2000L), source(2, "c1", "ip1", 3000L), source(3, "c1", null, 3000L),
+                source(4, null, null, 1000L)));
+        Assertions.assertEquals(Sets.newHashSet(Pair.of("c1", "ip1"), Pair.of("c1", null),
+                Pair.of(null, null)), agents);
+    }
+
+    private static StreamSourceEntity source(int id, String clusterName, String agentIp, long modifyTime) {
+        StreamSourceEntity entity = new StreamSourceEntity();
+        entity.setId(id);
+        entity.setInlongClusterName(clusterName);
+        entity.setAgentIp(agentIp);
+        entity.setModifyTime(new Date(modifyTime));
+        return entity;
+    }
+}
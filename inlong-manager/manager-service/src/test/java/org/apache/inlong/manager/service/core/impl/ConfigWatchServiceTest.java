@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.manager.service.core.impl;
+
+import org.apache.inlong.manager.service.core.ConfigWatchService;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Config watch service test
+ */
+class ConfigWatchServiceTest {
+
+    private final ConfigWatchService watchService = new ConfigWatchServiceImpl();
+
+    @Test
+    void testWatchReturnsChangedConfigImmediately() {
+        DeferredResult<String> result = watchService.watch("agent#c1#127.0.0.1", 30000L, () -> true, () -> "v1");
+        Assertions.assertTrue(result.hasResult());
+        Assertions.assertEquals("v1", result.getResult());
+    }
+
+    @Test
+    void testWatchCompletedOnlyWhenChanged() {
+        AtomicReference<String> config = new AtomicReference<>("v1");
+        String watchKey = ConfigWatchService.getAgentWatchKey("c1", "127.0.0.1");
+        DeferredResult<String> result = watchService.watch(watchKey, 30000L,
+                () -> !"v1".equals(config.get()), config::get);
+        Assertions.assertFalse(result.hasResult());
+
+        // a notify without change keeps the watch pending
+        watchService.notifyChanged(watchKey);
+        Assertions.assertFalse(result.hasResult());
+
+        config.set("v2");
+        watchService.notifyChangedByPrefix(ConfigWatchService.getAgentClusterWatchKeyPrefix("c1"));
+        Assertions.assertTrue(result.hasResult());
+        Assertions.assertEquals("v2", result.getResult());
+    }
+
+    @Test
+    void testWatchNotCompletedByOtherKey() {
+        AtomicReference<String> config = new AtomicReference<>("v1");
+        DeferredResult<String> result = watchService.watch(ConfigWatchService.getDataProxyWatchKey("c1"), 30000L,
+                () -> !"v1".equals(config.get()), config::get);
+        config.set("v2");
+        watchService.notifyChanged(ConfigWatchService.getDataProxyWatchKey("c2"));
+        Assertions.assertFalse(result.hasResult());
+        watchService.notifyChanged(ConfigWatchService.getDataProxyWatchKey("c1"));
+        Assertions.assertEquals("v2", result.getResult());
+    }
+}
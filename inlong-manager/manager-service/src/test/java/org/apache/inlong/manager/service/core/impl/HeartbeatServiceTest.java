@@ -27,6 +27,7 @@ import org.apache.inlong.manager.pojo.heartbeat.HeartbeatReportRequest;
 import org.apache.inlong.manager.pojo.heartbeat.StreamHeartbeatResponse;
 import org.apache.inlong.manager.service.ServiceBaseTest;
 import org.apache.inlong.manager.service.core.HeartbeatService;
+import org.apache.inlong.manager.service.heartbeat.HeartbeatWriteBuffer;
 
 import com.google.common.collect.Maps;
 import org.junit.jupiter.api.Assertions;
@@ -48,6 +49,8 @@ public class HeartbeatServiceTest extends ServiceBaseTest {
 
     @Autowired
     private HeartbeatService heartbeatService;
+    @Autowired
+    private HeartbeatWriteBuffer heartbeatWriteBuffer;
 
     @Test
     public void testReportHeartbeat() {
@@ -86,6 +89,7 @@ public class HeartbeatServiceTest extends ServiceBaseTest {
         request.setInlongGroupId("group1");
         request.setInlongStreamId("stream1");
 
+        heartbeatWriteBuffer.flush();
         StreamHeartbeatResponse response = heartbeatService.getStreamHeartbeat(request);
         Assertions.assertEquals("127.0.0.1", response.getInstance());
     }
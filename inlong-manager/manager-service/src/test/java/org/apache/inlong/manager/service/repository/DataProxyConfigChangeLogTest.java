@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.manager.service.repository;
+
+import org.apache.inlong.common.pojo.dataproxy.DataProxyCluster;
+import org.apache.inlong.common.pojo.dataproxy.DataProxyConfigResponse;
+import org.apache.inlong.common.pojo.dataproxy.InLongIdObject;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * DataProxyConfigChangeLogTest
+ */
+public class DataProxyConfigChangeLogTest {
+
+    private static final Gson GSON = new Gson();
+
+    @Test
+    public void testGetDeltaJson() {
+        DataProxyConfigChangeLog changeLog = new DataProxyConfigChangeLog(2);
+        long version1 = changeLog.update("md5_1", createConfig("g.s1", "g.s2", "g.s3", "g.s4"));
+        long version2 = changeLog.update("md5_2", createConfig("g.s1", "g.s2", "g.s3", "g.s5"));
+        assertEquals(version1 + 1, version2);
+        // same md5 keeps the version
+        assertEquals(version2, changeLog.update("md5_2", createConfig("g.s1", "g.s2", "g.s3", "g.s5")));
+
+        DataProxyConfigResponse delta = GSON.fromJson(changeLog.getDeltaJson(version1, "md5_1"),
+                DataProxyConfigResponse.class);
+        assertEquals(DataProxyConfigResponse.DELTA, delta.getErrCode());
+        assertEquals("md5_2", delta.getMd5());
+        assertEquals(version2, delta.getVersion());
+        assertEquals(1, delta.getData().getProxyCluster().getInlongIds().size());
+        assertEquals("g.s5", delta.getData().getProxyCluster().getInlongIds().get(0).getInlongId());
+        assertEquals(1, delta.getRemovedInlongIds().size());
+        assertEquals("g.s4", delta.getRemovedInlongIds().get(0).getInlongId());
+
+        // the md5 of the base version is not matched, maybe generated by another manager
+        assertNull(changeLog.getDeltaJson(version1, "md5_x"));
+
+        long version3 = changeLog.update("md5_3", createConfig("g.s1", "g.s2", "g.s3", "g.s4"));
+        delta = GSON.fromJson(changeLog.getDeltaJson(version1, "md5_1"), DataProxyConfigResponse.class);
+        assertEquals(version3, delta.getVersion());
+        assertEquals("g.s4", delta.getData().getProxyCluster().getInlongIds().get(0).getInlongId());
+        assertEquals("g.s5", delta.getRemovedInlongIds().get(0).getInlongId());
+
+        // the base version is evicted
+        changeLog.update("md5_4", createConfig("g.s1", "g.s2", "g.s3", "g.s6"));
+        assertNull(changeLog.getDeltaJson(version1, "md5_1"));
+    }
+
+    private DataProxyCluster createConfig(String... inlongIds) {
+        List<InLongIdObject> inlongIdObjects = new ArrayList<>();
+        for (String inlongId : inlongIds) {
+            InLongIdObject obj = new InLongIdObject();
+            obj.setInlongId(inlongId);
+            obj.setTopic("topic");
+            inlongIdObjects.add(obj);
+        }
+        DataProxyCluster config = new DataProxyCluster();
+        config.getProxyCluster().setName("proxy_cluster");
+        config.getProxyCluster().setInlongIds(inlongIdObjects);
+        return config;
+    }
+}
@@ -354,7 +354,8 @@ CREATE TABLE IF NOT EXISTS `stream_source`
     UNIQUE KEY `unique_source_name` (`inlong_group_id`, `inlong_stream_id`, `source_name`, `is_deleted`),
     INDEX `source_status_index` (`status`, `is_deleted`),
     INDEX `source_agent_ip_index` (`agent_ip`, `is_deleted`),
-    INDEX `source_task_map_id_index` (`task_map_id`)
+    INDEX `source_task_map_id_index` (`task_map_id`),
+    INDEX `source_modify_time_index` (`modify_time`)
 );
 
 -- ----------------------------
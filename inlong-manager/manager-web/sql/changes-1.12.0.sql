@@ -66,8 +66,10 @@ CREATE TABLE IF NOT EXISTS `package_config` (
     `modify_time`  timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT 'Modify time',
     PRIMARY KEY (`id`)
 )  ENGINE = InnoDB
-    DEFAULT CHARSET = utf8mb4 COMMENT = 'Package config table'
+    DEFAULT CHARSET = utf8mb4 COMMENT = 'Package config table';
 
 DROP INDEX `unique_audit_base_type` ON `audit_base`;
 ALTER TABLE `audit_base` CHANGE is_sent indicator_type int(4) DEFAULT NULL COMMENT 'Indicator type for audit';
-ALTER TABLE `audit_base` ADD UNIQUE KEY unique_audit_base_type (`indicator_type`,`type` )
\ No newline at end of file
+ALTER TABLE `audit_base` ADD UNIQUE KEY unique_audit_base_type (`indicator_type`,`type` );
+
+CREATE INDEX source_modify_time_index ON `stream_source` (`modify_time`);
@@ -24,6 +24,7 @@ import org.apache.inlong.manager.pojo.cluster.agent.AgentClusterNodeBindGroupReq
 import org.apache.inlong.manager.pojo.common.Response;
 import org.apache.inlong.manager.service.cluster.InlongClusterService;
 import org.apache.inlong.manager.service.core.AgentService;
+import org.apache.inlong.manager.service.core.ConfigWatchService;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -31,7 +32,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.List;
 
@@ -47,6 +50,8 @@ public class AgentController {
     private AgentService agentService;
     @Autowired
     private InlongClusterService clusterService;
+    @Autowired
+    private ConfigWatchService configWatchService;
 
     /**
      * Currently not used.
@@ -76,6 +81,16 @@ public class AgentController {
         return Response.success(agentService.getExistTaskConfig(request));
     }
 
+    @PostMapping("/agent/watchExistTaskConfig")
+    @ApiOperation(value = "Watch all exist task config, return when the config changed or the watch timeout")
+    public DeferredResult<Response<TaskResult>> watchExistTaskConfig(@RequestBody TaskRequest request,
+            @RequestParam(required = false, defaultValue = "30000") long timeoutMs) {
+        return configWatchService.watch(
+                ConfigWatchService.getAgentWatchKey(request.getClusterName(), request.getAgentIp()), timeoutMs,
+                () -> agentService.isExistTaskConfigChanged(request),
+                () -> Response.success(agentService.getExistTaskConfig(request)));
+    }
+
     @PostMapping("/agent/bindGroup")
     @ApiOperation(value = "Divide the agent into different groups, which collect different stream source tasks.")
     public Response<Boolean> bindGroup(@RequestBody AgentClusterNodeBindGroupRequest request) {
@@ -22,6 +22,7 @@ import org.apache.inlong.common.pojo.dataproxy.DataProxyConfigRequest;
 import org.apache.inlong.common.pojo.dataproxy.DataProxyNodeResponse;
 import org.apache.inlong.manager.pojo.common.Response;
 import org.apache.inlong.manager.service.cluster.InlongClusterService;
+import org.apache.inlong.manager.service.core.ConfigWatchService;
 import org.apache.inlong.manager.service.repository.DataProxyConfigRepository;
 
 import io.swagger.annotations.Api;
@@ -36,6 +37,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 /**
  * Data proxy controller.
@@ -50,6 +52,8 @@ public class DataProxyController {
     private InlongClusterService clusterService;
     @Autowired
     private DataProxyConfigRepository dataProxyConfigRepository;
+    @Autowired
+    private ConfigWatchService configWatchService;
 
     // TODO protocol type must be provided by the DataProxy
     @PostMapping(value = "/dataproxy/getIpList/{inlongGroupId}")
@@ -89,7 +93,16 @@ public class DataProxyController {
     @PostMapping("/dataproxy/getMetaConfig")
     @ApiOperation(value = "Get all DataProxy meta config")
     public String getMetaConfig(@RequestBody DataProxyConfigRequest request) {
-        return clusterService.getMetaConfig(request.getClusterName(), request.getMd5());
+        return clusterService.getMetaConfig(request.getClusterName(), request.getMd5(), request.getVersion());
+    }
+
+    @PostMapping("/dataproxy/watchMetaConfig")
+    @ApiOperation(value = "Watch DataProxy meta config, return when the config changed or the watch timeout")
+    public DeferredResult<String> watchMetaConfig(@RequestBody DataProxyConfigRequest request,
+            @RequestParam(required = false, defaultValue = "30000") long timeoutMs) {
+        return configWatchService.watch(ConfigWatchService.getDataProxyWatchKey(request.getClusterName()), timeoutMs,
+                () -> clusterService.isMetaConfigChanged(request.getClusterName(), request.getMd5()),
+                () -> clusterService.getMetaConfig(request.getClusterName(), request.getMd5(), request.getVersion()));
     }
 
     @RequestMapping(value = "/changeClusterTag", method = RequestMethod.PUT)
@@ -17,6 +17,7 @@
 
 package org.apache.inlong.sdk.sort.entity;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 public class InLongMessage {
@@ -26,10 +27,14 @@ public class InLongMessage {
     private long msgTime; // message generation time, milliseconds
     private String sourceIp; // agent ip of message generation
     private final Map<String, String> params;
-    private final byte[] body;
+    // copied from the body buffer lazily, volatile to publish the copy to the other threads reading the message
+    private volatile byte[] body;
+    // slice of the decoded pack, the body is copied from it only when getBody is called
+    private final ByteBuffer bodyBuffer;
 
     public InLongMessage(byte[] body, Map<String, String> params) {
         this.body = body;
+        this.bodyBuffer = null;
         this.params = params;
     }
 
@@ -40,6 +45,17 @@ public class InLongMessage {
         this.msgTime = msgTime;
         this.sourceIp = sourceIp;
         this.body = body;
+        this.bodyBuffer = null;
+        this.params = params;
+    }
+
+    public InLongMessage(String inlongGroupId, String inlongStreamId, long msgTime, String sourceIp,
+            ByteBuffer bodyBuffer, Map<String, String> params) {
+        this.inlongGroupId = inlongGroupId;
+        this.inlongStreamId = inlongStreamId;
+        this.msgTime = msgTime;
+        this.sourceIp = sourceIp;
+        this.bodyBuffer = bodyBuffer;
         this.params = params;
     }
 
@@ -51,8 +67,38 @@ public class InLongMessage {
         return sourceIp;
     }
 
+    /**
+     * get the body, it is copied from the body buffer at the first call.
+     * Concurrent first calls may copy more than once, each of them returns a complete copy.
+     */
     public byte[] getBody() {
-        return body;
+        byte[] bytes = body;
+        if (bytes == null && bodyBuffer != null) {
+            ByteBuffer buffer = bodyBuffer.duplicate();
+            bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            body = bytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * get the body without copying it, the returned buffer is read only.
+     */
+    public ByteBuffer getBodyBuffer() {
+        if (bodyBuffer != null) {
+            return bodyBuffer.asReadOnlyBuffer();
+        }
+        byte[] bytes = body;
+        return bytes == null ? null : ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    public int getBodyLength() {
+        byte[] bytes = body;
+        if (bytes != null) {
+            return bytes.length;
+        }
+        return bodyBuffer == null ? 0 : bodyBuffer.remaining();
     }
 
     public Map<String, String> getParams() {
@@ -31,6 +31,7 @@ import org.apache.inlong.sdk.sort.entity.InLongMessage;
 import org.apache.inlong.sdk.sort.entity.InLongTopic;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -39,6 +40,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MessageDeserializer implements Deserializer {
 
@@ -61,6 +63,9 @@ public class MessageDeserializer implements Deserializer {
     private static final String DEFAULT_IP = "127.0.0.1";
 
     private static final String PARSE_ATTR_ERROR_STRING = "Could not find %s in attributes!";
+    private static final int MAX_ATTRIBUTES_CACHE_SIZE = 1024;
+
+    private final Map<String, InLongMsgAttributes> attributesCache = new ConcurrentHashMap<>();
 
     public MessageDeserializer() {
     }
@@ -146,16 +151,16 @@ public class MessageDeserializer implements Deserializer {
         if (null == messageObjs) {
             return null;
         }
-        List<InLongMessage> inLongMessages = new ArrayList<>();
+        List<InLongMessage> inLongMessages = new ArrayList<>(messageObjs.getMsgsCount());
         for (MessageObj messageObj : messageObjs.getMsgsList()) {
             List<MapFieldEntry> mapFieldEntries = messageObj.getParamsList();
-            Map<String, String> headers = new HashMap<>();
+            Map<String, String> headers = new HashMap<>(Math.max(16, mapFieldEntries.size() * 2));
             for (MapFieldEntry mapFieldEntry : mapFieldEntries) {
                 headers.put(mapFieldEntry.getKey(), mapFieldEntry.getValue());
             }
             InLongMessage inLongMessage = new InLongMessage(inlongGroupId, inlongStreamId, messageObj.getMsgTime(),
                     messageObj.getSourceIp(),
-                    messageObj.getBody().toByteArray(), headers);
+                    messageObj.getBody().asReadOnlyByteBuffer(), headers);
             inLongMessages.add(inLongMessage);
         }
         return inLongMessages;
@@ -170,45 +175,93 @@ public class MessageDeserializer implements Deserializer {
 
         InLongMsg inLongMsg = InLongMsg.parseFrom(msgBytes);
         for (String attr : inLongMsg.getAttrs()) {
-            Map<String, String> attributes = StringUtil.splitKv(attr, INLONGMSG_ATTR_ENTRY_DELIMITER,
-                    INLONGMSG_ATTR_KV_DELIMITER, null, null);
-
-            String groupId = Optional.ofNullable(attributes.get(INLONGMSG_ATTR_GROUP_ID))
-                    .orElseThrow(() -> new IllegalArgumentException(String.format(PARSE_ATTR_ERROR_STRING,
-                            INLONGMSG_ATTR_GROUP_ID)));
-
-            String streamId = Optional.ofNullable(attributes.get(INLONGMSG_ATTR_STREAM_ID))
-                    .orElseThrow(() -> new IllegalArgumentException(String.format(PARSE_ATTR_ERROR_STRING,
-                            INLONGMSG_ATTR_STREAM_ID)));
-
-            // Extracts time from the attributes
-            long msgTime;
-            if (attributes.containsKey(INLONGMSG_ATTR_TIME_T)) {
-                String date = attributes.get(INLONGMSG_ATTR_TIME_T).trim();
-                msgTime = StringUtil.parseDateTime(date);
-            } else if (attributes.containsKey(INLONGMSG_ATTR_TIME_DT)) {
-                String epoch = attributes.get(INLONGMSG_ATTR_TIME_DT).trim();
-                msgTime = Long.parseLong(epoch);
-            } else {
-                throw new IllegalArgumentException(String.format(PARSE_ATTR_ERROR_STRING,
-                        INLONGMSG_ATTR_TIME_T + " or " + INLONGMSG_ATTR_TIME_DT));
-            }
+            InLongMsgAttributes attributes = getAttributes(attr);
+            // the attributes map is shared by the messages of the same attr in one pack,
+            // but not across packs, because the consumers may put values into it.
+            Map<String, String> params = new HashMap<>(attributes.params);
 
-            String srcIp = Optional.ofNullable(attributes.get(INLONGMSG_ATTR_CLIENT_IP))
-                    .orElse(DEFAULT_IP);
-
-            Iterator<byte[]> iterator = inLongMsg.getIterator(attr);
+            Iterator<ByteBuffer> iterator = inLongMsg.getIteratorBuffer(attr);
             while (iterator.hasNext()) {
-                byte[] bodyBytes = iterator.next();
-                if (Objects.isNull(bodyBytes)) {
+                ByteBuffer bodyBuffer = iterator.next();
+                if (Objects.isNull(bodyBuffer)) {
                     continue;
                 }
-                InLongMessage inLongMessage = new InLongMessage(groupId, streamId, msgTime,
-                        srcIp, bodyBytes, attributes);
+                InLongMessage inLongMessage = new InLongMessage(attributes.groupId, attributes.streamId,
+                        attributes.msgTime, attributes.srcIp, bodyBuffer, params);
                 messageList.add(inLongMessage);
             }
         }
         return messageList;
     }
 
+    /**
+     * get the parsed attributes from cache, most packs of a stream share the same attr.
+     *
+     * @param attr the attr string of InLongMsg
+     * @return {@link InLongMsgAttributes}
+     */
+    private InLongMsgAttributes getAttributes(String attr) {
+        InLongMsgAttributes attributes = attributesCache.get(attr);
+        if (attributes != null) {
+            return attributes;
+        }
+        attributes = parseAttributes(attr);
+        if (attributesCache.size() >= MAX_ATTRIBUTES_CACHE_SIZE) {
+            attributesCache.clear();
+        }
+        attributesCache.put(attr, attributes);
+        return attributes;
+    }
+
+    private InLongMsgAttributes parseAttributes(String attr) {
+        Map<String, String> attributes = StringUtil.splitKv(attr, INLONGMSG_ATTR_ENTRY_DELIMITER,
+                INLONGMSG_ATTR_KV_DELIMITER, null, null);
+
+        String groupId = Optional.ofNullable(attributes.get(INLONGMSG_ATTR_GROUP_ID))
+                .orElseThrow(() -> new IllegalArgumentException(String.format(PARSE_ATTR_ERROR_STRING,
+                        INLONGMSG_ATTR_GROUP_ID)));
+
+        String streamId = Optional.ofNullable(attributes.get(INLONGMSG_ATTR_STREAM_ID))
+                .orElseThrow(() -> new IllegalArgumentException(String.format(PARSE_ATTR_ERROR_STRING,
+                        INLONGMSG_ATTR_STREAM_ID)));
+
+        // Extracts time from the attributes
+        long msgTime;
+        if (attributes.containsKey(INLONGMSG_ATTR_TIME_T)) {
+            String date = attributes.get(INLONGMSG_ATTR_TIME_T).trim();
+            msgTime = StringUtil.parseDateTime(date);
+        } else if (attributes.containsKey(INLONGMSG_ATTR_TIME_DT)) {
+            String epoch = attributes.get(INLONGMSG_ATTR_TIME_DT).trim();
+            msgTime = Long.parseLong(epoch);
+        } else {
+            throw new IllegalArgumentException(String.format(PARSE_ATTR_ERROR_STRING,
+                    INLONGMSG_ATTR_TIME_T + " or " + INLONGMSG_ATTR_TIME_DT));
+        }
+
+        String srcIp = Optional.ofNullable(attributes.get(INLONGMSG_ATTR_CLIENT_IP))
+                .orElse(DEFAULT_IP);
+        return new InLongMsgAttributes(groupId, streamId, msgTime, srcIp, attributes);
+    }
+
+    /**
+     * parsed attributes of InLongMsg
+     */
+    private static class InLongMsgAttributes {
+
+        private final String groupId;
+        private final String streamId;
+        private final long msgTime;
+        private final String srcIp;
+        private final Map<String, String> params;
+
+        InLongMsgAttributes(String groupId, String streamId, long msgTime, String srcIp,
+                Map<String, String> params) {
+            this.groupId = groupId;
+            this.streamId = streamId;
+            this.msgTime = msgTime;
+            this.srcIp = srcIp;
+            this.params = params;
+        }
+    }
+
 }
@@ -35,6 +35,8 @@ import org.junit.runner.RunWith;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -181,6 +183,44 @@ public class MessageDeserializerTest {
         }
     }
 
+    @Test
+    public void testDeserializeInLongMsgWithSameAttr() throws Exception {
+        setUp();
+        String attr = "m=0&groupId=test_group&streamId=test_stream&dt=1700000000000&clientIp=1.2.3.4";
+        Map<String, String> header = new HashMap<>();
+        header.put("version", "2");
+        List<InLongMessage> firstPack = null;
+        for (int i = 0; i < 2; i++) {
+            InLongMsg inlongMsg = InLongMsg.newInLongMsg(true);
+            for (int j = 0; j < 3; j++) {
+                inlongMsg.addMsg(attr, ("body" + j).getBytes(StandardCharsets.UTF_8));
+            }
+            List<InLongMessage> messages = messageDeserializer
+                    .deserialize(context, inLongTopic, header, inlongMsg.buildArray());
+            Assert.assertEquals(3, messages.size());
+            for (int j = 0; j < 3; j++) {
+                InLongMessage message = messages.get(j);
+                Assert.assertEquals("test_group", message.getInlongGroupId());
+                Assert.assertEquals("test_stream", message.getInlongStreamId());
+                Assert.assertEquals(1700000000000L, message.getMsgTime());
+                Assert.assertEquals("1.2.3.4", message.getSourceIp());
+                Assert.assertEquals(5, message.getBodyLength());
+                ByteBuffer bodyBuffer = message.getBodyBuffer();
+                byte[] bodyBytes = new byte[bodyBuffer.remaining()];
+                bodyBuffer.get(bodyBytes);
+                Assert.assertEquals("body" + j, new String(bodyBytes, StandardCharsets.UTF_8));
+                Assert.assertEquals("body" + j, new String(message.getBody(), StandardCharsets.UTF_8));
+            }
+            if (firstPack == null) {
+                firstPack = messages;
+            } else {
+                // the params of different packs should not be shared
+                Assert.assertNotSame(firstPack.get(0).getParams(), messages.get(0).getParams());
+                Assert.assertEquals(firstPack.get(0).getParams(), messages.get(0).getParams());
+            }
+        }
+    }
+
     private void prepareTestMessageObjs() {
         headers.put("version", "1");
         testData = "test data";
@@ -73,7 +73,9 @@ public class BufferQueueChannel extends AbstractChannel {
     @Override
     public void put(Event event) throws ChannelException {
         putCounter.incrementAndGet();
-        int eventSize = event.getBody().length;
+        int eventSize = event instanceof ProfileEvent
+                ? ((ProfileEvent) event).getBodyLength()
+                : event.getBody().length;
         this.bufferQueue.acquire(eventSize);
         ProfileTransaction transaction = currentTransaction.get();
         Preconditions.checkState(transaction != null, "No transaction exists for this thread");
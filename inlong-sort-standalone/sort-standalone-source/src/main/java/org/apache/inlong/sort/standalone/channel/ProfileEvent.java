@@ -24,6 +24,7 @@ import org.apache.inlong.sort.standalone.utils.Constants;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.flume.event.SimpleEvent;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 /**
@@ -41,6 +42,8 @@ public class ProfileEvent extends SimpleEvent {
     private final long fetchTime;
     private CacheMessageRecord cacheRecord;
     private final int ackToken;
+    // the body of sdk message is copied only when getBody is called, it is replaced by setBody
+    private InLongMessage sdkMessage;
 
     /**
      * Constructor
@@ -67,7 +70,7 @@ public class ProfileEvent extends SimpleEvent {
      */
     public ProfileEvent(InLongMessage sdkMessage, CacheMessageRecord cacheRecord) {
         super.setHeaders(sdkMessage.getParams());
-        super.setBody(sdkMessage.getBody());
+        this.sdkMessage = sdkMessage;
         this.inlongGroupId = sdkMessage.getInlongGroupId();
         this.inlongStreamId = sdkMessage.getInlongStreamId();
         this.uid = InlongId.generateUid(inlongGroupId, inlongStreamId);
@@ -78,6 +81,54 @@ public class ProfileEvent extends SimpleEvent {
         this.ackToken = cacheRecord.getToken();
     }
 
+    /**
+     * get body, the body of sdk message is copied at the first call
+     * 
+     * @return the body
+     */
+    @Override
+    public byte[] getBody() {
+        if (sdkMessage != null) {
+            return sdkMessage.getBody();
+        }
+        return super.getBody();
+    }
+
+    /**
+     * set body
+     * 
+     * @param body
+     */
+    @Override
+    public void setBody(byte[] body) {
+        super.setBody(body);
+        this.sdkMessage = null;
+    }
+
+    /**
+     * get body buffer without copying the body
+     * 
+     * @return the read only body buffer
+     */
+    public ByteBuffer getBodyBuffer() {
+        if (sdkMessage != null) {
+            return sdkMessage.getBodyBuffer();
+        }
+        return ByteBuffer.wrap(super.getBody()).asReadOnlyBuffer();
+    }
+
+    /**
+     * get body length without copying the body
+     * 
+     * @return the body length
+     */
+    public int getBodyLength() {
+        if (sdkMessage != null) {
+            return sdkMessage.getBodyLength();
+        }
+        return super.getBody().length;
+    }
+
     /**
      * get inlongGroupId
      * 
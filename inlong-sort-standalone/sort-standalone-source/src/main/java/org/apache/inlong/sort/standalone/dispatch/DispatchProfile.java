@@ -61,7 +61,7 @@ public class DispatchProfile {
      * @return
      */
     public boolean addEvent(ProfileEvent event, long maxPackCount, long maxPackSize) {
-        long eventLength = event.getBody().length;
+        long eventLength = event.getBodyLength();
         if (count >= maxPackCount || (count > 0 && size + eventLength > maxPackSize)) {
             return false;
         }
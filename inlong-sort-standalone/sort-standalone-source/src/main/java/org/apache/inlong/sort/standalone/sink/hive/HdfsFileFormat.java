@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.standalone.sink.hive;
+
+/**
+ * 
+ * HdfsFileFormat
+ */
+public enum HdfsFileFormat {
+
+    TEXT(""), ORC(".orc"), PARQUET(".parquet");
+
+    private final String fileSuffix;
+
+    HdfsFileFormat(String fileSuffix) {
+        this.fileSuffix = fileSuffix;
+    }
+
+    /**
+     * get fileSuffix
+     * 
+     * @return the fileSuffix
+     */
+    public String getFileSuffix() {
+        return fileSuffix;
+    }
+
+    /**
+     * isConcatenable, only row based text file can be concatenated by hdfs concat.
+     * 
+     * @return
+     */
+    public boolean isConcatenable() {
+        return this == TEXT;
+    }
+
+    /**
+     * convert
+     * 
+     * @param  value
+     * @return
+     */
+    public static HdfsFileFormat convert(String value) {
+        for (HdfsFileFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        return TEXT;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.standalone.sink.hive;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import java.io.IOException;
+
+/**
+ * 
+ * HdfsFileWriterFactory
+ */
+public class HdfsFileWriterFactory {
+
+    /**
+     * create the file writer by the file format of sink.
+     * 
+     * @param  context
+     * @param  idConfig
+     * @param  fs
+     * @param  filePath
+     * @return
+     * @throws IOException
+     */
+    public static IHdfsFileWriter create(HiveSinkContext context, HdfsIdConfig idConfig, FileSystem fs,
+            Path filePath) throws IOException {
+        byte separator = (byte) idConfig.getSeparator().charAt(0);
+        long rowGroupSize = context.getRowGroupSizeMb() * HiveSinkContext.MB_BYTES;
+        switch (context.getFileFormat()) {
+            case ORC:
+                return new OrcHdfsFileWriter(fs, filePath, idConfig.getFieldList(), separator,
+                        context.getCompressionCodec(), rowGroupSize);
+            case PARQUET:
+                return new ParquetHdfsFileWriter(fs.getConf(), filePath, idConfig.getFieldList(), separator,
+                        context.getCompressionCodec(), rowGroupSize);
+            default:
+                return new TextHdfsFileWriter(fs, filePath);
+        }
+    }
+}
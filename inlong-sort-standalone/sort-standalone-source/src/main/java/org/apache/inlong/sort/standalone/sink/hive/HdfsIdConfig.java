@@ -18,7 +18,10 @@
 package org.apache.inlong.sort.standalone.sink.hive;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -80,6 +83,9 @@ public class HdfsIdConfig {
     private String msgTimeFieldPattern;
     // close partition
     private long maxPartitionOpenDelayHour = 8;
+    // column names of ORC or PARQUET file, split by blank
+    private String fieldNames;
+    private List<String> fieldList;
 
     /**
      * get inlongGroupId
@@ -281,6 +287,41 @@ public class HdfsIdConfig {
         this.hiveTableName = hiveTableName;
     }
 
+    /**
+     * get fieldNames
+     * 
+     * @return the fieldNames
+     */
+    public String getFieldNames() {
+        return fieldNames;
+    }
+
+    /**
+     * set fieldNames
+     * 
+     * @param fieldNames the fieldNames to set
+     */
+    public void setFieldNames(String fieldNames) {
+        this.fieldNames = fieldNames;
+        this.fieldList = null;
+    }
+
+    /**
+     * Parse fieldNames to list of fields, the first two fields are partition field and msgTime field.
+     * 
+     * @return List of fields.
+     */
+    public List<String> getFieldList() {
+        if (fieldList == null) {
+            List<String> newFieldList = new ArrayList<>();
+            if (fieldNames != null && fieldNames.trim().length() > 0) {
+                newFieldList.addAll(Arrays.asList(fieldNames.trim().split("\\s+")));
+            }
+            this.fieldList = newFieldList;
+        }
+        return fieldList;
+    }
+
     /**
      * parsePartitionPath
      * 
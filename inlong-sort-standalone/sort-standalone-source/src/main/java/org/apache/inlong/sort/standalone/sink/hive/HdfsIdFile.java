@@ -17,17 +17,19 @@
 
 package org.apache.inlong.sort.standalone.sink.hive;
 
+import org.apache.inlong.sort.standalone.dispatch.DispatchProfile;
 import org.apache.inlong.sort.standalone.utils.InlongLoggerFactory;
 
 import org.apache.hadoop.conf.Configuration;
-import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hdfs.DistributedFileSystem;
 import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 /**
  * 
@@ -53,7 +55,9 @@ public class HdfsIdFile {
     private final Path outPath;
     private final Path intmpFilePath;
     private final String strIntmpFile;
-    private final FSDataOutputStream intmpOutput;
+    private final IHdfsFileWriter intmpWriter;
+    // profiles written to a file which is not durable before it is closed, they are acked after closing.
+    private final List<DispatchProfile> unackedProfiles = new ArrayList<>();
     private final long createTime;
     private long modifiedTime;
     private boolean isOpen = true;
@@ -83,14 +87,14 @@ public class HdfsIdFile {
         this.outPath = new Path(hdfsPath + strIdRootPath + SUBPATH_OUT);
         fs.mkdirs(outPath);
 
-        this.strIntmpFile = getFileName(context, createTime);
+        this.strIntmpFile = getFileName(context, createTime) + context.getFileFormat().getFileSuffix();
         this.intmpFilePath = new Path(intmpPath, strIntmpFile);
         // check if file exists
         if (fs.exists(intmpFilePath)) {
             // remove file
             fs.delete(intmpFilePath, true);
         }
-        this.intmpOutput = fs.create(intmpFilePath, true);
+        this.intmpWriter = HdfsFileWriterFactory.create(context, idConfig, fs, intmpFilePath);
     }
 
     /**
@@ -101,32 +105,62 @@ public class HdfsIdFile {
      * @return
      */
     public static String getFileName(HiveSinkContext context, long fileTime) {
-        SimpleDateFormat format = new SimpleDateFormat("yyyyMMddHHmmss");
+        // rolled files may be created in the same second.
+        String pattern = context.getFileFormat().isConcatenable() && !context.isFileRollEnabled()
+                ? "yyyyMMddHHmmss"
+                : "yyyyMMddHHmmssSSS";
+        SimpleDateFormat format = new SimpleDateFormat(pattern);
         return context.getNodeId() + "." + format.format(new Date(fileTime));
     }
 
     /**
-     * close
+     * close, the unacked profiles are acked when the file is moved to "in" directory, otherwise they are
+     * dispatched again.
      * 
      * @throws IOException
      */
-    public void close() {
+    public synchronized void close() {
+        if (!isOpen) {
+            return;
+        }
         this.isOpen = false;
-        if (intmpOutput != null) {
+        boolean isClosed = false;
+        if (intmpWriter != null) {
             try {
-                intmpOutput.flush();
-                intmpOutput.close();
-                if (intmpOutput.getPos() != 0) {
+                intmpWriter.close();
+                if (intmpWriter.getMessageCount() != 0) {
                     Path inFilePath = new Path(this.inPath, strIntmpFile);
-                    fs.rename(intmpFilePath, inFilePath);
+                    isClosed = fs.rename(intmpFilePath, inFilePath);
                 } else {
                     fs.delete(intmpFilePath, true);
+                    isClosed = true;
                 }
                 this.fs.close();
             } catch (Exception e) {
                 LOG.error(e.getMessage(), e);
             }
         }
+        for (DispatchProfile profile : unackedProfiles) {
+            if (isClosed) {
+                profile.ack();
+            } else {
+                context.getDispatchQueue().offer(profile);
+            }
+        }
+        unackedProfiles.clear();
+    }
+
+    /**
+     * ack the profile written to the file, or hold it until the file is closed if the file is not durable.
+     * 
+     * @param profile
+     */
+    public synchronized void ackProfile(DispatchProfile profile) {
+        if (intmpWriter.isFlushDurable()) {
+            profile.ack();
+        } else {
+            unackedProfiles.add(profile);
+        }
     }
 
     /**
@@ -211,12 +245,28 @@ public class HdfsIdFile {
     }
 
     /**
-     * get intmpOutput
+     * get intmpWriter
+     * 
+     * @return the intmpWriter
+     */
+    public IHdfsFileWriter getIntmpWriter() {
+        return intmpWriter;
+    }
+
+    /**
+     * isRollRequired, the file should be closed when it is too large or has been opened for too long.
      * 
-     * @return the intmpOutput
+     * @param  currentTime
+     * @return
      */
-    public FSDataOutputStream getIntmpOutput() {
-        return intmpOutput;
+    public boolean isRollRequired(long currentTime) {
+        long maxFileSizeMb = context.getMaxFileSizeMb();
+        if (maxFileSizeMb > 0 && intmpWriter.getDataSize() >= maxFileSizeMb * HiveSinkContext.MB_BYTES) {
+            return true;
+        }
+        long maxFileRollIntervalMinute = context.getMaxFileRollIntervalMinute();
+        return maxFileRollIntervalMinute > 0
+                && currentTime - createTime >= maxFileRollIntervalMinute * HiveSinkContext.MINUTE_MS;
     }
 
     /**
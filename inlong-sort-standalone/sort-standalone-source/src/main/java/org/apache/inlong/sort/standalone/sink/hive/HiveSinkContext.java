@@ -66,8 +66,19 @@ public class HiveSinkContext extends SinkContext {
     public static final long DEFAULT_TOKEN_OVERTIME = 60L;
     public static final String KEY_MAX_OUTPUT_FILE_SIZE = "maxOutputFileSizeGb";
     public static final long DEFAULT_MAX_OUTPUT_FILE_SIZE = 2L;
+    // file format config
+    public static final String KEY_FILE_FORMAT = "fileFormat";
+    public static final String KEY_COMPRESSION_CODEC = "compressionCodec";
+    public static final String KEY_ROW_GROUP_SIZE = "rowGroupSizeMb";
+    public static final long DEFAULT_ROW_GROUP_SIZE = 64L;
+    // rolling is disabled by default for TEXT files, they are concatenated when the partition is created.
+    public static final String KEY_MAX_FILE_SIZE = "maxFileSizeMb";
+    public static final long DEFAULT_MAX_FILE_SIZE = 1024L;
+    public static final String KEY_MAX_FILE_ROLL_INTERVAL = "maxFileRollIntervalMinute";
+    public static final long DEFAULT_MAX_FILE_ROLL_INTERVAL = 60L;
     public static final long MINUTE_MS = 60L * 1000;
     public static final long GB_BYTES = 1024L * 1024 * 1024;
+    public static final long MB_BYTES = 1024L * 1024;
     public static final long KB_BYTES = 1024L;
 
     // hive config
@@ -86,6 +97,12 @@ public class HiveSinkContext extends SinkContext {
     private long fileArchiveDelayMinute = 2 * maxFileOpenDelayMinute;
     private long tokenOvertimeMinute = DEFAULT_TOKEN_OVERTIME;
     private long maxOutputFileSizeGb = DEFAULT_MAX_OUTPUT_FILE_SIZE;
+    // file format config
+    private HdfsFileFormat fileFormat = HdfsFileFormat.TEXT;
+    private String compressionCodec;
+    private long rowGroupSizeMb = DEFAULT_ROW_GROUP_SIZE;
+    private long maxFileSizeMb = DEFAULT_MAX_FILE_SIZE;
+    private long maxFileRollIntervalMinute = DEFAULT_MAX_FILE_ROLL_INTERVAL;
     // hive config
     private String hiveJdbcUrl;
     private String hiveDatabase;
@@ -160,6 +177,15 @@ public class HiveSinkContext extends SinkContext {
             this.fileArchiveDelayMinute = maxFileOpenDelayMinute + 1;
             this.tokenOvertimeMinute = parentContext.getLong(KEY_TOKEN_OVERTIME, DEFAULT_TOKEN_OVERTIME);
             this.maxOutputFileSizeGb = parentContext.getLong(KEY_MAX_OUTPUT_FILE_SIZE, DEFAULT_MAX_OUTPUT_FILE_SIZE);
+            // file format config
+            this.fileFormat = HdfsFileFormat.convert(parentContext.getString(KEY_FILE_FORMAT));
+            this.compressionCodec = parentContext.getString(KEY_COMPRESSION_CODEC);
+            this.rowGroupSizeMb = parentContext.getLong(KEY_ROW_GROUP_SIZE, DEFAULT_ROW_GROUP_SIZE);
+            boolean isConcatenable = fileFormat.isConcatenable();
+            this.maxFileSizeMb = parentContext.getLong(KEY_MAX_FILE_SIZE,
+                    isConcatenable ? 0L : DEFAULT_MAX_FILE_SIZE);
+            this.maxFileRollIntervalMinute = parentContext.getLong(KEY_MAX_FILE_ROLL_INTERVAL,
+                    isConcatenable ? 0L : DEFAULT_MAX_FILE_ROLL_INTERVAL);
             // hive config
             this.hiveJdbcUrl = parentContext.getString(KEY_HIVE_JDBC_URL);
             this.hiveDatabase = parentContext.getString(KEY_HIVE_DATABASE);
@@ -383,6 +409,60 @@ public class HiveSinkContext extends SinkContext {
         return maxOutputFileSizeGb;
     }
 
+    /**
+     * get fileFormat
+     * 
+     * @return the fileFormat
+     */
+    public HdfsFileFormat getFileFormat() {
+        return fileFormat;
+    }
+
+    /**
+     * get compressionCodec
+     * 
+     * @return the compressionCodec
+     */
+    public String getCompressionCodec() {
+        return compressionCodec;
+    }
+
+    /**
+     * get rowGroupSizeMb
+     * 
+     * @return the rowGroupSizeMb
+     */
+    public long getRowGroupSizeMb() {
+        return rowGroupSizeMb;
+    }
+
+    /**
+     * get maxFileSizeMb
+     * 
+     * @return the maxFileSizeMb
+     */
+    public long getMaxFileSizeMb() {
+        return maxFileSizeMb;
+    }
+
+    /**
+     * get maxFileRollIntervalMinute
+     * 
+     * @return the maxFileRollIntervalMinute
+     */
+    public long getMaxFileRollIntervalMinute() {
+        return maxFileRollIntervalMinute;
+    }
+
+    /**
+     * isFileRollEnabled, the file is rolled by size or by interval when any of them is larger than 0.
+     * 
+     * @return
+     */
+    public boolean isFileRollEnabled() {
+        return maxFileSizeMb > 0 || maxFileRollIntervalMinute > 0;
+    }
+
     /**
      * get idConfigMap
      * 
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.standalone.sink.hive;
+
+import java.io.IOException;
+
+/**
+ * 
+ * IHdfsFileWriter
+ */
+public interface IHdfsFileWriter {
+
+    /**
+     * write a formatted message, the fields of message are split by the separator of HdfsIdConfig.
+     * 
+     * @param  formatBytes
+     * @throws IOException
+     */
+    void write(byte[] formatBytes) throws IOException;
+
+    /**
+     * flush
+     * 
+     * @throws IOException
+     */
+    void flush() throws IOException;
+
+    /**
+     * isFlushDurable, whether the flushed messages are kept when the process crashes before the file is
+     * closed. Otherwise the messages can only be acked after the file is closed.
+     * 
+     * @return
+     */
+    boolean isFlushDurable();
+
+    /**
+     * close
+     * 
+     * @throws IOException
+     */
+    void close() throws IOException;
+
+    /**
+     * get the count of written messages
+     * 
+     * @return
+     */
+    long getMessageCount();
+
+    /**
+     * get the size of the file, it is used to roll file.
+     * 
+     * @return
+     */
+    long getDataSize();
+}
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.standalone.sink.hive;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.FilterFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.permission.FsPermission;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.util.Progressable;
+import org.apache.orc.CompressionKind;
+import org.apache.orc.OrcFile;
+import org.apache.orc.TypeDescription;
+import org.apache.orc.Writer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 
+ * OrcHdfsFileWriter, every field of message is written as a string column.
+ */
+public class OrcHdfsFileWriter implements IHdfsFileWriter {
+
+    private final OutputTrackingFileSystem trackingFs;
+    private final Writer writer;
+    private final VectorizedRowBatch batch;
+    private final int fieldCount;
+    private final byte separator;
+    private long messageCount = 0;
+
+    /**
+     * Constructor
+     * 
+     * @param  fs
+     * @param  filePath
+     * @param  fieldList
+     * @param  separator
+     * @param  compressionCodec
+     * @param  stripeSize
+     * @throws IOException
+     */
+    public OrcHdfsFileWriter(FileSystem fs, Path filePath, List<String> fieldList, byte separator,
+            String compressionCodec, long stripeSize) throws IOException {
+        if (fieldList == null || fieldList.isEmpty()) {
+            throw new IOException("fieldNames can not be empty when file format is ORC, file:" + filePath);
+        }
+        TypeDescription schema = TypeDescription.createStruct();
+        for (String fieldName : fieldList) {
+            schema.addField(fieldName, TypeDescription.createString());
+        }
+        CompressionKind compressionKind = StringUtils.isBlank(compressionCodec)
+                ? CompressionKind.ZLIB
+                : CompressionKind.valueOf(compressionCodec.toUpperCase());
+        this.trackingFs = new OutputTrackingFileSystem(fs);
+        OrcFile.WriterOptions options = OrcFile.writerOptions(fs.getConf())
+                .fileSystem(trackingFs)
+                .setSchema(schema)
+                .compress(compressionKind)
+                .stripeSize(stripeSize)
+                .overwrite(true);
+        this.writer = OrcFile.createWriter(filePath, options);
+        this.batch = schema.createRowBatch();
+        this.fieldCount = fieldList.size();
+        this.separator = separator;
+    }
+
+    /**
+     * write
+     * 
+     * @param  formatBytes
+     * @throws IOException
+     */
+    @Override
+    public void write(byte[] formatBytes) throws IOException {
+        int row = batch.size++;
+        int fieldIndex = 0;
+        int fieldStart = 0;
+        for (int i = 0; i < formatBytes.length && fieldIndex < fieldCount - 1; i++) {
+            if (formatBytes[i] == separator) {
+                this.setField(fieldIndex++, row, formatBytes, fieldStart, i - fieldStart);
+                fieldStart = i + 1;
+            }
+        }
+        // the last field keeps the remaining bytes, missing fields are null.
+        this.setField(fieldIndex++, row, formatBytes, fieldStart, formatBytes.length - fieldStart);
+        for (; fieldIndex < fieldCount; fieldIndex++) {
+            BytesColumnVector vector = (BytesColumnVector) batch.cols[fieldIndex];
+            vector.noNulls = false;
+            vector.isNull[row] = true;
+        }
+        messageCount++;
+        if (batch.size == batch.getMaxSize()) {
+            writer.addRowBatch(batch);
+            batch.reset();
+        }
+    }
+
+    /**
+     * setField
+     * 
+     * @param fieldIndex
+     * @param row
+     * @param bytes
+     * @param start
+     * @param length
+     */
+    private void setField(int fieldIndex, int row, byte[] bytes, int start, int length) {
+        BytesColumnVector vector = (BytesColumnVector) batch.cols[fieldIndex];
+        // setVal copies the bytes into the shared buffer of the vector.
+        vector.setVal(row, bytes, start, length);
+    }
+
+    /**
+     * flush, the rows in batch are added to the writer, the writer flushes them by stripe.
+     * 
+     * @throws IOException
+     */
+    @Override
+    public void flush() throws IOException {
+        if (batch.size > 0) {
+            writer.addRowBatch(batch);
+            batch.reset();
+        }
+    }
+
+    /**
+     * isFlushDurable
+     * 
+     * @return false, the stripes are readable only after the footer is written when the file is closed.
+     */
+    @Override
+    public boolean isFlushDurable() {
+        return false;
+    }
+
+    /**
+     * close
+     * 
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        this.flush();
+        writer.close();
+    }
+
+    /**
+     * get messageCount
+     * 
+     * @return the messageCount
+     */
+    @Override
+    public long getMessageCount() {
+        return messageCount;
+    }
+
+    /**
+     * get dataSize, the compressed size of the stripes written to the file, the open stripe is not counted.
+     * 
+     * @return the dataSize
+     */
+    @Override
+    public long getDataSize() {
+        FSDataOutputStream output = trackingFs.output;
+        if (output == null) {
+            return 0;
+        }
+        try {
+            return output.getPos();
+        } catch (IOException e) {
+            // the position of the output stream is cached, it is not expected to fail.
+            return writer.getRawDataSize();
+        }
+    }
+
+    /**
+     * 
+     * OutputTrackingFileSystem, keeps the output stream created by the ORC writer to get the size of the file.
+     */
+    private static class OutputTrackingFileSystem extends FilterFileSystem {
+
+        private FSDataOutputStream output;
+
+        OutputTrackingFileSystem(FileSystem fs) {
+            super(fs);
+        }
+
+        @Override
+        public FSDataOutputStream create(Path f, FsPermission permission, boolean overwrite, int bufferSize,
+                short replication, long blockSize, Progressable progress) throws IOException {
+            this.output = super.create(f, permission, overwrite, bufferSize, replication, blockSize, progress);
+            return output;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.standalone.sink.hive;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.util.HadoopOutputFile;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Types;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 
+ * ParquetHdfsFileWriter, every field of message is written as an optional string column.
+ */
+public class ParquetHdfsFileWriter implements IHdfsFileWriter {
+
+    public static final String SCHEMA_NAME = "inlong";
+
+    private final ParquetWriter<Group> writer;
+    private final SimpleGroupFactory groupFactory;
+    private final int fieldCount;
+    private final byte separator;
+    private long messageCount = 0;
+
+    /**
+     * Constructor
+     * 
+     * @param  conf
+     * @param  filePath
+     * @param  fieldList
+     * @param  separator
+     * @param  compressionCodec
+     * @param  rowGroupSize
+     * @throws IOException
+     */
+    public ParquetHdfsFileWriter(Configuration conf, Path filePath, List<String> fieldList, byte separator,
+            String compressionCodec, long rowGroupSize) throws IOException {
+        if (fieldList == null || fieldList.isEmpty()) {
+            throw new IOException("fieldNames can not be empty when file format is PARQUET, file:" + filePath);
+        }
+        Types.MessageTypeBuilder builder = Types.buildMessage();
+        for (String fieldName : fieldList) {
+            builder.optional(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType()).named(fieldName);
+        }
+        MessageType schema = builder.named(SCHEMA_NAME);
+        CompressionCodecName codecName = StringUtils.isBlank(compressionCodec)
+                ? CompressionCodecName.SNAPPY
+                : CompressionCodecName.valueOf(compressionCodec.toUpperCase());
+        this.writer = ExampleParquetWriter.builder(HadoopOutputFile.fromPath(filePath, conf))
+                .withConf(conf)
+                .withType(schema)
+                .withCompressionCodec(codecName)
+                .withRowGroupSize(rowGroupSize)
+                .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                .build();
+        this.groupFactory = new SimpleGroupFactory(schema);
+        this.fieldCount = fieldList.size();
+        this.separator = separator;
+    }
+
+    /**
+     * write
+     * 
+     * @param  formatBytes
+     * @throws IOException
+     */
+    @Override
+    public void write(byte[] formatBytes) throws IOException {
+        Group group = groupFactory.newGroup();
+        int fieldIndex = 0;
+        int fieldStart = 0;
+        for (int i = 0; i < formatBytes.length && fieldIndex < fieldCount - 1; i++) {
+            if (formatBytes[i] == separator) {
+                group.add(fieldIndex++, Binary.fromConstantByteArray(formatBytes, fieldStart, i - fieldStart));
+                fieldStart = i + 1;
+            }
+        }
+        // the last field keeps the remaining bytes, missing fields are null.
+        group.add(fieldIndex, Binary.fromConstantByteArray(formatBytes, fieldStart, formatBytes.length - fieldStart));
+        writer.write(group);
+        messageCount++;
+    }
+
+    /**
+     * flush, parquet writer flushes data by row group.
+     * 
+     * @throws IOException
+     */
+    @Override
+    public void flush() throws IOException {
+    }
+
+    /**
+     * isFlushDurable
+     * 
+     * @return false, the rows are readable only after the footer is written when the file is closed.
+     */
+    @Override
+    public boolean isFlushDurable() {
+        return false;
+    }
+
+    /**
+     * close
+     * 
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * get messageCount
+     * 
+     * @return the messageCount
+     */
+    @Override
+    public long getMessageCount() {
+        return messageCount;
+    }
+
+    /**
+     * get dataSize, the compressed size of the written row groups and the buffered size of the open row group.
+     * 
+     * @return the dataSize
+     */
+    @Override
+    public long getDataSize() {
+        return writer.getDataSize();
+    }
+}
@@ -180,6 +180,23 @@ public class PartitionCreateRunnable implements Runnable {
             }
         }
 
+        // columnar files can not be concatenated, they have been rolled by size when writing.
+        if (!context.getFileFormat().isConcatenable()) {
+            for (FileStatus fileStatus : inFiles) {
+                if (fileStatus.getPath().getName().lastIndexOf(HdfsIdFile.OUTTMP_FILE_POSTFIX) >= 0) {
+                    continue;
+                }
+                if (fileStatus.getLen() <= 0) {
+                    fs.delete(fileStatus.getPath(), true);
+                    continue;
+                }
+                Path outFilePath = new Path(idFile.getOutPath(), fileStatus.getPath().getName());
+                fs.rename(fileStatus.getPath(), outFilePath);
+            }
+            this.addPartition(idFile);
+            return;
+        }
+
         // merge and copy files in "in" directory to "outtmp" file.
         long outputFileSize = 0;
         List<Path> concatInFiles = new ArrayList<>();
@@ -220,6 +237,15 @@ public class PartitionCreateRunnable implements Runnable {
         }
 
         // execute the sql of adding partition.
+        this.addPartition(idFile);
+    }
+
+    /**
+     * addPartition
+     * 
+     * @param idFile
+     */
+    private void addPartition(HdfsIdFile idFile) {
         try (Connection conn = context.getHiveConnection()) {
             Statement stat = conn.createStatement();
             String partitionSqlPattern = "ALTER TABLE %s.%s ADD IF NOT EXISTS PARTITION (dt='%s') LOCATION '%s'";
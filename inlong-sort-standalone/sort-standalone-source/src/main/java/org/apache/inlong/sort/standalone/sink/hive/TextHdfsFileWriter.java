@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.standalone.sink.hive;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import java.io.IOException;
+
+/**
+ * 
+ * TextHdfsFileWriter
+ */
+public class TextHdfsFileWriter implements IHdfsFileWriter {
+
+    private final FSDataOutputStream output;
+    private long messageCount = 0;
+    private long dataSize = 0;
+
+    /**
+     * Constructor
+     * 
+     * @param  fs
+     * @param  filePath
+     * @throws IOException
+     */
+    public TextHdfsFileWriter(FileSystem fs, Path filePath) throws IOException {
+        this.output = fs.create(filePath, true);
+    }
+
+    /**
+     * write
+     * 
+     * @param  formatBytes
+     * @throws IOException
+     */
+    @Override
+    public void write(byte[] formatBytes) throws IOException {
+        output.write(formatBytes);
+        output.writeByte(HdfsIdFile.SEPARATOR_MESSAGE);
+        messageCount++;
+        dataSize += formatBytes.length + 1;
+    }
+
+    /**
+     * flush
+     * 
+     * @throws IOException
+     */
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    /**
+     * isFlushDurable
+     * 
+     * @return true, the flushed bytes have been sent to the file.
+     */
+    @Override
+    public boolean isFlushDurable() {
+        return true;
+    }
+
+    /**
+     * close
+     * 
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        output.flush();
+        output.close();
+    }
+
+    /**
+     * get messageCount
+     * 
+     * @return the messageCount
+     */
+    @Override
+    public long getMessageCount() {
+        return messageCount;
+    }
+
+    /**
+     * get dataSize
+     * 
+     * @return the dataSize
+     */
+    @Override
+    public long getDataSize() {
+        return dataSize;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.standalone.channel;
+
+import org.apache.inlong.sdk.sort.entity.InLongMessage;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+public class TestProfileEvent {
+
+    @Test
+    public void testBodyOfSdkMessage() {
+        byte[] pack = "headbodytail".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer slice = ByteBuffer.wrap(pack, 4, 4).slice();
+        InLongMessage sdkMessage = new InLongMessage("g1", "s1", 1000L, "127.0.0.1", slice, new HashMap<>());
+        CacheMessageRecord cacheRecord = Mockito.mock(CacheMessageRecord.class);
+        ProfileEvent event = new ProfileEvent(sdkMessage, cacheRecord);
+
+        Assert.assertEquals(4, event.getBodyLength());
+        ByteBuffer bodyBuffer = event.getBodyBuffer();
+        Assert.assertTrue(bodyBuffer.isReadOnly());
+        Assert.assertEquals(slice, bodyBuffer);
+
+        byte[] body = event.getBody();
+        Assert.assertEquals("body", new String(body, StandardCharsets.UTF_8));
+        Assert.assertSame(body, event.getBody());
+
+        event.setBody("other".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals("other", new String(event.getBody(), StandardCharsets.UTF_8));
+        Assert.assertEquals(5, event.getBodyLength());
+    }
+
+    @Test
+    public void testBodyOfHeaders() {
+        HashMap<String, String> headers = new HashMap<>();
+        byte[] body = "body".getBytes(StandardCharsets.UTF_8);
+        ProfileEvent event = new ProfileEvent(headers, body);
+        Assert.assertSame(body, event.getBody());
+        Assert.assertEquals(4, event.getBodyLength());
+        Assert.assertEquals(ByteBuffer.wrap(body), event.getBodyBuffer());
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.standalone.sink.hive;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.orc.OrcFile;
+import org.apache.orc.Reader;
+import org.apache.orc.RecordReader;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestHdfsFileWriter {
+
+    private static final List<String> FIELD_LIST = Arrays.asList("dt", "msgtime", "name", "value");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Configuration conf;
+    private FileSystem fs;
+
+    @Before
+    public void setUp() throws Exception {
+        this.conf = new Configuration();
+        this.fs = FileSystem.getLocal(conf);
+    }
+
+    @Test
+    public void testOrcWriter() throws Exception {
+        Path filePath = new Path(folder.getRoot().getAbsolutePath(), "test.orc");
+        OrcHdfsFileWriter writer = new OrcHdfsFileWriter(fs, filePath, FIELD_LIST, (byte) '|', "ZLIB",
+                HiveSinkContext.MB_BYTES);
+        for (int i = 0; i < 3000; i++) {
+            writer.write(("2023010100|2023-01-01 00:00:00|name" + i + "|" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        writer.write("2023010100|2023-01-01 00:00:00|short".getBytes(StandardCharsets.UTF_8));
+        writer.close();
+        Assert.assertEquals(3001, writer.getMessageCount());
+
+        Reader reader = OrcFile.createReader(filePath, OrcFile.readerOptions(conf).filesystem(fs));
+        Assert.assertEquals(3001, reader.getNumberOfRows());
+        RecordReader rows = reader.rows();
+        VectorizedRowBatch batch = reader.getSchema().createRowBatch();
+        Assert.assertTrue(rows.nextBatch(batch));
+        BytesColumnVector nameVector = (BytesColumnVector) batch.cols[2];
+        BytesColumnVector valueVector = (BytesColumnVector) batch.cols[3];
+        Assert.assertEquals("name1", nameVector.toString(1));
+        Assert.assertEquals("1", valueVector.toString(1));
+        rows.close();
+    }
+
+    @Test
+    public void testOrcDataSize() throws Exception {
+        Path filePath = new Path(folder.getRoot().getAbsolutePath(), "size.orc");
+        OrcHdfsFileWriter writer = new OrcHdfsFileWriter(fs, filePath, FIELD_LIST, (byte) '|', "ZLIB",
+                HiveSinkContext.MB_BYTES);
+        Assert.assertFalse(writer.isFlushDurable());
+        long rawSize = 0;
+        for (int i = 0; i < 100000; i++) {
+            byte[] formatBytes = ("2023010100|2023-01-01 00:00:00|name|" + (i % 10)).getBytes(StandardCharsets.UTF_8);
+            writer.write(formatBytes);
+            rawSize += formatBytes.length;
+        }
+        writer.close();
+        // the size is the compressed size of the file rather than the size of the raw messages.
+        Assert.assertEquals(fs.getFileStatus(filePath).getLen(), writer.getDataSize());
+        Assert.assertTrue(writer.getDataSize() < rawSize / 10);
+    }
+
+    @Test
+    public void testParquetDataSize() throws Exception {
+        Path filePath = new Path(folder.getRoot().getAbsolutePath(), "size.parquet");
+        ParquetHdfsFileWriter writer = new ParquetHdfsFileWriter(conf, filePath, FIELD_LIST, (byte) '|', "GZIP",
+                HiveSinkContext.MB_BYTES);
+        Assert.assertFalse(writer.isFlushDurable());
+        long rawSize = 0;
+        for (int i = 0; i < 100000; i++) {
+            byte[] formatBytes = ("2023010100|2023-01-01 00:00:00|name|" + (i % 10)).getBytes(StandardCharsets.UTF_8);
+            writer.write(formatBytes);
+            rawSize += formatBytes.length;
+        }
+        Assert.assertTrue(writer.getDataSize() > 0);
+        Assert.assertTrue(writer.getDataSize() < rawSize / 10);
+        writer.close();
+    }
+
+    @Test
+    public void testParquetWriter() throws Exception {
+        Path filePath = new Path(folder.getRoot().getAbsolutePath(), "test.parquet");
+        ParquetHdfsFileWriter writer = new ParquetHdfsFileWriter(conf, filePath, FIELD_LIST, (byte) '|', "GZIP",
+                HiveSinkContext.MB_BYTES);
+        writer.write("2023010100|2023-01-01 00:00:00|name0|0|extra".getBytes(StandardCharsets.UTF_8));
+        writer.write("2023010100|2023-01-01 00:00:00|name1".getBytes(StandardCharsets.UTF_8));
+        writer.close();
+        Assert.assertEquals(2, writer.getMessageCount());
+
+        try (ParquetReader<Group> reader = ParquetReader.builder(new GroupReadSupport(), filePath)
+                .withConf(conf).build()) {
+            Group first = reader.read();
+            Assert.assertEquals("name0", first.getString("name", 0));
+            Assert.assertEquals("0|extra", first.getString("value", 0));
+            Group second = reader.read();
+            Assert.assertEquals("name1", second.getString("name", 0));
+            Assert.assertEquals(0, second.getFieldRepetitionCount("value"));
+            Assert.assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void testTextWriter() throws Exception {
+        Path filePath = new Path(folder.getRoot().getAbsolutePath(), "test.txt");
+        TextHdfsFileWriter writer = new TextHdfsFileWriter(fs, filePath);
+        byte[] formatBytes = "2023010100|2023-01-01 00:00:00|name0|0".getBytes(StandardCharsets.UTF_8);
+        writer.write(formatBytes);
+        writer.flush();
+        Assert.assertTrue(writer.isFlushDurable());
+        Assert.assertEquals(formatBytes.length + 1, writer.getDataSize());
+        writer.close();
+        Assert.assertEquals(formatBytes.length + 1, fs.getFileStatus(filePath).getLen());
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.inlong.sort.base;
 
+import org.apache.inlong.sort.base.metric.MetricOption.DataSizeMode;
 import org.apache.inlong.sort.base.sink.PartitionPolicy;
 import org.apache.inlong.sort.base.sink.SchemaUpdateExceptionPolicy;
 
@@ -189,6 +190,22 @@ public final class Constants {
                     .defaultValue("")
                     .withDescription("Audit keys for metrics collecting");
 
+    public static final int DEFAULT_DATA_SIZE_SAMPLE_INTERVAL = 100;
+
+    public static final ConfigOption<DataSizeMode> METRICS_DATA_SIZE_MODE =
+            ConfigOptions.key("metrics.data-size.mode")
+                    .enumType(DataSizeMode.class)
+                    .defaultValue(DataSizeMode.EXACT)
+                    .withDescription("The mode of calculating the byte size of records for metrics, "
+                            + "EXACT calculates every record, SAMPLED calculates one record of every "
+                            + "'metrics.data-size.sample-interval' records, OFF does not calculate the size.");
+
+    public static final ConfigOption<Integer> METRICS_DATA_SIZE_SAMPLE_INTERVAL =
+            ConfigOptions.key("metrics.data-size.sample-interval")
+                    .intType()
+                    .defaultValue(DEFAULT_DATA_SIZE_SAMPLE_INTERVAL)
+                    .withDescription("The sample interval of records when 'metrics.data-size.mode' is SAMPLED.");
+
     public static final ConfigOption<Boolean> IGNORE_ALL_CHANGELOG =
             ConfigOptions.key("sink.ignore.changelog")
                     .booleanType()
@@ -189,6 +189,24 @@ public abstract class AbstractDynamicSchemaFormat<T> {
         return parse(deserialize(message), pattern);
     }
 
+    /**
+     * Parse msg by multiple patterns, the raw data is deserialized only once.
+     * See details {@link AbstractDynamicSchemaFormat#parse(T, String)}
+     *
+     * @param message The source of data rows format by bytes
+     * @param patterns The pattern values
+     * @return The results of parsed, which has the same order with patterns
+     * @throws IOException The exception that will throws
+     */
+    public List<String> parseAll(byte[] message, String... patterns) throws IOException {
+        T data = deserialize(message);
+        List<String> results = new ArrayList<>(patterns.length);
+        for (String pattern : patterns) {
+            results.add(parse(data, pattern));
+        }
+        return results;
+    }
+
     /**
      * Parse msg and replace the value by key from the raw data
      * Such as:
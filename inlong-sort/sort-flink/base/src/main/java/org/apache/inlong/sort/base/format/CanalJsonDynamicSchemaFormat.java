@@ -26,8 +26,12 @@ import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.types.RowKind;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Canal json dynamic format
@@ -46,11 +50,29 @@ public class CanalJsonDynamicSchemaFormat extends JsonDynamicSchemaFormat {
     private static final String OP_UPDATE = "UPDATE";
     private static final String OP_DELETE = "DELETE";
     private static final String DDL = "sql";
+    /**
+     * The field names on the path of physical data
+     */
+    private static final Set<String> PHYSICAL_FIELD_NAMES = new HashSet<>(Arrays.asList(DATA, OLD));
+    /**
+     * The field names on the path of ddl flag
+     */
+    private static final Set<String> DDL_FIELD_NAMES = Collections.singleton(DDL_FLAG);
 
     protected CanalJsonDynamicSchemaFormat(Map<String, String> props) {
         super(props);
     }
 
+    @Override
+    protected Set<String> getPhysicalFieldNames() {
+        return PHYSICAL_FIELD_NAMES;
+    }
+
+    @Override
+    protected Set<String> getDDLFieldNames() {
+        return DDL_FIELD_NAMES;
+    }
+
     @Override
     public JsonNode getUpdateAfter(JsonNode root) {
         return root.get(DATA);
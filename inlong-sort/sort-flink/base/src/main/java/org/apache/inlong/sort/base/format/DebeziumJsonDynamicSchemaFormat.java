@@ -27,8 +27,11 @@ import org.apache.flink.types.RowKind;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.apache.inlong.sort.formats.json.utils.FormatJsonUtil.DEBEZIUM_TYPE_2_FLINK_TYPE_MAPPING;
 
@@ -67,6 +70,14 @@ public class DebeziumJsonDynamicSchemaFormat extends JsonDynamicSchemaFormat {
      * Delete
      */
     private static final String OP_DELETE = "d";
+    /**
+     * The field names on the path of physical data
+     */
+    private static final Set<String> PHYSICAL_FIELD_NAMES = new HashSet<>(Arrays.asList(PAYLOAD, AFTER, BEFORE));
+    /**
+     * The field names on the path of ddl flag
+     */
+    private static final Set<String> DDL_FIELD_NAMES = new HashSet<>(Arrays.asList(PAYLOAD, DDL));
 
     protected DebeziumJsonDynamicSchemaFormat(Map<String, String> props) {
         super(props);
@@ -85,6 +96,16 @@ public class DebeziumJsonDynamicSchemaFormat extends JsonDynamicSchemaFormat {
         return getPhysicalData(payload);
     }
 
+    @Override
+    protected Set<String> getPhysicalFieldNames() {
+        return PHYSICAL_FIELD_NAMES;
+    }
+
+    @Override
+    protected Set<String> getDDLFieldNames() {
+        return DDL_FIELD_NAMES;
+    }
+
     @Override
     public JsonNode getUpdateAfter(JsonNode root) {
         JsonNode payload = root.get(PAYLOAD);
@@ -37,10 +37,14 @@ import org.apache.flink.types.RowKind;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -78,6 +82,14 @@ public abstract class JsonDynamicSchemaFormat extends AbstractDynamicSchemaForma
     private static final Pattern DIALECT_SQL_TYPE_PATTERN = Pattern.compile("([\\w, \\s]+)\\(([\\d,\\s'\\-]*)\\)");
     protected final JsonToRowDataConverters rowDataConverters;
     protected final boolean adaptSparkEngine;
+    /**
+     * The compiled templates of patterns
+     */
+    private final Map<String, PatternTemplate<JsonFieldAccessor>> templateCache = new ConcurrentHashMap<>();
+    /**
+     * The streaming readers of the pattern or key list, used to read the required fields from raw data
+     */
+    private final Map<List<String>, StreamingJsonFieldReader> fieldReaderCache = new ConcurrentHashMap<>();
 
     public JsonDynamicSchemaFormat(Map<String, String> properties) {
         ReadableConfig config = Configuration.fromMap(properties);
@@ -91,12 +103,20 @@ public abstract class JsonDynamicSchemaFormat extends AbstractDynamicSchemaForma
     }
 
     /**
-     * Extract values by keys from the raw data
+     * Extract values by keys from the raw data, only the fields required by the keys are read.
      *
-     * @param root The raw data
+     * @param message The byte array of raw data
      * @param keys The key list that will be used to extract
      * @return The value list maps the keys
      */
+    @Override
+    public List<String> extractValues(byte[] message, String... keys) throws IOException {
+        if (keys == null || keys.length == 0) {
+            return new ArrayList<>();
+        }
+        return extractValues(readFields(message, Arrays.asList(keys), false), keys);
+    }
+
     @Override
     public List<String> extractValues(JsonNode root, String... keys) {
         if (keys == null || keys.length == 0) {
@@ -170,7 +190,107 @@ public abstract class JsonDynamicSchemaFormat extends AbstractDynamicSchemaForma
      */
     @Override
     public String parse(byte[] message, String pattern) throws IOException {
-        return parse(deserialize(message), pattern);
+        return parse(readFields(message, Collections.singletonList(pattern), true), pattern);
+    }
+
+    /**
+     * Parse msg by multiple patterns, only the fields required by the patterns are read from the raw data.
+     * See details {@link JsonDynamicSchemaFormat#parse(JsonNode, String)}
+     *
+     * @param message The source of data rows format by bytes
+     * @param patterns The pattern values
+     * @return The results of parsed, which has the same order with patterns
+     * @throws IOException The exception will throws
+     */
+    @Override
+    public List<String> parseAll(byte[] message, String... patterns) throws IOException {
+        JsonNode rootNode = readFields(message, Arrays.asList(patterns), true);
+        List<String> results = new ArrayList<>(patterns.length);
+        for (String pattern : patterns) {
+            results.add(parse(rootNode, pattern));
+        }
+        return results;
+    }
+
+    /**
+     * Read the fields to route the raw data without materializing the whole tree.
+     * The result contains the fields required by the patterns and by {@link #extractDDLFlag(JsonNode)},
+     * so the multiple sinks can drop the records of skipped tables before deserializing them.
+     *
+     * @param message The byte array of raw data
+     * @param patterns The patterns of identifier items
+     * @return The pruned tree, or null if the format can not be read by streaming
+     * @throws IOException The exceptions may throws when reading
+     */
+    public JsonNode readRoutingFields(byte[] message, String... patterns) throws IOException {
+        if (getPhysicalFieldNames() == null || getDDLFieldNames() == null) {
+            return null;
+        }
+        return readFields(message, Arrays.asList(patterns), true);
+    }
+
+    /**
+     * Read the fields required by the patterns or keys from the raw data without materializing the whole tree.
+     * The full tree is deserialized when the format does not provide the field names of physical data.
+     * It only pays off for the callers that route the raw data without converting it, such as the kafka
+     * partitioners, or that drop the raw data by its route, such as the multiple sinks skipping tables.
+     *
+     * @param message The byte array of raw data
+     * @param items The patterns or keys
+     * @param isPattern Whether the items are patterns
+     * @return The json node which contains the required fields
+     * @throws IOException The exceptions may throws when deserialize
+     */
+    protected JsonNode readFields(byte[] message, List<String> items, boolean isPattern) throws IOException {
+        Set<String> physicalFieldNames = getPhysicalFieldNames();
+        if (physicalFieldNames == null) {
+            return deserialize(message);
+        }
+        StreamingJsonFieldReader fieldReader = fieldReaderCache.get(items);
+        if (fieldReader == null) {
+            List<String> keys = new ArrayList<>();
+            if (isPattern) {
+                for (String pattern : items) {
+                    PatternTemplate<JsonFieldAccessor> template = getTemplate(pattern);
+                    for (int i = 0; i < template.getKeyCount(); i++) {
+                        keys.add(template.getKey(i));
+                    }
+                }
+            } else {
+                keys.addAll(items);
+            }
+            Set<String> fieldNames = StreamingJsonFieldReader.getFieldNames(keys);
+            fieldNames.addAll(physicalFieldNames);
+            Set<String> ddlFieldNames = getDDLFieldNames();
+            if (ddlFieldNames != null) {
+                fieldNames.addAll(ddlFieldNames);
+            }
+            fieldReader = new StreamingJsonFieldReader(fieldNames);
+            fieldReaderCache.put(new ArrayList<>(items), fieldReader);
+        }
+        return fieldReader.read(OBJECT_MAPPER, message);
+    }
+
+    /**
+     * Get the field names on the path from the root node to the physical data,
+     * they are required by {@link JsonDynamicSchemaFormat#getPhysicalData(JsonNode)}.
+     * The default value is null, which means the fields can not be read by streaming.
+     *
+     * @return The field names on the path of physical data
+     */
+    protected Set<String> getPhysicalFieldNames() {
+        return null;
+    }
+
+    /**
+     * Get the field names on the path from the root node to the ddl flag,
+     * they are required by {@link JsonDynamicSchemaFormat#extractDDLFlag(JsonNode)}.
+     * The default value is null, which means the ddl flag can not be read by streaming.
+     *
+     * @return The field names on the path of ddl flag
+     */
+    protected Set<String> getDDLFieldNames() {
+        return null;
     }
 
     /**
@@ -190,28 +310,63 @@ public abstract class JsonDynamicSchemaFormat extends AbstractDynamicSchemaForma
      */
     @Override
     public String parse(JsonNode rootNode, String pattern) throws IOException {
-        Matcher matcher = PATTERN.matcher(pattern);
-        StringBuffer sb = new StringBuffer();
+        PatternTemplate<JsonFieldAccessor> template = getTemplate(pattern);
+        int keyCount = template.getKeyCount();
+        if (keyCount == 0) {
+            return template.render(null);
+        }
         JsonNode physicalNode = getPhysicalData(rootNode);
         if (physicalNode.isArray()) {
             // Extract from the first value when the physicalNode is array
             physicalNode = physicalNode.get(FIRST);
         }
-        while (matcher.find()) {
-            String keyText = matcher.group(1);
-            String replacement = extract(physicalNode, keyText);
+        String[] values = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            JsonFieldAccessor accessor = template.getAccessor(i);
+            String replacement = accessor.extract(physicalNode);
             if (replacement == null) {
-                replacement = extract(rootNode, keyText);
+                replacement = accessor.extract(rootNode);
             }
             if (replacement == null) {
                 // The variable replacement here is mainly used for
                 // multi-sink scenario synchronization destination positioning, so the value of null cannot be ignored.
-                throw new IOException(String.format("Can't find value for key: %s", keyText));
+                throw new IOException(String.format("Can't find value for key: %s", template.getKey(i)));
             }
-            matcher.appendReplacement(sb, replacement);
+            values[i] = replacement;
+        }
+        return template.render(values);
+    }
+
+    /**
+     * Parse msg by the patterns and join the results with '.' to get the identifier of sink table,
+     * such as 'database.table' or 'database.schema.table'.
+     *
+     * @param rootNode The root node of json
+     * @param patterns The patterns of identifier items
+     * @return The identifier of sink table
+     * @throws IOException The exception will throws
+     */
+    public String parseIdentifier(JsonNode rootNode, String... patterns) throws IOException {
+        String[] items = new String[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            items[i] = parse(rootNode, patterns[i]);
+        }
+        return String.join(".", items);
+    }
+
+    /**
+     * Get the compiled template of the pattern
+     *
+     * @param pattern The pattern value
+     * @return The compiled template
+     */
+    protected PatternTemplate<JsonFieldAccessor> getTemplate(String pattern) {
+        PatternTemplate<JsonFieldAccessor> template = templateCache.get(pattern);
+        if (template == null) {
+            template = templateCache.computeIfAbsent(pattern,
+                    p -> PatternTemplate.compile(p, JsonFieldAccessor::new));
         }
-        matcher.appendTail(sb);
-        return sb.toString();
+        return template;
     }
 
     /**
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.base.format;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.Serializable;
+
+/**
+ * Json field accessor
+ * It resolves the key once and extracts the value from {@link JsonNode} by the same rule of
+ * {@link JsonDynamicSchemaFormat#extract(JsonNode, String)}: the whole key is matched first,
+ * then the key is split by the first '.' and the sub key is extracted from the child node.
+ */
+public class JsonFieldAccessor implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String key;
+    private final String parentKey;
+    private final JsonFieldAccessor childAccessor;
+
+    public JsonFieldAccessor(String key) {
+        this.key = key;
+        int index = key.indexOf(".");
+        if (index > 0 && index + 1 < key.length()) {
+            this.parentKey = key.substring(0, index);
+            this.childAccessor = new JsonFieldAccessor(key.substring(index + 1));
+        } else {
+            this.parentKey = null;
+            this.childAccessor = null;
+        }
+    }
+
+    /**
+     * Extract value from the json node
+     *
+     * @param jsonNode The json node
+     * @return The value maps the key in the json node
+     */
+    public String extract(JsonNode jsonNode) {
+        if (jsonNode == null) {
+            return null;
+        }
+        JsonNode value = jsonNode.get(key);
+        if (value != null) {
+            return value.asText();
+        }
+        if (parentKey != null) {
+            return childAccessor.extract(jsonNode.get(parentKey));
+        }
+        return null;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.base.format;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+
+import static org.apache.inlong.sort.base.format.AbstractDynamicSchemaFormat.PATTERN;
+
+/**
+ * Compiled pattern template
+ * The pattern such as "prefix_${a}_${b}_suffix" is split into literal segments and key segments once,
+ * so it does not need to be matched by regex for every record.
+ * Each key is bound to an accessor which is used to extract the value of the key from the raw data.
+ *
+ * @param <A> The type of accessor
+ */
+public class PatternTemplate<A> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String pattern;
+    /**
+     * The literal segments, the size of it is always the size of keys plus one
+     */
+    private final String[] literals;
+    private final String[] keys;
+    private final List<A> accessors;
+    private final int literalLength;
+
+    private PatternTemplate(String pattern, String[] literals, String[] keys, List<A> accessors) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.keys = keys;
+        this.accessors = accessors;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compile the pattern to template
+     *
+     * @param pattern The pattern value
+     * @param accessorFactory The factory that creates accessor for key
+     * @param <A> The type of accessor
+     * @return The compiled template
+     */
+    public static <A> PatternTemplate<A> compile(String pattern, Function<String, A> accessorFactory) {
+        Matcher matcher = PATTERN.matcher(pattern);
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<A> accessors = new ArrayList<>();
+        int start = 0;
+        while (matcher.find()) {
+            literals.add(pattern.substring(start, matcher.start()));
+            String key = matcher.group(1);
+            keys.add(key);
+            accessors.add(accessorFactory.apply(key));
+            start = matcher.end();
+        }
+        literals.add(pattern.substring(start));
+        return new PatternTemplate<>(pattern, literals.toArray(new String[0]), keys.toArray(new String[0]),
+                accessors);
+    }
+
+    /**
+     * Render the template with the values of keys
+     *
+     * @param values The values of keys, it must have the same size with keys
+     * @return The result of rendered
+     */
+    public String render(String[] values) {
+        if (keys.length == 0) {
+            return literals[0];
+        }
+        if (keys.length == 1 && literals[0].isEmpty() && literals[1].isEmpty()) {
+            return values[0];
+        }
+        int length = literalLength;
+        for (String value : values) {
+            length += value.length();
+        }
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < keys.length; i++) {
+            sb.append(literals[i]).append(values[i]);
+        }
+        sb.append(literals[keys.length]);
+        return sb.toString();
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public int getKeyCount() {
+        return keys.length;
+    }
+
+    public String getKey(int index) {
+        return keys[index];
+    }
+
+    public A getAccessor(int index) {
+        return accessors.get(index);
+    }
+}
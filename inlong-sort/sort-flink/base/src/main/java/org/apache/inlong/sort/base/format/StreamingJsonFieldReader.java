@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.base.format;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonParser;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonToken;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.JsonNode;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.node.ArrayNode;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Streaming json field reader
+ * It reads the raw data by {@link JsonParser} and only materializes the fields whose name is in the given
+ * field name set, the other fields are skipped without building the tree of them.
+ * For arrays only the first element is materialized, which is the same as how the physical data is used
+ * when parsing the patterns.
+ * The result is a pruned tree that contains all the nodes on the paths of the required keys, so it can be
+ * used by {@link JsonDynamicSchemaFormat#parse(JsonNode, String)} and
+ * {@link JsonDynamicSchemaFormat#extractValues(JsonNode, String...)} with the same result of the full tree.
+ */
+public class StreamingJsonFieldReader implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Set<String> fieldNames;
+
+    public StreamingJsonFieldReader(Collection<String> fieldNames) {
+        this.fieldNames = new HashSet<>(fieldNames);
+    }
+
+    /**
+     * Get the field names of the keys
+     * The key such as 'a.b.c' may be matched by the field 'a.b.c', or by the field 'b.c' of field 'a',
+     * or by the field 'c' of the field 'b' of field 'a', so all these names are required.
+     *
+     * @param keys The keys that will be extracted
+     * @return The field names of the keys
+     */
+    public static Set<String> getFieldNames(Collection<String> keys) {
+        Set<String> fieldNames = new HashSet<>();
+        for (String key : keys) {
+            addFieldNames(key, fieldNames);
+        }
+        return fieldNames;
+    }
+
+    private static void addFieldNames(String key, Set<String> fieldNames) {
+        fieldNames.add(key);
+        int index = key.indexOf(".");
+        if (index > 0 && index + 1 < key.length()) {
+            fieldNames.add(key.substring(0, index));
+            addFieldNames(key.substring(index + 1), fieldNames);
+        }
+    }
+
+    /**
+     * Read the pruned tree from the raw data
+     *
+     * @param objectMapper The object mapper
+     * @param message The raw data
+     * @return The pruned tree
+     * @throws IOException The exception may throws when reading
+     */
+    public JsonNode read(ObjectMapper objectMapper, byte[] message) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(message)) {
+            if (parser.nextToken() == null) {
+                return objectMapper.missingNode();
+            }
+            return readNode(objectMapper, parser);
+        }
+    }
+
+    private JsonNode readNode(ObjectMapper objectMapper, JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            ObjectNode objectNode = objectMapper.createObjectNode();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                parser.nextToken();
+                if (fieldNames.contains(fieldName)) {
+                    objectNode.set(fieldName, readNode(objectMapper, parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return objectNode;
+        }
+        if (token == JsonToken.START_ARRAY) {
+            ArrayNode arrayNode = objectMapper.createArrayNode();
+            if (parser.nextToken() != JsonToken.END_ARRAY) {
+                arrayNode.add(readNode(objectMapper, parser));
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    parser.skipChildren();
+                }
+            }
+            return arrayNode;
+        }
+        return objectMapper.readTree(parser);
+    }
+}
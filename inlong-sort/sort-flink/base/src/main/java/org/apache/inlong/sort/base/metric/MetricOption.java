@@ -35,6 +35,7 @@ import java.util.Optional;
 import java.util.stream.Stream;
 
 import static org.apache.inlong.sort.base.Constants.AUDIT_SORT_INPUT;
+import static org.apache.inlong.sort.base.Constants.DEFAULT_DATA_SIZE_SAMPLE_INTERVAL;
 import static org.apache.inlong.sort.base.Constants.DELIMITER;
 import static org.apache.inlong.sort.base.Constants.GROUP_ID;
 import static org.apache.inlong.sort.base.Constants.STREAM_ID;
@@ -55,6 +56,8 @@ public class MetricOption implements Serializable {
     private long initDirtyBytes;
     private long readPhase;
     private List<Integer> inlongAuditKeys;
+    private DataSizeMode dataSizeMode;
+    private int dataSizeSampleInterval;
 
     private MetricOption(
             String inlongLabels,
@@ -65,7 +68,9 @@ public class MetricOption implements Serializable {
             Long initDirtyRecords,
             Long initDirtyBytes,
             Long readPhase,
-            String inlongAuditKeys) {
+            String inlongAuditKeys,
+            DataSizeMode dataSizeMode,
+            int dataSizeSampleInterval) {
         Preconditions.checkArgument(!StringUtils.isNullOrWhitespaceOnly(inlongLabels),
                 "Inlong labels must be set for register metric.");
 
@@ -74,6 +79,8 @@ public class MetricOption implements Serializable {
         this.initDirtyRecords = initDirtyRecords;
         this.initDirtyBytes = initDirtyBytes;
         this.readPhase = readPhase;
+        this.dataSizeMode = dataSizeMode;
+        this.dataSizeSampleInterval = dataSizeSampleInterval;
         this.labels = new LinkedHashMap<>();
         String[] inLongLabelArray = inlongLabels.split(DELIMITER);
         Preconditions.checkArgument(Stream.of(inLongLabelArray).allMatch(label -> label.contains("=")),
@@ -167,6 +174,14 @@ public class MetricOption implements Serializable {
         this.readPhase = readPhase;
     }
 
+    public DataSizeMode getDataSizeMode() {
+        return dataSizeMode;
+    }
+
+    public int getDataSizeSampleInterval() {
+        return dataSizeSampleInterval;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -177,6 +192,15 @@ public class MetricOption implements Serializable {
         DIRTY
     }
 
+    /**
+     * The mode of calculating the byte size of records
+     */
+    public enum DataSizeMode {
+        EXACT,
+        SAMPLED,
+        OFF
+    }
+
     public static class Builder {
 
         private String inlongLabels;
@@ -188,6 +212,8 @@ public class MetricOption implements Serializable {
         private Long initDirtyRecords = 0L;
         private Long initDirtyBytes = 0L;
         private long initReadPhase = 0L;
+        private DataSizeMode dataSizeMode = DataSizeMode.EXACT;
+        private int dataSizeSampleInterval = DEFAULT_DATA_SIZE_SAMPLE_INTERVAL;
 
         private Builder() {
         }
@@ -237,12 +263,25 @@ public class MetricOption implements Serializable {
             return this;
         }
 
+        public MetricOption.Builder withDataSizeMode(DataSizeMode dataSizeMode) {
+            if (dataSizeMode != null) {
+                this.dataSizeMode = dataSizeMode;
+            }
+            return this;
+        }
+
+        public MetricOption.Builder withDataSizeSampleInterval(int dataSizeSampleInterval) {
+            this.dataSizeSampleInterval = dataSizeSampleInterval;
+            return this;
+        }
+
         public MetricOption build() {
             if (inlongLabels == null && inlongAudit == null) {
                 return null;
             }
             return new MetricOption(inlongLabels, inlongAudit, registeredMetric, initRecords, initBytes,
-                    initDirtyRecords, initDirtyBytes, initReadPhase, inlongAuditKeys);
+                    initDirtyRecords, initDirtyBytes, initReadPhase, inlongAuditKeys, dataSizeMode,
+                    dataSizeSampleInterval);
         }
     }
 }
@@ -19,6 +19,7 @@ package org.apache.inlong.sort.base.metric;
 
 import org.apache.inlong.audit.AuditOperator;
 import org.apache.inlong.sort.base.metric.MetricOption.RegisteredMetric;
+import org.apache.inlong.sort.base.util.DataSizeEstimator;
 
 import org.apache.flink.metrics.Counter;
 import org.apache.flink.metrics.Meter;
@@ -37,7 +38,6 @@ import static org.apache.inlong.sort.base.Constants.NUM_BYTES_OUT_PER_SECOND;
 import static org.apache.inlong.sort.base.Constants.NUM_RECORDS_OUT;
 import static org.apache.inlong.sort.base.Constants.NUM_RECORDS_OUT_FOR_METER;
 import static org.apache.inlong.sort.base.Constants.NUM_RECORDS_OUT_PER_SECOND;
-import static org.apache.inlong.sort.base.util.CalculateObjectSizeUtils.getDataSize;
 
 /**
  * A collection class for handling metrics
@@ -58,10 +58,12 @@ public class SinkMetricData implements MetricData, Serializable {
     private Meter numRecordsOutPerSecond;
     private Meter numBytesOutPerSecond;
     private List<Integer> auditKeys;
+    private DataSizeEstimator dataSizeEstimator;
 
     public SinkMetricData(MetricOption option, MetricGroup metricGroup) {
         this.metricGroup = metricGroup;
         this.labels = option.getLabels();
+        this.dataSizeEstimator = new DataSizeEstimator(option.getDataSizeMode(), option.getDataSizeSampleInterval());
         this.registeredMetric = option.getRegisteredMetric();
 
         ThreadSafeCounter recordsOutCounter = new ThreadSafeCounter();
@@ -249,6 +251,16 @@ public class SinkMetricData implements MetricData, Serializable {
         return labels;
     }
 
+    /**
+     * Estimate the byte size of data by the data size mode of {@link MetricOption}
+     *
+     * @param data the data of record
+     * @return the byte size of data
+     */
+    public long estimateDataSize(Object data) {
+        return dataSizeEstimator.estimate(data);
+    }
+
     public Counter getNumRecordsOutForMeter() {
         return numRecordsOutForMeter;
     }
@@ -258,15 +270,15 @@ public class SinkMetricData implements MetricData, Serializable {
     }
 
     public void invokeWithEstimate(Object o) {
-        invoke(1, getDataSize(o));
+        invoke(1, estimateDataSize(o));
     }
 
     public void invokeWithEstimate(Object o, long dataTime) {
-        invoke(1, getDataSize(o), dataTime);
+        invoke(1, estimateDataSize(o), dataTime);
     }
 
     public void invokeDirtyWithEstimate(Object o) {
-        invokeDirty(1, getDataSize(o));
+        invokeDirty(1, estimateDataSize(o));
     }
 
     public void invoke(long rowCount, long rowSize) {
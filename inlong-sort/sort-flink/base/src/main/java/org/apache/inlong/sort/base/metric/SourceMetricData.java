@@ -18,6 +18,7 @@
 package org.apache.inlong.sort.base.metric;
 
 import org.apache.inlong.audit.AuditOperator;
+import org.apache.inlong.sort.base.util.DataSizeEstimator;
 
 import org.apache.flink.metrics.Counter;
 import org.apache.flink.metrics.Gauge;
@@ -39,7 +40,6 @@ import static org.apache.inlong.sort.base.Constants.NUM_BYTES_IN_PER_SECOND;
 import static org.apache.inlong.sort.base.Constants.NUM_RECORDS_IN;
 import static org.apache.inlong.sort.base.Constants.NUM_RECORDS_IN_FOR_METER;
 import static org.apache.inlong.sort.base.Constants.NUM_RECORDS_IN_PER_SECOND;
-import static org.apache.inlong.sort.base.util.CalculateObjectSizeUtils.getDataSize;
 
 /**
  * A collection class for handling metrics
@@ -58,6 +58,7 @@ public class SourceMetricData implements MetricData, Serializable {
     private Meter numBytesInPerSecond;
     private AuditOperator auditOperator;
     private List<Integer> auditKeys;
+    private DataSizeEstimator dataSizeEstimator;
 
     /**
      * currentFetchEventTimeLag = FetchTime - messageTimestamp, where the FetchTime is the time the
@@ -85,6 +86,7 @@ public class SourceMetricData implements MetricData, Serializable {
     public SourceMetricData(MetricOption option, MetricGroup metricGroup) {
         this.metricGroup = metricGroup;
         this.labels = option.getLabels();
+        this.dataSizeEstimator = new DataSizeEstimator(option.getDataSizeMode(), option.getDataSizeSampleInterval());
 
         ThreadSafeCounter recordsInCounter = new ThreadSafeCounter();
         ThreadSafeCounter bytesInCounter = new ThreadSafeCounter();
@@ -112,6 +114,7 @@ public class SourceMetricData implements MetricData, Serializable {
 
     public SourceMetricData(MetricOption option) {
         this.labels = option.getLabels();
+        this.dataSizeEstimator = new DataSizeEstimator(option.getDataSizeMode(), option.getDataSizeSampleInterval());
 
         if (option.getIpPorts().isPresent()) {
             AuditOperator.getInstance().setAuditProxy(option.getIpPortList());
@@ -250,18 +253,28 @@ public class SourceMetricData implements MetricData, Serializable {
         return labels;
     }
 
+    /**
+     * Estimate the byte size of data by the data size mode of {@link MetricOption}
+     *
+     * @param data the data of record
+     * @return the byte size of data
+     */
+    public long estimateDataSize(Object data) {
+        return dataSizeEstimator.estimate(data);
+    }
+
     public void outputMetricsWithEstimate(Object data) {
-        outputMetrics(1, getDataSize(data));
+        outputMetrics(1, estimateDataSize(data));
     }
 
     public void outputMetricsWithEstimate(Object data, long fetchDelay, long emitDelay) {
-        outputMetrics(1, getDataSize(data));
+        outputMetrics(1, estimateDataSize(data));
         this.fetchDelay = fetchDelay;
         this.emitDelay = emitDelay;
     }
 
     public void outputMetricsWithEstimate(Object data, long dataTime) {
-        outputMetrics(1, getDataSize(data), dataTime);
+        outputMetrics(1, estimateDataSize(data), dataTime);
     }
 
     public void outputMetrics(long rowCountSize, long rowDataSize) {
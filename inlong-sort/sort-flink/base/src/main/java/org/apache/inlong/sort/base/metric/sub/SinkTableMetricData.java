@@ -39,7 +39,6 @@ import static org.apache.inlong.sort.base.Constants.DIRTY_BYTES_OUT;
 import static org.apache.inlong.sort.base.Constants.DIRTY_RECORDS_OUT;
 import static org.apache.inlong.sort.base.Constants.NUM_BYTES_OUT;
 import static org.apache.inlong.sort.base.Constants.NUM_RECORDS_OUT;
-import static org.apache.inlong.sort.base.util.CalculateObjectSizeUtils.getDataSize;
 
 /**
  * A collection class for handling sub metrics of table schema type
@@ -407,11 +406,11 @@ public class SinkTableMetricData extends SinkMetricData implements SinkSubMetric
      * @param data the dirty data
      */
     public void outputDirtyMetricsWithEstimate(String database, String table, Object data) {
-        outputDirtyMetrics(database, table, 1, getDataSize(data));
+        outputDirtyMetrics(database, table, 1, estimateDataSize(data));
     }
 
     public void outputDirtyMetricsWithEstimate(Object data) {
-        invokeDirty(1, getDataSize(data));
+        invokeDirty(1, estimateDataSize(data));
     }
 
     @Override
@@ -24,7 +24,6 @@ import org.apache.inlong.sort.base.metric.MetricOption.RegisteredMetric;
 import org.apache.inlong.sort.base.metric.MetricState;
 import org.apache.inlong.sort.base.metric.SourceMetricData;
 import org.apache.inlong.sort.base.metric.phase.ReadPhaseMetricData;
-import org.apache.inlong.sort.base.util.CalculateObjectSizeUtils;
 
 import com.google.common.collect.Maps;
 import org.apache.commons.lang3.StringUtils;
@@ -32,7 +31,6 @@ import org.apache.flink.metrics.MetricGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -246,7 +244,7 @@ public class SourceTableMetricData extends SourceMetricData implements SourceSub
         }
         // source metric and sub source metric output metrics
         long rowCountSize = 1L;
-        long rowDataSize = data.toString().getBytes(StandardCharsets.UTF_8).length;
+        long rowDataSize = estimateDataSize(data);
         this.outputMetrics(rowCountSize, rowDataSize);
         subSourceMetricData.outputMetrics(rowCountSize, rowDataSize);
 
@@ -279,7 +277,7 @@ public class SourceTableMetricData extends SourceMetricData implements SourceSub
         }
         // source metric and sub source metric output metrics
         long rowCountSize = 1L;
-        long rowDataSize = CalculateObjectSizeUtils.getDataSize(data);
+        long rowDataSize = estimateDataSize(data);
         this.outputMetrics(rowCountSize, rowDataSize, fetchDelay, emitDelay);
         subSourceMetricData.outputMetrics(rowCountSize, rowDataSize, fetchDelay, emitDelay);
 
@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.base.sink;
+
+import org.apache.flink.util.Preconditions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * StreamLoadBuffer holds the body of one Stream Load request.
+ * Rows are serialized into fixed-size chunks as they arrive, optionally through a gzip stream, so that
+ * a batch is never materialized as one large string or byte array. Once sealed, the body can be written
+ * to an output stream any number of times, which allows sending it with chunked transfer encoding and
+ * retrying it.
+ */
+public class StreamLoadBuffer {
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final byte[] JSON_ARRAY_START = "[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_ARRAY_DELIMITER = ",".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_ARRAY_END = "]".getBytes(StandardCharsets.UTF_8);
+
+    private final byte[] prefix;
+    private final byte[] delimiter;
+    private final byte[] suffix;
+    private final boolean compressed;
+    private final ChunkedOutputStream chunks;
+    private final OutputStream output;
+    private long rowCount;
+    private long rawSize;
+    private boolean sealed;
+    private String columns;
+
+    public StreamLoadBuffer(byte[] prefix, byte[] delimiter, byte[] suffix, boolean compressed, int chunkSize) {
+        Preconditions.checkArgument(chunkSize > 0, "chunkSize must be positive");
+        this.prefix = Preconditions.checkNotNull(prefix);
+        this.delimiter = Preconditions.checkNotNull(delimiter);
+        this.suffix = Preconditions.checkNotNull(suffix);
+        this.compressed = compressed;
+        this.chunks = new ChunkedOutputStream(chunkSize);
+        if (compressed) {
+            try {
+                this.output = new GZIPOutputStream(chunks, chunkSize);
+            } catch (IOException e) {
+                // the gzip header is written to memory and never fails
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            this.output = chunks;
+        }
+    }
+
+    /**
+     * Create a buffer whose body is a json array of the rows
+     *
+     * @param compressed Whether to gzip the body
+     * @return The buffer
+     */
+    public static StreamLoadBuffer json(boolean compressed) {
+        return new StreamLoadBuffer(JSON_ARRAY_START, JSON_ARRAY_DELIMITER, JSON_ARRAY_END, compressed,
+                DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Create a buffer whose body is the rows separated by the line delimiter
+     *
+     * @param lineDelimiter The line delimiter
+     * @param compressed Whether to gzip the body
+     * @return The buffer
+     */
+    public static StreamLoadBuffer csv(String lineDelimiter, boolean compressed) {
+        return new StreamLoadBuffer(EMPTY, lineDelimiter.getBytes(StandardCharsets.UTF_8), EMPTY, compressed,
+                DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Append a serialized row to the body
+     *
+     * @param row The serialized row
+     * @throws IOException The exception may be thrown when compressing
+     */
+    public void addRow(byte[] row) throws IOException {
+        Preconditions.checkState(!sealed, "Can not add rows to a sealed buffer");
+        write(rowCount == 0 ? prefix : delimiter);
+        write(row);
+        rowCount++;
+    }
+
+    /**
+     * Finish the body, no more rows can be added after it is sealed
+     *
+     * @throws IOException The exception may be thrown when compressing
+     */
+    public void seal() throws IOException {
+        if (sealed) {
+            return;
+        }
+        if (rowCount == 0) {
+            write(prefix);
+        }
+        write(suffix);
+        output.close();
+        sealed = true;
+    }
+
+    /**
+     * Write the body, compressed if enabled, to the output stream
+     *
+     * @param out The output stream
+     * @throws IOException The exception may be thrown when writing
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        Preconditions.checkState(sealed, "The buffer must be sealed before it is written");
+        chunks.writeTo(out);
+    }
+
+    /**
+     * Get the body, compressed if enabled, as an input stream
+     *
+     * @return The input stream of the body
+     */
+    public InputStream getInputStream() {
+        Preconditions.checkState(sealed, "The buffer must be sealed before it is read");
+        return chunks.toInputStream();
+    }
+
+    /**
+     * Get the uncompressed body, it is only meant for error handling such as archiving dirty data
+     *
+     * @return The uncompressed body
+     * @throws IOException The exception may be thrown when decompressing
+     */
+    public byte[] toByteArray() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(rawSize, Integer.MAX_VALUE));
+        try (InputStream in = compressed ? new GZIPInputStream(getInputStream()) : getInputStream()) {
+            byte[] buf = new byte[8192];
+            int len;
+            while ((len = in.read(buf)) != -1) {
+                out.write(buf, 0, len);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        output.write(bytes);
+        rawSize += bytes.length;
+    }
+
+    public boolean isEmpty() {
+        return rowCount == 0;
+    }
+
+    public boolean isSealed() {
+        return sealed;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Get the size of the uncompressed body
+     *
+     * @return The uncompressed size
+     */
+    public long getRawSize() {
+        return rawSize;
+    }
+
+    /**
+     * Get the size of the body that is held in memory, it is the compressed size if compression is enabled
+     *
+     * @return The size in memory
+     */
+    public long getSize() {
+        return chunks.size();
+    }
+
+    public String getColumns() {
+        return columns;
+    }
+
+    public void setColumns(String columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * An output stream that grows by appending fixed-size chunks instead of copying into a bigger array
+     */
+    private static class ChunkedOutputStream extends OutputStream {
+
+        private final int chunkSize;
+        private final List<byte[]> chunks = new ArrayList<>();
+        private byte[] current;
+        private int position;
+        private long size;
+
+        private ChunkedOutputStream(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity();
+            current[position++] = (byte) b;
+            size++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            while (len > 0) {
+                ensureCapacity();
+                int n = Math.min(len, chunkSize - position);
+                System.arraycopy(b, off, current, position, n);
+                position += n;
+                off += n;
+                len -= n;
+                size += n;
+            }
+        }
+
+        private void ensureCapacity() {
+            if (current == null || position == chunkSize) {
+                current = new byte[chunkSize];
+                chunks.add(current);
+                position = 0;
+            }
+        }
+
+        private long size() {
+            return size;
+        }
+
+        private void writeTo(OutputStream out) throws IOException {
+            for (int i = 0; i < chunks.size(); i++) {
+                out.write(chunks.get(i), 0, chunkLength(i));
+            }
+        }
+
+        private InputStream toInputStream() {
+            List<InputStream> streams = new ArrayList<>(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                streams.add(new ByteArrayInputStream(chunks.get(i), 0, chunkLength(i)));
+            }
+            return new SequenceInputStream(Collections.enumeration(streams));
+        }
+
+        private int chunkLength(int index) {
+            return index == chunks.size() - 1 ? position : chunkSize;
+        }
+    }
+}
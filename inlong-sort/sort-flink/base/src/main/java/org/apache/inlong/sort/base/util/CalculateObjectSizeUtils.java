@@ -17,18 +17,32 @@
 
 package org.apache.inlong.sort.base.util;
 
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.JsonNode;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.data.binary.BinaryArrayData;
+import org.apache.flink.table.data.binary.BinaryMapData;
 import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.binary.BinaryStringData;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
 
 /**
  * calculate tool for object
  */
 public class CalculateObjectSizeUtils {
 
+    private static final boolean CONNECT_DATA_PRESENT = isClassPresent("org.apache.kafka.connect.data.Struct");
+
     /**
      * {@link BinaryRowData} don't implement the {@link Object#toString} method
      * So, we need use {@link BinaryRowData#getSizeInBytes} to get byte size.
+     * Byte arrays, strings, {@link GenericRowData}, {@link JsonNode} and the kafka connect Struct of debezium
+     * are measured without building the string of the whole object, other objects fall back to the byte size
+     * of {@link Object#toString}.
      */
     public static long getDataSize(Object object) {
         if (object == null) {
@@ -38,10 +52,129 @@ public class CalculateObjectSizeUtils {
         if (object instanceof BinaryRowData) {
             BinaryRowData binaryRowData = (BinaryRowData) object;
             size = binaryRowData.getSizeInBytes();
+        } else if (object instanceof byte[]) {
+            size = ((byte[]) object).length;
+        } else if (object instanceof CharSequence) {
+            size = getUtf8Length((CharSequence) object);
+        } else if (object instanceof GenericRowData) {
+            size = getRowDataSize((GenericRowData) object);
+        } else if (object instanceof JsonNode) {
+            size = getJsonNodeSize((JsonNode) object);
+        } else if (CONNECT_DATA_PRESENT && ConnectDataSizeUtils.isStruct(object)) {
+            size = ConnectDataSizeUtils.getStructSize(object);
         } else {
             size = object.toString().getBytes(StandardCharsets.UTF_8).length;
         }
         return size;
     }
 
+    /**
+     * Calculate the byte size of {@link GenericRowData} by the size of each field,
+     * fixed-length fields are counted by their binary width.
+     */
+    private static long getRowDataSize(GenericRowData rowData) {
+        long size = 0L;
+        for (int i = 0; i < rowData.getArity(); i++) {
+            size += getFieldSize(rowData.getField(i));
+        }
+        return size;
+    }
+
+    static long getFieldSize(Object field) {
+        if (field == null) {
+            return 0L;
+        }
+        if (field instanceof BinaryStringData) {
+            return ((BinaryStringData) field).getSizeInBytes();
+        }
+        if (field instanceof Boolean || field instanceof Byte) {
+            return Byte.BYTES;
+        }
+        if (field instanceof Short) {
+            return Short.BYTES;
+        }
+        if (field instanceof Integer || field instanceof Float) {
+            return Integer.BYTES;
+        }
+        if (field instanceof Long || field instanceof Double) {
+            return Long.BYTES;
+        }
+        if (field instanceof TimestampData) {
+            return Long.BYTES + Integer.BYTES;
+        }
+        if (field instanceof DecimalData) {
+            return DecimalData.isCompact(((DecimalData) field).precision()) ? Long.BYTES : 2 * Long.BYTES;
+        }
+        if (field instanceof BinaryArrayData) {
+            return ((BinaryArrayData) field).getSizeInBytes();
+        }
+        if (field instanceof BinaryMapData) {
+            return ((BinaryMapData) field).getSizeInBytes();
+        }
+        return getDataSize(field);
+    }
+
+    /**
+     * Calculate the byte size of {@link JsonNode} by the length of its json text without writing it.
+     * Escaped characters are counted as themselves.
+     */
+    private static long getJsonNodeSize(JsonNode node) {
+        if (node.isObject()) {
+            long size = 2L + Math.max(node.size() - 1, 0);
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                // the quoted name and the colon
+                size += getUtf8Length(field.getKey()) + 3 + getJsonNodeSize(field.getValue());
+            }
+            return size;
+        }
+        if (node.isArray()) {
+            long size = 2L + Math.max(node.size() - 1, 0);
+            for (JsonNode element : node) {
+                size += getJsonNodeSize(element);
+            }
+            return size;
+        }
+        if (node.isMissingNode()) {
+            return 0L;
+        }
+        if (node.isTextual() || node.isBinary()) {
+            return getUtf8Length(node.asText()) + 2;
+        }
+        return getUtf8Length(node.asText());
+    }
+
+    private static boolean isClassPresent(String className) {
+        try {
+            Class.forName(className, false, CalculateObjectSizeUtils.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Calculate the utf-8 encoded length of chars without encoding them.
+     */
+    private static long getUtf8Length(CharSequence chars) {
+        long size = 0L;
+        int length = chars.length();
+        for (int i = 0; i < length; i++) {
+            char c = chars.charAt(i);
+            if (c < 0x80) {
+                size++;
+            } else if (c < 0x800) {
+                size += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                size += 4;
+                i++;
+            } else {
+                size += 3;
+            }
+        }
+        return size;
+    }
+
 }
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.base.util;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Calculate the byte size of kafka connect {@link Struct}, the record value of debezium,
+ * by the size of each field without building the string of the whole struct.
+ * It is only loaded when kafka connect is on the classpath.
+ */
+class ConnectDataSizeUtils {
+
+    private ConnectDataSizeUtils() {
+    }
+
+    static boolean isStruct(Object object) {
+        return object instanceof Struct;
+    }
+
+    static long getStructSize(Object object) {
+        Struct struct = (Struct) object;
+        long size = 0L;
+        for (Field field : struct.schema().fields()) {
+            size += getValueSize(struct.getWithoutDefault(field.name()));
+        }
+        return size;
+    }
+
+    private static long getValueSize(Object value) {
+        if (value == null) {
+            return 0L;
+        }
+        if (value instanceof Struct) {
+            return getStructSize(value);
+        }
+        if (value instanceof ByteBuffer) {
+            return ((ByteBuffer) value).remaining();
+        }
+        if (value instanceof Collection) {
+            long size = 0L;
+            for (Object element : (Collection<?>) value) {
+                size += getValueSize(element);
+            }
+            return size;
+        }
+        if (value instanceof Map) {
+            long size = 0L;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += getValueSize(entry.getKey()) + getValueSize(entry.getValue());
+            }
+            return size;
+        }
+        return CalculateObjectSizeUtils.getFieldSize(value);
+    }
+}
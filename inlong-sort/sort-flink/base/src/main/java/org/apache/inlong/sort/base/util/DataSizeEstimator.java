@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.base.util;
+
+import org.apache.inlong.sort.base.metric.MetricOption.DataSizeMode;
+
+import java.io.Serializable;
+
+import static org.apache.inlong.sort.base.util.CalculateObjectSizeUtils.getDataSize;
+
+/**
+ * Estimate the byte size of records for metrics by the {@link DataSizeMode}:
+ * EXACT calculates every record, SAMPLED calculates one record of every sample interval and reuses the
+ * sampled size for the others, OFF does not calculate the size.
+ * It is not thread-safe, concurrent calls only make the sampled size less accurate.
+ */
+public class DataSizeEstimator implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final DataSizeMode mode;
+    private final int sampleInterval;
+    private long recordCount;
+    private long sampledSize;
+
+    public DataSizeEstimator(DataSizeMode mode, int sampleInterval) {
+        this.mode = mode == null ? DataSizeMode.EXACT : mode;
+        this.sampleInterval = Math.max(sampleInterval, 1);
+    }
+
+    public long estimate(Object data) {
+        switch (mode) {
+            case OFF:
+                return 0L;
+            case SAMPLED:
+                if (recordCount++ % sampleInterval == 0) {
+                    sampledSize = getDataSize(data);
+                }
+                return sampledSize;
+            default:
+                return getDataSize(data);
+        }
+    }
+
+    public DataSizeMode getMode() {
+        return mode;
+    }
+
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+}
@@ -28,6 +28,7 @@ import org.junit.Test;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -90,6 +91,8 @@ public class CanalJsonDynamicSchemaFormatTest extends DynamicSchemaFormatBaseTes
         expectedValues.put("prefix_${database}_${table}_suffix", "prefix_inventory_products_suffix");
         expectedValues.put("${ \t database \t }${ table }", "inventoryproducts");
         expectedValues.put("${database}_${table}_${id}_${name}", "inventory_products_111_scooter");
+        expectedValues.put("${mysqlType.name}", "VARCHAR(255)");
+        expectedValues.put("static_table", "static_table");
         return expectedValues;
     }
 
@@ -108,6 +111,48 @@ public class CanalJsonDynamicSchemaFormatTest extends DynamicSchemaFormatBaseTes
         Assert.assertEquals(values, Collections.singletonList("111"));
     }
 
+    @Test
+    public void testExtractValuesFromBytes() throws IOException {
+        byte[] message = getSource().getBytes(StandardCharsets.UTF_8);
+        List<String> values = getDynamicSchemaFormat().extractValues(message, "id", "name", "database", "es");
+        Assert.assertEquals(Arrays.asList("111", "scooter", "inventory", "1589373560000"), values);
+    }
+
+    @Test
+    public void testParseIdentifier() throws IOException {
+        JsonDynamicSchemaFormat jsonFormat = (JsonDynamicSchemaFormat) getDynamicSchemaFormat();
+        JsonNode rootNode = jsonFormat.deserialize(getSource().getBytes(StandardCharsets.UTF_8));
+        String identifier = jsonFormat.parseIdentifier(rootNode, "${database}", "${table}");
+        Assert.assertEquals("inventory.products", identifier);
+        Assert.assertEquals("inventory.public.products",
+                jsonFormat.parseIdentifier(rootNode, "${database}", "public", "${table}"));
+    }
+
+    @Test
+    public void testReadRoutingFields() throws IOException {
+        JsonDynamicSchemaFormat jsonFormat = (JsonDynamicSchemaFormat) getDynamicSchemaFormat();
+        JsonNode routingNode = jsonFormat.readRoutingFields(getSource().getBytes(StandardCharsets.UTF_8),
+                "${database}", "${table}");
+        Assert.assertFalse(jsonFormat.extractDDLFlag(routingNode));
+        Assert.assertEquals("inventory.products",
+                jsonFormat.parseIdentifier(routingNode, "${database}", "${table}"));
+        Assert.assertFalse(routingNode.has("mysqlType"));
+
+        String ddl = "{\"data\":null,\"database\":\"inventory\",\"table\":\"products\",\"ddl\":true,"
+                + "\"sql\":\"ALTER TABLE products ADD COLUMN price DOUBLE\",\"type\":\"ALTER\"}";
+        routingNode = jsonFormat.readRoutingFields(ddl.getBytes(StandardCharsets.UTF_8), "${database}", "${table}");
+        Assert.assertTrue(jsonFormat.extractDDLFlag(routingNode));
+        Assert.assertEquals("inventory.products",
+                jsonFormat.parseIdentifier(routingNode, "${database}", "${table}"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testParseWithMissingKey() throws IOException {
+        JsonNode rootNode = (JsonNode) getDynamicSchemaFormat()
+                .deserialize(getSource().getBytes(StandardCharsets.UTF_8));
+        getDynamicSchemaFormat().parse(rootNode, "${database}_${not_exists}");
+    }
+
     @Test
     public void testExtractRowData() throws IOException {
         JsonNode rootNode = (JsonNode) getDynamicSchemaFormat()
@@ -24,6 +24,7 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -60,4 +61,17 @@ public abstract class DynamicSchemaFormatBaseTest<T> {
         }
     }
 
+    @Test
+    public void testParseFromBytes() throws IOException {
+        byte[] message = source.getBytes(StandardCharsets.UTF_8);
+        for (Entry<String, String> kvs : expectedValues.entrySet()) {
+            Assert.assertEquals(kvs.getValue(), dynamicSchemaFormat.parse(message, kvs.getKey()));
+        }
+        String[] patterns = expectedValues.keySet().toArray(new String[0]);
+        List<String> results = dynamicSchemaFormat.parseAll(message, patterns);
+        for (int i = 0; i < patterns.length; i++) {
+            Assert.assertEquals(expectedValues.get(patterns[i]), results.get(i));
+        }
+    }
+
 }
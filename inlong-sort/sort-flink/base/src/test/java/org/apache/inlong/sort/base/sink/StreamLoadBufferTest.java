@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.base.sink;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Test for {@link StreamLoadBuffer}
+ */
+public class StreamLoadBufferTest {
+
+    @Test
+    public void testJson() throws IOException {
+        StreamLoadBuffer buffer = StreamLoadBuffer.json(false);
+        Assert.assertTrue(buffer.isEmpty());
+        buffer.addRow("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        buffer.addRow("{\"id\":2}".getBytes(StandardCharsets.UTF_8));
+        buffer.seal();
+        String expected = "[{\"id\":1},{\"id\":2}]";
+        Assert.assertEquals(2, buffer.getRowCount());
+        Assert.assertEquals(expected.length(), buffer.getRawSize());
+        Assert.assertEquals(expected.length(), buffer.getSize());
+        Assert.assertEquals(expected, write(buffer));
+        // the body can be written again when retrying
+        Assert.assertEquals(expected, write(buffer));
+        Assert.assertEquals(expected, new String(buffer.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testEmptyJson() throws IOException {
+        StreamLoadBuffer buffer = StreamLoadBuffer.json(false);
+        buffer.seal();
+        Assert.assertEquals("[]", write(buffer));
+    }
+
+    @Test
+    public void testCsvAcrossChunks() throws IOException {
+        StreamLoadBuffer buffer = new StreamLoadBuffer(new byte[0], "\n".getBytes(StandardCharsets.UTF_8),
+                new byte[0], false, 4);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            String row = "1\tname_" + i;
+            buffer.addRow(row.getBytes(StandardCharsets.UTF_8));
+            expected.append(i == 0 ? "" : "\n").append(row);
+        }
+        buffer.seal();
+        Assert.assertEquals(expected.toString(), write(buffer));
+        Assert.assertEquals(expected.toString(), new String(buffer.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testCompressed() throws IOException {
+        StreamLoadBuffer buffer = StreamLoadBuffer.csv("\n", true);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            String row = "1\tsame_name";
+            buffer.addRow(row.getBytes(StandardCharsets.UTF_8));
+            expected.append(i == 0 ? "" : "\n").append(row);
+        }
+        buffer.seal();
+        Assert.assertEquals(expected.length(), buffer.getRawSize());
+        Assert.assertTrue(buffer.getSize() < buffer.getRawSize());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPInputStream in = new GZIPInputStream(buffer.getInputStream())) {
+            byte[] buf = new byte[1024];
+            int len;
+            while ((len = in.read(buf)) != -1) {
+                out.write(buf, 0, len);
+            }
+        }
+        Assert.assertEquals(expected.toString(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+        Assert.assertEquals(expected.toString(), new String(buffer.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAddAfterSeal() throws IOException {
+        StreamLoadBuffer buffer = StreamLoadBuffer.json(false);
+        buffer.seal();
+        buffer.addRow("{}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String write(StreamLoadBuffer buffer) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        buffer.writeTo(out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -18,10 +18,20 @@
 package org.apache.inlong.sort.base.util;
 
 import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.JsonNode;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
 import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 /**
  * Test for {@link CalculateObjectSizeUtils}
  */
@@ -51,5 +61,58 @@ public class CalculateObjectSizeUtilsTest {
         long expected3 = 8L;
         long actual3 = CalculateObjectSizeUtils.getDataSize(EMPTY_ROW);
         Assert.assertEquals(expected3, actual3);
+
+        String data4 = "caf\u00e9";
+        long expected4 = 5L;
+        long actual4 = CalculateObjectSizeUtils.getDataSize(data4);
+        Assert.assertEquals(expected4, actual4);
+
+        byte[] data5 = new byte[16];
+        long expected5 = 16L;
+        long actual5 = CalculateObjectSizeUtils.getDataSize(data5);
+        Assert.assertEquals(expected5, actual5);
+    }
+
+    @Test
+    public void testGetGenericRowDataSize() {
+        GenericRowData rowData = GenericRowData.of(1L, StringData.fromString("test"), null, 1);
+        long expected = 16L;
+        long actual = CalculateObjectSizeUtils.getDataSize(rowData);
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testGetJsonNodeSize() throws Exception {
+        String json = "{\"id\":1,\"name\":\"caf\u00e9\",\"tags\":[\"a\",true,null],\"empty\":{},\"score\":1.5}";
+        JsonNode node = new ObjectMapper().readTree(json);
+        long expected = json.getBytes(StandardCharsets.UTF_8).length;
+        long actual = CalculateObjectSizeUtils.getDataSize(node);
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testGetStructSize() {
+        Schema valueSchema = SchemaBuilder.struct()
+                .field("id", Schema.INT64_SCHEMA)
+                .field("name", Schema.OPTIONAL_STRING_SCHEMA)
+                .field("flag", Schema.OPTIONAL_BOOLEAN_SCHEMA)
+                .field("scores", SchemaBuilder.array(Schema.INT32_SCHEMA).optional().build())
+                .build();
+        Schema envelopeSchema = SchemaBuilder.struct()
+                .field("before", SchemaBuilder.struct().optional().build())
+                .field("after", valueSchema)
+                .field("op", Schema.STRING_SCHEMA)
+                .build();
+        Struct after = new Struct(valueSchema)
+                .put("id", 1L)
+                .put("name", "caf\u00e9")
+                .put("scores", Arrays.asList(1, 2));
+        Struct envelope = new Struct(envelopeSchema)
+                .put("after", after)
+                .put("op", "c");
+        // 8 bytes of id, 5 bytes of name, 2 * 4 bytes of scores and 1 byte of op
+        long expected = 22L;
+        long actual = CalculateObjectSizeUtils.getDataSize(envelope);
+        Assert.assertEquals(expected, actual);
     }
 }
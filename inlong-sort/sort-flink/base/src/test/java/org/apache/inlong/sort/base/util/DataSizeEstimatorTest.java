@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.base.util;
+
+import org.apache.inlong.sort.base.metric.MetricOption.DataSizeMode;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for {@link DataSizeEstimator}
+ */
+public class DataSizeEstimatorTest {
+
+    @Test
+    public void testExactMode() {
+        DataSizeEstimator estimator = new DataSizeEstimator(DataSizeMode.EXACT, 10);
+        Assert.assertEquals(4L, estimator.estimate("test"));
+        Assert.assertEquals(2L, estimator.estimate("te"));
+    }
+
+    @Test
+    public void testSampledMode() {
+        DataSizeEstimator estimator = new DataSizeEstimator(DataSizeMode.SAMPLED, 2);
+        Assert.assertEquals(4L, estimator.estimate("test"));
+        // the second record reuses the sampled size
+        Assert.assertEquals(4L, estimator.estimate("te"));
+        Assert.assertEquals(1L, estimator.estimate("t"));
+    }
+
+    @Test
+    public void testOffMode() {
+        DataSizeEstimator estimator = new DataSizeEstimator(DataSizeMode.OFF, 10);
+        Assert.assertEquals(0L, estimator.estimate("test"));
+    }
+}
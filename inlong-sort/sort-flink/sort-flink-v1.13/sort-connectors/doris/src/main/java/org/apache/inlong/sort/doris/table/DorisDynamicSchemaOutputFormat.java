@@ -27,6 +27,7 @@ import org.apache.inlong.sort.base.metric.MetricOption;
 import org.apache.inlong.sort.base.metric.MetricState;
 import org.apache.inlong.sort.base.metric.sub.SinkTableMetricData;
 import org.apache.inlong.sort.base.sink.SchemaUpdateExceptionPolicy;
+import org.apache.inlong.sort.base.sink.StreamLoadBuffer;
 import org.apache.inlong.sort.base.util.CalculateObjectSizeUtils;
 import org.apache.inlong.sort.base.util.MetricStateUtils;
 import org.apache.inlong.sort.doris.model.RespContent;
@@ -71,13 +72,18 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -127,17 +133,21 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
     private static final String ESCAPE_DELIMITERS_KEY = "escape_delimiters";
     private static final String ESCAPE_DELIMITERS_DEFAULT = "false";
     private static final String UNIQUE_KEYS_TYPE = "UNIQUE_KEYS";
-    @SuppressWarnings({"rawtypes"})
-    private final Map<String, List> batchMap = new HashMap<>();
+    private static final String COMPRESS_TYPE_KEY = "compress_type";
+    private static final String COMPRESS_TYPE_GZ = "gz";
+    /**
+     * The rows of each table are serialized into its buffer as they arrive
+     */
+    private final Map<String, StreamLoadBuffer> batchMap = new HashMap<>();
     private final Map<String, String> columnsMap = new HashMap<>();
     /**
      * data will not be submitted when table is in errorTables list
      */
-    private final List<String> errorTables = new ArrayList<>();
+    private final Set<String> errorTables = ConcurrentHashMap.newKeySet();
     private final DorisOptions options;
     private final DorisReadOptions readOptions;
     private final DorisExecutionOptions executionOptions;
-    private final Map<String, Exception> flushExceptionMap = new HashMap<>();
+    private final Map<String, Exception> flushExceptionMap = new ConcurrentHashMap<>();
     private final AtomicLong readInNum = new AtomicLong(0);
     private final AtomicLong writeOutNum = new AtomicLong(0);
     private final AtomicLong errorNum = new AtomicLong(0);
@@ -156,6 +166,7 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
     private final boolean enableSchemaChange;
     @Nullable
     private final String schemaChangePolicies;
+    private final int flushParallelism;
     private long batchBytes = 0L;
     private int size;
     private DorisStreamLoad dorisStreamLoad;
@@ -163,6 +174,15 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
     private transient volatile boolean flushing = false;
     private transient ScheduledExecutorService scheduler;
     private transient ScheduledFuture<?> scheduledFuture;
+    private transient ExecutorService flushExecutor;
+    /**
+     * The in-flight stream load of each table, there is at most one for a table so that its loads stay in order
+     */
+    private transient Map<String, Future<?>> tableFlushFutureMap;
+    /**
+     * Guards the dirty sink and the metrics, which are reported from both the task thread and the flush threads
+     */
+    private transient Object reportLock;
     private transient JsonDynamicSchemaFormat jsonDynamicSchemaFormat;
     private transient SinkTableMetricData metricData;
     private transient ListState<MetricState> metricStateListState;
@@ -172,6 +192,8 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
     private String fieldDelimiter;
     private String lineDelimiter;
     private String columns;
+    private boolean csvFormat;
+    private boolean compressed;
     private DirtySinkHelper<Object> dirtySinkHelper;
     private transient Schema schema;
     private SchemaChangeHelper helper;
@@ -193,7 +215,8 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
             DirtyOptions dirtyOptions,
             @Nullable DirtySink<Object> dirtySink,
             boolean enableSchemaChange,
-            @Nullable String schemaChangePolicies) {
+            @Nullable String schemaChangePolicies,
+            int flushParallelism) {
         this.options = option;
         this.readOptions = readOptions;
         this.executionOptions = executionOptions;
@@ -211,6 +234,7 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
         this.dirtySinkHelper = new DirtySinkHelper<>(dirtyOptions, dirtySink);
         this.enableSchemaChange = enableSchemaChange;
         this.schemaChangePolicies = schemaChangePolicies;
+        this.flushParallelism = flushParallelism;
         handleStreamLoadProp();
     }
 
@@ -233,6 +257,13 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
             this.lineDelimiter = DorisParseUtils.escapeString(lineDelimiter);
             props.remove(ESCAPE_DELIMITERS_KEY);
         }
+        this.csvFormat = FORMAT_CSV_VALUE.equalsIgnoreCase(props.getProperty(FORMAT_KEY, FORMAT_JSON_VALUE));
+        String compressType = props.getProperty(COMPRESS_TYPE_KEY);
+        if (compressType != null && !COMPRESS_TYPE_GZ.equalsIgnoreCase(compressType)) {
+            throw new IllegalArgumentException(String.format("Unsupported %s: %s, only '%s' is supported",
+                    COMPRESS_TYPE_KEY, compressType, COMPRESS_TYPE_GZ));
+        }
+        this.compressed = compressType != null;
 
         // save `sink.properties.columns` parameter from options
         this.columns = (String) props.get(COLUMNS_KEY);
@@ -306,6 +337,10 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
             }
         }
         dirtySinkHelper.open(new Configuration());
+        this.reportLock = new Object();
+        this.tableFlushFutureMap = new HashMap<>();
+        this.flushExecutor = Executors.newFixedThreadPool(multipleSink ? flushParallelism : 1,
+                new ExecutorThreadFactory("doris-streamload-flush"));
         if (executionOptions.getBatchIntervalMs() != 0 && executionOptions.getBatchSize() != 1) {
             this.scheduler = new ScheduledThreadPoolExecutor(1,
                     new ExecutorThreadFactory("doris-streamload-output-format"));
@@ -328,17 +363,41 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
         return true;
     }
 
+    /**
+     * Check whether the raw data belongs to a table skipped because of its flush exception.
+     * Only the routing fields are read, so the records of the skipped tables are dropped without deserializing
+     * them. It is checked only when some table has failed, otherwise the raw data would be read twice.
+     * The ddl is not skipped, which is the same as the check after deserializing.
+     */
+    private boolean isSkippedByRoute(byte[] message) {
+        if (flushExceptionMap.isEmpty() || SchemaUpdateExceptionPolicy.LOG_WITH_IGNORE == schemaUpdatePolicy) {
+            return false;
+        }
+        String tableIdentifier;
+        try {
+            JsonNode routingNode = jsonDynamicSchemaFormat.readRoutingFields(message, databasePattern, tablePattern);
+            if (routingNode == null || jsonDynamicSchemaFormat.extractDDLFlag(routingNode)) {
+                return false;
+            }
+            tableIdentifier = jsonDynamicSchemaFormat.parseIdentifier(routingNode, databasePattern, tablePattern);
+        } catch (Exception e) {
+            // the raw data is handled as dirty data after deserializing
+            return false;
+        }
+        return checkFlushException(tableIdentifier);
+    }
+
     @Override
     public synchronized void writeRecord(T row) throws IOException {
         addBatch(row);
         boolean valid = (executionOptions.getBatchSize() > 0 && size >= executionOptions.getBatchSize())
                 || batchBytes >= executionOptions.getMaxBatchBytes();
         if (valid && !flushing) {
-            flush();
+            flushAsync();
         }
     }
 
-    public void addSingle(T row) {
+    public void addSingle(T row) throws IOException {
         if (row instanceof RowData) {
             try {
                 RowData rowData = (RowData) row;
@@ -349,14 +408,9 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
                     if (jsonFormat) {
                         String data = field != null ? field.toString() : null;
                         valueMap.put(this.fieldNames[i], data);
-                        batchBytes += this.fieldNames[i].getBytes(StandardCharsets.UTF_8).length;
-                        if (data != null) {
-                            batchBytes += data.getBytes(StandardCharsets.UTF_8).length;
-                        }
                     } else {
                         String data = field != null ? field.toString() : NULL_VALUE;
                         value.add(data);
-                        batchBytes += data.getBytes(StandardCharsets.UTF_8).length;
                     }
                 }
                 // add doris delete sign
@@ -368,9 +422,7 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
                     }
                 }
                 Object data = jsonFormat ? valueMap : value.toString();
-                List mapData = batchMap.getOrDefault(tableIdentifier, new ArrayList<String>());
-                mapData.add(data);
-                batchMap.putIfAbsent(tableIdentifier, mapData);
+                appendRow(tableIdentifier, data);
             } catch (Exception e) {
                 LOG.error(String.format("serialize error, raw data: %s", row), e);
                 if (SchemaUpdateExceptionPolicy.LOG_WITH_IGNORE == schemaUpdatePolicy) {
@@ -378,10 +430,7 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
                 }
             }
         } else if (row instanceof String) {
-            batchBytes += ((String) row).getBytes(StandardCharsets.UTF_8).length;
-            List mapData = batchMap.getOrDefault(tableIdentifier, new ArrayList<String>());
-            mapData.add(row);
-            batchMap.putIfAbsent(tableIdentifier, mapData);
+            appendRow(tableIdentifier, row);
         } else {
             LOG.error(String.format("The type of element should be 'RowData' or 'String' only., raw data: %s", row));
             if (SchemaUpdateExceptionPolicy.LOG_WITH_IGNORE == schemaUpdatePolicy) {
@@ -400,6 +449,9 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
         }
         if (row instanceof RowData) {
             RowData rowData = (RowData) row;
+            if (isSkippedByRoute(rowData.getBinary(0))) {
+                return;
+            }
             JsonNode rootNode;
             try {
                 rootNode = jsonDynamicSchemaFormat.deserialize(rowData.getBinary(0));
@@ -423,9 +475,7 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
             List<Map<String, String>> physicalDataList;
             List<Map<String, String>> updateBeforeList = null;
             try {
-                tableIdentifier = StringUtils.join(
-                        jsonDynamicSchemaFormat.parse(rootNode, databasePattern), ".",
-                        jsonDynamicSchemaFormat.parse(rootNode, tablePattern));
+                tableIdentifier = jsonDynamicSchemaFormat.parseIdentifier(rootNode, databasePattern, tablePattern);
                 if (checkFlushException(tableIdentifier)) {
                     return;
                 }
@@ -465,7 +515,6 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
         }
     }
 
-    @SuppressWarnings({"unchecked"})
     private void addRow(RowKind rowKind, JsonNode rootNode, JsonNode physicalNode, JsonNode updateBeforeNode,
             Map<String, String> physicalData, Map<String, String> updateBeforeData) throws IOException {
         String database = jsonDynamicSchemaFormat.parse(rootNode, databasePattern);
@@ -482,43 +531,114 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
             case INSERT:
             case UPDATE_AFTER:
                 handleColumnsChange(tableIdentifier, rootNode, physicalNode);
-                batchBytes += physicalData.toString().getBytes(StandardCharsets.UTF_8).length;
-                size++;
-                batchMap.computeIfAbsent(tableIdentifier, k -> new ArrayList<>())
-                        .add(physicalData);
                 if (enableBatchDelete()) {
                     physicalData.put(DORIS_DELETE_SIGN, DORIS_DELETE_FALSE);
                 }
+                appendRow(tableIdentifier, physicalData);
                 break;
             case DELETE:
                 handleColumnsChange(tableIdentifier, rootNode, physicalNode);
-                batchBytes += physicalData.toString().getBytes(StandardCharsets.UTF_8).length;
-                size++;
                 // add doris delete sign
                 if (enableBatchDelete()) {
                     physicalData.put(DORIS_DELETE_SIGN, DORIS_DELETE_TRUE);
                 }
-                batchMap.computeIfAbsent(tableIdentifier, k -> new ArrayList<>())
-                        .add(physicalData);
+                appendRow(tableIdentifier, physicalData);
                 break;
             case UPDATE_BEFORE:
                 if (updateBeforeData != null) {
                     handleColumnsChange(tableIdentifier, rootNode, updateBeforeNode);
-                    batchBytes += updateBeforeData.toString()
-                            .getBytes(StandardCharsets.UTF_8).length;
-                    size++;
                     // add doris delete sign
                     if (enableBatchDelete()) {
                         updateBeforeData.put(DORIS_DELETE_SIGN, DORIS_DELETE_TRUE);
                     }
-                    batchMap.computeIfAbsent(tableIdentifier, k -> new ArrayList<>())
-                            .add(updateBeforeData);
+                    appendRow(tableIdentifier, updateBeforeData);
                 }
                 break;
             default:
         }
     }
 
+    /**
+     * Serialize the row into the buffer of the table, so that a batch is never held as objects
+     *
+     * @param tableIdentifier The table identifier
+     * @param row The row, it is a map of the fields or a string
+     * @throws IOException The exception may be thrown when serializing
+     */
+    private void appendRow(String tableIdentifier, Object row) throws IOException {
+        StreamLoadBuffer buffer = batchMap.computeIfAbsent(tableIdentifier,
+                k -> csvFormat ? StreamLoadBuffer.csv(lineDelimiter, compressed) : StreamLoadBuffer.json(compressed));
+        byte[] data = csvFormat ? serializeCsv(buffer, row) : OBJECT_MAPPER.writeValueAsBytes(row);
+        buffer.addRow(data);
+        batchBytes += data.length;
+        size++;
+    }
+
+    /**
+     * Format a row to a csv line, the columns of the buffer are set by its first row
+     *
+     * @param buffer The buffer of the table
+     * @param row The row
+     * @return The csv line
+     */
+    @SuppressWarnings({"unchecked"})
+    private byte[] serializeCsv(StreamLoadBuffer buffer, Object row) {
+        if (!(row instanceof Map)) {
+            return String.valueOf(row).getBytes(StandardCharsets.UTF_8);
+        }
+        Map<String, String> map = (Map<String, String>) row;
+        if (buffer.isEmpty()) {
+            Set<String> fieldNameSet = new LinkedHashSet<>(map.keySet());
+            // when single table synchronizing, parameter `sink.properties.columns` in options may
+            // contain hll or bitmap function.
+            // columns: dt,id,name,province,os, pv=hll_hash(id)
+            if (this.columns != null) {
+                for (String fieldName : this.columns.split(",")) {
+                    if (fieldName.contains("=")) {
+                        fieldNameSet.add(fieldName);
+                    }
+                }
+            }
+            buffer.setColumns(StringUtils.join(fieldNameSet, ","));
+        }
+        StringJoiner csvData = new StringJoiner(this.fieldDelimiter);
+        for (String val : map.values()) {
+            csvData.add(null == val ? NULL_VALUE : val);
+        }
+        return csvData.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read the rows back from a buffer, it is only used to archive dirty data when a load fails
+     *
+     * @param buffer The buffer
+     * @return The rows, json nodes for json format, and maps of the columns or strings for csv format
+     * @throws IOException The exception may be thrown when parsing
+     */
+    private List<Object> readRows(StreamLoadBuffer buffer) throws IOException {
+        List<Object> rows = new ArrayList<>();
+        byte[] content = buffer.toByteArray();
+        if (!csvFormat) {
+            OBJECT_MAPPER.readTree(content).forEach(rows::add);
+            return rows;
+        }
+        String[] columnNames = buffer.getColumns() == null ? null : buffer.getColumns().split(",");
+        for (String line : StringUtils.splitByWholeSeparator(
+                new String(content, StandardCharsets.UTF_8), lineDelimiter)) {
+            if (columnNames == null) {
+                rows.add(line);
+                continue;
+            }
+            String[] values = StringUtils.splitByWholeSeparatorPreserveAllTokens(line, fieldDelimiter);
+            Map<String, String> row = new LinkedHashMap<>();
+            for (int i = 0; i < values.length && i < columnNames.length; i++) {
+                row.put(columnNames[i], NULL_VALUE.equals(values[i]) ? null : values[i]);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
     private void fillDirtySink(JsonNode rootNode, Map<String, String> physicalData,
             Map<String, String> updateBeforeData, String database, String table)
             throws IOException {
@@ -551,26 +671,28 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
     private void handleDirtyData(Object dirtyData, DirtyType dirtyType, Exception e) {
         errorNum.incrementAndGet();
 
-        if (multipleSink) {
-            if (dirtyType == DirtyType.DESERIALIZE_ERROR) {
-                LOG.error("database and table can't be identified, will use default ${database}${table}");
-            } else {
-                try {
-                    handleMultipleDirtyData(dirtyData, dirtyType, e);
-                } catch (Exception ex) {
-                    throw new RuntimeException(ex);
+        synchronized (reportLock) {
+            if (multipleSink) {
+                if (dirtyType == DirtyType.DESERIALIZE_ERROR) {
+                    LOG.error("database and table can't be identified, will use default ${database}${table}");
+                } else {
+                    try {
+                        handleMultipleDirtyData(dirtyData, dirtyType, e);
+                    } catch (Exception ex) {
+                        throw new RuntimeException(ex);
+                    }
+                    return;
                 }
-                return;
             }
-        }
 
-        DirtyOptions dirtyOptions = dirtySinkHelper.getDirtyOptions();
-        if (dirtyOptions.ignoreDirty()) {
-            dirtySinkHelper.invoke(dirtyData, dirtyType, dirtyOptions.getLabels(), dirtyOptions.getLogTag(),
-                    dirtyOptions.getIdentifier(), e);
-        }
+            DirtyOptions dirtyOptions = dirtySinkHelper.getDirtyOptions();
+            if (dirtyOptions.ignoreDirty()) {
+                dirtySinkHelper.invoke(dirtyData, dirtyType, dirtyOptions.getLabels(), dirtyOptions.getLogTag(),
+                        dirtyOptions.getIdentifier(), e);
+            }
 
-        metricData.invokeDirty(1, dirtyData.toString().getBytes(StandardCharsets.UTF_8).length);
+            metricData.invokeDirty(1, dirtyData.toString().getBytes(StandardCharsets.UTF_8).length);
+        }
     }
 
     private void handleMultipleDirtyData(Object dirtyData, DirtyType dirtyType, Exception e)
@@ -604,7 +726,7 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
         String columns = parseColumns(rootNode, physicalData);
         String oldColumns = columnsMap.get(tableIdentifier);
         if (columns == null && oldColumns != null || (columns != null && !columns.equals(oldColumns))) {
-            flushSingleTable(tableIdentifier, batchMap.get(tableIdentifier));
+            submitFlush(tableIdentifier, true);
             if (!errorTables.contains(tableIdentifier)) {
                 columnsMap.put(tableIdentifier, columns);
             } else {
@@ -665,71 +787,124 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
                 LOG.warn("Writing records to doris failed.", e);
                 throw new RuntimeException("Writing records to doris failed.", e);
             } finally {
+                if (flushExecutor != null) {
+                    flushExecutor.shutdownNow();
+                }
                 this.dorisStreamLoad.close();
             }
         }
     }
 
-    @SuppressWarnings({"rawtypes"})
     public synchronized void flush() {
+        if (!hasRecords() && (tableFlushFutureMap == null || tableFlushFutureMap.isEmpty())) {
+            return;
+        }
         flushing = true;
-        if (!hasRecords()) {
+        try {
+            for (String tableIdentifier : new ArrayList<>(batchMap.keySet())) {
+                submitFlush(tableIdentifier, false);
+            }
+            for (String tableIdentifier : new ArrayList<>(tableFlushFutureMap.keySet())) {
+                waitForFlush(tableIdentifier);
+            }
+            // Clean the tables that have errors
+            errorTables.clear();
+            batchBytes = 0;
+            size = 0;
+            LOG.info("Doris sink statistics: readInNum: {}, writeOutNum: {}, errorNum: {}, ddlNum: {}",
+                    readInNum.get(), writeOutNum.get(), errorNum.get(), ddlNum.get());
+        } finally {
             flushing = false;
-            return;
         }
+    }
 
-        for (Entry<String, List> kvs : batchMap.entrySet()) {
-            flushSingleTable(kvs.getKey(), kvs.getValue());
-        }
-        if (!errorTables.isEmpty()) {
-            // Clean the key that has errors
-            errorTables.forEach(batchMap::remove);
-            errorTables.clear();
+    /**
+     * Submit the buffered tables without waiting for the loads, the task thread only blocks when the previous
+     * load of a table is still running.
+     */
+    private void flushAsync() {
+        for (String tableIdentifier : new ArrayList<>(batchMap.keySet())) {
+            submitFlush(tableIdentifier, false);
         }
         batchBytes = 0;
         size = 0;
-        LOG.info("Doris sink statistics: readInNum: {}, writeOutNum: {}, errorNum: {}, ddlNum: {}",
-                readInNum.get(), writeOutNum.get(), errorNum.get(), ddlNum.get());
-        flushing = false;
     }
 
-    @SuppressWarnings({"rawtypes"})
-    private void flushSingleTable(String tableIdentifier, List values) {
-        if (checkFlushException(tableIdentifier) || values == null || values.isEmpty()) {
+    /**
+     * Hand the buffer of a table over to a stream load, new rows of the table go into a fresh buffer.
+     * The previous load of the table is waited for first so that the loads of a table keep their order,
+     * while the loads of different tables run in parallel.
+     *
+     * @param tableIdentifier The table identifier
+     * @param waitFlushing Whether to wait for the load to finish
+     */
+    private void submitFlush(String tableIdentifier, boolean waitFlushing) {
+        waitForFlush(tableIdentifier);
+        StreamLoadBuffer buffer = batchMap.remove(tableIdentifier);
+        if (buffer == null || buffer.isEmpty()) {
+            return;
+        }
+        // Dynamic set COLUMNS_KEY for tableIdentifier every time for multiple sink scenario
+        if (multipleSink && !csvFormat) {
+            buffer.setColumns(columnsMap.get(tableIdentifier));
+        }
+        tableFlushFutureMap.put(tableIdentifier, flushExecutor.submit(() -> flushSingleTable(tableIdentifier, buffer)));
+        if (waitFlushing) {
+            waitForFlush(tableIdentifier);
+        }
+    }
+
+    private void waitForFlush(String tableIdentifier) {
+        Future<?> future = tableFlushFutureMap.remove(tableIdentifier);
+        if (future == null) {
+            return;
+        }
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(String.format("Interrupted while flushing table: %s", tableIdentifier), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private void flushSingleTable(String tableIdentifier, StreamLoadBuffer buffer) {
+        if (checkFlushException(tableIdentifier) || buffer.isEmpty()) {
             return;
         }
-        String loadValue = null;
         RespContent respContent;
         try {
-            // support csv and json format
-            String format = executionOptions.getStreamLoadProp().getProperty(FORMAT_KEY, FORMAT_JSON_VALUE);
-            loadValue = serialize(tableIdentifier, values, format);
-            respContent = load(tableIdentifier, loadValue);
+            buffer.seal();
+            respContent = load(tableIdentifier, buffer);
             try {
                 if (null != metricData && null != respContent) {
-                    if (multipleSink) {
-                        String[] tableWithDb = tableIdentifier.split("\\.");
-                        metricData.outputMetrics(tableWithDb[0], tableWithDb[1],
-                                respContent.getNumberLoadedRows(), respContent.getLoadBytes());
-                    } else {
-                        metricData.invoke(respContent.getNumberLoadedRows(), respContent.getLoadBytes());
+                    synchronized (reportLock) {
+                        if (multipleSink) {
+                            String[] tableWithDb = tableIdentifier.split("\\.");
+                            metricData.outputMetrics(tableWithDb[0], tableWithDb[1],
+                                    respContent.getNumberLoadedRows(), respContent.getLoadBytes());
+                        } else {
+                            metricData.invoke(respContent.getNumberLoadedRows(), respContent.getLoadBytes());
+                        }
                     }
                 }
             } catch (Exception e) {
                 LOG.warn("metricData invoke get err:", e);
             }
-            writeOutNum.addAndGet(values.size());
-            // Clean the data that has been loaded.
-            values.clear();
+            writeOutNum.addAndGet(buffer.getRowCount());
         } catch (Exception e) {
             LOG.error(String.format("Flush table: %s error", tableIdentifier), e);
             flushExceptionMap.put(tableIdentifier, e);
             // may count repeatedly
-            errorNum.getAndAdd(values.size());
+            errorNum.getAndAdd(buffer.getRowCount());
 
             if (!multipleSink) {
                 try {
-                    handleSingleTable(e, values, loadValue);
+                    handleSingleTable(e, buffer);
                     return;
                 } catch (Exception ex) {
                     throw new RuntimeException(e);
@@ -738,8 +913,8 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
 
             if (SchemaUpdateExceptionPolicy.THROW_WITH_STOP == schemaUpdatePolicy) {
                 throw new RuntimeException(
-                        String.format("Writing records to streamload of tableIdentifier:%s failed, the value: %s.",
-                                tableIdentifier, loadValue),
+                        String.format("Writing records to streamload of tableIdentifier:%s failed, rows: %s.",
+                                tableIdentifier, buffer.getRowCount()),
                         e);
             }
             if (SchemaUpdateExceptionPolicy.STOP_PARTIAL == schemaUpdatePolicy) {
@@ -752,39 +927,17 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
             if (SchemaUpdateExceptionPolicy.LOG_WITH_IGNORE == schemaUpdatePolicy) {
                 errorTables.add(tableIdentifier);
                 // archive dirty data when 'sink.multiple.schema-update.policy' is 'LOG_WITH_IGNORE'
-                for (Object value : values) {
-                    try {
-                        handleDirtyData(OBJECT_MAPPER.readTree(OBJECT_MAPPER.writeValueAsString(value)),
-                                DirtyType.BATCH_LOAD_ERROR, e);
-                    } catch (Exception ex) {
-                        if (!dirtySinkHelper.getDirtyOptions().ignoreSideOutputErrors()) {
-                            throw new RuntimeException(ex);
-                        }
-                        LOG.warn("Dirty sink failed", ex);
-                    }
-                }
+                archiveDirtyRows(buffer, e);
             }
-
-            values.clear();
         }
     }
 
-    private void handleSingleTable(Exception e, List values, String loadValue) {
-        for (Object value : values) {
-            try {
-                handleDirtyData(OBJECT_MAPPER.readTree(OBJECT_MAPPER.writeValueAsString(value)),
-                        DirtyType.BATCH_LOAD_ERROR, e);
-            } catch (IOException ex) {
-                if (!dirtySinkHelper.getDirtyOptions().ignoreSideOutputErrors()) {
-                    throw new RuntimeException(ex);
-                }
-                LOG.warn("Dirty sink failed", ex);
-            }
-        }
+    private void handleSingleTable(Exception e, StreamLoadBuffer buffer) {
+        archiveDirtyRows(buffer, e);
         if (!ignoreSingleTableErrors) {
             throw new RuntimeException(
-                    String.format("Writing records to streamload of tableIdentifier:%s failed, the value: %s.",
-                            tableIdentifier, loadValue),
+                    String.format("Writing records to streamload of tableIdentifier:%s failed, rows: %s.",
+                            tableIdentifier, buffer.getRowCount()),
                     e);
         }
         errorTables.add(tableIdentifier);
@@ -792,80 +945,44 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
                 + " because the option 'sink.multiple.ignore-single-table-errors' is 'true'", tableIdentifier);
     }
 
-    /**
-     * format data to csv or json
-     *
-     * @param values
-     * @param format
-     * @return string
-     * @throws JsonProcessingException
-     */
-    private String serialize(String tableIdentifier, List values, String format) throws JsonProcessingException {
-        if (FORMAT_CSV_VALUE.equalsIgnoreCase(format)) {
-            LOG.info("doris data format: {}", format);
-            // set columns, and format json data to csv
-            String columns = null;
-            StringBuilder csvData = new StringBuilder();
-            for (Object item : values) {
-                if (item instanceof Map) {
-                    Map<String, String> map = (Map<String, String>) item;
-                    Set<String> fieldNameSet = new LinkedHashSet<>(map.keySet());
-                    if (columns == null) {
-                        // when single table synchronizing, parameter `sink.properties.columns` in options may
-                        // contain hll or bitmap function.
-                        // columns: dt,id,name,province,os, pv=hll_hash(id)
-                        if (this.columns != null) {
-                            for (String fieldName : this.columns.split(",")) {
-                                if (fieldName.contains("=")) {
-                                    fieldNameSet.add(fieldName);
-                                }
-                            }
-                        }
-                        columns = StringUtils.join(fieldNameSet, ",");
-                        executionOptions.getStreamLoadProp().put(COLUMNS_KEY, columns);
-                    }
-                    int idx = 0;
-                    int len = map.values().size();
-                    for (String val : map.values()) {
-                        csvData.append(null == val ? "\\N" : val);
-                        if (idx++ < len - 1) {
-                            csvData.append(this.fieldDelimiter);
-                        }
-                    }
-                    csvData.append(this.lineDelimiter);
-                }
+    private void archiveDirtyRows(StreamLoadBuffer buffer, Exception e) {
+        List<Object> rows;
+        try {
+            rows = readRows(buffer);
+        } catch (IOException ex) {
+            if (!dirtySinkHelper.getDirtyOptions().ignoreSideOutputErrors()) {
+                throw new RuntimeException(ex);
             }
-            return csvData.toString();
-        } else {
-            // Dynamic set COLUMNS_KEY for tableIdentifier every time for multiple sink scenario
-            if (multipleSink) {
-                executionOptions.getStreamLoadProp().put(COLUMNS_KEY, columnsMap.get(tableIdentifier));
+            LOG.warn("Dirty sink failed", ex);
+            return;
+        }
+        for (Object value : rows) {
+            try {
+                handleDirtyData(OBJECT_MAPPER.valueToTree(value), DirtyType.BATCH_LOAD_ERROR, e);
+            } catch (Exception ex) {
+                if (!dirtySinkHelper.getDirtyOptions().ignoreSideOutputErrors()) {
+                    throw new RuntimeException(ex);
+                }
+                LOG.warn("Dirty sink failed", ex);
             }
-            return OBJECT_MAPPER.writeValueAsString(values);
         }
     }
 
-    @SuppressWarnings("rawtypes")
     private boolean hasRecords() {
-        if (batchMap.isEmpty()) {
-            return false;
-        }
-        boolean hasRecords = false;
-        for (List value : batchMap.values()) {
-            if (!value.isEmpty()) {
-                hasRecords = true;
-                break;
+        for (StreamLoadBuffer buffer : batchMap.values()) {
+            if (!buffer.isEmpty()) {
+                return true;
             }
         }
-        return hasRecords;
+        return false;
     }
 
-    private RespContent load(String tableIdentifier, String result) throws IOException {
+    private RespContent load(String tableIdentifier, StreamLoadBuffer buffer) throws IOException {
         String[] tableWithDb = tableIdentifier.split("\\.");
         RespContent respContent = null;
         for (int i = 0; i <= executionOptions.getMaxRetries(); i++) {
             try {
-                respContent = dorisStreamLoad.load(tableWithDb[0], tableWithDb[1], result);
+                respContent = dorisStreamLoad.load(tableWithDb[0], tableWithDb[1], buffer);
                 break;
             } catch (StreamLoadException e) {
                 LOG.error("doris sink error, retry times = {}", i, e);
@@ -939,6 +1056,7 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
         private DirtySink<Object> dirtySink;
         private boolean enableSchemaChange;
         private String schemaChangePolicies;
+        private int flushParallelism = 1;
 
         public Builder() {
             this.optionsBuilder = DorisOptions.builder().setTableIdentifier("");
@@ -1045,6 +1163,11 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
             return this;
         }
 
+        public Builder setFlushParallelism(int flushParallelism) {
+            this.flushParallelism = flushParallelism;
+            return this;
+        }
+
         @SuppressWarnings({"rawtypes"})
         public DorisDynamicSchemaOutputFormat build() {
             LogicalType[] logicalTypes = null;
@@ -1070,7 +1193,8 @@ public class DorisDynamicSchemaOutputFormat<T> extends RichOutputFormat<T> {
                     dirtyOptions,
                     dirtySink,
                     enableSchemaChange,
-                    schemaChangePolicies);
+                    schemaChangePolicies,
+                    flushParallelism);
         }
     }
 }
@@ -184,6 +184,12 @@ public final class DorisDynamicTableFactory implements DynamicTableSourceFactory
             .defaultValue(DorisExecutionOptions.DEFAULT_MAX_BATCH_BYTES)
             .withDescription("the flush max bytes (includes all append, upsert and delete records), over this number"
                     + " in batch, will flush data. The default value is 10MB.");
+    private static final ConfigOption<Integer> SINK_MULTIPLE_FLUSH_PARALLELISM = ConfigOptions
+            .key("sink.multiple.flush.parallelism")
+            .intType()
+            .defaultValue(4)
+            .withDescription("The max number of tables that are loaded concurrently, "
+                    + "this is only used in the multiple sink writing scenario.");
 
     private static final Map<SchemaChangeType, List<SchemaChangePolicy>> SUPPORTS_POLICY_MAP = new HashMap<>();
 
@@ -257,6 +263,7 @@ public final class DorisDynamicTableFactory implements DynamicTableSourceFactory
         options.add(SINK_MULTIPLE_ENABLE);
         options.add(SINK_MULTIPLE_IGNORE_SINGLE_TABLE_ERRORS);
         options.add(SINK_MULTIPLE_SCHEMA_UPDATE_POLICY);
+        options.add(SINK_MULTIPLE_FLUSH_PARALLELISM);
         options.add(INLONG_METRIC);
         options.add(INLONG_AUDIT);
         options.add(FactoryUtil.SINK_PARALLELISM);
@@ -351,6 +358,7 @@ public final class DorisDynamicTableFactory implements DynamicTableSourceFactory
         String sinkMultipleFormat = helper.getOptions().getOptional(SINK_MULTIPLE_FORMAT).orElse(null);
         boolean enableSchemaChange = helper.getOptions().get(SINK_SCHEMA_CHANGE_ENABLE);
         String schemaChangePolicies = helper.getOptions().getOptional(SINK_SCHEMA_CHANGE_POLICIES).orElse(null);
+        int flushParallelism = helper.getOptions().get(SINK_MULTIPLE_FLUSH_PARALLELISM);
         validateSinkMultiple(physicalSchema.toPhysicalRowDataType(), multipleSink, sinkMultipleFormat,
                 databasePattern, tablePattern, enableSchemaChange, schemaChangePolicies);
         String inlongMetric = helper.getOptions().getOptional(INLONG_METRIC).orElse(INLONG_METRIC.defaultValue());
@@ -377,7 +385,8 @@ public final class DorisDynamicTableFactory implements DynamicTableSourceFactory
                 dirtyOptions,
                 dirtySink,
                 enableSchemaChange,
-                schemaChangePolicies);
+                schemaChangePolicies,
+                flushParallelism);
     }
 
     private void validateSinkMultiple(DataType physicalDataType, boolean multipleSink, String sinkMultipleFormat,
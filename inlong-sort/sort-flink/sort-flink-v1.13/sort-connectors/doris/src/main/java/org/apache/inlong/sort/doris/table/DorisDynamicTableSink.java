@@ -56,6 +56,7 @@ public class DorisDynamicTableSink implements DynamicTableSink {
     private final boolean enableSchemaChange;
     @Nullable
     private final String schemaChangePolicies;
+    private final int flushParallelism;
 
     public DorisDynamicTableSink(DorisOptions options,
             DorisReadOptions readOptions,
@@ -73,7 +74,8 @@ public class DorisDynamicTableSink implements DynamicTableSink {
             DirtyOptions dirtyOptions,
             @Nullable DirtySink<Object> dirtySink,
             boolean enableSchemaChange,
-            @Nullable String schemaChangePolicies) {
+            @Nullable String schemaChangePolicies,
+            int flushParallelism) {
         this.options = options;
         this.readOptions = readOptions;
         this.executionOptions = executionOptions;
@@ -91,6 +93,7 @@ public class DorisDynamicTableSink implements DynamicTableSink {
         this.dirtySink = dirtySink;
         this.enableSchemaChange = enableSchemaChange;
         this.schemaChangePolicies = schemaChangePolicies;
+        this.flushParallelism = flushParallelism;
     }
 
     @Override
@@ -123,7 +126,8 @@ public class DorisDynamicTableSink implements DynamicTableSink {
                 .setDirtyOptions(dirtyOptions)
                 .setDirtySink(dirtySink)
                 .setEnableSchemaChange(enableSchemaChange)
-                .setSchemaChangePolicies(schemaChangePolicies);
+                .setSchemaChangePolicies(schemaChangePolicies)
+                .setFlushParallelism(flushParallelism);
         return SinkFunctionProvider.of(
                 new GenericDorisSinkFunction<>(builder.build()), parallelism);
     }
@@ -146,7 +150,8 @@ public class DorisDynamicTableSink implements DynamicTableSink {
                 dirtyOptions,
                 dirtySink,
                 enableSchemaChange,
-                schemaChangePolicies);
+                schemaChangePolicies,
+                flushParallelism);
     }
 
     @Override
@@ -17,6 +17,7 @@
 
 package org.apache.inlong.sort.doris.table;
 
+import org.apache.inlong.sort.base.sink.StreamLoadBuffer;
 import org.apache.inlong.sort.doris.model.RespContent;
 
 import org.apache.commons.lang3.StringUtils;
@@ -24,9 +25,11 @@ import org.apache.doris.flink.exception.StreamLoadException;
 import org.apache.doris.shaded.com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.doris.shaded.com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.doris.shaded.org.apache.commons.codec.binary.Base64;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.AbstractHttpEntity;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.DefaultRedirectStrategy;
@@ -37,6 +40,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
@@ -63,7 +68,7 @@ public class DorisStreamLoad implements Serializable {
     private final String authEncoding;
     private final Properties streamLoadProp;
     private final CloseableHttpClient httpClient;
-    private String hostPort;
+    private volatile String hostPort;
 
     public DorisStreamLoad(String hostPort, String user, String passwd,
             Properties streamLoadProp) {
@@ -83,7 +88,24 @@ public class DorisStreamLoad implements Serializable {
     }
 
     public RespContent load(String db, String tbl, String value) throws StreamLoadException {
-        LoadResponse loadResponse = loadBatch(db, tbl, value);
+        return load(db, tbl, new StringEntity(value, "UTF-8"), null);
+    }
+
+    /**
+     * Load a sealed buffer, the body is sent with chunked transfer encoding straight from the buffer
+     *
+     * @param db The database
+     * @param tbl The table
+     * @param buffer The sealed buffer
+     * @return The response content
+     * @throws StreamLoadException The exception when the load fails
+     */
+    public RespContent load(String db, String tbl, StreamLoadBuffer buffer) throws StreamLoadException {
+        return load(db, tbl, new StreamLoadBufferEntity(buffer), buffer.getColumns());
+    }
+
+    private RespContent load(String db, String tbl, HttpEntity entity, String columns) throws StreamLoadException {
+        LoadResponse loadResponse = loadBatch(db, tbl, entity, columns);
         LOG.info("Streamload Response:{}", loadResponse);
         if (loadResponse.status != 200) {
             throw new StreamLoadException("stream load error: " + loadResponse.respContent);
@@ -110,7 +132,7 @@ public class DorisStreamLoad implements Serializable {
         this.hostPort = hostPort;
     }
 
-    private LoadResponse loadBatch(String db, String tbl, String value) {
+    private LoadResponse loadBatch(String db, String tbl, HttpEntity entity, String columns) {
         String label = streamLoadProp.getProperty("label");
         if (StringUtils.isBlank(label)) {
             SimpleDateFormat sdf = new SimpleDateFormat("yyyyMMdd_HHmmss");
@@ -131,11 +153,13 @@ public class DorisStreamLoad implements Serializable {
                     put.setHeader(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
                 }
             }
+            if (columns != null) {
+                put.setHeader("columns", columns);
+            }
             if (!put.containsHeader("format")) {
                 put.setHeader("format", "json");
             }
             put.setHeader("strip_outer_array", "true");
-            StringEntity entity = new StringEntity(value, "UTF-8");
             put.setEntity(entity);
 
             try (CloseableHttpResponse response = httpClient.execute(put)) {
@@ -171,6 +195,44 @@ public class DorisStreamLoad implements Serializable {
         }
     }
 
+    /**
+     * A repeatable entity that streams the body of a {@link StreamLoadBuffer} with chunked transfer encoding
+     */
+    private static class StreamLoadBufferEntity extends AbstractHttpEntity {
+
+        private final StreamLoadBuffer buffer;
+
+        private StreamLoadBufferEntity(StreamLoadBuffer buffer) {
+            this.buffer = buffer;
+            setChunked(true);
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        @Override
+        public long getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public InputStream getContent() {
+            return buffer.getInputStream();
+        }
+
+        @Override
+        public void writeTo(OutputStream outStream) throws IOException {
+            buffer.writeTo(outStream);
+        }
+
+        @Override
+        public boolean isStreaming() {
+            return false;
+        }
+    }
+
     public static class LoadResponse {
 
         public int status;
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.doris.table;
+
+import org.apache.inlong.sort.base.sink.StreamLoadBuffer;
+import org.apache.inlong.sort.doris.model.RespContent;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Test for {@link DorisStreamLoad} against a local http stand-in of the stream load api
+ */
+public class DorisStreamLoadTest {
+
+    private static final String SUCCESS_RESPONSE =
+            "{\"Status\":\"Success\",\"NumberLoadedRows\":2,\"LoadBytes\":20}";
+
+    private final AtomicReference<byte[]> receivedBody = new AtomicReference<>();
+    private final AtomicReference<String> receivedEncoding = new AtomicReference<>();
+    private final AtomicReference<String> receivedColumns = new AtomicReference<>();
+    private HttpServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/db/tbl/_stream_load", exchange -> {
+            receivedEncoding.set(exchange.getRequestHeaders().getFirst("Transfer-Encoding"));
+            receivedColumns.set(exchange.getRequestHeaders().getFirst("columns"));
+            receivedBody.set(readAll(exchange.getRequestBody()));
+            byte[] response = SUCCESS_RESPONSE.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testLoadBuffer() throws Exception {
+        Properties props = new Properties();
+        props.put("compress_type", "gz");
+        DorisStreamLoad streamLoad = new DorisStreamLoad("127.0.0.1:" + server.getAddress().getPort(),
+                "root", "", props);
+        StreamLoadBuffer buffer = StreamLoadBuffer.json(true);
+        buffer.addRow("{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8));
+        buffer.addRow("{\"id\":\"2\"}".getBytes(StandardCharsets.UTF_8));
+        buffer.setColumns("`id`");
+        buffer.seal();
+        try {
+            RespContent respContent = streamLoad.load("db", "tbl", buffer);
+            Assert.assertEquals(2, respContent.getNumberLoadedRows());
+        } finally {
+            streamLoad.close();
+        }
+        Assert.assertEquals("chunked", receivedEncoding.get());
+        Assert.assertEquals("`id`", receivedColumns.get());
+        byte[] body = readAll(new GZIPInputStream(new ByteArrayInputStream(receivedBody.get())));
+        Assert.assertEquals("[{\"id\":\"1\"},{\"id\":\"2\"}]", new String(body, StandardCharsets.UTF_8));
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[1024];
+        int len;
+        while ((len = in.read(buf)) != -1) {
+            out.write(buf, 0, len);
+        }
+        return out.toByteArray();
+    }
+}
@@ -128,6 +128,37 @@ public class FlinkDynamicTableFactory implements DynamicTableSinkFactory, Dynami
                     .defaultValue(20)
                     .withDescription("Compact snapshot interval.");
 
+    public static final ConfigOption<Integer> WRITE_COMPACT_MIN_INPUT_FILES =
+            ConfigOptions.key("write.compact.min-input-files")
+                    .intType()
+                    .defaultValue(10)
+                    .withDescription("Compact a table of the multiple sink once this many files have been committed"
+                            + " to it since the last compaction.");
+
+    public static final ConfigOption<Long> WRITE_COMPACT_MIN_INTERVAL =
+            ConfigOptions.key("write.compact.min-interval-ms")
+                    .longType()
+                    .defaultValue(300000L)
+                    .withDescription("Minimum interval in milliseconds between two compactions of the same table.");
+
+    public static final ConfigOption<Integer> WRITE_COMPACT_MAX_CONCURRENT =
+            ConfigOptions.key("write.compact.max-concurrent")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription("Maximum number of tables compacted at the same time by the multiple sink.");
+
+    public static final ConfigOption<Long> WRITE_COMPACT_MAX_REWRITE_BYTES =
+            ConfigOptions.key("write.compact.max-rewrite-bytes")
+                    .longType()
+                    .defaultValue(1024L * 1024L * 1024L)
+                    .withDescription("Maximum bytes of files rewritten by one compaction of a table.");
+
+    public static final ConfigOption<Long> WRITE_COMPACT_RATE_LIMIT =
+            ConfigOptions.key("write.compact.rate.limit")
+                    .longType()
+                    .defaultValue(0L)
+                    .withDescription("Read bytes rate limit per second of the compaction, default 0 (no limit)");
+
     public static final ConfigOption<String> WRITE_DISTRIBUTION_MODE =
             ConfigOptions.key(TableProperties.WRITE_DISTRIBUTION_MODE)
                     .stringType()
@@ -160,6 +191,15 @@ public class FlinkDynamicTableFactory implements DynamicTableSinkFactory, Dynami
                     .defaultValue(BufferType.ROCKSDB)
                     .withDescription("where to temporarily store data in mini-batch");
 
+    public static final ConfigOption<Long> WRITE_MULTIPLE_MAX_BUFFERED_BYTES =
+            ConfigOptions.key("write.multiple.max-buffered-bytes")
+                    .longType()
+                    .defaultValue(256L * 1024L * 1024L)
+                    .withDescription("Memory budget of the table writers of the multiple sink, the least recently"
+                            + " used writers are flushed and closed when the bytes buffered since the last checkpoint"
+                            + " exceed it, 0 means no limit. It only applies to the append mode without switching to"
+                            + " upsert, as the writers of upsert tables complete their files only at the checkpoint.");
+
     public static final ConfigOption<Integer> WRITE_PARALLELISM =
             ConfigOptions.key("write.parallelism")
                     .intType()
@@ -331,6 +371,12 @@ public class FlinkDynamicTableFactory implements DynamicTableSinkFactory, Dynami
         options.add(SINK_AUTO_CREATE_TABLE_WHEN_SNAPSHOT);
         options.add(WRITE_COMPACT_ENABLE);
         options.add(WRITE_COMPACT_INTERVAL);
+        options.add(WRITE_COMPACT_MIN_INPUT_FILES);
+        options.add(WRITE_COMPACT_MIN_INTERVAL);
+        options.add(WRITE_COMPACT_MAX_CONCURRENT);
+        options.add(WRITE_COMPACT_MAX_REWRITE_BYTES);
+        options.add(WRITE_COMPACT_RATE_LIMIT);
+        options.add(WRITE_MULTIPLE_MAX_BUFFERED_BYTES);
         options.add(WRITE_DISTRIBUTION_MODE);
         options.add(WRITE_RATE_LIMIT);
         options.add(WRITE_MINI_BATCH_ENABLE);
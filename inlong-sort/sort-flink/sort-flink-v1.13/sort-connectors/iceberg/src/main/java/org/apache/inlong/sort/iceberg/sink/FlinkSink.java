@@ -24,10 +24,12 @@ import org.apache.inlong.sort.iceberg.sink.collections.PartitionGroupBuffer;
 import org.apache.inlong.sort.iceberg.sink.collections.PartitionGroupBuffer.BufferType;
 import org.apache.inlong.sort.iceberg.sink.multiple.DynamicSchemaHandleOperator;
 import org.apache.inlong.sort.iceberg.sink.multiple.IcebergMultipleFilesCommiter;
+import org.apache.inlong.sort.iceberg.sink.multiple.IcebergMultipleFilesCompactor;
 import org.apache.inlong.sort.iceberg.sink.multiple.IcebergMultipleStreamWriter;
 import org.apache.inlong.sort.iceberg.sink.multiple.IcebergProcessOperator;
 import org.apache.inlong.sort.iceberg.sink.multiple.IcebergSingleFileCommiter;
 import org.apache.inlong.sort.iceberg.sink.multiple.IcebergSingleStreamWriter;
+import org.apache.inlong.sort.iceberg.sink.multiple.MultipleCommitResult;
 import org.apache.inlong.sort.iceberg.sink.multiple.MultipleWriteResult;
 import org.apache.inlong.sort.iceberg.sink.multiple.RecordWithSchema;
 
@@ -87,10 +89,14 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.apache.iceberg.TableProperties.WRITE_DISTRIBUTION_MODE;
+import static org.apache.inlong.sort.base.Constants.IGNORE_ALL_CHANGELOG;
 import static org.apache.inlong.sort.base.Constants.META_INCREMENTAL;
+import static org.apache.inlong.sort.base.Constants.SWITCH_APPEND_UPSERT_ENABLE;
+import static org.apache.inlong.sort.iceberg.FlinkDynamicTableFactory.WRITE_COMPACT_ENABLE;
 import static org.apache.inlong.sort.iceberg.FlinkDynamicTableFactory.WRITE_MINI_BATCH_BUFFER_TYPE;
 import static org.apache.inlong.sort.iceberg.FlinkDynamicTableFactory.WRITE_MINI_BATCH_ENABLE;
 import static org.apache.inlong.sort.iceberg.FlinkDynamicTableFactory.WRITE_MINI_BATCH_PRE_AGG_ENABLE;
+import static org.apache.inlong.sort.iceberg.FlinkDynamicTableFactory.WRITE_MULTIPLE_MAX_BUFFERED_BYTES;
 import static org.apache.inlong.sort.iceberg.FlinkDynamicTableFactory.WRITE_RATE_LIMIT;
 import static org.apache.inlong.sort.iceberg.schema.IcebergModeSwitchHelper.filterOutMetaField;
 import static org.apache.inlong.sort.iceberg.schema.IcebergModeSwitchHelper.getMetaFieldIndex;
@@ -111,6 +117,8 @@ public class FlinkSink {
             IcebergMultipleStreamWriter.class.getSimpleName();
     private static final String ICEBERG_MULTIPLE_FILES_COMMITTER_NAME =
             IcebergMultipleFilesCommiter.class.getSimpleName();
+    private static final String ICEBERG_MULTIPLE_FILES_COMPACTOR_NAME =
+            IcebergMultipleFilesCompactor.class.getSimpleName();
     private static final String ICEBERG_WHOLE_DATABASE_MIGRATION_NAME =
             DynamicSchemaHandleOperator.class.getSimpleName();
 
@@ -487,7 +495,12 @@ public class FlinkSink {
 
             // Add single-parallelism committer that commits files
             // after successful checkpoint or end of input
-            SingleOutputStreamOperator<Void> committerStream = appendMultipleCommitter(writerStream);
+            SingleOutputStreamOperator<MultipleCommitResult> committerStream = appendMultipleCommitter(writerStream);
+
+            // Add single-parallelism compactor that rewrites small files of the committed tables if necessary
+            if (tableOptions.get(WRITE_COMPACT_ENABLE)) {
+                return appendDummySink(appendMultipleCompactor(committerStream));
+            }
 
             // Add dummy discard sink
             return appendDummySink(committerStream);
@@ -549,7 +562,7 @@ public class FlinkSink {
         }
 
         @SuppressWarnings("unchecked")
-        private <T> DataStreamSink<T> appendDummySink(SingleOutputStreamOperator<Void> committerStream) {
+        private <T> DataStreamSink<T> appendDummySink(SingleOutputStreamOperator<?> committerStream) {
             DataStreamSink<T> resultStream = committerStream
                     .addSink(new DiscardingSink())
                     .name(operatorName(
@@ -640,13 +653,14 @@ public class FlinkSink {
             return committerStream;
         }
 
-        private SingleOutputStreamOperator<Void> appendMultipleCommitter(
+        private SingleOutputStreamOperator<MultipleCommitResult> appendMultipleCommitter(
                 SingleOutputStreamOperator<MultipleWriteResult> writerStream) {
-            IcebergProcessOperator<MultipleWriteResult, Void> multipleFilesCommiter =
+            IcebergProcessOperator<MultipleWriteResult, MultipleCommitResult> multipleFilesCommiter =
                     new IcebergProcessOperator<>(new IcebergMultipleFilesCommiter(catalogLoader, overwrite,
                             actionProvider, tableOptions));
-            SingleOutputStreamOperator<Void> committerStream = writerStream
-                    .transform(operatorName(ICEBERG_MULTIPLE_FILES_COMMITTER_NAME), Types.VOID, multipleFilesCommiter)
+            SingleOutputStreamOperator<MultipleCommitResult> committerStream = writerStream
+                    .transform(operatorName(ICEBERG_MULTIPLE_FILES_COMMITTER_NAME),
+                            TypeInformation.of(MultipleCommitResult.class), multipleFilesCommiter)
                     .setParallelism(1)
                     .setMaxParallelism(1);
             if (uidPrefix != null) {
@@ -655,6 +669,20 @@ public class FlinkSink {
             return committerStream;
         }
 
+        private SingleOutputStreamOperator<Void> appendMultipleCompactor(
+                SingleOutputStreamOperator<MultipleCommitResult> committerStream) {
+            IcebergProcessOperator<MultipleCommitResult, Void> multipleFilesCompactor =
+                    new IcebergProcessOperator<>(new IcebergMultipleFilesCompactor(catalogLoader, tableOptions));
+            SingleOutputStreamOperator<Void> compactorStream = committerStream
+                    .transform(operatorName(ICEBERG_MULTIPLE_FILES_COMPACTOR_NAME), Types.VOID, multipleFilesCompactor)
+                    .setParallelism(1)
+                    .setMaxParallelism(1);
+            if (uidPrefix != null) {
+                compactorStream = compactorStream.uid(uidPrefix + "-compactor");
+            }
+            return compactorStream;
+        }
+
         private SingleOutputStreamOperator<WriteResult> appendWriter(DataStream<RowData> input, RowType flinkRowType,
                 List<Integer> equalityFieldIds) {
             // Fallback to use upsert mode parsed from table properties if don't specify in job level.
@@ -700,6 +728,19 @@ public class FlinkSink {
             return writerStream;
         }
 
+        private long getMultipleMaxBufferedBytes() {
+            if (IcebergMultipleStreamWriter.isEvictable(appendMode, switchAppendUpsertEnable)) {
+                return tableOptions.get(WRITE_MULTIPLE_MAX_BUFFERED_BYTES);
+            }
+            // the writers of upsert tables complete their files only at the checkpoint, so there is no budget
+            long maxBufferedBytes = tableOptions.getOptional(WRITE_MULTIPLE_MAX_BUFFERED_BYTES).orElse(0L);
+            Preconditions.checkArgument(maxBufferedBytes <= 0,
+                    "The option '%s' only applies when '%s' is enabled and '%s' is disabled",
+                    WRITE_MULTIPLE_MAX_BUFFERED_BYTES.key(), IGNORE_ALL_CHANGELOG.key(),
+                    SWITCH_APPEND_UPSERT_ENABLE.key());
+            return 0L;
+        }
+
         private SingleOutputStreamOperator<MultipleWriteResult> appendMultipleWriter(DataStream<RowData> input) {
             // equality field will be initialized at runtime
             // upsert mode will be initialized at runtime
@@ -719,7 +760,8 @@ public class FlinkSink {
                             appendMode, catalogLoader, inlongMetric, auditHostAndPorts,
                             multipleSinkOption, dirtyOptions, dirtySink, tableSchemaRowType,
                             getMetaFieldIndex(tableSchema),
-                            switchAppendUpsertEnable, auditKeys));
+                            switchAppendUpsertEnable, auditKeys,
+                            getMultipleMaxBufferedBytes()));
             SingleOutputStreamOperator<MultipleWriteResult> writerStream = routeStream
                     .transform(operatorName(ICEBERG_MULTIPLE_STREAM_WRITER_NAME),
                             TypeInformation.of(IcebergProcessOperator.class),
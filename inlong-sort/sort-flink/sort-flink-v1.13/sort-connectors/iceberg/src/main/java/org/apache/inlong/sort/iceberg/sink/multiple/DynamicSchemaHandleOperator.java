@@ -203,6 +203,9 @@ public class DynamicSchemaHandleOperator extends AbstractStreamOperator<RecordWi
 
     @Override
     public void processElement(StreamRecord<RowData> element) throws Exception {
+        if (isBlacklistedByRoute(element.getValue().getBinary(0))) {
+            return;
+        }
         JsonNode jsonNode = null;
         try {
             jsonNode = dynamicSchemaFormat.deserialize(element.getValue().getBinary(0));
@@ -240,6 +243,26 @@ public class DynamicSchemaHandleOperator extends AbstractStreamOperator<RecordWi
         }
     }
 
+    /**
+     * Check whether the raw data belongs to a table in the blacklist.
+     * Only the routing fields are read, so the records of the blacklisted tables are dropped without
+     * deserializing them. It is checked only when the blacklist is not empty, otherwise the raw data
+     * would be read twice.
+     */
+    private boolean isBlacklistedByRoute(byte[] message) {
+        if (blacklist.isEmpty()) {
+            return false;
+        }
+        try {
+            JsonNode routingNode = dynamicSchemaFormat.readRoutingFields(message,
+                    multipleSinkOption.getDatabasePattern(), multipleSinkOption.getTablePattern());
+            return routingNode != null && blacklist.contains(parseId(routingNode));
+        } catch (Exception e) {
+            // the raw data is handled as dirty data after deserializing
+            return false;
+        }
+    }
+
     private void handleDirtyDataOfLogWithIgnore(JsonNode jsonNode, Schema dataSchema,
             TableIdentifier tableId, Exception e) {
         List<RowData> rowDataForDataSchemaList = Collections.emptyList();
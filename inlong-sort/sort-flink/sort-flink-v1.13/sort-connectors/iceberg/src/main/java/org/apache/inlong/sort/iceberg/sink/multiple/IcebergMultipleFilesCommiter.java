@@ -17,6 +17,8 @@
 
 package org.apache.inlong.sort.iceberg.sink.multiple;
 
+import org.apache.inlong.sort.iceberg.FlinkDynamicTableFactory;
+
 import org.apache.flink.api.common.state.CheckpointListener;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.configuration.ReadableConfig;
@@ -33,7 +35,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
-public class IcebergMultipleFilesCommiter extends IcebergProcessFunction<MultipleWriteResult, Void>
+public class IcebergMultipleFilesCommiter extends IcebergProcessFunction<MultipleWriteResult, MultipleCommitResult>
         implements
             CheckpointedFunction,
             CheckpointListener,
@@ -59,10 +61,14 @@ public class IcebergMultipleFilesCommiter extends IcebergProcessFunction<Multipl
     public void processElement(MultipleWriteResult value) throws Exception {
         TableIdentifier tableId = value.getTableId();
         if (multipleCommiters.get(tableId) == null) {
+            // Small files are rewritten by the downstream compactor when compaction is enabled, so the per table
+            // compact action is not needed here.
+            boolean compactEnabled = tableOptions != null
+                    && tableOptions.get(FlinkDynamicTableFactory.WRITE_COMPACT_ENABLE);
             IcebergSingleFileCommiter commiter = new IcebergSingleFileCommiter(
                     tableId, TableLoader.fromCatalog(catalogLoader, value.getTableId()), overwrite,
-                    actionsProvider, tableOptions);
-            commiter.setup(getRuntimeContext(), collector, context);
+                    compactEnabled ? null : actionsProvider, tableOptions);
+            commiter.setup(getRuntimeContext(), null, context);
             commiter.initializeState(functionInitializationContext);
             commiter.open(new Configuration());
             multipleCommiters.put(tableId, commiter);
@@ -87,6 +93,10 @@ public class IcebergMultipleFilesCommiter extends IcebergProcessFunction<Multipl
     public void notifyCheckpointComplete(long checkpointId) throws Exception {
         for (Entry<TableIdentifier, IcebergSingleFileCommiter> entry : multipleCommiters.entrySet()) {
             entry.getValue().notifyCheckpointComplete(checkpointId);
+            MultipleCommitResult commitResult = entry.getValue().pollCommitResult();
+            if (commitResult != null) {
+                collector.collect(commitResult);
+            }
         }
     }
 
@@ -110,6 +120,10 @@ public class IcebergMultipleFilesCommiter extends IcebergProcessFunction<Multipl
     public void endInput() throws Exception {
         for (Entry<TableIdentifier, IcebergSingleFileCommiter> entry : multipleCommiters.entrySet()) {
             entry.getValue().endInput();
+            MultipleCommitResult commitResult = entry.getValue().pollCommitResult();
+            if (commitResult != null) {
+                collector.collect(commitResult);
+            }
         }
     }
 
@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.iceberg.sink.multiple;
+
+import org.apache.inlong.sort.iceberg.FlinkDynamicTableFactory;
+import org.apache.inlong.sort.iceberg.sink.RowDataTaskWriterFactory;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.ReadableConfig;
+import org.apache.flink.runtime.util.ExecutorThreadFactory;
+import org.apache.flink.shaded.guava18.com.google.common.util.concurrent.RateLimiter;
+import org.apache.flink.table.data.RowData;
+import org.apache.iceberg.BaseCombinedScanTask;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.RewriteFiles;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableProperties;
+import org.apache.iceberg.catalog.Catalog;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.flink.CatalogLoader;
+import org.apache.iceberg.flink.FlinkSchemaUtil;
+import org.apache.iceberg.flink.source.DataIterator;
+import org.apache.iceberg.flink.source.RowDataFileScanTaskReader;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.TaskWriter;
+import org.apache.iceberg.io.WriteResult;
+import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.apache.iceberg.util.PropertyUtil;
+import org.apache.iceberg.util.StructLikeWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Post-commit compaction of the multiple sink. It tracks the files committed to every table by
+ * {@link IcebergMultipleFilesCommiter} and, once a table has accumulated enough of them, rewrites its small data files
+ * and the data files carrying row-level deletes on a background thread.
+ *
+ * <p>Compaction is best effort and never fails the job: the rewrite is committed as an independent iceberg
+ * transaction validated from the snapshot it was planned on, and a conflicting commit only postpones it to the next
+ * trigger. Rewritten files keep the sequence number of that snapshot so that equality deletes committed concurrently
+ * by the sink still apply to them. When every data file of a partition is rewritten, the delete files that were
+ * applied are removed in the same transaction.
+ */
+public class IcebergMultipleFilesCompactor extends IcebergProcessFunction<MultipleCommitResult, Void> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(IcebergMultipleFilesCompactor.class);
+
+    private final CatalogLoader catalogLoader;
+    private final int snapshotInterval;
+    private final int minInputFiles;
+    private final long minIntervalMs;
+    private final int maxConcurrent;
+    private final long maxRewriteBytes;
+    private final long rateLimit;
+
+    private transient Catalog catalog;
+    private transient ExecutorService compactExecutor;
+    private transient RateLimiter rateLimiter;
+    private transient Map<TableIdentifier, CompactState> compactStates;
+    private transient AtomicInteger runningCompactions;
+
+    public IcebergMultipleFilesCompactor(CatalogLoader catalogLoader, ReadableConfig tableOptions) {
+        this.catalogLoader = catalogLoader;
+        this.snapshotInterval = tableOptions.get(FlinkDynamicTableFactory.WRITE_COMPACT_INTERVAL);
+        this.minInputFiles = tableOptions.get(FlinkDynamicTableFactory.WRITE_COMPACT_MIN_INPUT_FILES);
+        this.minIntervalMs = tableOptions.get(FlinkDynamicTableFactory.WRITE_COMPACT_MIN_INTERVAL);
+        this.maxConcurrent = tableOptions.get(FlinkDynamicTableFactory.WRITE_COMPACT_MAX_CONCURRENT);
+        this.maxRewriteBytes = tableOptions.get(FlinkDynamicTableFactory.WRITE_COMPACT_MAX_REWRITE_BYTES);
+        this.rateLimit = tableOptions.get(FlinkDynamicTableFactory.WRITE_COMPACT_RATE_LIMIT);
+    }
+
+    @Override
+    public void open(Configuration parameters) throws Exception {
+        this.catalog = catalogLoader.loadCatalog();
+        this.compactExecutor = Executors.newFixedThreadPool(maxConcurrent,
+                new ExecutorThreadFactory("iceberg-multiple-compactor"));
+        this.rateLimiter = rateLimit > 0 ? RateLimiter.create(rateLimit) : null;
+        this.compactStates = new ConcurrentHashMap<>();
+        this.runningCompactions = new AtomicInteger();
+    }
+
+    @Override
+    public void processElement(MultipleCommitResult value) throws Exception {
+        CompactState state = compactStates.computeIfAbsent(value.getTableId(), k -> new CompactState());
+        state.commits++;
+        state.pendingFiles += value.getDataFiles() + value.getDeleteFiles();
+        state.pendingBytes += value.getFileBytes();
+        maybeCompact(value.getTableId(), state);
+    }
+
+    private void maybeCompact(TableIdentifier tableId, CompactState state) {
+        if (state.running || (state.commits < snapshotInterval && state.pendingFiles < minInputFiles)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - state.lastCompactTime < minIntervalMs || runningCompactions.get() >= maxConcurrent) {
+            return;
+        }
+        LOG.info("Schedule compaction of table {}, {} files and {} bytes committed in {} commits since last time",
+                tableId, state.pendingFiles, state.pendingBytes, state.commits);
+        state.running = true;
+        state.lastCompactTime = now;
+        state.commits = 0;
+        state.pendingFiles = 0;
+        state.pendingBytes = 0;
+        runningCompactions.incrementAndGet();
+        compactExecutor.execute(() -> {
+            try {
+                compact(tableId);
+            } catch (Throwable t) {
+                LOG.warn("Failed to compact table {}, it will be retried on a later commit", tableId, t);
+            } finally {
+                runningCompactions.decrementAndGet();
+                state.running = false;
+            }
+        });
+    }
+
+    /**
+     * Rewrite the small files and the files with row-level deletes of the current snapshot of the table.
+     *
+     * @return number of data files replaced
+     */
+    @VisibleForTesting
+    int compact(TableIdentifier tableId) throws IOException {
+        Table table = catalog.loadTable(tableId);
+        Snapshot snapshot = table.currentSnapshot();
+        if (snapshot == null) {
+            return 0;
+        }
+        long targetFileSize = PropertyUtil.propertyAsLong(table.properties(),
+                TableProperties.WRITE_TARGET_FILE_SIZE_BYTES, TableProperties.WRITE_TARGET_FILE_SIZE_BYTES_DEFAULT);
+        // Same threshold as the bin-packing strategy of iceberg's rewrite data files action
+        long smallFileSize = targetFileSize * 3 / 4;
+        int specId = table.spec().specId();
+
+        // Only files written with the current spec are rewritten, since the new files are written with it
+        Map<StructLikeWrapper, List<FileScanTask>> tasksByPartition = Maps.newHashMap();
+        try (CloseableIterable<FileScanTask> tasks = table.newScan()
+                .useSnapshot(snapshot.snapshotId())
+                .ignoreResiduals()
+                .planFiles()) {
+            for (FileScanTask task : tasks) {
+                if (task.file().specId() != specId) {
+                    continue;
+                }
+                StructLikeWrapper partition = StructLikeWrapper.forType(table.spec().partitionType())
+                        .set(task.file().partition());
+                tasksByPartition.computeIfAbsent(partition, k -> Lists.newArrayList()).add(task);
+            }
+        }
+
+        List<FileScanTask> rewriteTasks = Lists.newArrayList();
+        Map<String, DeleteFile> obsoleteDeletes = Maps.newHashMap();
+        long rewriteBytes = 0;
+        for (List<FileScanTask> partitionTasks : tasksByPartition.values()) {
+            List<FileScanTask> candidates = Lists.newArrayList();
+            boolean hasDeletes = false;
+            long partitionBytes = 0;
+            for (FileScanTask task : partitionTasks) {
+                if (task.file().fileSizeInBytes() < smallFileSize || !task.deletes().isEmpty()) {
+                    candidates.add(task);
+                    hasDeletes |= !task.deletes().isEmpty();
+                    partitionBytes += task.file().fileSizeInBytes()
+                            + task.deletes().stream().mapToLong(DeleteFile::fileSizeInBytes).sum();
+                }
+            }
+            if (candidates.size() < 2 && !hasDeletes) {
+                continue;
+            }
+            if (!rewriteTasks.isEmpty() && rewriteBytes + partitionBytes > maxRewriteBytes) {
+                break;
+            }
+            rewriteTasks.addAll(candidates);
+            rewriteBytes += partitionBytes;
+            if (candidates.size() == partitionTasks.size()) {
+                // Deletes of the current spec only apply to data files of the same partition, which are all replaced
+                candidates.stream()
+                        .flatMap(task -> task.deletes().stream())
+                        .filter(delete -> delete.specId() == specId)
+                        .forEach(delete -> obsoleteDeletes.putIfAbsent(delete.path().toString(), delete));
+            }
+        }
+        if (rewriteTasks.isEmpty()) {
+            LOG.info("Nothing to compact in table {}", tableId);
+            return 0;
+        }
+
+        long start = System.currentTimeMillis();
+        WriteResult result = rewrite(table, rewriteTasks, targetFileSize);
+        Set<DataFile> deletedDataFiles = Sets.newHashSet();
+        rewriteTasks.forEach(task -> deletedDataFiles.add(task.file()));
+        Set<DataFile> addedDataFiles = Sets.newHashSet(result.dataFiles());
+        try {
+            RewriteFiles rewriteFiles = table.newRewrite().validateFromSnapshot(snapshot.snapshotId());
+            if (obsoleteDeletes.isEmpty()) {
+                rewriteFiles.rewriteFiles(deletedDataFiles, addedDataFiles, snapshot.sequenceNumber());
+            } else {
+                rewriteFiles.rewriteFiles(deletedDataFiles, Sets.newHashSet(obsoleteDeletes.values()),
+                        addedDataFiles, Sets.newHashSet());
+            }
+            rewriteFiles.commit();
+        } catch (RuntimeException e) {
+            Arrays.stream(result.dataFiles()).forEach(file -> table.io().deleteFile(file.path().toString()));
+            throw e;
+        }
+        LOG.info(
+                "Compacted table {} in {} ms: replaced {} data files and {} delete files ({} bytes) with {} data files",
+                tableId, System.currentTimeMillis() - start, deletedDataFiles.size(), obsoleteDeletes.size(),
+                rewriteBytes, addedDataFiles.size());
+        return deletedDataFiles.size();
+    }
+
+    private WriteResult rewrite(Table table, Collection<FileScanTask> tasks, long targetFileSize) throws IOException {
+        FileFormat format = FileFormat.valueOf(PropertyUtil.propertyAsString(table.properties(),
+                TableProperties.DEFAULT_FILE_FORMAT, TableProperties.DEFAULT_FILE_FORMAT_DEFAULT).toUpperCase());
+        RowDataTaskWriterFactory taskWriterFactory = new RowDataTaskWriterFactory(table, table.schema(),
+                FlinkSchemaUtil.convert(table.schema()), targetFileSize, format, null, false, true, false);
+        // File names stay unique across runs thanks to the random operation id of the output file factory
+        taskWriterFactory.initialize(0, 0);
+        RowDataFileScanTaskReader reader = new RowDataFileScanTaskReader(table.schema(), table.schema(),
+                table.properties().get(TableProperties.DEFAULT_NAME_MAPPING), true);
+
+        TaskWriter<RowData> writer = taskWriterFactory.create();
+        try {
+            for (FileScanTask task : tasks) {
+                if (rateLimiter != null) {
+                    rateLimiter.acquire((int) Math.min(Integer.MAX_VALUE, Math.max(1L, task.length())));
+                }
+                try (DataIterator<RowData> iterator = new DataIterator<>(reader, new BaseCombinedScanTask(task),
+                        table.io(), table.encryption())) {
+                    while (iterator.hasNext()) {
+                        writer.write(iterator.next());
+                    }
+                }
+            }
+            return writer.complete();
+        } catch (Throwable t) {
+            writer.abort();
+            throw t;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (compactExecutor != null) {
+            compactExecutor.shutdownNow();
+            if (!compactExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOG.warn("Compaction threads of the multiple sink did not terminate in time");
+            }
+        }
+        if (catalog instanceof Closeable) {
+            ((Closeable) catalog).close();
+        }
+    }
+
+    private static class CompactState {
+
+        private int commits;
+        private long pendingFiles;
+        private long pendingBytes;
+        private long lastCompactTime;
+        private volatile boolean running;
+    }
+}
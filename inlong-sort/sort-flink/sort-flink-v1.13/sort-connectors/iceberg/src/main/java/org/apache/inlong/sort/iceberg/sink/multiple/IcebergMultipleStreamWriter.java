@@ -37,6 +37,9 @@ import org.apache.flink.api.common.state.ListStateDescriptor;
 import org.apache.flink.api.common.typeinfo.TypeHint;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.state.FunctionInitializationContext;
 import org.apache.flink.runtime.state.FunctionSnapshotContext;
 import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
@@ -50,6 +53,7 @@ import org.apache.iceberg.catalog.Catalog;
 import org.apache.iceberg.catalog.TableIdentifier;
 import org.apache.iceberg.flink.CatalogLoader;
 import org.apache.iceberg.flink.FlinkSchemaUtil;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.types.Types.NestedField;
 import org.apache.iceberg.util.PropertyUtil;
 import org.slf4j.Logger;
@@ -58,7 +62,10 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 
 import java.io.Closeable;
+import java.io.IOException;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -88,13 +95,21 @@ public class IcebergMultipleStreamWriter extends IcebergProcessFunction<RecordWi
             BoundedOneInput {
 
     private static final Logger LOG = LoggerFactory.getLogger(IcebergMultipleStreamWriter.class);
+    private static final String WRITER_POOL_METRIC_GROUP = "icebergWriterPool";
 
     private final boolean appendMode;
     private final CatalogLoader catalogLoader;
     private final MultipleSinkOption multipleSinkOption;
 
     private transient Catalog catalog;
-    private transient Map<TableIdentifier, IcebergSingleStreamWriter<RowData>> multipleWriters;
+    // Open writers in access order, the first ones are the least recently used and evicted first
+    private transient LinkedHashMap<TableIdentifier, IcebergSingleStreamWriter<RowData>> multipleWriters;
+    private transient Map<TableIdentifier, RowDataTaskWriterFactory> multipleWriterFactories;
+    // Bytes written to each table since its writer was last flushed
+    private transient Map<TableIdentifier, Long> multipleBufferedBytes;
+    private transient long totalBufferedBytes;
+    private transient Counter evictedWriters;
+    private transient MetricGroup writerPoolMetricGroup;
     private transient Map<TableIdentifier, Table> multipleTables;
     private transient Map<TableIdentifier, Schema> multipleSchemas;
     private transient FunctionInitializationContext functionInitializationContext;
@@ -113,6 +128,7 @@ public class IcebergMultipleStreamWriter extends IcebergProcessFunction<RecordWi
     private final RowType tableSchemaRowType;
     private final int metaFieldIndex;
     private final boolean switchAppendUpsertEnable;
+    private final long maxBufferedBytes;
 
     public IcebergMultipleStreamWriter(
             boolean appendMode,
@@ -125,7 +141,10 @@ public class IcebergMultipleStreamWriter extends IcebergProcessFunction<RecordWi
             RowType tableSchemaRowType,
             int metaFieldIndex,
             boolean switchAppendUpsertEnable,
-            String auditKeys) {
+            String auditKeys,
+            long maxBufferedBytes) {
+        Preconditions.checkArgument(maxBufferedBytes <= 0 || isEvictable(appendMode, switchAppendUpsertEnable),
+                "The buffered bytes budget only applies to the append mode without switching to upsert");
         this.appendMode = appendMode;
         this.catalogLoader = catalogLoader;
         this.inlongMetric = inlongMetric;
@@ -137,16 +156,23 @@ public class IcebergMultipleStreamWriter extends IcebergProcessFunction<RecordWi
         this.metaFieldIndex = metaFieldIndex;
         this.switchAppendUpsertEnable = switchAppendUpsertEnable;
         this.auditKeys = auditKeys;
+        this.maxBufferedBytes = maxBufferedBytes;
     }
 
     @Override
     public void open(Configuration parameters) throws Exception {
         this.catalog = catalogLoader.loadCatalog();
-        this.multipleWriters = new HashMap<>();
+        this.multipleWriters = new LinkedHashMap<>(16, 0.75f, true);
+        this.multipleWriterFactories = new HashMap<>();
+        this.multipleBufferedBytes = new HashMap<>();
         this.multipleTables = new HashMap<>();
         this.multipleSchemas = new HashMap<>();
 
         this.runtimeContext = getRuntimeContext();
+        this.writerPoolMetricGroup = runtimeContext.getMetricGroup().addGroup(WRITER_POOL_METRIC_GROUP);
+        writerPoolMetricGroup.gauge("bufferedBytes", (Gauge<Long>) () -> totalBufferedBytes);
+        writerPoolMetricGroup.gauge("openWriters", (Gauge<Integer>) () -> multipleWriters.size());
+        this.evictedWriters = writerPoolMetricGroup.counter("evictedWriters");
         MetricOption metricOption = MetricOption.builder()
                 .withInlongLabels(inlongMetric)
                 .withAuditAddress(auditHostAndPorts)
@@ -192,6 +218,8 @@ public class IcebergMultipleStreamWriter extends IcebergProcessFunction<RecordWi
             entry.getValue().dispose();
         }
         multipleWriters.clear();
+        multipleWriterFactories.clear();
+        multipleBufferedBytes.clear();
         multipleTables.clear();
         multipleSchemas.clear();
     }
@@ -242,28 +270,23 @@ public class IcebergMultipleStreamWriter extends IcebergProcessFunction<RecordWi
                     appendMode,
                     false);
 
+            if (multipleWriterFactories.put(tableId, taskWriterFactory) == null) {
+                writerPoolMetricGroup.addGroup(Constants.DATABASE_NAME, tableId.namespace().toString())
+                        .addGroup(Constants.TABLE_NAME, tableId.name())
+                        .gauge("bufferedBytes", (Gauge<Long>) () -> multipleBufferedBytes.getOrDefault(tableId, 0L));
+            }
             if (multipleWriters.get(tableId) == null) {
-                String subWriterInlongMetric = inlongMetric + DELIMITER
-                        + Constants.DATABASE_NAME + "=" + tableId.namespace().toString()
-                        + DELIMITER
-                        + Constants.TABLE_NAME + "=" + tableId.name();
-                IcebergSingleStreamWriter<RowData> writer = new IcebergSingleStreamWriter<>(
-                        tableId.toString(), taskWriterFactory, subWriterInlongMetric,
-                        auditHostAndPorts, flinkRowType, dirtyOptions, dirtySink, true,
-                        tableSchemaRowType, metaFieldIndex, switchAppendUpsertEnable, auditKeys);
-                writer.setup(getRuntimeContext(),
-                        new CallbackCollector<>(
-                                writeResult -> collector.collect(new MultipleWriteResult(tableId, writeResult))),
-                        context);
-                writer.initializeState(functionInitializationContext);
-                writer.open(new Configuration());
-                multipleWriters.put(tableId, writer);
+                openWriter(tableId, taskWriterFactory, flinkRowType);
             } else { // only if second times schema will evolute
                 // Refresh new schema maybe cause previous file writer interrupted, so here should handle it
                 multipleWriters.get(tableId).schemaEvolution(taskWriterFactory);
                 multipleWriters.get(tableId).setFlinkRowType(flinkRowType);
             }
 
+        } else if (multipleWriters.get(tableId) == null && multipleWriterFactories.get(tableId) != null) {
+            // The writer was evicted from the pool, reopen it with the latest schema
+            openWriter(tableId, multipleWriterFactories.get(tableId),
+                    FlinkSchemaUtil.convert(multipleSchemas.get(tableId)));
         }
 
         if (multipleWriters.get(tableId) != null) {
@@ -328,6 +351,11 @@ public class IcebergMultipleStreamWriter extends IcebergProcessFunction<RecordWi
                     if (sinkMetricData != null) {
                         sinkMetricData.outputMetrics(dataBaseName, tableName, 1, size);
                     }
+                    multipleBufferedBytes.merge(tableId, size, Long::sum);
+                    totalBufferedBytes += size;
+                }
+                if (maxBufferedBytes > 0 && totalBufferedBytes > maxBufferedBytes) {
+                    evictWriters();
                 }
             }
         } else {
@@ -335,11 +363,73 @@ public class IcebergMultipleStreamWriter extends IcebergProcessFunction<RecordWi
         }
     }
 
+    private void openWriter(TableIdentifier tableId, RowDataTaskWriterFactory taskWriterFactory,
+            RowType flinkRowType) throws Exception {
+        String subWriterInlongMetric = inlongMetric + DELIMITER
+                + Constants.DATABASE_NAME + "=" + tableId.namespace().toString()
+                + DELIMITER
+                + Constants.TABLE_NAME + "=" + tableId.name();
+        IcebergSingleStreamWriter<RowData> writer = new IcebergSingleStreamWriter<>(
+                tableId.toString(), taskWriterFactory, subWriterInlongMetric,
+                auditHostAndPorts, flinkRowType, dirtyOptions, dirtySink, true,
+                tableSchemaRowType, metaFieldIndex, switchAppendUpsertEnable, auditKeys);
+        writer.setup(getRuntimeContext(),
+                new CallbackCollector<>(
+                        writeResult -> collector.collect(new MultipleWriteResult(tableId, writeResult))),
+                context);
+        writer.initializeState(functionInitializationContext);
+        writer.open(new Configuration());
+        multipleWriters.put(tableId, writer);
+    }
+
+    /**
+     * Whether the writers can be flushed and closed before the checkpoint. Writers that write equality deletes can
+     * not: a row rewritten after the file holding its previous version was completed is only deleted by an equality
+     * delete, which does not apply to the data files of the same commit.
+     *
+     * @param appendMode Whether the sink ignores the changelog and only inserts rows
+     * @param switchAppendUpsertEnable Whether the writers switch to upsert for the incremental rows
+     */
+    public static boolean isEvictable(boolean appendMode, boolean switchAppendUpsertEnable) {
+        return appendMode && !switchAppendUpsertEnable;
+    }
+
+    /**
+     * Flush and close the least recently used writers until the buffered bytes fit in the budget again.
+     */
+    private void evictWriters() throws IOException {
+        Iterator<Entry<TableIdentifier, IcebergSingleStreamWriter<RowData>>> iterator =
+                multipleWriters.entrySet().iterator();
+        int evicted = 0;
+        while (totalBufferedBytes > maxBufferedBytes && iterator.hasNext()) {
+            Entry<TableIdentifier, IcebergSingleStreamWriter<RowData>> entry = iterator.next();
+            entry.getValue().flushAndClose();
+            iterator.remove();
+            Long bytes = multipleBufferedBytes.remove(entry.getKey());
+            totalBufferedBytes -= bytes == null ? 0L : bytes;
+            evicted++;
+        }
+        evictedWriters.inc(evicted);
+        LOG.info("Evicted {} writers, {} writers open with {} bytes buffered",
+                evicted, multipleWriters.size(), totalBufferedBytes);
+    }
+
     @Override
     public void prepareSnapshotPreBarrier(long checkpointId) throws Exception {
-        for (Entry<TableIdentifier, IcebergSingleStreamWriter<RowData>> entry : multipleWriters.entrySet()) {
-            entry.getValue().prepareSnapshotPreBarrier(checkpointId);
+        Iterator<Entry<TableIdentifier, IcebergSingleStreamWriter<RowData>>> iterator =
+                multipleWriters.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry<TableIdentifier, IcebergSingleStreamWriter<RowData>> entry = iterator.next();
+            if (multipleBufferedBytes.get(entry.getKey()) == null) {
+                // Nothing was written since the last checkpoint, release the idle writer until data comes again
+                entry.getValue().flushAndClose();
+                iterator.remove();
+            } else {
+                entry.getValue().prepareSnapshotPreBarrier(checkpointId);
+            }
         }
+        multipleBufferedBytes.clear();
+        totalBufferedBytes = 0;
     }
 
     @Override
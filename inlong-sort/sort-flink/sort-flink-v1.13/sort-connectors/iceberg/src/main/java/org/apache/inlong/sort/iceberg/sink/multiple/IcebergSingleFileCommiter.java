@@ -36,6 +36,8 @@ import org.apache.flink.runtime.state.FunctionSnapshotContext;
 import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
 import org.apache.flink.table.runtime.typeutils.SortedMapTypeInfo;
 import org.apache.iceberg.AppendFiles;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DeleteFile;
 import org.apache.iceberg.ManifestFile;
 import org.apache.iceberg.ReplacePartitions;
 import org.apache.iceberg.RowDelta;
@@ -89,6 +91,7 @@ public class IcebergSingleFileCommiter extends IcebergProcessFunction<WriteResul
     private static final String MAX_COMMITTED_CHECKPOINT_ID = "flink.max-committed-checkpoint-id";
     static final String MAX_CONTINUOUS_EMPTY_COMMITS = "flink.max-continuous-empty-commits";
 
+    private final TableIdentifier tableId;
     // TableLoader to load iceberg table lazily.
     private final TableLoader tableLoader;
     private final boolean replacePartitions;
@@ -112,6 +115,10 @@ public class IcebergSingleFileCommiter extends IcebergProcessFunction<WriteResul
     private transient long maxCommittedCheckpointId;
     private transient int continuousEmptyCheckpoints;
     private transient int maxContinuousEmptyCommits;
+    // Files committed since the last call of pollCommitResult, reported downstream by the multiple committer.
+    private transient int committedDataFiles;
+    private transient int committedDeleteFiles;
+    private transient long committedFileBytes;
     // There're two cases that we restore from flink checkpoints: the first case is restoring from snapshot created by
     // the same flink job; another case is restoring from snapshot created by another different job. For the second
     // case, we need to maintain the old flink job's id in flink state backend to find the max-committed-checkpoint-id
@@ -135,6 +142,7 @@ public class IcebergSingleFileCommiter extends IcebergProcessFunction<WriteResul
             ReadableConfig tableOptions) {
         // Here must distinguish state descriptor with tableId, because all icebergSingleFileCommiter state in
         // one IcebergMultipleFilesCommiter use same StateStore.
+        this.tableId = tableId;
         this.tableLoader = tableLoader;
         this.replacePartitions = replacePartitions;
         this.flinkActions = actionProvider;
@@ -315,6 +323,12 @@ public class IcebergSingleFileCommiter extends IcebergProcessFunction<WriteResul
                 commitDeltaTxn(pendingResults, newFlinkJobId, checkpointId);
             }
             continuousEmptyCheckpoints = 0;
+            for (WriteResult result : pendingResults.values()) {
+                committedDataFiles += result.dataFiles().length;
+                committedDeleteFiles += result.deleteFiles().length;
+                committedFileBytes += Arrays.stream(result.dataFiles()).mapToLong(DataFile::fileSizeInBytes).sum()
+                        + Arrays.stream(result.deleteFiles()).mapToLong(DeleteFile::fileSizeInBytes).sum();
+            }
         }
         pendingMap.clear();
 
@@ -415,6 +429,21 @@ public class IcebergSingleFileCommiter extends IcebergProcessFunction<WriteResul
         LOG.info("Committed in {} ms", duration);
     }
 
+    /**
+     * Return the summary of the files committed since the last call and reset it, or null if nothing was committed.
+     */
+    public MultipleCommitResult pollCommitResult() {
+        if (committedDataFiles == 0 && committedDeleteFiles == 0) {
+            return null;
+        }
+        MultipleCommitResult result = new MultipleCommitResult(tableId, committedDataFiles, committedDeleteFiles,
+                committedFileBytes);
+        committedDataFiles = 0;
+        committedDeleteFiles = 0;
+        committedFileBytes = 0;
+        return result;
+    }
+
     @Override
     public void processElement(WriteResult value)
             throws Exception {
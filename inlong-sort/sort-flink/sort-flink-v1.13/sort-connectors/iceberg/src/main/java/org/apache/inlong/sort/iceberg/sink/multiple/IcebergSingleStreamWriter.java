@@ -312,6 +312,17 @@ public class IcebergSingleStreamWriter<T> extends IcebergProcessFunction<T, Writ
         emit(writer.complete());
     }
 
+    /**
+     * Close all open files and emit them to downstream committer operator, after that the writer can't be used any
+     * more. The files are committed with the next checkpoint like the ones emitted before the barrier.
+     */
+    public void flushAndClose() throws IOException {
+        cachedWriteResults.forEach(this::emit);
+        cachedWriteResults.clear();
+        emit(writer.complete());
+        writer = null;
+    }
+
     @Override
     public void schemaEvolution(TaskWriterFactory<T> schema) throws IOException {
         emit(writer.complete());
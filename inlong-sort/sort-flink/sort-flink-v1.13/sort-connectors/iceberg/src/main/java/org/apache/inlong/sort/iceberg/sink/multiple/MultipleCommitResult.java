@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.iceberg.sink.multiple;
+
+import org.apache.iceberg.catalog.TableIdentifier;
+
+/**
+ * Summary of the files committed to one table by {@link IcebergMultipleFilesCommiter} after a checkpoint completed.
+ */
+public class MultipleCommitResult {
+
+    private final TableIdentifier tableId;
+
+    private final int dataFiles;
+
+    private final int deleteFiles;
+
+    private final long fileBytes;
+
+    public MultipleCommitResult(TableIdentifier tableId, int dataFiles, int deleteFiles, long fileBytes) {
+        this.tableId = tableId;
+        this.dataFiles = dataFiles;
+        this.deleteFiles = deleteFiles;
+        this.fileBytes = fileBytes;
+    }
+
+    public TableIdentifier getTableId() {
+        return tableId;
+    }
+
+    public int getDataFiles() {
+        return dataFiles;
+    }
+
+    public int getDeleteFiles() {
+        return deleteFiles;
+    }
+
+    public long getFileBytes() {
+        return fileBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "MultipleCommitResult{tableId=" + tableId + ", dataFiles=" + dataFiles
+                + ", deleteFiles=" + deleteFiles + ", fileBytes=" + fileBytes + '}';
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.iceberg.sink.multiple;
+
+import org.apache.inlong.sort.iceberg.FlinkDynamicTableFactory;
+import org.apache.inlong.sort.iceberg.sink.HadoopCatalogResource;
+import org.apache.inlong.sort.iceberg.sink.util.SimpleDataUtil;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.data.RowData;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataOperations;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.flink.FlinkSchemaUtil;
+import org.apache.iceberg.flink.sink.FlinkAppenderFactory;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableList;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.apache.iceberg.TableProperties.DEFAULT_FILE_FORMAT;
+
+public class TestIcebergMultipleFilesCompactor {
+
+    private static final String DATABASE = "default";
+    private static final String TABLE = "t";
+    private static final TableIdentifier TABLE_ID = TableIdentifier.of(DATABASE, TABLE);
+    private static final org.apache.hadoop.conf.Configuration CONF = new org.apache.hadoop.conf.Configuration();
+
+    @ClassRule
+    public static final TemporaryFolder TEMPORARY_FOLDER = new TemporaryFolder();
+
+    @Rule
+    public final HadoopCatalogResource catalogResource = new HadoopCatalogResource(TEMPORARY_FOLDER, DATABASE, TABLE);
+
+    private Table table;
+    private IcebergMultipleFilesCompactor compactor;
+
+    @Before
+    public void before() {
+        table = catalogResource.catalog().createTable(TABLE_ID, SimpleDataUtil.SCHEMA, PartitionSpec.unpartitioned(),
+                ImmutableMap.of("format-version", "2", DEFAULT_FILE_FORMAT, FileFormat.AVRO.name()));
+    }
+
+    @After
+    public void after() throws Exception {
+        if (compactor != null) {
+            compactor.close();
+        }
+    }
+
+    @Test
+    public void testCompactSmallFilesAndMergeDeletes() throws Exception {
+        appendFile("data-1.avro", SimpleDataUtil.createInsert(1, "aaa"), SimpleDataUtil.createInsert(2, "bbb"));
+        appendFile("data-2.avro", SimpleDataUtil.createInsert(3, "ccc"));
+        appendFile("data-3.avro", SimpleDataUtil.createInsert(4, "ddd"));
+        DeleteFile deleteFile = SimpleDataUtil.writeEqDeleteFile(table, FileFormat.AVRO, "delete-1.avro",
+                createDeletableAppenderFactory(), ImmutableList.of(SimpleDataUtil.createDelete(2, "bbb")));
+        table.newRowDelta().addDeletes(deleteFile).commit();
+
+        compactor = createCompactor(new Configuration());
+        Assert.assertEquals(3, compactor.compact(TABLE_ID));
+
+        table.refresh();
+        Assert.assertEquals(DataOperations.REPLACE, table.currentSnapshot().operation());
+        List<FileScanTask> tasks = planFiles();
+        Assert.assertEquals(1, tasks.size());
+        Assert.assertTrue("Applied deletes should be removed", tasks.get(0).deletes().isEmpty());
+        SimpleDataUtil.assertTableRows(table, ImmutableList.of(
+                SimpleDataUtil.createInsert(1, "aaa"),
+                SimpleDataUtil.createInsert(3, "ccc"),
+                SimpleDataUtil.createInsert(4, "ddd")));
+
+        // Nothing left to compact
+        Assert.assertEquals(0, compactor.compact(TABLE_ID));
+    }
+
+    @Test
+    public void testCompactTriggeredByCommittedFiles() throws Exception {
+        appendFile("data-1.avro", SimpleDataUtil.createInsert(1, "aaa"));
+        appendFile("data-2.avro", SimpleDataUtil.createInsert(2, "bbb"));
+
+        Configuration tableOptions = new Configuration();
+        tableOptions.set(FlinkDynamicTableFactory.WRITE_COMPACT_MIN_INPUT_FILES, 3);
+        tableOptions.set(FlinkDynamicTableFactory.WRITE_COMPACT_MIN_INTERVAL, 0L);
+        compactor = createCompactor(tableOptions);
+
+        compactor.processElement(new MultipleCommitResult(TABLE_ID, 2, 0, 100));
+        Thread.sleep(200);
+        table.refresh();
+        Assert.assertEquals("Should not compact below min input files", 2, planFiles().size());
+
+        compactor.processElement(new MultipleCommitResult(TABLE_ID, 1, 0, 50));
+        long deadline = System.currentTimeMillis() + 30000;
+        while (planFiles().size() != 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            table.refresh();
+        }
+        Assert.assertEquals(1, planFiles().size());
+        SimpleDataUtil.assertTableRows(table, ImmutableList.of(
+                SimpleDataUtil.createInsert(1, "aaa"),
+                SimpleDataUtil.createInsert(2, "bbb")));
+    }
+
+    private IcebergMultipleFilesCompactor createCompactor(Configuration tableOptions) throws Exception {
+        IcebergMultipleFilesCompactor filesCompactor =
+                new IcebergMultipleFilesCompactor(catalogResource.catalogLoader(), tableOptions);
+        filesCompactor.open(new Configuration());
+        return filesCompactor;
+    }
+
+    private void appendFile(String filename, RowData... rows) throws IOException {
+        DataFile dataFile = SimpleDataUtil.writeFile(table, table.schema(), table.spec(), CONF,
+                table.location(), filename, Lists.newArrayList(rows));
+        table.newAppend().appendFile(dataFile).commit();
+    }
+
+    private List<FileScanTask> planFiles() throws IOException {
+        try (CloseableIterable<FileScanTask> tasks = table.newScan().planFiles()) {
+            return Lists.newArrayList(tasks);
+        }
+    }
+
+    private FlinkAppenderFactory createDeletableAppenderFactory() {
+        int[] equalityFieldIds = new int[]{
+                table.schema().findField("id").fieldId(), table.schema().findField("data").fieldId()
+        };
+        return new FlinkAppenderFactory(
+                table.schema(),
+                FlinkSchemaUtil.convert(table.schema()),
+                table.properties(),
+                table.spec(),
+                equalityFieldIds,
+                table.schema(),
+                null);
+    }
+}
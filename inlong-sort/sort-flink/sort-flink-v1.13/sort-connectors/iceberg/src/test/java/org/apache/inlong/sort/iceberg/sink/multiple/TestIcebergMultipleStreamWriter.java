@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.iceberg.sink.multiple;
+
+import org.apache.inlong.sort.base.dirty.DirtyOptions;
+import org.apache.inlong.sort.base.sink.MultipleSinkOption;
+import org.apache.inlong.sort.base.util.CalculateObjectSizeUtils;
+import org.apache.inlong.sort.iceberg.sink.HadoopCatalogResource;
+import org.apache.inlong.sort.iceberg.sink.util.SimpleDataUtil;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.java.typeutils.runtime.kryo.JavaSerializer;
+import org.apache.flink.api.java.typeutils.runtime.kryo.KryoSerializer;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.table.data.RowData;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.flink.FlinkSchemaUtil;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableList;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.iceberg.TableProperties.DEFAULT_FILE_FORMAT;
+
+public class TestIcebergMultipleStreamWriter {
+
+    private static final String DATABASE = "default";
+    private static final TableIdentifier TABLE_ID_1 = TableIdentifier.of(DATABASE, "t1");
+    private static final TableIdentifier TABLE_ID_2 = TableIdentifier.of(DATABASE, "t2");
+    private static final String INLONG_METRIC = "groupId=g&streamId=s&nodeId=n";
+
+    @ClassRule
+    public static final TemporaryFolder TEMPORARY_FOLDER = new TemporaryFolder();
+
+    @Rule
+    public final HadoopCatalogResource catalogResource =
+            new HadoopCatalogResource(TEMPORARY_FOLDER, DATABASE, TABLE_ID_1.name());
+
+    private Table table1;
+    private Table table2;
+
+    @Before
+    public void before() {
+        table1 = createTable(TABLE_ID_1);
+        table2 = createTable(TABLE_ID_2);
+    }
+
+    @After
+    public void after() {
+        catalogResource.catalog().dropTable(TABLE_ID_2);
+    }
+
+    @Test
+    public void testEvictedWriterFilesAreCommitted() throws Exception {
+        RowData row1 = SimpleDataUtil.createInsert(1, "aaa");
+        RowData row2 = SimpleDataUtil.createInsert(2, "bbb");
+        RowData row3 = SimpleDataUtil.createInsert(3, "ccc");
+        // the buffered bytes budget holds the rows of only one table
+        long maxBufferedBytes = CalculateObjectSizeUtils.getDataSize(row1) * 3 / 2;
+
+        List<MultipleWriteResult> writeResults;
+        try (OneInputStreamOperatorTestHarness<RecordWithSchema, MultipleWriteResult> writer =
+                createWriter(maxBufferedBytes)) {
+            writer.open();
+            writer.processElement(createRecord(TABLE_ID_1, row1), 1L);
+            Assert.assertTrue(writer.extractOutputValues().isEmpty());
+
+            // writing to the second table exceeds the budget, so the least recently used writer of t1 is evicted
+            writer.processElement(createRecord(TABLE_ID_2, row2), 2L);
+            List<MultipleWriteResult> evicted = writer.extractOutputValues();
+            Assert.assertEquals(1, evicted.size());
+            Assert.assertEquals(TABLE_ID_1, evicted.get(0).getTableId());
+            Assert.assertEquals(1, evicted.get(0).getWriteResult().dataFiles().length);
+
+            // the evicted writer is reopened for the new rows of t1, which evicts the writer of t2
+            writer.processElement(createRecord(TABLE_ID_1, row3), 3L);
+            writer.prepareSnapshotPreBarrier(1L);
+            writeResults = writer.extractOutputValues();
+        }
+        Assert.assertEquals(3, writeResults.size());
+
+        try (OneInputStreamOperatorTestHarness<MultipleWriteResult, MultipleCommitResult> committer =
+                createCommitter()) {
+            committer.open();
+            for (MultipleWriteResult writeResult : writeResults) {
+                committer.processElement(writeResult, 4L);
+            }
+            committer.snapshot(1L, 5L);
+            committer.notifyOfCompletedCheckpoint(1L);
+        }
+        table1.refresh();
+        table2.refresh();
+        SimpleDataUtil.assertTableRows(table1, ImmutableList.of(row1, row3));
+        SimpleDataUtil.assertTableRows(table2, ImmutableList.of(row2));
+    }
+
+    @Test
+    public void testBudgetRejectedInUpsertMode() throws Exception {
+        // the writers of upsert tables can not complete their files before the checkpoint
+        Assert.assertThrows(IllegalArgumentException.class, () -> createWriter(false, false, 1024L));
+        Assert.assertThrows(IllegalArgumentException.class, () -> createWriter(true, true, 1024L));
+        try (OneInputStreamOperatorTestHarness<RecordWithSchema, MultipleWriteResult> writer =
+                createWriter(false, false, 0L)) {
+            writer.open();
+        }
+    }
+
+    private Table createTable(TableIdentifier tableId) {
+        return catalogResource.catalog().createTable(tableId, SimpleDataUtil.SCHEMA, PartitionSpec.unpartitioned(),
+                ImmutableMap.of("format-version", "2", DEFAULT_FILE_FORMAT, FileFormat.AVRO.name()));
+    }
+
+    private RecordWithSchema createRecord(TableIdentifier tableId, RowData row) {
+        RecordWithSchema record =
+                new RecordWithSchema(null, SimpleDataUtil.SCHEMA, tableId, Collections.emptyList());
+        record.setData(Collections.singletonList(row));
+        return record;
+    }
+
+    private OneInputStreamOperatorTestHarness<RecordWithSchema, MultipleWriteResult> createWriter(
+            long maxBufferedBytes) throws Exception {
+        return createWriter(true, false, maxBufferedBytes);
+    }
+
+    private OneInputStreamOperatorTestHarness<RecordWithSchema, MultipleWriteResult> createWriter(
+            boolean appendMode, boolean switchAppendUpsertEnable, long maxBufferedBytes) throws Exception {
+        IcebergMultipleStreamWriter streamWriter = new IcebergMultipleStreamWriter(
+                appendMode,
+                catalogResource.catalogLoader(),
+                INLONG_METRIC,
+                null,
+                MultipleSinkOption.builder().build(),
+                DirtyOptions.fromConfig(new Configuration()),
+                null,
+                FlinkSchemaUtil.convert(SimpleDataUtil.SCHEMA),
+                0,
+                switchAppendUpsertEnable,
+                null,
+                maxBufferedBytes);
+        OneInputStreamOperatorTestHarness<RecordWithSchema, MultipleWriteResult> harness =
+                new OneInputStreamOperatorTestHarness<>(new IcebergProcessOperator<>(streamWriter));
+        // copy the emitted data files through java serialization, as kryo can not access the iceberg file classes
+        ExecutionConfig executionConfig = harness.getExecutionConfig();
+        executionConfig.addDefaultKryoSerializer(ContentFile.class, ContentFileSerializer.class);
+        harness.setup(new KryoSerializer<>(MultipleWriteResult.class, executionConfig));
+        return harness;
+    }
+
+    private OneInputStreamOperatorTestHarness<MultipleWriteResult, MultipleCommitResult> createCommitter()
+            throws Exception {
+        IcebergMultipleFilesCommiter filesCommiter =
+                new IcebergMultipleFilesCommiter(catalogResource.catalogLoader(), false, null, null);
+        return new OneInputStreamOperatorTestHarness<>(new IcebergProcessOperator<>(filesCommiter));
+    }
+
+    /**
+     * Kryo serializer that copies the iceberg data and delete files through java serialization.
+     */
+    public static class ContentFileSerializer extends JavaSerializer<ContentFile<?>> {
+    }
+}
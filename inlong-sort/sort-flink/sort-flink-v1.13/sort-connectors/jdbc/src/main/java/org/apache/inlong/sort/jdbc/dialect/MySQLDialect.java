@@ -104,6 +104,11 @@ public class MySQLDialect extends AbstractJdbcDialect {
                         + updateClause);
     }
 
+    @Override
+    public String getBatchRewriteParameters() {
+        return "rewriteBatchedStatements=true";
+    }
+
     @Override
     public String dialectName() {
         return "MySQL";
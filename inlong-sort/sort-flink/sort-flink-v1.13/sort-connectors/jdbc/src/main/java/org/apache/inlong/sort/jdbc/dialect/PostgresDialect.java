@@ -108,6 +108,11 @@ public class PostgresDialect extends AbstractJdbcDialect {
         return identifier;
     }
 
+    @Override
+    public String getBatchRewriteParameters() {
+        return "reWriteBatchedInserts=true";
+    }
+
     @Override
     public String dialectName() {
         return "PostgreSQL";
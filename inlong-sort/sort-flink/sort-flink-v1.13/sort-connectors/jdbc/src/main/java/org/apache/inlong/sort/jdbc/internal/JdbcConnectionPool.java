@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.jdbc.internal;
+
+import org.apache.flink.connector.jdbc.internal.connection.SimpleJdbcConnectionProvider;
+import org.apache.flink.connector.jdbc.internal.options.JdbcOptions;
+import org.apache.flink.util.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A pool of connections to one database url, shared by all the tables of the multiple sink that live in this
+ * database. Each connection caches its prepared statements in a bounded LRU map, so the statements of a table are
+ * reused by the following flushes instead of being prepared again. A statement evicted from the cache while the
+ * connection is borrowed is only closed when the connection is released, as the borrower may still hold it.
+ */
+public class JdbcConnectionPool implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcConnectionPool.class);
+
+    private final JdbcOptions jdbcOptions;
+    private final int statementCacheSize;
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+    private volatile boolean closed;
+
+    public JdbcConnectionPool(JdbcOptions jdbcOptions, int maxConnections, int statementCacheSize) {
+        Preconditions.checkArgument(statementCacheSize > 0,
+                "The statement cache size should be positive, but is " + statementCacheSize);
+        this.jdbcOptions = jdbcOptions;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(Math.max(1, maxConnections));
+    }
+
+    /**
+     * Borrow a connection, waiting for one to be released if all of them are in use.
+     * The connection must be given back by {@link #release(PooledConnection, boolean)}.
+     */
+    public PooledConnection borrow() throws SQLException, ClassNotFoundException, InterruptedException {
+        permits.acquire();
+        try {
+            while (true) {
+                PooledConnection pooledConnection;
+                synchronized (idleConnections) {
+                    pooledConnection = idleConnections.pollFirst();
+                }
+                if (pooledConnection == null) {
+                    return new PooledConnection(new SimpleJdbcConnectionProvider(jdbcOptions), statementCacheSize);
+                }
+                if (pooledConnection.isValid(jdbcOptions.getConnectionCheckTimeoutSeconds())) {
+                    return pooledConnection;
+                }
+                LOG.info("Discard invalid connection of {}", jdbcOptions.getDbURL());
+                pooledConnection.close();
+            }
+        } catch (SQLException | ClassNotFoundException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Give back a borrowed connection.
+     *
+     * @param broken Whether the connection failed, in which case it is closed instead of being reused
+     */
+    public void release(PooledConnection pooledConnection, boolean broken) {
+        try {
+            if (broken || closed) {
+                pooledConnection.close();
+            } else {
+                pooledConnection.recycle();
+                synchronized (idleConnections) {
+                    idleConnections.addFirst(pooledConnection);
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (idleConnections) {
+            idleConnections.forEach(PooledConnection::close);
+            idleConnections.clear();
+        }
+    }
+
+    /**
+     * A pooled connection. {@link #getConnection()} returns a view of the physical connection whose
+     * {@code prepareStatement(String)} serves statements from the cache, and whose statements and itself are not
+     * really closed by {@code close()}.
+     */
+    public static class PooledConnection {
+
+        private final SimpleJdbcConnectionProvider connectionProvider;
+        private final Connection physicalConnection;
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statementCache;
+        // the statements handed out since the connection was borrowed
+        private final Set<PreparedStatement> checkedOutStatements =
+                Collections.newSetFromMap(new IdentityHashMap<>());
+        // the checked out statements evicted from the cache, closed when the connection is released
+        private final List<PreparedStatement> evictedStatements = new ArrayList<>();
+
+        PooledConnection(SimpleJdbcConnectionProvider connectionProvider, int statementCacheSize)
+                throws SQLException, ClassNotFoundException {
+            this.connectionProvider = connectionProvider;
+            this.physicalConnection = connectionProvider.getOrEstablishConnection();
+            this.statementCache = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() <= statementCacheSize) {
+                        return false;
+                    }
+                    PreparedStatement eldestStatement = eldest.getValue();
+                    if (checkedOutStatements.contains(eldestStatement)) {
+                        evictedStatements.add(eldestStatement);
+                    } else {
+                        closeQuietly(eldestStatement);
+                    }
+                    return true;
+                }
+            };
+            this.connection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new ConnectionHandler());
+        }
+
+        public Connection getConnection() {
+            return connection;
+        }
+
+        boolean isValid(int timeoutSeconds) {
+            try {
+                return physicalConnection.isValid(timeoutSeconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Called when the connection is released, the statements handed out to the borrower are not used anymore.
+         */
+        void recycle() {
+            evictedStatements.forEach(PooledConnection::closeQuietly);
+            evictedStatements.clear();
+            checkedOutStatements.clear();
+        }
+
+        void close() {
+            recycle();
+            statementCache.values().forEach(PooledConnection::closeQuietly);
+            statementCache.clear();
+            connectionProvider.closeConnection();
+        }
+
+        private PreparedStatement prepareStatement(String sql) throws SQLException {
+            PreparedStatement statement = statementCache.get(sql);
+            if (statement == null || statement.isClosed()) {
+                statement = physicalConnection.prepareStatement(sql);
+                statementCache.put(sql, statement);
+            }
+            checkedOutStatements.add(statement);
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, new StatementHandler(statement));
+        }
+
+        private static void closeQuietly(PreparedStatement statement) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                LOG.warn("Close cached statement failed", e);
+            }
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private class ConnectionHandler implements InvocationHandler {
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if ("prepareStatement".equals(method.getName()) && args != null && args.length == 1) {
+                    return prepareStatement((String) args[0]);
+                }
+                if ("close".equals(method.getName())) {
+                    // the physical connection is closed by the pool
+                    return null;
+                }
+                return PooledConnection.invoke(physicalConnection, method, args);
+            }
+        }
+
+        private static class StatementHandler implements InvocationHandler {
+
+            private final PreparedStatement statement;
+
+            StatementHandler(PreparedStatement statement) {
+                this.statement = statement;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if ("close".equals(method.getName())) {
+                    // keep the statement in the cache, only reset what a closed statement would drop
+                    if (!statement.isClosed()) {
+                        statement.clearBatch();
+                        statement.clearParameters();
+                    }
+                    return null;
+                }
+                return PooledConnection.invoke(statement, method, args);
+            }
+        }
+    }
+}
@@ -17,6 +17,9 @@
 
 package org.apache.inlong.sort.jdbc.internal;
 
+import org.apache.inlong.sort.jdbc.table.AbstractJdbcDialect;
+
+import org.apache.commons.lang3.StringUtils;
 import org.apache.flink.api.common.functions.RuntimeContext;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
@@ -36,6 +39,8 @@ import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
 
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.Function;
 
 import static org.apache.flink.table.data.RowData.createFieldGetter;
@@ -174,10 +179,52 @@ public class JdbcMultiBatchingComm {
         return pkRow;
     }
 
+    /**
+     * Append the parameters to the url parameters, a parameter already configured by the user is kept.
+     *
+     * @param urlParameters the url parameters, such as "a=1&b=2", may be null
+     * @param parameters the parameters to append
+     * @return the merged url parameters
+     */
+    static String appendUrlParameters(String urlParameters, String parameters) {
+        if (StringUtils.isBlank(urlParameters)) {
+            return parameters;
+        }
+        Set<String> configuredKeys = new HashSet<>();
+        for (String parameter : urlParameters.split("&")) {
+            configuredKeys.add(StringUtils.substringBefore(parameter, "=").trim().toLowerCase());
+        }
+        StringBuilder builder = new StringBuilder(urlParameters);
+        for (String parameter : parameters.split("&")) {
+            if (configuredKeys.add(StringUtils.substringBefore(parameter, "=").trim().toLowerCase())) {
+                builder.append('&').append(parameter);
+            }
+        }
+        return builder.toString();
+    }
+
     public static JdbcOptions getExecJdbcOptions(JdbcOptions jdbcOptions, String tableIdentifier) {
+        String dbUrl = jdbcOptions.getDbURL();
+        String urlParameters = null;
+        int paramIndex = dbUrl.indexOf('?');
+        if (paramIndex >= 0) {
+            urlParameters = dbUrl.substring(paramIndex + 1);
+            dbUrl = dbUrl.substring(0, paramIndex);
+        }
+        dbUrl = dbUrl + "/" + getDatabaseNameFromIdentifier(tableIdentifier);
+        if (jdbcOptions.getDialect() instanceof AbstractJdbcDialect) {
+            String batchRewriteParameters = ((AbstractJdbcDialect) jdbcOptions.getDialect())
+                    .getBatchRewriteParameters();
+            if (batchRewriteParameters != null) {
+                urlParameters = appendUrlParameters(urlParameters, batchRewriteParameters);
+            }
+        }
+        if (StringUtils.isNotBlank(urlParameters)) {
+            dbUrl = dbUrl + "?" + urlParameters;
+        }
         JdbcOptions jdbcExecOptions =
                 JdbcOptions.builder()
-                        .setDBUrl(jdbcOptions.getDbURL() + "/" + getDatabaseNameFromIdentifier(tableIdentifier))
+                        .setDBUrl(dbUrl)
                         .setTableName(getTableNameFromIdentifier(tableIdentifier))
                         .setDialect(jdbcOptions.getDialect())
                         .setParallelism(jdbcOptions.getParallelism())
@@ -26,11 +26,13 @@ import org.apache.inlong.sort.base.metric.MetricOption;
 import org.apache.inlong.sort.base.metric.MetricState;
 import org.apache.inlong.sort.base.metric.sub.SinkTableMetricData;
 import org.apache.inlong.sort.base.sink.SchemaUpdateExceptionPolicy;
+import org.apache.inlong.sort.base.util.CalculateObjectSizeUtils;
 import org.apache.inlong.sort.base.util.MetricStateUtils;
 import org.apache.inlong.sort.jdbc.table.AbstractJdbcDialect;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.functions.RuntimeContext;
 import org.apache.flink.api.common.state.ListState;
 import org.apache.flink.api.common.state.ListStateDescriptor;
@@ -39,7 +41,6 @@ import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.connector.jdbc.JdbcExecutionOptions;
 import org.apache.flink.connector.jdbc.internal.connection.JdbcConnectionProvider;
-import org.apache.flink.connector.jdbc.internal.connection.SimpleJdbcConnectionProvider;
 import org.apache.flink.connector.jdbc.internal.converter.JdbcRowConverter;
 import org.apache.flink.connector.jdbc.internal.executor.JdbcBatchStatementExecutor;
 import org.apache.flink.connector.jdbc.internal.executor.TableBufferReducedStatementExecutor;
@@ -48,6 +49,8 @@ import org.apache.flink.connector.jdbc.internal.executor.TableSimpleStatementExe
 import org.apache.flink.connector.jdbc.internal.options.JdbcDmlOptions;
 import org.apache.flink.connector.jdbc.internal.options.JdbcOptions;
 import org.apache.flink.connector.jdbc.statement.StatementFactory;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.state.FunctionInitializationContext;
 import org.apache.flink.runtime.state.FunctionSnapshotContext;
 import org.apache.flink.runtime.util.ExecutorThreadFactory;
@@ -69,7 +72,6 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
-import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -82,10 +84,15 @@ import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalQueries;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -110,6 +117,9 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
 
     private static final long serialVersionUID = 1L;
     private static final Logger LOG = LoggerFactory.getLogger(JdbcMultiBatchingOutputFormat.class);
+    private static final String TABLE_METRIC_GROUP = "table";
+    private static final String FLUSH_LATENCY_MS = "flushLatencyMs";
+    private static final String FLUSH_PENDING_RECORDS = "flushPendingRecords";
     private final JdbcExecutionOptions executionOptions;
     private final String inlongMetric;
     private final String auditHostAndPorts;
@@ -123,18 +133,32 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
     private JdbcDmlOptions dmlOptions;
     private JdbcOptions jdbcOptions;
     private boolean appendMode;
-    private transient Map<String, JdbcExec> jdbcExecMap = new HashMap<>();
-    private transient Map<String, SimpleJdbcConnectionProvider> connectionExecProviderMap = new HashMap<>();
-    private transient Map<String, RowType> rowTypeMap = new HashMap<>();
-    private transient Map<String, List<String>> pkNameMap = new HashMap<>();
+    private transient Map<String, JdbcExec> jdbcExecMap = new ConcurrentHashMap<>();
+    /**
+     * The connection pools by database url, the tables of one database share the connections of its pool.
+     */
+    private transient Map<String, JdbcConnectionPool> connectionPoolMap = new ConcurrentHashMap<>();
+    private transient Map<String, RowType> rowTypeMap = new ConcurrentHashMap<>();
+    private transient Map<String, List<String>> pkNameMap = new ConcurrentHashMap<>();
     private transient Map<String, List<GenericRowData>> recordsMap = new HashMap<>();
-    private transient Map<String, Exception> tableExceptionMap = new HashMap<>();
+    private transient Map<String, Exception> tableExceptionMap = new ConcurrentHashMap<>();
+    /**
+     * The flush of each table runs in flushExecutor, and there is at most one flush in flight for each table,
+     * the records of the table are buffered in recordsMap while the flush is running.
+     * The buffer of each table is bounded by the batch size, a table whose buffer is full waits for its own
+     * flush, so a slow table does not hold back the flushes of the other tables.
+     */
+    private transient ExecutorService flushExecutor;
+    private transient Map<String, Future<?>> tableFlushFutureMap;
+    private transient Map<String, TableFlushMetric> tableFlushMetricMap;
     private transient Boolean stopWritingWhenTableException;
     private transient ListState<MetricState> metricStateListState;
     private final String sinkMultipleFormat;
     private final String databasePattern;
     private final String tablePattern;
     private final String schemaPattern;
+    private final int flushParallelism;
+    private final int statementCacheSize;
     private transient MetricState metricState;
     private SinkTableMetricData sinkMetricData;
     private final SchemaUpdateExceptionPolicy schemaUpdateExceptionPolicy;
@@ -161,6 +185,8 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
             String databasePattern,
             String tablePattern,
             String schemaPattern,
+            int flushParallelism,
+            int statementCacheSize,
             String inlongMetric,
             String auditHostAndPorts,
             SchemaUpdateExceptionPolicy schemaUpdateExceptionPolicy,
@@ -175,6 +201,8 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
         this.databasePattern = databasePattern;
         this.tablePattern = tablePattern;
         this.schemaPattern = schemaPattern;
+        this.flushParallelism = Math.max(1, flushParallelism);
+        this.statementCacheSize = statementCacheSize;
         this.inlongMetric = inlongMetric;
         this.auditHostAndPorts = auditHostAndPorts;
         this.schemaUpdateExceptionPolicy = schemaUpdateExceptionPolicy;
@@ -203,12 +231,16 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
             sinkMetricData = new SinkTableMetricData(metricOption, runtimeContext.getMetricGroup());
             sinkMetricData.registerSubMetricsGroup(metricState);
         }
-        jdbcExecMap = new HashMap<>();
-        connectionExecProviderMap = new HashMap<>();
-        pkNameMap = new HashMap<>();
-        rowTypeMap = new HashMap<>();
+        jdbcExecMap = new ConcurrentHashMap<>();
+        connectionPoolMap = new ConcurrentHashMap<>();
+        pkNameMap = new ConcurrentHashMap<>();
+        rowTypeMap = new ConcurrentHashMap<>();
         recordsMap = new HashMap<>();
-        tableExceptionMap = new HashMap<>();
+        tableExceptionMap = new ConcurrentHashMap<>();
+        tableFlushFutureMap = new HashMap<>();
+        tableFlushMetricMap = new ConcurrentHashMap<>();
+        flushExecutor = Executors.newFixedThreadPool(flushParallelism,
+                new ExecutorThreadFactory("jdbc-multi-table-flush"));
         stopWritingWhenTableException =
                 schemaUpdateExceptionPolicy.equals(SchemaUpdateExceptionPolicy.ALERT_WITH_IGNORE)
                         || schemaUpdateExceptionPolicy.equals(SchemaUpdateExceptionPolicy.STOP_PARTIAL);
@@ -222,7 +254,7 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
                                 synchronized (JdbcMultiBatchingOutputFormat.this) {
                                     if (!closed) {
                                         try {
-                                            flush();
+                                            flushAsync();
                                         } catch (Exception e) {
                                             LOG.info("Synchronized flush get Exception:", e);
                                         }
@@ -298,16 +330,6 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
 
         jdbcExec = statementExecutorFactory.apply(getRuntimeContext());
         try {
-            JdbcOptions jdbcExecOptions = JdbcMultiBatchingComm.getExecJdbcOptions(jdbcOptions, tableIdentifier);
-            SimpleJdbcConnectionProvider tableConnectionProvider = new SimpleJdbcConnectionProvider(jdbcExecOptions);
-            try {
-                tableConnectionProvider.getOrEstablishConnection();
-            } catch (Exception e) {
-                LOG.error("unable to open JDBC writer, tableIdentifier:{} err:", tableIdentifier, e);
-                return null;
-            }
-            connectionExecProviderMap.put(tableIdentifier, tableConnectionProvider);
-
             if (!stopWritingWhenTableException && dirtySinkHelper.getDirtySink() != null) {
                 try {
                     JdbcExec newExecutor = enhanceExecutor(jdbcExec);
@@ -319,8 +341,6 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
                             jdbcExec.getClass(), e);
                 }
             }
-
-            jdbcExec.prepareStatements(tableConnectionProvider.getConnection());
         } catch (Exception e) {
             return null;
         }
@@ -328,6 +348,44 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
         return jdbcExec;
     }
 
+    /**
+     * Get or create the connection pool of the database which the table belongs to.
+     * The pool holds at most flushParallelism connections since no more tables are flushed at the same time.
+     *
+     * @param tableIdentifier The table identifier for which to get the connection pool.
+     */
+    private JdbcConnectionPool getOrCreateConnectionPool(String tableIdentifier) {
+        JdbcOptions jdbcExecOptions = JdbcMultiBatchingComm.getExecJdbcOptions(jdbcOptions, tableIdentifier);
+        return connectionPoolMap.computeIfAbsent(jdbcExecOptions.getDbURL(),
+                url -> new JdbcConnectionPool(jdbcExecOptions, flushParallelism, statementCacheSize));
+    }
+
+    /**
+     * Borrow a connection of the table's database, prepare the statements of the executor on it and write a batch.
+     * The connection is given back to the pool after the batch, and discarded if the batch failed.
+     */
+    @VisibleForTesting
+    void executeBatch(String tableIdentifier, JdbcExec jdbcExec, List<GenericRowData> records)
+            throws Exception {
+        JdbcConnectionPool connectionPool = getOrCreateConnectionPool(tableIdentifier);
+        JdbcConnectionPool.PooledConnection pooledConnection = connectionPool.borrow();
+        boolean broken = true;
+        try {
+            jdbcExec.prepareStatements(pooledConnection.getConnection());
+            for (GenericRowData record : records) {
+                jdbcExec.addToBatch((JdbcIn) record);
+            }
+            if (dirtySinkHelper.getDirtySink() != null) {
+                fillDirtyData(jdbcExec, tableIdentifier);
+            }
+            jdbcExec.executeBatch();
+            jdbcExec.closeStatements();
+            broken = false;
+        } finally {
+            connectionPool.release(pooledConnection, broken);
+        }
+    }
+
     /**
      *  Use reflection to initialize TableMetricStatementExecutor, and replace the original executor
      *  or upsertExecutor to calculate metrics.
@@ -372,12 +430,23 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
     }
 
     public void getAndSetPkNamesFromDb(String tableIdentifier) {
+        JdbcConnectionPool connectionPool = getOrCreateConnectionPool(tableIdentifier);
+        JdbcConnectionPool.PooledConnection pooledConnection = null;
+        boolean broken = true;
         try {
+            pooledConnection = connectionPool.borrow();
             AbstractJdbcDialect jdbcDialect = (AbstractJdbcDialect) jdbcOptions.getDialect();
-            List<String> pkNames = jdbcDialect.getPkNamesFromDb(tableIdentifier, jdbcOptions);
-            pkNameMap.put(tableIdentifier, pkNames);
+            List<String> pkNames = jdbcDialect.getPkNamesFromDb(tableIdentifier, pooledConnection.getConnection());
+            broken = false;
+            if (pkNames != null) {
+                pkNameMap.put(tableIdentifier, pkNames);
+            }
         } catch (Exception e) {
             LOG.error("TableIdentifier:{} getAndSetPkNamesFromDb get err:", tableIdentifier, e);
+        } finally {
+            if (pooledConnection != null) {
+                connectionPool.release(pooledConnection, broken);
+            }
         }
     }
 
@@ -409,14 +478,11 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
             String tableIdentifier;
             try {
                 if (StringUtils.isBlank(schemaPattern)) {
-                    tableIdentifier = StringUtils.join(
-                            jsonDynamicSchemaFormat.parse(rootNode, databasePattern), ".",
-                            jsonDynamicSchemaFormat.parse(rootNode, tablePattern));
+                    tableIdentifier = jsonDynamicSchemaFormat.parseIdentifier(rootNode,
+                            databasePattern, tablePattern);
                 } else {
-                    tableIdentifier = StringUtils.join(
-                            jsonDynamicSchemaFormat.parse(rootNode, databasePattern), ".",
-                            jsonDynamicSchemaFormat.parse(rootNode, schemaPattern), ".",
-                            jsonDynamicSchemaFormat.parse(rootNode, tablePattern));
+                    tableIdentifier = jsonDynamicSchemaFormat.parseIdentifier(rootNode,
+                            databasePattern, schemaPattern, tablePattern);
                 }
             } catch (Exception e) {
                 LOG.info("Cal tableIdentifier get Exception:", e);
@@ -448,12 +514,18 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
                 return;
             }
             try {
-                recordsMap.computeIfAbsent(tableIdentifier, k -> new ArrayList<>())
-                        .add(record);
+                List<GenericRowData> tableRecords = recordsMap.computeIfAbsent(tableIdentifier,
+                        k -> new ArrayList<>());
+                tableRecords.add(record);
                 batchCount++;
+                if (executionOptions.getBatchSize() > 0
+                        && tableRecords.size() >= executionOptions.getBatchSize()) {
+                    // the buffer of the table is full, wait for the flushing of this table only
+                    submitFlush(tableIdentifier, true);
+                }
                 if (executionOptions.getBatchSize() > 0
                         && batchCount >= executionOptions.getBatchSize()) {
-                    flush();
+                    flushAsync();
                 }
             } catch (Exception e) {
                 throw new IOException("Writing records to JDBC failed.", e);
@@ -608,8 +680,8 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
 
     @Override
     public synchronized void flush() throws IOException {
-        // when batch count > 0, execute flush operation
-        if (batchCount == 0) {
+        // when batch count > 0 or some tables are flushing, execute flush operation
+        if (batchCount == 0 && tableFlushFutureMap.isEmpty()) {
             return;
         }
         checkFlushException();
@@ -618,128 +690,222 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
     }
 
     /**
-     * Write all recorde from recordsMap to db
+     * Submit the buffered records of the tables which are not flushing to flushExecutor without waiting.
+     * The records of the flushing tables stay in their buffers, which are bounded by the batch size in
+     * {@link #writeRecord(Object)}.
+     */
+    protected synchronized void flushAsync() throws IOException {
+        checkFlushException();
+        submitFlushes(false);
+    }
+
+    /**
+     * Write all recorde from recordsMap to db, and wait for the flushes of all tables finished.
+     * The flushes of different tables run in parallel.
+     */
+    protected synchronized void attemptFlush() throws IOException {
+        submitFlushes(true);
+        for (String tableIdentifier : new ArrayList<>(tableFlushFutureMap.keySet())) {
+            waitForFlush(tableIdentifier);
+        }
+    }
+
+    /**
+     * Submit the buffered records of each table to flushExecutor
+     *
+     * @param waitFlushing Whether to wait for the flushing table, if false the records of flushing table are kept
+     *         in the buffer
+     */
+    private void submitFlushes(boolean waitFlushing) throws IOException {
+        for (String tableIdentifier : recordsMap.keySet()) {
+            submitFlush(tableIdentifier, waitFlushing);
+        }
+        batchCount = 0;
+    }
+
+    /**
+     * Submit the buffered records of one table to flushExecutor
+     *
+     * @param waitFlushing Whether to wait for the table if it is flushing, if false the records are kept
+     *         in the buffer
+     */
+    private void submitFlush(String tableIdentifier, boolean waitFlushing) throws IOException {
+        List<GenericRowData> tableIdRecordList = recordsMap.get(tableIdentifier);
+        if (tableIdRecordList == null || tableIdRecordList.isEmpty()) {
+            return;
+        }
+        Future<?> future = tableFlushFutureMap.get(tableIdentifier);
+        if (future != null && !future.isDone() && !waitFlushing) {
+            return;
+        }
+        waitForFlush(tableIdentifier);
+        // switch the buffer so that new records can be accepted while the table is flushing
+        recordsMap.put(tableIdentifier, new ArrayList<>());
+        TableFlushMetric flushMetric = getOrCreateFlushMetric(tableIdentifier);
+        flushMetric.pendingRecords = tableIdRecordList.size();
+        tableFlushFutureMap.put(tableIdentifier, flushExecutor.submit(() -> {
+            long startTime = System.currentTimeMillis();
+            flushTable(tableIdentifier, tableIdRecordList);
+            flushMetric.lastFlushLatencyMs = System.currentTimeMillis() - startTime;
+            flushMetric.pendingRecords = 0;
+            return null;
+        }));
+    }
+
+    /**
+     * Wait for the flush of the table finished
+     */
+    private void waitForFlush(String tableIdentifier) throws IOException {
+        Future<?> future = tableFlushFutureMap.remove(tableIdentifier);
+        if (future == null) {
+            return;
+        }
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("unable to flush; interrupted while waiting for table:" + tableIdentifier, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Flush table:" + tableIdentifier + " failed", e.getCause());
+        }
+    }
+
+    private TableFlushMetric getOrCreateFlushMetric(String tableIdentifier) {
+        return tableFlushMetricMap.computeIfAbsent(tableIdentifier, k -> {
+            TableFlushMetric flushMetric = new TableFlushMetric();
+            MetricGroup tableGroup = runtimeContext.getMetricGroup().addGroup(TABLE_METRIC_GROUP, k);
+            tableGroup.gauge(FLUSH_LATENCY_MS, (Gauge<Long>) () -> flushMetric.lastFlushLatencyMs);
+            tableGroup.gauge(FLUSH_PENDING_RECORDS, (Gauge<Integer>) () -> flushMetric.pendingRecords);
+            return flushMetric;
+        });
+    }
+
+    /**
+     * Write the records of one table to db
      *
      * First batch writing.
      * If batch-writing occur exception, then rewrite one-by-one retry-times set by user.
      */
-    protected void attemptFlush() throws IOException {
-        for (Map.Entry<String, List<GenericRowData>> entry : recordsMap.entrySet()) {
-            String tableIdentifier = entry.getKey();
-            boolean stopTableIdentifierWhenException = stopWritingWhenTableException
-                    && (null != tableExceptionMap.get(tableIdentifier));
-            if (stopTableIdentifierWhenException) {
-                continue;
-            }
-            List<GenericRowData> tableIdRecordList = entry.getValue();
-            if (CollectionUtils.isEmpty(tableIdRecordList)) {
-                continue;
+    private void flushTable(String tableIdentifier, List<GenericRowData> tableIdRecordList) throws IOException {
+        boolean stopTableIdentifierWhenException = stopWritingWhenTableException
+                && (null != tableExceptionMap.get(tableIdentifier));
+        if (stopTableIdentifierWhenException) {
+            return;
+        }
+        if (CollectionUtils.isEmpty(tableIdRecordList)) {
+            return;
+        }
+        JdbcExec jdbcStatementExecutor;
+        Boolean flushFlag = false;
+        Exception tableException = null;
+        try {
+            jdbcStatementExecutor = getOrCreateStatementExecutor(tableIdentifier);
+            Long totalDataSize = 0L;
+            for (GenericRowData record : tableIdRecordList) {
+                totalDataSize = totalDataSize + CalculateObjectSizeUtils.getDataSize(record);
             }
-            JdbcExec jdbcStatementExecutor;
-            Boolean flushFlag = false;
-            Exception tableException = null;
-            try {
-                getAndSetPkNamesFromDb(tableIdentifier);
-                jdbcStatementExecutor = getOrCreateStatementExecutor(tableIdentifier);
-                Long totalDataSize = 0L;
-                for (GenericRowData record : tableIdRecordList) {
-                    totalDataSize = totalDataSize + record.toString().getBytes(StandardCharsets.UTF_8).length;
-                    jdbcStatementExecutor.addToBatch((JdbcIn) record);
-                }
-                if (dirtySinkHelper.getDirtySink() != null) {
-                    fillDirtyData(jdbcStatementExecutor, tableIdentifier);
-                }
-                jdbcStatementExecutor.executeBatch();
-                flushFlag = true;
-                if (dirtySinkHelper.getDirtySink() == null) {
+            executeBatch(tableIdentifier, jdbcStatementExecutor, tableIdRecordList);
+            flushFlag = true;
+            if (dirtySinkHelper.getDirtySink() == null) {
+                outputMetrics(tableIdentifier, Long.valueOf(tableIdRecordList.size()),
+                        totalDataSize, false);
+            } else {
+                try {
+                    outputMetrics(tableIdentifier);
+                } catch (Exception e) {
                     outputMetrics(tableIdentifier, Long.valueOf(tableIdRecordList.size()),
                             totalDataSize, false);
-                } else {
-                    try {
-                        outputMetrics(tableIdentifier);
-                    } catch (Exception e) {
-                        outputMetrics(tableIdentifier, Long.valueOf(tableIdRecordList.size()),
-                                totalDataSize, false);
-                    }
-                }
-            } catch (Exception e) {
-                tableException = e;
-                LOG.warn("Flush all data for tableIdentifier:{} get err:", tableIdentifier, e);
-                getAndSetPkFromErrMsg(e.getMessage(), tableIdentifier);
-                updateOneExecutor(true, tableIdentifier);
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException ex) {
-                    Thread.currentThread().interrupt();
-                    throw new IOException(
-                            "unable to flush; interrupted while doing another attempt", e);
                 }
             }
+        } catch (Exception e) {
+            tableException = e;
+            LOG.warn("Flush all data for tableIdentifier:{} get err:", tableIdentifier, e);
+            getAndSetPkFromErrMsg(e.getMessage(), tableIdentifier);
+            updateOneExecutor(true, tableIdentifier);
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(
+                        "unable to flush; interrupted while doing another attempt", e);
+            }
+        }
 
-            if (!flushFlag) {
-                for (GenericRowData record : tableIdRecordList) {
-                    for (int retryTimes = 1; retryTimes <= executionOptions.getMaxRetries(); retryTimes++) {
-                        try {
-                            jdbcStatementExecutor = getOrCreateStatementExecutor(tableIdentifier);
-                            jdbcStatementExecutor.addToBatch((JdbcIn) record);
-                            jdbcStatementExecutor.executeBatch();
-                            Long totalDataSize =
-                                    Long.valueOf(record.toString().getBytes(StandardCharsets.UTF_8).length);
-                            if (dirtySinkHelper.getDirtySink() == null) {
+        if (!flushFlag) {
+            for (GenericRowData record : tableIdRecordList) {
+                for (int retryTimes = 1; retryTimes <= executionOptions.getMaxRetries(); retryTimes++) {
+                    try {
+                        jdbcStatementExecutor = getOrCreateStatementExecutor(tableIdentifier);
+                        executeBatch(tableIdentifier, jdbcStatementExecutor, Collections.singletonList(record));
+                        Long totalDataSize = CalculateObjectSizeUtils.getDataSize(record);
+                        if (dirtySinkHelper.getDirtySink() == null) {
+                            outputMetrics(tableIdentifier, (long) tableIdRecordList.size(),
+                                    totalDataSize, false);
+                        } else {
+                            try {
+                                outputMetrics(tableIdentifier);
+                            } catch (Exception e) {
+                                LOG.error("JDBC table metric calculation exception", e);
                                 outputMetrics(tableIdentifier, (long) tableIdRecordList.size(),
                                         totalDataSize, false);
-                            } else {
-                                try {
-                                    outputMetrics(tableIdentifier);
-                                } catch (Exception e) {
-                                    LOG.error("JDBC table metric calculation exception", e);
-                                    outputMetrics(tableIdentifier, (long) tableIdRecordList.size(),
-                                            totalDataSize, false);
-                                }
-                            }
-                            flushFlag = true;
-                            break;
-                        } catch (Exception e) {
-                            LOG.warn("Flush one record tableIdentifier:{} ,retryTimes:{} get err:",
-                                    tableIdentifier, retryTimes, e);
-                            getAndSetPkFromErrMsg(e.getMessage(), tableIdentifier);
-                            tableException = e;
-                            updateOneExecutor(true, tableIdentifier);
-                            try {
-                                Thread.sleep(1000 * retryTimes);
-                            } catch (InterruptedException ex) {
-                                Thread.currentThread().interrupt();
-                                throw new IOException(
-                                        "unable to flush; interrupted while doing another attempt", e);
                             }
                         }
-                    }
-                    if (!flushFlag && null != tableException) {
-                        LOG.info("Put tableIdentifier:{} exception:{}",
-                                tableIdentifier, tableException.getMessage());
-                        if (dirtySinkHelper.getDirtySink() == null &&
-                                !schemaUpdateExceptionPolicy.equals(SchemaUpdateExceptionPolicy.THROW_WITH_STOP)) {
-                            outputMetrics(tableIdentifier, Long.valueOf(tableIdRecordList.size()),
-                                    1L, true);
-                        }
-                        tableExceptionMap.put(tableIdentifier, tableException);
-                        if (stopWritingWhenTableException) {
-                            LOG.info("Stop write table:{} because occur exception",
-                                    tableIdentifier);
-                            break;
+                        flushFlag = true;
+                        break;
+                    } catch (Exception e) {
+                        LOG.warn("Flush one record tableIdentifier:{} ,retryTimes:{} get err:",
+                                tableIdentifier, retryTimes, e);
+                        getAndSetPkFromErrMsg(e.getMessage(), tableIdentifier);
+                        tableException = e;
+                        updateOneExecutor(true, tableIdentifier);
+                        try {
+                            Thread.sleep(1000 * retryTimes);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            throw new IOException(
+                                    "unable to flush; interrupted while doing another attempt", e);
                         }
                     }
                 }
+                if (!flushFlag && null != tableException) {
+                    LOG.info("Put tableIdentifier:{} exception:{}",
+                            tableIdentifier, tableException.getMessage());
+                    if (dirtySinkHelper.getDirtySink() == null &&
+                            !schemaUpdateExceptionPolicy.equals(SchemaUpdateExceptionPolicy.THROW_WITH_STOP)) {
+                        outputMetrics(tableIdentifier, Long.valueOf(tableIdRecordList.size()),
+                                1L, true);
+                    }
+                    tableExceptionMap.put(tableIdentifier, tableException);
+                    if (stopWritingWhenTableException) {
+                        LOG.info("Stop write table:{} because occur exception",
+                                tableIdentifier);
+                        break;
+                    }
+                }
             }
-            tableIdRecordList.clear();
         }
     }
 
+    /**
+     * The flush metric of one table
+     */
+    private static class TableFlushMetric {
+
+        private volatile long lastFlushLatencyMs;
+        private volatile int pendingRecords;
+    }
+
     /**
      * Output metrics with estimate for pg or other type jdbc connectors.
      * tableIdentifier maybe: ${dbName}.${tbName} or ${dbName}.${schemaName}.${tbName}
      */
     private void outputMetrics(String tableIdentifier, Long rowSize, Long dataSize, boolean dirtyFlag) {
+        synchronized (sinkMetricData) {
+            doOutputMetrics(tableIdentifier, rowSize, dataSize, dirtyFlag);
+        }
+    }
+
+    private void doOutputMetrics(String tableIdentifier, Long rowSize, Long dataSize, boolean dirtyFlag) {
         String[] fieldArray = tableIdentifier.split("\\.");
         if (fieldArray.length == 3) {
             if (dirtyFlag) {
@@ -761,6 +927,12 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
     }
 
     private void outputMetrics(String tableIdentifier) throws NoSuchFieldException, IllegalAccessException {
+        synchronized (sinkMetricData) {
+            doOutputMetrics(tableIdentifier);
+        }
+    }
+
+    private void doOutputMetrics(String tableIdentifier) throws NoSuchFieldException, IllegalAccessException {
         String[] fieldArray = tableIdentifier.split("\\.");
         // throw an exception if the executor is not enhanced
         JdbcExec executor = jdbcExecMap.get(tableIdentifier);
@@ -808,24 +980,21 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
                 this.scheduler.shutdown();
             }
 
-            if (batchCount > 0) {
-                try {
-                    flush();
-                } catch (Exception e) {
-                    LOG.warn("Writing records to JDBC failed.", e);
-                    throw new RuntimeException("Writing records to JDBC failed.", e);
+            try {
+                flush();
+            } catch (Exception e) {
+                LOG.warn("Writing records to JDBC failed.", e);
+                throw new RuntimeException("Writing records to JDBC failed.", e);
+            } finally {
+                if (flushExecutor != null) {
+                    flushExecutor.shutdownNow();
                 }
             }
 
             try {
-                if (null != jdbcExecMap) {
-                    jdbcExecMap.forEach((tableIdentifier, jdbcExec) -> {
-                        try {
-                            jdbcExec.closeStatements();
-                        } catch (SQLException e) {
-                            LOG.error("jdbcExec executeBatch get err", e);
-                        }
-                    });
+                if (null != connectionPoolMap) {
+                    connectionPoolMap.values().forEach(JdbcConnectionPool::close);
+                    connectionPoolMap.clear();
                 }
             } catch (Exception e) {
                 LOG.warn("Close JDBC writer failed.", e);
@@ -851,19 +1020,17 @@ public class JdbcMultiBatchingOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatc
         return false;
     }
 
+    /**
+     * Recreate the executor of the table, the connection of a failed batch is already discarded by the pool, so
+     * the next batch runs on a valid connection.
+     */
     public void updateOneExecutor(boolean reconnect, String tableIdentifier) {
         try {
-            SimpleJdbcConnectionProvider tableConnectionProvider = connectionExecProviderMap.get(tableIdentifier);
-            if (reconnect || null == tableConnectionProvider
-                    || !tableConnectionProvider.isConnectionValid()) {
-                JdbcExec tableJdbcExec = jdbcExecMap.get(tableIdentifier);
-                if (null != tableJdbcExec) {
-                    tableJdbcExec.closeStatements();
-                    jdbcExecMap.remove(tableIdentifier);
-                    getOrCreateStatementExecutor(tableIdentifier);
-                }
+            if (reconnect && jdbcExecMap.remove(tableIdentifier) != null) {
+                getAndSetPkNamesFromDb(tableIdentifier);
+                getOrCreateStatementExecutor(tableIdentifier);
             }
-        } catch (SQLException | IOException e) {
+        } catch (IOException e) {
             LOG.error("jdbcExec updateOneExecutor get err", e);
         }
     }
@@ -204,7 +204,11 @@ public final class TableMetricStatementExecutor implements JdbcBatchStatementExe
             sinkMetricData.invokeDirtyWithEstimate(rowData);
         } else {
             if (dirtySinkHelper != null) {
-                dirtySinkHelper.invoke(rowData.toString(), DirtyType.BATCH_LOAD_ERROR, label, logtag, identifier, e);
+                // the dirty sink is shared by the tables flushed in parallel
+                synchronized (dirtySinkHelper) {
+                    dirtySinkHelper.invoke(rowData.toString(), DirtyType.BATCH_LOAD_ERROR, label, logtag, identifier,
+                            e);
+                }
             }
             metric[2] += 1;
             metric[3] += CalculateObjectSizeUtils.getDataSize(rowData);
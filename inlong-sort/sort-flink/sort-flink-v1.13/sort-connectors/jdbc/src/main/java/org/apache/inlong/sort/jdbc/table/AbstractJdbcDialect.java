@@ -113,6 +113,16 @@ public abstract class AbstractJdbcDialect implements JdbcDialect {
      */
     public abstract List<LogicalTypeRoot> unsupportedTypes();
 
+    /**
+     * Url parameters that make the driver send a batch of inserts as multi-row statements, they are appended to the
+     * url of the connections of the multiple sink.
+     *
+     * @return the parameters, or null if the driver doesn't support it.
+     */
+    public String getBatchRewriteParameters() {
+        return null;
+    }
+
     public abstract PreparedStatement setQueryPrimaryKeySql(Connection conn,
             String tableIdentifier) throws SQLException;
 
@@ -123,11 +133,26 @@ public abstract class AbstractJdbcDialect implements JdbcDialect {
      */
     public List<String> getPkNamesFromDb(String tableIdentifier,
             JdbcOptions jdbcOptions) {
+        JdbcOptions jdbcExecOptions = JdbcMultiBatchingComm.getExecJdbcOptions(jdbcOptions, tableIdentifier);
+        SimpleJdbcConnectionProvider tableConnectionProvider = new SimpleJdbcConnectionProvider(jdbcExecOptions);
+        try {
+            return getPkNamesFromDb(tableIdentifier, tableConnectionProvider.getOrEstablishConnection());
+        } catch (Exception e) {
+            LOG.error("TableIdentifier:{} getAndSetPkNamesFromDb get err:", tableIdentifier, e);
+            return null;
+        } finally {
+            tableConnectionProvider.closeConnection();
+        }
+    }
+
+    /**
+     * get getPkNames from query db.tb with the given connection, which is left open
+     *
+     * @return a list of PkNames.
+     */
+    public List<String> getPkNamesFromDb(String tableIdentifier, Connection conn) {
         PreparedStatement st = null;
         try {
-            JdbcOptions jdbcExecOptions = JdbcMultiBatchingComm.getExecJdbcOptions(jdbcOptions, tableIdentifier);
-            SimpleJdbcConnectionProvider tableConnectionProvider = new SimpleJdbcConnectionProvider(jdbcExecOptions);
-            Connection conn = tableConnectionProvider.getOrEstablishConnection();
             st = setQueryPrimaryKeySql(conn, tableIdentifier);
             ResultSet rs = st.executeQuery();
             if (rs.next()) {
@@ -76,6 +76,8 @@ public class JdbcDynamicOutputFormatBuilder implements Serializable {
     private String databasePattern;
     private String tablePattern;
     private String schemaPattern;
+    private int flushParallelism = JdbcDynamicTableFactory.SINK_MULTIPLE_FLUSH_PARALLELISM.defaultValue();
+    private int statementCacheSize = JdbcDynamicTableFactory.SINK_MULTIPLE_STATEMENT_CACHE_SIZE.defaultValue();
     private SchemaUpdateExceptionPolicy schemaUpdateExceptionPolicy;
     private DirtyOptions dirtyOptions;
     private DirtySink<Object> dirtySink;
@@ -278,6 +280,16 @@ public class JdbcDynamicOutputFormatBuilder implements Serializable {
         return this;
     }
 
+    public JdbcDynamicOutputFormatBuilder setFlushParallelism(int flushParallelism) {
+        this.flushParallelism = flushParallelism;
+        return this;
+    }
+
+    public JdbcDynamicOutputFormatBuilder setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+        return this;
+    }
+
     public JdbcDynamicOutputFormatBuilder setSchemaUpdatePolicy(
             SchemaUpdateExceptionPolicy schemaUpdateExceptionPolicy) {
         this.schemaUpdateExceptionPolicy = schemaUpdateExceptionPolicy;
@@ -357,6 +369,8 @@ public class JdbcDynamicOutputFormatBuilder implements Serializable {
                 databasePattern,
                 tablePattern,
                 schemaPattern,
+                flushParallelism,
+                statementCacheSize,
                 inlongMetric,
                 auditHostAndPorts,
                 schemaUpdateExceptionPolicy,
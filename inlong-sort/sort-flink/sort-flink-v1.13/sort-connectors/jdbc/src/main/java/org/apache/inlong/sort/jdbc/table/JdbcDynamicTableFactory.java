@@ -198,6 +198,21 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
                             + "is used extract table name from the raw binary data, "
                             + "this is only used in the multiple sink writing scenario.");
 
+    public static final ConfigOption<Integer> SINK_MULTIPLE_FLUSH_PARALLELISM =
+            ConfigOptions.key("sink.multiple.flush.parallelism")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription("The max number of tables that are flushed concurrently, "
+                            + "this is only used in the multiple sink writing scenario.");
+
+    public static final ConfigOption<Integer> SINK_MULTIPLE_STATEMENT_CACHE_SIZE =
+            ConfigOptions.key("sink.multiple.statement-cache.size")
+                    .intType()
+                    .defaultValue(128)
+                    .withDescription("The max number of prepared statements cached by each connection, "
+                            + "the connections are shared by the tables of the same database, "
+                            + "this is only used in the multiple sink writing scenario.");
+
     @Override
     public DynamicTableSink createDynamicTableSink(Context context) {
         final FactoryUtil.TableFactoryHelper helper =
@@ -212,6 +227,8 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
         String tablePattern = helper.getOptions().getOptional(SINK_MULTIPLE_TABLE_PATTERN).orElse(null);
         String schemaPattern = helper.getOptions().getOptional(SINK_MULTIPLE_SCHEMA_PATTERN).orElse(databasePattern);
         validateSinkMultiple(multipleSink, sinkMultipleFormat, databasePattern, schemaPattern, tablePattern);
+        int flushParallelism = config.get(SINK_MULTIPLE_FLUSH_PARALLELISM);
+        int statementCacheSize = config.get(SINK_MULTIPLE_STATEMENT_CACHE_SIZE);
         JdbcOptions jdbcOptions = getJdbcOptions(config);
         TableSchema physicalSchema =
                 TableSchemaUtils.getPhysicalSchema(context.getCatalogTable().getSchema());
@@ -235,6 +252,8 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
                 databasePattern,
                 tablePattern,
                 schemaPattern,
+                flushParallelism,
+                statementCacheSize,
                 inlongMetric,
                 auditHostAndPorts,
                 schemaUpdateExceptionPolicy,
@@ -391,6 +410,8 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
         optionalOptions.add(SINK_MULTIPLE_DATABASE_PATTERN);
         optionalOptions.add(SINK_MULTIPLE_TABLE_PATTERN);
         optionalOptions.add(SINK_MULTIPLE_SCHEMA_PATTERN);
+        optionalOptions.add(SINK_MULTIPLE_FLUSH_PARALLELISM);
+        optionalOptions.add(SINK_MULTIPLE_STATEMENT_CACHE_SIZE);
         optionalOptions.add(SINK_MULTIPLE_SCHEMA_UPDATE_POLICY);
         optionalOptions.add(INLONG_METRIC);
         optionalOptions.add(INLONG_AUDIT);
@@ -445,6 +466,21 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
                             SINK_MAX_RETRIES.key(), config.get(SINK_MAX_RETRIES)));
         }
 
+        if (config.get(SINK_MULTIPLE_FLUSH_PARALLELISM) <= 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The value of '%s' option should be positive, but is %s.",
+                            SINK_MULTIPLE_FLUSH_PARALLELISM.key(), config.get(SINK_MULTIPLE_FLUSH_PARALLELISM)));
+        }
+
+        if (config.get(SINK_MULTIPLE_STATEMENT_CACHE_SIZE) <= 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The value of '%s' option should be positive, but is %s.",
+                            SINK_MULTIPLE_STATEMENT_CACHE_SIZE.key(),
+                            config.get(SINK_MULTIPLE_STATEMENT_CACHE_SIZE)));
+        }
+
         if (config.get(MAX_RETRY_TIMEOUT).getSeconds() <= 0) {
             throw new IllegalArgumentException(
                     String.format(
@@ -63,6 +63,8 @@ public class JdbcDynamicTableSink implements DynamicTableSink {
     private final String databasePattern;
     private final String tablePattern;
     private final String schemaPattern;
+    private final int flushParallelism;
+    private final int statementCacheSize;
     private final SchemaUpdateExceptionPolicy schemaUpdateExceptionPolicy;
 
     private final DirtyOptions dirtyOptions;
@@ -79,6 +81,8 @@ public class JdbcDynamicTableSink implements DynamicTableSink {
             String databasePattern,
             String tablePattern,
             String schemaPattern,
+            int flushParallelism,
+            int statementCacheSize,
             String inlongMetric,
             String auditHostAndPorts,
             SchemaUpdateExceptionPolicy schemaUpdateExceptionPolicy,
@@ -96,6 +100,8 @@ public class JdbcDynamicTableSink implements DynamicTableSink {
         this.databasePattern = databasePattern;
         this.tablePattern = tablePattern;
         this.schemaPattern = schemaPattern;
+        this.flushParallelism = flushParallelism;
+        this.statementCacheSize = statementCacheSize;
         this.inlongMetric = inlongMetric;
         this.auditHostAndPorts = auditHostAndPorts;
         this.schemaUpdateExceptionPolicy = schemaUpdateExceptionPolicy;
@@ -138,6 +144,8 @@ public class JdbcDynamicTableSink implements DynamicTableSink {
             builder.setDatabasePattern(databasePattern);
             builder.setTablePattern(tablePattern);
             builder.setSchemaPattern(schemaPattern);
+            builder.setFlushParallelism(flushParallelism);
+            builder.setStatementCacheSize(statementCacheSize);
             builder.setSchemaUpdatePolicy(schemaUpdateExceptionPolicy);
             return SinkFunctionProvider.of(
                     new GenericJdbcSinkFunction<>(builder.buildMulti()), jdbcOptions.getParallelism());
@@ -153,7 +161,7 @@ public class JdbcDynamicTableSink implements DynamicTableSink {
     public DynamicTableSink copy() {
         return new JdbcDynamicTableSink(jdbcOptions, executionOptions, dmlOptions,
                 tableSchema, appendMode, multipleSink, sinkMultipleFormat,
-                databasePattern, tablePattern, schemaPattern,
+                databasePattern, tablePattern, schemaPattern, flushParallelism, statementCacheSize,
                 inlongMetric, auditHostAndPorts,
                 schemaUpdateExceptionPolicy, dirtyOptions, dirtySink, auditKeys);
     }
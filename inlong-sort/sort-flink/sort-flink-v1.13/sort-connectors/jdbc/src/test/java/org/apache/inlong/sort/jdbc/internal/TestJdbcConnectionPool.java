@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.jdbc.internal;
+
+import org.apache.inlong.sort.jdbc.dialect.MySQLDialect;
+import org.apache.inlong.sort.jdbc.internal.JdbcConnectionPool.PooledConnection;
+
+import org.apache.flink.connector.jdbc.internal.options.JdbcOptions;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Test for {@link JdbcConnectionPool} and the connection and statement views of its pooled connections
+ */
+public class TestJdbcConnectionPool {
+
+    private JdbcConnectionPool pool;
+
+    @BeforeClass
+    public static void setUpClass() {
+        // log derby errors to stderr instead of the derby.log file in the working directory
+        System.setProperty("derby.stream.error.field", "java.lang.System.err");
+    }
+
+    @After
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testStatementCachedAcrossBorrows() throws Exception {
+        pool = createPool(1, 2);
+        PooledConnection pooledConnection = pool.borrow();
+        PreparedStatement statement = pooledConnection.getConnection().prepareStatement("VALUES 1");
+        PreparedStatement physicalStatement = statement.unwrap(PreparedStatement.class);
+        Assert.assertEquals(1, queryInt(statement));
+        statement.close();
+        Assert.assertFalse(physicalStatement.isClosed());
+        pool.release(pooledConnection, false);
+
+        PooledConnection reused = pool.borrow();
+        Assert.assertSame(pooledConnection, reused);
+        PreparedStatement cached = reused.getConnection().prepareStatement("VALUES 1");
+        Assert.assertSame(physicalStatement, cached.unwrap(PreparedStatement.class));
+        Assert.assertEquals(1, queryInt(cached));
+        pool.release(reused, false);
+    }
+
+    @Test
+    public void testEvictedStatementKeptUntilRelease() throws Exception {
+        pool = createPool(1, 1);
+        PooledConnection pooledConnection = pool.borrow();
+        Connection connection = pooledConnection.getConnection();
+        PreparedStatement first = connection.prepareStatement("VALUES 1");
+        PreparedStatement second = connection.prepareStatement("VALUES 2");
+
+        // the first statement is evicted by the second one, but is still held by the borrower
+        PreparedStatement physicalFirst = first.unwrap(PreparedStatement.class);
+        Assert.assertFalse(physicalFirst.isClosed());
+        Assert.assertEquals(1, queryInt(first));
+        Assert.assertEquals(2, queryInt(second));
+
+        pool.release(pooledConnection, false);
+        Assert.assertTrue(physicalFirst.isClosed());
+        Assert.assertFalse(second.unwrap(PreparedStatement.class).isClosed());
+    }
+
+    @Test
+    public void testEvictedStatementClosedWhenNotCheckedOut() throws Exception {
+        pool = createPool(1, 1);
+        PooledConnection pooledConnection = pool.borrow();
+        PreparedStatement physicalFirst = pooledConnection.getConnection()
+                .prepareStatement("VALUES 1").unwrap(PreparedStatement.class);
+        pool.release(pooledConnection, false);
+
+        pooledConnection = pool.borrow();
+        pooledConnection.getConnection().prepareStatement("VALUES 2");
+        Assert.assertTrue(physicalFirst.isClosed());
+        pool.release(pooledConnection, false);
+    }
+
+    @Test
+    public void testConnectionCloseKeepsPhysicalConnection() throws Exception {
+        pool = createPool(1, 2);
+        PooledConnection pooledConnection = pool.borrow();
+        Connection connection = pooledConnection.getConnection();
+        Connection physicalConnection = connection.unwrap(Connection.class);
+        connection.close();
+        Assert.assertFalse(physicalConnection.isClosed());
+        pool.release(pooledConnection, false);
+
+        PooledConnection reused = pool.borrow();
+        Assert.assertSame(pooledConnection, reused);
+        Assert.assertEquals(1, queryInt(reused.getConnection().prepareStatement("VALUES 1")));
+        pool.release(reused, false);
+    }
+
+    @Test
+    public void testBrokenConnectionClosed() throws Exception {
+        pool = createPool(1, 2);
+        PooledConnection pooledConnection = pool.borrow();
+        Connection physicalConnection = pooledConnection.getConnection().unwrap(Connection.class);
+        PreparedStatement physicalStatement = pooledConnection.getConnection()
+                .prepareStatement("VALUES 1").unwrap(PreparedStatement.class);
+        pool.release(pooledConnection, true);
+        Assert.assertTrue(physicalConnection.isClosed());
+        Assert.assertTrue(physicalStatement.isClosed());
+
+        PooledConnection newConnection = pool.borrow();
+        Assert.assertNotSame(pooledConnection, newConnection);
+        Assert.assertEquals(1, queryInt(newConnection.getConnection().prepareStatement("VALUES 1")));
+        pool.release(newConnection, false);
+    }
+
+    @Test(timeout = 30000)
+    public void testBorrowWaitsForRelease() throws Exception {
+        pool = createPool(1, 2);
+        PooledConnection pooledConnection = pool.borrow();
+        ExecutorService borrower = Executors.newSingleThreadExecutor();
+        try {
+            Future<PooledConnection> future = borrower.submit(() -> pool.borrow());
+            try {
+                future.get(200, TimeUnit.MILLISECONDS);
+                Assert.fail("The borrowing should wait for the only connection to be released");
+            } catch (TimeoutException e) {
+                // expected
+            }
+            pool.release(pooledConnection, false);
+            Assert.assertSame(pooledConnection, future.get());
+            pool.release(pooledConnection, false);
+        } finally {
+            borrower.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidStatementCacheSize() {
+        createPool(1, 0);
+    }
+
+    private static JdbcConnectionPool createPool(int maxConnections, int statementCacheSize) {
+        JdbcOptions jdbcOptions = JdbcOptions.builder()
+                .setDBUrl("jdbc:derby:memory:pool;create=true")
+                .setDriverName("org.apache.derby.jdbc.EmbeddedDriver")
+                .setTableName("t")
+                .setDialect(new MySQLDialect())
+                .build();
+        return new JdbcConnectionPool(jdbcOptions, maxConnections, statementCacheSize);
+    }
+
+    private static int queryInt(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            Assert.assertTrue(resultSet.next());
+            return resultSet.getInt(1);
+        }
+    }
+}
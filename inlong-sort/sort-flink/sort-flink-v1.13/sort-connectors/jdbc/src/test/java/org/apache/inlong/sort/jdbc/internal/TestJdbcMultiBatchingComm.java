@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.jdbc.internal;
+
+import org.apache.inlong.sort.jdbc.dialect.MySQLDialect;
+
+import org.apache.flink.connector.jdbc.internal.options.JdbcOptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for the url merging of {@link JdbcMultiBatchingComm}
+ */
+public class TestJdbcMultiBatchingComm {
+
+    @Test
+    public void testAppendUrlParameters() {
+        Assert.assertEquals("rewriteBatchedStatements=true",
+                JdbcMultiBatchingComm.appendUrlParameters(null, "rewriteBatchedStatements=true"));
+        Assert.assertEquals("rewriteBatchedStatements=true",
+                JdbcMultiBatchingComm.appendUrlParameters(" ", "rewriteBatchedStatements=true"));
+        Assert.assertEquals("useSSL=false&rewriteBatchedStatements=true",
+                JdbcMultiBatchingComm.appendUrlParameters("useSSL=false", "rewriteBatchedStatements=true"));
+        // the parameter configured by the user is kept, whatever its case
+        Assert.assertEquals("RewriteBatchedStatements=false&useSSL=false",
+                JdbcMultiBatchingComm.appendUrlParameters("RewriteBatchedStatements=false&useSSL=false",
+                        "rewriteBatchedStatements=true"));
+        Assert.assertEquals("a=1&b=2",
+                JdbcMultiBatchingComm.appendUrlParameters("a=1", "a=3&b=2"));
+    }
+
+    @Test
+    public void testGetExecJdbcOptions() {
+        JdbcOptions execOptions = JdbcMultiBatchingComm.getExecJdbcOptions(
+                createOptions("jdbc:mysql://localhost:3306"), "db.tb");
+        Assert.assertEquals("jdbc:mysql://localhost:3306/db?rewriteBatchedStatements=true",
+                execOptions.getDbURL());
+        Assert.assertEquals("tb", execOptions.getTableName());
+
+        execOptions = JdbcMultiBatchingComm.getExecJdbcOptions(
+                createOptions("jdbc:mysql://localhost:3306?useSSL=false"), "db.tb");
+        Assert.assertEquals("jdbc:mysql://localhost:3306/db?useSSL=false&rewriteBatchedStatements=true",
+                execOptions.getDbURL());
+
+        execOptions = JdbcMultiBatchingComm.getExecJdbcOptions(
+                createOptions("jdbc:mysql://localhost:3306?rewriteBatchedStatements=false"), "db.tb");
+        Assert.assertEquals("jdbc:mysql://localhost:3306/db?rewriteBatchedStatements=false",
+                execOptions.getDbURL());
+    }
+
+    private static JdbcOptions createOptions(String url) {
+        return JdbcOptions.builder()
+                .setDBUrl(url)
+                .setDriverName("com.mysql.cj.jdbc.Driver")
+                .setTableName("t")
+                .setDialect(new MySQLDialect())
+                .build();
+    }
+}
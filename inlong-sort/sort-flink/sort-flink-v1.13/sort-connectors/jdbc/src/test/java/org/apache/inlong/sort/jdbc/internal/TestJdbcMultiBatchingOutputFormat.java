@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.jdbc.internal;
+
+import org.apache.inlong.sort.base.dirty.DirtyOptions;
+import org.apache.inlong.sort.base.dirty.DirtySinkHelper;
+import org.apache.inlong.sort.base.sink.SchemaUpdateExceptionPolicy;
+import org.apache.inlong.sort.jdbc.dialect.MySQLDialect;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.jdbc.JdbcExecutionOptions;
+import org.apache.flink.connector.jdbc.internal.connection.SimpleJdbcConnectionProvider;
+import org.apache.flink.connector.jdbc.internal.executor.JdbcBatchStatementExecutor;
+import org.apache.flink.connector.jdbc.internal.options.JdbcDmlOptions;
+import org.apache.flink.connector.jdbc.internal.options.JdbcOptions;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Test for the parallel and asynchronous flush of {@link JdbcMultiBatchingOutputFormat}
+ */
+public class TestJdbcMultiBatchingOutputFormat {
+
+    private static final String SLOW_TABLE = "slow";
+    private static final String FAST_TABLE = "fast";
+    private static final String FAILED_TABLE = "failed";
+
+    private final Map<String, List<GenericRowData>> writtenRecords = new ConcurrentHashMap<>();
+    private final Set<String> flushingTables = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch slowTableLatch = new CountDownLatch(1);
+    private volatile boolean concurrentFlush;
+    private TestOutputFormat outputFormat;
+
+    @BeforeClass
+    public static void setUpClass() {
+        // log derby errors to stderr instead of the derby.log file in the working directory
+        System.setProperty("derby.stream.error.field", "java.lang.System.err");
+    }
+
+    @After
+    public void tearDown() {
+        slowTableLatch.countDown();
+        if (outputFormat != null) {
+            try {
+                outputFormat.close();
+            } catch (RuntimeException e) {
+                // the flush exception is thrown again when closing
+            }
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testFastTableNotBlockedBySlowTable() throws Exception {
+        outputFormat = open(2, SchemaUpdateExceptionPolicy.THROW_WITH_STOP);
+        outputFormat.writeRecord(record(SLOW_TABLE, 1));
+        outputFormat.writeRecord(record(SLOW_TABLE, 2));
+        waitUntil(() -> flushingTables.contains(SLOW_TABLE));
+
+        // the slow table is flushing and has buffered records, the records of the fast table are still flushed
+        outputFormat.writeRecord(record(SLOW_TABLE, 3));
+        for (int i = 0; i < 7; i++) {
+            outputFormat.writeRecord(record(FAST_TABLE, i));
+        }
+        waitUntil(() -> size(FAST_TABLE) == 7);
+        Assert.assertTrue(concurrentFlush);
+        Assert.assertEquals(0, size(SLOW_TABLE));
+
+        slowTableLatch.countDown();
+        outputFormat.flush();
+        Assert.assertEquals(3, size(SLOW_TABLE));
+        Assert.assertEquals(7, size(FAST_TABLE));
+    }
+
+    @Test(timeout = 30000)
+    public void testSlowTableBackpressure() throws Exception {
+        outputFormat = open(2, SchemaUpdateExceptionPolicy.THROW_WITH_STOP);
+        outputFormat.writeRecord(record(SLOW_TABLE, 1));
+        outputFormat.writeRecord(record(SLOW_TABLE, 2));
+        waitUntil(() -> flushingTables.contains(SLOW_TABLE));
+        outputFormat.writeRecord(record(SLOW_TABLE, 3));
+
+        // the buffer of the slow table is full, writing waits for the flushing of the slow table
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> write = writer.submit(() -> {
+                outputFormat.writeRecord(record(SLOW_TABLE, 4));
+                return null;
+            });
+            try {
+                write.get(300, TimeUnit.MILLISECONDS);
+                Assert.fail("Writing should wait for the flushing of the slow table");
+            } catch (TimeoutException e) {
+                // expected
+            }
+            slowTableLatch.countDown();
+            write.get();
+        } finally {
+            writer.shutdownNow();
+        }
+        outputFormat.flush();
+        Assert.assertEquals(4, size(SLOW_TABLE));
+    }
+
+    @Test(timeout = 30000)
+    public void testFlushExceptionThrownByNextWrite() throws Exception {
+        outputFormat = open(2, SchemaUpdateExceptionPolicy.THROW_WITH_STOP);
+        outputFormat.writeRecord(record(FAILED_TABLE, 1));
+        outputFormat.writeRecord(record(FAST_TABLE, 1));
+        outputFormat.flush();
+        Assert.assertEquals(1, size(FAST_TABLE));
+        try {
+            outputFormat.writeRecord(record(FAST_TABLE, 2));
+            Assert.fail("The flush exception of the failed table should be thrown");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getMessage().contains("db." + FAILED_TABLE));
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testFlushExceptionIgnoredByPolicy() throws Exception {
+        outputFormat = open(2, SchemaUpdateExceptionPolicy.STOP_PARTIAL);
+        outputFormat.writeRecord(record(FAILED_TABLE, 1));
+        outputFormat.flush();
+        outputFormat.writeRecord(record(FAST_TABLE, 1));
+        outputFormat.writeRecord(record(FAILED_TABLE, 2));
+        outputFormat.flush();
+        Assert.assertEquals(1, size(FAST_TABLE));
+        Assert.assertEquals(0, size(FAILED_TABLE));
+    }
+
+    private TestOutputFormat open(int batchSize, SchemaUpdateExceptionPolicy policy) throws Exception {
+        JdbcOptions jdbcOptions = JdbcOptions.builder()
+                .setDBUrl("jdbc:derby:memory:test")
+                .setDriverName("org.apache.derby.jdbc.EmbeddedDriver")
+                .setTableName("t")
+                .setDialect(new MySQLDialect())
+                .build();
+        JdbcExecutionOptions executionOptions = JdbcExecutionOptions.builder()
+                .withBatchSize(batchSize)
+                .withBatchIntervalMs(0)
+                .withMaxRetries(0)
+                .build();
+        JdbcDmlOptions dmlOptions = JdbcDmlOptions.builder()
+                .withTableName("t")
+                .withDialect(jdbcOptions.getDialect())
+                .withFieldNames("id", "name")
+                .build();
+        DirtySinkHelper<Object> dirtySinkHelper = new DirtySinkHelper<>(
+                DirtyOptions.fromConfig(new Configuration()), null);
+        TestOutputFormat format = new TestOutputFormat(new SimpleJdbcConnectionProvider(jdbcOptions),
+                executionOptions, dmlOptions, jdbcOptions, policy, dirtySinkHelper);
+        RuntimeContext runtimeContext = Mockito.mock(RuntimeContext.class);
+        Mockito.when(runtimeContext.getMetricGroup()).thenReturn(new UnregisteredMetricsGroup());
+        Mockito.when(runtimeContext.getExecutionConfig()).thenReturn(new ExecutionConfig());
+        format.setRuntimeContext(runtimeContext);
+        format.open(0, 1);
+        return format;
+    }
+
+    private static RowData record(String table, int id) {
+        String json = "{\"data\":[{\"id\":" + id + ",\"name\":\"n" + id + "\"}],\"database\":\"db\","
+                + "\"table\":\"" + table + "\",\"type\":\"INSERT\",\"isDdl\":false,"
+                + "\"sqlType\":{\"id\":4,\"name\":12},\"mysqlType\":{\"id\":\"INT\",\"name\":\"VARCHAR(16)\"}}";
+        return GenericRowData.of((Object) json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int size(String table) {
+        List<GenericRowData> records = writtenRecords.get(table);
+        return records == null ? 0 : records.size();
+    }
+
+    private static void waitUntil(Condition condition) throws InterruptedException {
+        while (!condition.check()) {
+            Thread.sleep(10);
+        }
+    }
+
+    private interface Condition {
+
+        boolean check();
+    }
+
+    /**
+     * The output format whose batches are written to memory, the batch of the slow table waits for the latch
+     * and the batch of the failed table fails.
+     */
+    private class TestOutputFormat
+            extends
+                JdbcMultiBatchingOutputFormat<RowData, RowData, JdbcBatchStatementExecutor<RowData>> {
+
+        TestOutputFormat(SimpleJdbcConnectionProvider connectionProvider, JdbcExecutionOptions executionOptions,
+                JdbcDmlOptions dmlOptions, JdbcOptions jdbcOptions, SchemaUpdateExceptionPolicy policy,
+                DirtySinkHelper<Object> dirtySinkHelper) {
+            super(connectionProvider, executionOptions, dmlOptions, true, jdbcOptions, "canal-json",
+                    "${database}", "${table}", null, 2, 8, "groupId=g&streamId=s&nodeId=n", null,
+                    policy, dirtySinkHelper, null);
+        }
+
+        @Override
+        void executeBatch(String tableIdentifier, JdbcBatchStatementExecutor<RowData> jdbcExec,
+                List<GenericRowData> records) throws Exception {
+            String table = JdbcMultiBatchingComm.getTableNameFromIdentifier(tableIdentifier);
+            if (FAILED_TABLE.equals(table)) {
+                throw new SQLException("Write table " + tableIdentifier + " failed");
+            }
+            flushingTables.add(table);
+            try {
+                if (flushingTables.size() > 1) {
+                    concurrentFlush = true;
+                }
+                if (SLOW_TABLE.equals(table)) {
+                    slowTableLatch.await();
+                }
+                writtenRecords.computeIfAbsent(table, k -> new CopyOnWriteArrayList<>()).addAll(records);
+            } finally {
+                flushingTables.remove(table);
+            }
+        }
+    }
+}
@@ -84,12 +84,16 @@ public class InLongFixedPartitionPartitioner<T> extends FlinkKafkaPartitioner<T>
     @Override
     public int partition(T record, byte[] key, byte[] value, String targetTopic, int[] partitions) {
         try {
+            List<String> names = null;
             for (Map.Entry<String, String> entry : patternPartitionMap.entrySet()) {
                 if (DEFAULT_PARTITION.equals(entry.getKey())) {
                     continue;
                 }
-                String databaseName = dynamicSchemaFormat.parse(value, databasePattern);
-                String tableName = dynamicSchemaFormat.parse(value, tablePattern);
+                if (names == null) {
+                    names = dynamicSchemaFormat.parseAll(value, databasePattern, tablePattern);
+                }
+                String databaseName = names.get(0);
+                String tableName = names.get(1);
                 List<String> regexList = Arrays.asList(entry.getKey().split(DELIMITER1));
                 String databaseNameRegex = regexList.get(0);
                 String tableNameRegex = regexList.get(1);
@@ -156,6 +156,8 @@ public class MySqlSource<T>
                 .withInlongLabels(sourceConfig.getInlongMetric())
                 .withAuditAddress(sourceConfig.getInlongAudit())
                 .withAuditKeys(sourceConfig.getAuditKyes())
+                .withDataSizeMode(sourceConfig.getDataSizeMode())
+                .withDataSizeSampleInterval(sourceConfig.getDataSizeSampleInterval())
                 .withRegisterMetric(RegisteredMetric.ALL)
                 .build();
         sourceReaderMetrics.registerMetrics(metricOption);
@@ -17,6 +17,7 @@
 
 package org.apache.inlong.sort.cdc.mysql.source;
 
+import org.apache.inlong.sort.base.metric.MetricOption.DataSizeMode;
 import org.apache.inlong.sort.cdc.base.debezium.DebeziumDeserializationSchema;
 import org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceConfigFactory;
 import org.apache.inlong.sort.cdc.mysql.table.StartupOptions;
@@ -163,6 +164,23 @@ public class MySqlSourceBuilder<T> {
         return this;
     }
 
+    /**
+     * The threshold of the estimated chunk count above which the chunk boundaries of a table are
+     * calculated from a sample of the split key.
+     */
+    public MySqlSourceBuilder<T> sampleShardingThreshold(int sampleShardingThreshold) {
+        this.configFactory.sampleShardingThreshold(sampleShardingThreshold);
+        return this;
+    }
+
+    /**
+     * The inverse of the sampling rate used when sampling the split key.
+     */
+    public MySqlSourceBuilder<T> inverseSamplingRate(int inverseSamplingRate) {
+        this.configFactory.inverseSamplingRate(inverseSamplingRate);
+        return this;
+    }
+
     /**
      * The maximum fetch size for per poll when read table snapshot.
      */
@@ -268,6 +286,18 @@ public class MySqlSourceBuilder<T> {
         return this;
     }
 
+    /** The mode of calculating the byte size of records for metrics. */
+    public MySqlSourceBuilder<T> dataSizeMode(DataSizeMode dataSizeMode) {
+        this.configFactory.dataSizeMode(dataSizeMode);
+        return this;
+    }
+
+    /** The sample interval of records when the data size mode is SAMPLED. */
+    public MySqlSourceBuilder<T> dataSizeSampleInterval(int dataSizeSampleInterval) {
+        this.configFactory.dataSizeSampleInterval(dataSizeSampleInterval);
+        return this;
+    }
+
     public MySqlSourceBuilder<T> migrateAll(boolean migrateAll) {
         this.configFactory.migrateAll(migrateAll);
         return this;
@@ -296,4 +326,13 @@ public class MySqlSourceBuilder<T> {
         this.configFactory.ghostTableRegex(ghostTableRegex);
         return this;
     }
+
+    /**
+     * The number of threads converting binlog change events into rows in each reader, the rows are
+     * still emitted in binlog order.
+     */
+    public MySqlSourceBuilder<T> binlogDeserializeParallelism(int binlogDeserializeParallelism) {
+        this.configFactory.binlogDeserializeParallelism(binlogDeserializeParallelism);
+        return this;
+    }
 }
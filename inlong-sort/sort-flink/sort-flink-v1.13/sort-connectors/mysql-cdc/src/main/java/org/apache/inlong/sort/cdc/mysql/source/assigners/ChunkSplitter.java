@@ -29,6 +29,7 @@ import io.debezium.relational.Column;
 import io.debezium.relational.Table;
 import io.debezium.relational.TableId;
 import io.debezium.relational.history.TableChanges.TableChange;
+import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.LogicalTypeRoot;
 import org.apache.flink.table.types.logical.RowType;
@@ -54,6 +55,7 @@ import static org.apache.inlong.sort.cdc.mysql.source.utils.StatementUtils.query
 import static org.apache.inlong.sort.cdc.mysql.source.utils.StatementUtils.queryMin;
 import static org.apache.inlong.sort.cdc.mysql.source.utils.StatementUtils.queryMinMax;
 import static org.apache.inlong.sort.cdc.mysql.source.utils.StatementUtils.queryNextChunkMax;
+import static org.apache.inlong.sort.cdc.mysql.source.utils.StatementUtils.sampleDataFromColumn;
 
 /**
  * The {@code ChunkSplitter}'s task is to split table into a set of chunks or called splits (i.e.
@@ -182,9 +184,12 @@ class ChunkSplitter {
     /**
      * We can use evenly-sized chunks or unevenly-sized chunks when split table into chunks, using
      * evenly-sized chunks which is much efficient, using unevenly-sized chunks which will request
-     * many queries and is not efficient.
+     * many queries and is not efficient. For large tables whose split column can not be split
+     * evenly, the chunk boundaries are calculated from a random sample of the split column, which
+     * only needs a single scan of the table.
      */
-    private List<ChunkRange> splitTableIntoChunks(
+    @VisibleForTesting
+    List<ChunkRange> splitTableIntoChunks(
             JdbcConnection jdbc, TableId tableId, Column splitColumn) throws SQLException {
         final String splitColumnName = splitColumn.name();
         final Object[] minMaxOfSplitColumn = queryMinMax(jdbc, tableId, splitColumnName);
@@ -198,9 +203,10 @@ class ChunkSplitter {
         final int chunkSize = sourceConfig.getSplitSize();
         final double distributionFactorUpper = sourceConfig.getDistributionFactorUpper();
         final double distributionFactorLower = sourceConfig.getDistributionFactorLower();
+        final int sampleShardingThreshold = sourceConfig.getSampleShardingThreshold();
+        final long approximateRowCnt = queryApproximateRowCnt(jdbc, tableId);
 
         if (isEvenlySplitColumn(splitColumn)) {
-            long approximateRowCnt = queryApproximateRowCnt(jdbc, tableId);
             double distributionFactor =
                     calculateDistributionFactor(tableId, min, max, approximateRowCnt);
 
@@ -213,13 +219,55 @@ class ChunkSplitter {
                 final int dynamicChunkSize = Math.max((int) (distributionFactor * chunkSize), 1);
                 return splitEvenlySizedChunks(
                         tableId, min, max, approximateRowCnt, dynamicChunkSize);
-            } else {
-                return splitUnevenlySizedChunks(
-                        jdbc, tableId, splitColumnName, min, max, chunkSize);
             }
-        } else {
-            return splitUnevenlySizedChunks(jdbc, tableId, splitColumnName, min, max, chunkSize);
         }
+        if (approximateRowCnt / chunkSize > sampleShardingThreshold) {
+            return splitChunksThroughSampling(
+                    jdbc, tableId, splitColumnName, approximateRowCnt, chunkSize);
+        }
+        return splitUnevenlySizedChunks(jdbc, tableId, splitColumnName, min, max, chunkSize);
+    }
+
+    /**
+     * Split table into chunks by picking every n-th value of a sorted random sample of the split
+     * column as chunk boundary, where n is the expected number of sampled rows per chunk.
+     */
+    private List<ChunkRange> splitChunksThroughSampling(
+            JdbcConnection jdbc,
+            TableId tableId,
+            String splitColumnName,
+            long approximateRowCnt,
+            int chunkSize)
+            throws SQLException {
+        // sample at least one row per chunk
+        final int inverseSamplingRate = Math.min(sourceConfig.getInverseSamplingRate(), chunkSize);
+        LOG.info(
+                "Use sampling sharding for table {}, the approximate row count is {}, "
+                        + "the chunk size is {}, the inverse sampling rate is {}",
+                tableId,
+                approximateRowCnt,
+                chunkSize,
+                inverseSamplingRate);
+        final Object[] sample =
+                sampleDataFromColumn(jdbc, tableId, splitColumnName, inverseSamplingRate);
+        if (sample.length == 0) {
+            return Collections.singletonList(ChunkRange.all());
+        }
+
+        final int samplesPerChunk = Math.max(chunkSize / inverseSamplingRate, 1);
+        final List<ChunkRange> splits = new ArrayList<>();
+        Object chunkStart = null;
+        for (int i = samplesPerChunk; i < sample.length; i += samplesPerChunk) {
+            Object chunkEnd = sample[i];
+            // skip duplicated boundaries, a chunk must not be empty by construction
+            if (chunkEnd != null && !Objects.equals(chunkStart, chunkEnd)) {
+                splits.add(ChunkRange.of(chunkStart, chunkEnd));
+                chunkStart = chunkEnd;
+            }
+        }
+        // add the ending split
+        splits.add(ChunkRange.of(chunkStart, null));
+        return splits;
     }
 
     /**
@@ -17,6 +17,7 @@
 
 package org.apache.inlong.sort.cdc.mysql.source.config;
 
+import org.apache.inlong.sort.base.metric.MetricOption.DataSizeMode;
 import org.apache.inlong.sort.cdc.mysql.source.MySqlSource;
 import org.apache.inlong.sort.cdc.mysql.table.StartupOptions;
 
@@ -58,6 +59,8 @@ public class MySqlSourceConfig implements Serializable {
     private final int connectionPoolSize;
     private final double distributionFactorUpper;
     private final double distributionFactorLower;
+    private final int sampleShardingThreshold;
+    private final int inverseSamplingRate;
     private final boolean includeSchemaChanges;
     private final boolean scanNewlyAddedTableEnabled;
     private final Properties jdbcProperties;
@@ -72,10 +75,13 @@ public class MySqlSourceConfig implements Serializable {
     private final String inlongMetric;
     private final String inlongAudit;
     private final String auditKyes;
+    private final DataSizeMode dataSizeMode;
+    private final int dataSizeSampleInterval;
     private final boolean includeIncremental;
     private final boolean ghostDdlChange;
     private final String ghostTableRegex;
     private final boolean migrateAll;
+    private final int binlogDeserializeParallelism;
 
     MySqlSourceConfig(
             String hostname,
@@ -95,6 +101,8 @@ public class MySqlSourceConfig implements Serializable {
             int connectionPoolSize,
             double distributionFactorUpper,
             double distributionFactorLower,
+            int sampleShardingThreshold,
+            int inverseSamplingRate,
             boolean includeSchemaChanges,
             boolean scanNewlyAddedTableEnabled,
             Properties dbzProperties,
@@ -105,7 +113,10 @@ public class MySqlSourceConfig implements Serializable {
             boolean ghostDdlChange,
             String ghostTableRegex,
             boolean migrateAll,
-            String auditKyes) {
+            String auditKyes,
+            DataSizeMode dataSizeMode,
+            int dataSizeSampleInterval,
+            int binlogDeserializeParallelism) {
         this.hostname = checkNotNull(hostname);
         this.port = port;
         this.username = checkNotNull(username);
@@ -123,6 +134,8 @@ public class MySqlSourceConfig implements Serializable {
         this.connectionPoolSize = connectionPoolSize;
         this.distributionFactorUpper = distributionFactorUpper;
         this.distributionFactorLower = distributionFactorLower;
+        this.sampleShardingThreshold = sampleShardingThreshold;
+        this.inverseSamplingRate = inverseSamplingRate;
         this.includeSchemaChanges = includeSchemaChanges;
         this.scanNewlyAddedTableEnabled = scanNewlyAddedTableEnabled;
         this.dbzProperties = checkNotNull(dbzProperties);
@@ -136,6 +149,9 @@ public class MySqlSourceConfig implements Serializable {
         this.ghostTableRegex = ghostTableRegex;
         this.migrateAll = migrateAll;
         this.auditKyes = auditKyes;
+        this.dataSizeMode = dataSizeMode;
+        this.dataSizeSampleInterval = dataSizeSampleInterval;
+        this.binlogDeserializeParallelism = binlogDeserializeParallelism;
     }
 
     public String getHostname() {
@@ -187,6 +203,14 @@ public class MySqlSourceConfig implements Serializable {
         return distributionFactorLower;
     }
 
+    public int getSampleShardingThreshold() {
+        return sampleShardingThreshold;
+    }
+
+    public int getInverseSamplingRate() {
+        return inverseSamplingRate;
+    }
+
     public int getFetchSize() {
         return fetchSize;
     }
@@ -247,6 +271,14 @@ public class MySqlSourceConfig implements Serializable {
         return auditKyes;
     }
 
+    public DataSizeMode getDataSizeMode() {
+        return dataSizeMode;
+    }
+
+    public int getDataSizeSampleInterval() {
+        return dataSizeSampleInterval;
+    }
+
     public boolean isIncludeIncremental() {
         return includeIncremental;
     }
@@ -262,4 +294,8 @@ public class MySqlSourceConfig implements Serializable {
     public boolean isMigrateAll() {
         return migrateAll;
     }
+
+    public int getBinlogDeserializeParallelism() {
+        return binlogDeserializeParallelism;
+    }
 }
@@ -17,6 +17,7 @@
 
 package org.apache.inlong.sort.cdc.mysql.source.config;
 
+import org.apache.inlong.sort.base.metric.MetricOption.DataSizeMode;
 import org.apache.inlong.sort.cdc.mysql.debezium.EmbeddedFlinkDatabaseHistory;
 import org.apache.inlong.sort.cdc.mysql.table.StartupOptions;
 
@@ -30,16 +31,21 @@ import java.util.Properties;
 import java.util.UUID;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
+import static org.apache.inlong.sort.base.Constants.METRICS_DATA_SIZE_MODE;
+import static org.apache.inlong.sort.base.Constants.METRICS_DATA_SIZE_SAMPLE_INTERVAL;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.CHUNK_META_GROUP_SIZE;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.CONNECTION_POOL_SIZE;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.CONNECT_MAX_RETRIES;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.CONNECT_TIMEOUT;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.HEARTBEAT_INTERVAL;
+import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.SCAN_BINLOG_DESERIALIZE_PARALLELISM;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.SCAN_SNAPSHOT_FETCH_SIZE;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.SERVER_TIME_ZONE;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.SPLIT_KEY_EVEN_DISTRIBUTION_FACTOR_LOWER_BOUND;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.SPLIT_KEY_EVEN_DISTRIBUTION_FACTOR_UPPER_BOUND;
+import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.SPLIT_KEY_INVERSE_SAMPLING_RATE;
+import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.SPLIT_KEY_SAMPLE_SHARDING_THRESHOLD;
 
 /**
  * A factory to construct {@link MySqlSourceConfig}.
@@ -68,6 +74,8 @@ public class MySqlSourceConfigFactory implements Serializable {
             SPLIT_KEY_EVEN_DISTRIBUTION_FACTOR_UPPER_BOUND.defaultValue();
     private double distributionFactorLower =
             SPLIT_KEY_EVEN_DISTRIBUTION_FACTOR_LOWER_BOUND.defaultValue();
+    private int sampleShardingThreshold = SPLIT_KEY_SAMPLE_SHARDING_THRESHOLD.defaultValue();
+    private int inverseSamplingRate = SPLIT_KEY_INVERSE_SAMPLING_RATE.defaultValue();
     private boolean includeSchemaChanges = false;
     private boolean scanNewlyAddedTableEnabled = false;
     private Properties jdbcProperties;
@@ -77,10 +85,13 @@ public class MySqlSourceConfigFactory implements Serializable {
     private String inlongMetric;
     private String inlongAudit;
     private String auditKeys;
+    private DataSizeMode dataSizeMode = METRICS_DATA_SIZE_MODE.defaultValue();
+    private int dataSizeSampleInterval = METRICS_DATA_SIZE_SAMPLE_INTERVAL.defaultValue();
     private boolean includeIncremental;
     private boolean ghostDdlChange;
     private String ghostTableRegex;
     private boolean migrateAll;
+    private int binlogDeserializeParallelism = SCAN_BINLOG_DESERIALIZE_PARALLELISM.defaultValue();
 
     public MySqlSourceConfigFactory inlongMetric(String inlongMetric) {
         this.inlongMetric = inlongMetric;
@@ -97,6 +108,16 @@ public class MySqlSourceConfigFactory implements Serializable {
         return this;
     }
 
+    public MySqlSourceConfigFactory dataSizeMode(DataSizeMode dataSizeMode) {
+        this.dataSizeMode = dataSizeMode;
+        return this;
+    }
+
+    public MySqlSourceConfigFactory dataSizeSampleInterval(int dataSizeSampleInterval) {
+        this.dataSizeSampleInterval = dataSizeSampleInterval;
+        return this;
+    }
+
     public MySqlSourceConfigFactory includeIncremental(boolean includeIncremental) {
         this.includeIncremental = includeIncremental;
         return this;
@@ -117,6 +138,14 @@ public class MySqlSourceConfigFactory implements Serializable {
         return this;
     }
 
+    /**
+     * The number of threads converting binlog change events into rows in each reader.
+     */
+    public MySqlSourceConfigFactory binlogDeserializeParallelism(int binlogDeserializeParallelism) {
+        this.binlogDeserializeParallelism = binlogDeserializeParallelism;
+        return this;
+    }
+
     public MySqlSourceConfigFactory hostname(String hostname) {
         this.hostname = hostname;
         return this;
@@ -227,6 +256,23 @@ public class MySqlSourceConfigFactory implements Serializable {
         return this;
     }
 
+    /**
+     * The threshold of the estimated chunk count above which the chunk boundaries of a table are
+     * calculated from a sample of the split key.
+     */
+    public MySqlSourceConfigFactory sampleShardingThreshold(int sampleShardingThreshold) {
+        this.sampleShardingThreshold = sampleShardingThreshold;
+        return this;
+    }
+
+    /**
+     * The inverse of the sampling rate used when sampling the split key.
+     */
+    public MySqlSourceConfigFactory inverseSamplingRate(int inverseSamplingRate) {
+        this.inverseSamplingRate = inverseSamplingRate;
+        return this;
+    }
+
     /**
      * The maximum fetch size for per poll when read table snapshot.
      */
@@ -387,6 +433,8 @@ public class MySqlSourceConfigFactory implements Serializable {
                 connectionPoolSize,
                 distributionFactorUpper,
                 distributionFactorLower,
+                sampleShardingThreshold,
+                inverseSamplingRate,
                 includeSchemaChanges,
                 scanNewlyAddedTableEnabled,
                 props,
@@ -397,6 +445,9 @@ public class MySqlSourceConfigFactory implements Serializable {
                 ghostDdlChange,
                 ghostTableRegex,
                 migrateAll,
-                auditKeys);
+                auditKeys,
+                dataSizeMode,
+                dataSizeSampleInterval,
+                binlogDeserializeParallelism);
     }
 }
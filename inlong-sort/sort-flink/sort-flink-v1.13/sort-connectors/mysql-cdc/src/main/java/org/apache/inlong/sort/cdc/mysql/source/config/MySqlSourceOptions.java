@@ -262,6 +262,28 @@ public class MySqlSourceOptions {
                                     + " The distribution factor could be calculated by (MAX(id) - "
                                     + "MIN(id) + 1) / rowCount.");
 
+    @Experimental
+    public static final ConfigOption<Integer> SPLIT_KEY_SAMPLE_SHARDING_THRESHOLD =
+            ConfigOptions.key("split-key.sample-sharding.threshold")
+                    .intType()
+                    .defaultValue(1000)
+                    .withDescription(
+                            "The threshold of the estimated chunk count of a table above which the "
+                                    + "chunk boundaries are calculated from a sample of the split key in one "
+                                    + "query, instead of querying MySQL once per chunk. It applies when the "
+                                    + "split key is not numeric or is unevenly distributed.");
+
+    @Experimental
+    public static final ConfigOption<Integer> SPLIT_KEY_INVERSE_SAMPLING_RATE =
+            ConfigOptions.key("split-key.inverse-sampling-rate")
+                    .intType()
+                    .defaultValue(1000)
+                    .withDescription(
+                            "The inverse of the sampling rate used when sampling the split key, e.g. 1000 "
+                                    + "means one row of every 1000 rows is sampled. A smaller value gives "
+                                    + "more even chunks at the cost of a larger sample, it is capped by the "
+                                    + "chunk size.");
+
     @Experimental
     public static final ConfigOption<Boolean> SCAN_NEWLY_ADDED_TABLE_ENABLED =
             ConfigOptions.key("scan.newly-added-table.enabled")
@@ -289,4 +311,13 @@ public class MySqlSourceOptions {
                     .longType()
                     .noDefaultValue()
                     .withDescription("Optional number of rows to skip after the specific offset");
+
+    public static final ConfigOption<Integer> SCAN_BINLOG_DESERIALIZE_PARALLELISM =
+            ConfigOptions.key("scan.binlog.deserialize.parallelism")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "The number of threads in each reader converting binlog change events into "
+                                    + "rows. The converted rows are emitted in binlog order, 1 means the events "
+                                    + "are converted on the reader thread.");
 }
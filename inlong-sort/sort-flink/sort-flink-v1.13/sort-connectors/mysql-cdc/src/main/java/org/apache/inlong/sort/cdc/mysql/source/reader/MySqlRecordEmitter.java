@@ -42,18 +42,30 @@ import net.sf.jsqlparser.schema.Table;
 import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.alter.RenameTableStatement;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.flink.api.common.functions.util.ListCollector;
 import org.apache.flink.api.connector.source.SourceOutput;
 import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.shaded.guava18.com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.flink.util.Collector;
+import org.apache.flink.util.InstantiationUtil;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.apache.inlong.sort.cdc.mysql.source.utils.GhostUtils.collectGhostDdl;
 import static org.apache.inlong.sort.cdc.mysql.source.utils.GhostUtils.updateGhostDdlElement;
@@ -75,6 +87,12 @@ import static org.apache.inlong.sort.protocol.ddl.Utils.ColumnUtils.reformatName
  *
  * <p>The {@link RecordEmitter} buffers the snapshot records of split and call the binlog reader to
  * emit records rather than emit the records directly.</p>
+ *
+ * <p>When the binlog deserialize parallelism is larger than 1, the data change events of the binlog
+ * split are converted by a pool of threads, each holding its own copy of the deserialization schema.
+ * The converted rows are emitted in the order the events were read, and the starting offset of the
+ * split only moves forward when the rows of an event are emitted, so a checkpoint never covers an
+ * event whose rows are still pending.</p>
  */
 public final class MySqlRecordEmitter<T>
         implements
@@ -83,6 +101,7 @@ public final class MySqlRecordEmitter<T>
     private static final Logger LOG = LoggerFactory.getLogger(MySqlRecordEmitter.class);
     private static final FlinkJsonTableChangeSerializer TABLE_CHANGE_SERIALIZER =
             new FlinkJsonTableChangeSerializer();
+    private static final int MAX_PENDING_RECORDS_PER_THREAD = 128;
 
     private final DebeziumDeserializationSchema<T> debeziumDeserializationSchema;
     private final MySqlSourceReaderMetrics sourceReaderMetrics;
@@ -103,6 +122,11 @@ public final class MySqlRecordEmitter<T>
     private boolean ghostDdlChange;
     private String ghostTableRegex;
 
+    private final Deque<PendingRecord<T>> pendingRecords = new ArrayDeque<>();
+    private final int maxPendingRecords;
+    private final ExecutorService deserializeExecutor;
+    private final ThreadLocal<DebeziumDeserializationSchema<T>> workerDeserializationSchema;
+
     public MySqlRecordEmitter(
             DebeziumDeserializationSchema<T> debeziumDeserializationSchema,
             MySqlSourceReaderMetrics sourceReaderMetrics,
@@ -117,12 +141,29 @@ public final class MySqlRecordEmitter<T>
         this.ghostDdlChange = sourceConfig.isGhostDdlChange();
         this.ghostTableRegex = sourceConfig.getGhostTableRegex();
         this.migrateAll = sourceConfig.isMigrateAll();
+        int deserializeParallelism = sourceConfig.getBinlogDeserializeParallelism();
+        this.maxPendingRecords = deserializeParallelism * MAX_PENDING_RECORDS_PER_THREAD;
+        if (deserializeParallelism > 1) {
+            this.deserializeExecutor = Executors.newFixedThreadPool(deserializeParallelism,
+                    new ThreadFactoryBuilder().setNameFormat("binlog-deserializer-%d").setDaemon(true).build());
+            this.workerDeserializationSchema = ThreadLocal.withInitial(this::copyDeserializationSchema);
+        } else {
+            this.deserializeExecutor = null;
+            this.workerDeserializationSchema = null;
+        }
     }
 
     @Override
     public void emitRecord(SourceRecord element, SourceOutput<T> output, MySqlSplitState splitState)
             throws Exception {
 
+        if (deserializeExecutor != null && splitState.isBinlogSplitState() && isDataChangeRecord(element)) {
+            submitDataChangeRecord(element, output, splitState);
+            return;
+        }
+        // the records converted on this thread must not overtake the pending data change records
+        flush();
+
         if (isWatermarkEvent(element)) {
             BinlogOffset watermark = getWatermark(element);
             if (isHighWatermarkEvent(element) && splitState.isSnapshotSplitState()) {
@@ -158,54 +199,7 @@ public final class MySqlRecordEmitter<T>
             }
 
         } else if (isDataChangeRecord(element)) {
-            if (splitState.isBinlogSplitState()) {
-                BinlogOffset position = getBinlogPosition(element);
-                splitState.asBinlogSplitState().setStartingOffset(position);
-                reportPos(position);
-                iSnapShot = false;
-                updateMessageTimestamp(element);
-            } else {
-                if (splitState.isSnapshotSplitState()) {
-                    iSnapShot = true;
-                }
-                updateMessageTimestampSnap(element);
-            }
-            fetchDelay = System.currentTimeMillis() - messageTimestamp;
-            reportMetrics(element);
-
-            final Map<TableId, TableChange> tableSchemas =
-                    splitState.getMySQLSplit().getTableSchemas();
-            final TableChange tableSchema =
-                    tableSchemas.getOrDefault(RecordUtils.getTableId(element), null);
-
-            updateSnapshotRecord(element, splitState);
-
-            TableChange newTableChange = ColumnFilterUtil.createTableChange(tableSchema, columnNameFilter);
-            debeziumDeserializationSchema.deserialize(
-                    element,
-                    new Collector<T>() {
-
-                        @Override
-                        public void collect(final T t) {
-                            if (migrateAll) {
-                                Struct value = (Struct) element.value();
-                                Struct source = value.getStruct(Envelope.FieldName.SOURCE);
-                                String databaseName = source.getString(AbstractSourceInfo.DATABASE_NAME_KEY);
-                                String tableName = source.getString(AbstractSourceInfo.TABLE_NAME_KEY);
-
-                                sourceReaderMetrics.outputMetrics(databaseName, tableName, iSnapShot, t);
-                            } else {
-                                sourceReaderMetrics.outputMetrics(null, null, iSnapShot, t);
-                            }
-                            output.collect(t);
-                        }
-
-                        @Override
-                        public void close() {
-                            // do nothing
-                        }
-                    },
-                    newTableChange);
+            emitDataChangeRecord(element, output, splitState, null);
         } else if (isHeartbeatEvent(element)) {
             updateStartingOffsetForSplit(splitState, element);
         } else {
@@ -214,6 +208,133 @@ public final class MySqlRecordEmitter<T>
         }
     }
 
+    /**
+     * Emits the rows of all pending data change records in binlog order, waiting for their conversion
+     * to finish.
+     */
+    public void flush() throws Exception {
+        while (!pendingRecords.isEmpty()) {
+            emitPendingRecord(pendingRecords.poll());
+        }
+    }
+
+    public void close() {
+        pendingRecords.clear();
+        if (deserializeExecutor != null) {
+            deserializeExecutor.shutdownNow();
+        }
+    }
+
+    private void submitDataChangeRecord(SourceRecord element, SourceOutput<T> output, MySqlSplitState splitState)
+            throws Exception {
+        // the table schema is resolved here since the schema change events before this record have been applied
+        final TableChange tableSchema = splitState.getMySQLSplit().getTableSchemas()
+                .getOrDefault(RecordUtils.getTableId(element), null);
+        final TableChange newTableChange = ColumnFilterUtil.createTableChange(tableSchema, columnNameFilter);
+        Future<List<T>> rows = deserializeExecutor.submit(() -> {
+            List<T> result = new ArrayList<>();
+            workerDeserializationSchema.get().deserialize(element, new ListCollector<>(result), newTableChange);
+            return result;
+        });
+        pendingRecords.add(new PendingRecord<>(element, output, splitState, rows));
+
+        // emit the converted records at the head without blocking, and only wait for the head
+        // when too many records are pending
+        while (!pendingRecords.isEmpty()
+                && (pendingRecords.size() > maxPendingRecords || pendingRecords.peek().rows.isDone())) {
+            emitPendingRecord(pendingRecords.poll());
+        }
+    }
+
+    private void emitPendingRecord(PendingRecord<T> pendingRecord) throws Exception {
+        List<T> rows;
+        try {
+            rows = pendingRecord.rows.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+        emitDataChangeRecord(pendingRecord.element, pendingRecord.output, pendingRecord.splitState, rows);
+    }
+
+    /**
+     * Emits a data change record, the record is deserialized on this thread when the rows are not
+     * converted yet.
+     */
+    private void emitDataChangeRecord(SourceRecord element, SourceOutput<T> output, MySqlSplitState splitState,
+            List<T> rows) throws Exception {
+        if (splitState.isBinlogSplitState()) {
+            BinlogOffset position = getBinlogPosition(element);
+            splitState.asBinlogSplitState().setStartingOffset(position);
+            reportPos(position);
+            iSnapShot = false;
+            updateMessageTimestamp(element);
+        } else {
+            if (splitState.isSnapshotSplitState()) {
+                iSnapShot = true;
+            }
+            updateMessageTimestampSnap(element);
+        }
+        fetchDelay = System.currentTimeMillis() - messageTimestamp;
+        reportMetrics(element);
+
+        if (rows != null) {
+            for (T row : rows) {
+                collectRow(element, output, row);
+            }
+            return;
+        }
+
+        final Map<TableId, TableChange> tableSchemas =
+                splitState.getMySQLSplit().getTableSchemas();
+        final TableChange tableSchema =
+                tableSchemas.getOrDefault(RecordUtils.getTableId(element), null);
+
+        updateSnapshotRecord(element, splitState);
+
+        TableChange newTableChange = ColumnFilterUtil.createTableChange(tableSchema, columnNameFilter);
+        debeziumDeserializationSchema.deserialize(
+                element,
+                new Collector<T>() {
+
+                    @Override
+                    public void collect(final T t) {
+                        collectRow(element, output, t);
+                    }
+
+                    @Override
+                    public void close() {
+                        // do nothing
+                    }
+                },
+                newTableChange);
+    }
+
+    private void collectRow(SourceRecord element, SourceOutput<T> output, T row) {
+        if (migrateAll) {
+            Struct value = (Struct) element.value();
+            Struct source = value.getStruct(Envelope.FieldName.SOURCE);
+            String databaseName = source.getString(AbstractSourceInfo.DATABASE_NAME_KEY);
+            String tableName = source.getString(AbstractSourceInfo.TABLE_NAME_KEY);
+
+            sourceReaderMetrics.outputMetrics(databaseName, tableName, iSnapShot, row);
+        } else {
+            sourceReaderMetrics.outputMetrics(null, null, iSnapShot, row);
+        }
+        output.collect(row);
+    }
+
+    private DebeziumDeserializationSchema<T> copyDeserializationSchema() {
+        try {
+            return InstantiationUtil.clone(
+                    debeziumDeserializationSchema, debeziumDeserializationSchema.getClass().getClassLoader());
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to copy the debezium deserialization schema", e);
+        }
+    }
+
     /**
      * if rename operation is "rename a to b" where a is the captured table
      * this method extract table names a and b, if any of table name is the captured table
@@ -348,6 +469,22 @@ public final class MySqlRecordEmitter<T>
         }
     }
 
+    private static class PendingRecord<T> {
+
+        private final SourceRecord element;
+        private final SourceOutput<T> output;
+        private final MySqlSplitState splitState;
+        private final Future<List<T>> rows;
+
+        PendingRecord(SourceRecord element, SourceOutput<T> output, MySqlSplitState splitState,
+                Future<List<T>> rows) {
+            this.element = element;
+            this.output = output;
+            this.splitState = splitState;
+            this.rows = rows;
+        }
+    }
+
     private static class OutputCollector<T> implements Collector<T> {
 
         private SourceOutput<T> output;
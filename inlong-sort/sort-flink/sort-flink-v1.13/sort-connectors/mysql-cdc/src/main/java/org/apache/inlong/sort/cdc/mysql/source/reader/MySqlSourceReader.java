@@ -46,13 +46,14 @@ import org.apache.inlong.sort.cdc.mysql.source.utils.TableDiscoveryUtils;
 import io.debezium.connector.mysql.MySqlConnection;
 import io.debezium.relational.TableId;
 import io.debezium.relational.history.TableChanges;
+import org.apache.flink.api.connector.source.ReaderOutput;
 import org.apache.flink.api.connector.source.SourceEvent;
 import org.apache.flink.configuration.Configuration;
-import org.apache.flink.connector.base.source.reader.RecordEmitter;
 import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
 import org.apache.flink.connector.base.source.reader.SingleThreadMultiplexSourceReaderBase;
 import org.apache.flink.connector.base.source.reader.fetcher.SingleThreadFetcherManager;
 import org.apache.flink.connector.base.source.reader.synchronization.FutureCompletingBlockingQueue;
+import org.apache.flink.core.io.InputStatus;
 import org.apache.flink.util.FlinkRuntimeException;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.slf4j.Logger;
@@ -92,11 +93,12 @@ public class MySqlSourceReader<T>
     private final MySqlSourceReaderContext mySqlSourceReaderContext;
     private MySqlBinlogSplit suspendedBinlogSplit;
     private MySqlSourceReaderMetrics sourceReaderMetrics;
+    private final MySqlRecordEmitter<T> recordEmitter;
 
     public MySqlSourceReader(
             FutureCompletingBlockingQueue<RecordsWithSplitIds<SourceRecord>> elementQueue,
             Supplier<MySqlSplitReader> splitReaderSupplier,
-            RecordEmitter<SourceRecord, T, MySqlSplitState> recordEmitter,
+            MySqlRecordEmitter<T> recordEmitter,
             Configuration config,
             MySqlSourceReaderContext context,
             MySqlSourceConfig sourceConfig,
@@ -114,6 +116,7 @@ public class MySqlSourceReader<T>
         this.mySqlSourceReaderContext = context;
         this.suspendedBinlogSplit = null;
         this.sourceReaderMetrics = sourceReaderMetrics;
+        this.recordEmitter = recordEmitter;
     }
 
     @Override
@@ -132,8 +135,20 @@ public class MySqlSourceReader<T>
         }
     }
 
+    @Override
+    public InputStatus pollNext(ReaderOutput<T> output) throws Exception {
+        InputStatus status = super.pollNext(output);
+        if (status != InputStatus.MORE_AVAILABLE) {
+            // no more records for now, do not hold the converted binlog records back
+            recordEmitter.flush();
+        }
+        return status;
+    }
+
     @Override
     public List<MySqlSplit> snapshotState(long checkpointId) {
+        // the binlog records still being converted are not emitted here, their offsets are not in the
+        // split states yet, so they are read again from the checkpointed offset after a restore
         List<MySqlSplit> stateSplits = super.snapshotState(checkpointId);
 
         // unfinished splits
@@ -164,6 +179,7 @@ public class MySqlSourceReader<T>
 
     @Override
     protected void onSplitFinished(Map<String, MySqlSplitState> finishedSplitIds) {
+        flushPendingRecords();
         boolean requestNextSplit = true;
         for (MySqlSplitState mySqlSplitState : finishedSplitIds.values()) {
             MySqlSplit mySqlSplit = mySqlSplitState.toMySqlSplit();
@@ -188,6 +204,27 @@ public class MySqlSourceReader<T>
         }
     }
 
+    @Override
+    public void close() throws Exception {
+        try {
+            super.close();
+        } finally {
+            recordEmitter.close();
+        }
+    }
+
+    /**
+     * Emits the binlog records which are still being converted, so that a finished split carries the
+     * offset of its last record.
+     */
+    private void flushPendingRecords() {
+        try {
+            recordEmitter.flush();
+        } catch (Exception e) {
+            throw new FlinkRuntimeException("Failed to emit the pending binlog records", e);
+        }
+    }
+
     @Override
     public void addSplits(List<MySqlSplit> splits) {
         // restore for finishedUnackedSplits
@@ -24,7 +24,9 @@ import org.apache.flink.table.types.logical.RowType;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -85,6 +87,31 @@ public class StatementUtils {
                 });
     }
 
+    /**
+     * Query a random sample of the given column, in ascending order. Each row is picked with the
+     * probability of {@code 1 / inverseSamplingRate}, so the whole sample is fetched in one scan.
+     */
+    public static Object[] sampleDataFromColumn(
+            JdbcConnection jdbc, TableId tableId, String columnName, int inverseSamplingRate)
+            throws SQLException {
+        final String sampleQuery =
+                String.format(
+                        "SELECT %s FROM %s WHERE RAND() < %s ORDER BY %s",
+                        quote(columnName),
+                        quote(tableId),
+                        1.0d / inverseSamplingRate,
+                        quote(columnName));
+        return jdbc.queryAndMap(
+                sampleQuery,
+                rs -> {
+                    List<Object> results = new ArrayList<>();
+                    while (rs.next()) {
+                        results.add(rs.getObject(1));
+                    }
+                    return results.toArray();
+                });
+    }
+
     /**
      * Query value of min.
      */
@@ -17,6 +17,7 @@
 
 package org.apache.inlong.sort.cdc.mysql.table;
 
+import org.apache.inlong.sort.base.metric.MetricOption.DataSizeMode;
 import org.apache.inlong.sort.cdc.base.debezium.table.DebeziumOptions;
 import org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions;
 import org.apache.inlong.sort.cdc.mysql.source.config.ServerIdRange;
@@ -44,6 +45,8 @@ import static org.apache.inlong.sort.base.Constants.GH_OST_DDL_CHANGE;
 import static org.apache.inlong.sort.base.Constants.GH_OST_TABLE_REGEX;
 import static org.apache.inlong.sort.base.Constants.INLONG_AUDIT;
 import static org.apache.inlong.sort.base.Constants.INLONG_METRIC;
+import static org.apache.inlong.sort.base.Constants.METRICS_DATA_SIZE_MODE;
+import static org.apache.inlong.sort.base.Constants.METRICS_DATA_SIZE_SAMPLE_INTERVAL;
 import static org.apache.inlong.sort.cdc.base.debezium.table.DebeziumOptions.getDebeziumProperties;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.APPEND_MODE;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.CHUNK_META_GROUP_SIZE;
@@ -59,6 +62,7 @@ import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.PASSWORD;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.PORT;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.ROW_KINDS_FILTERED;
+import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.SCAN_BINLOG_DESERIALIZE_PARALLELISM;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.SCAN_INCREMENTAL_SNAPSHOT_ENABLED;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.SCAN_NEWLY_ADDED_TABLE_ENABLED;
@@ -74,6 +78,8 @@ import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.SERVER_TIME_ZONE;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.SPLIT_KEY_EVEN_DISTRIBUTION_FACTOR_LOWER_BOUND;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.SPLIT_KEY_EVEN_DISTRIBUTION_FACTOR_UPPER_BOUND;
+import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.SPLIT_KEY_INVERSE_SAMPLING_RATE;
+import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.SPLIT_KEY_SAMPLE_SHARDING_THRESHOLD;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.TABLE_NAME;
 import static org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceOptions.USERNAME;
 import static org.apache.inlong.sort.cdc.mysql.source.utils.ObjectUtils.doubleCompare;
@@ -132,6 +138,8 @@ public class MySqlTableInlongSourceFactory implements DynamicTableSourceFactory
         final String inlongMetric = config.getOptional(INLONG_METRIC).orElse(null);
         final String inlongAudit = config.get(INLONG_AUDIT);
         final String auditKeys = config.get(AUDIT_KEYS);
+        final DataSizeMode dataSizeMode = config.get(METRICS_DATA_SIZE_MODE);
+        final int dataSizeSampleInterval = config.get(METRICS_DATA_SIZE_SAMPLE_INTERVAL);
         final String hostname = config.get(HOSTNAME);
         final String username = config.get(USERNAME);
         final String password = config.get(PASSWORD);
@@ -156,6 +164,8 @@ public class MySqlTableInlongSourceFactory implements DynamicTableSourceFactory
         final boolean includeIncremental = config.get(INCLUDE_INCREMENTAL);
         double distributionFactorUpper = config.get(SPLIT_KEY_EVEN_DISTRIBUTION_FACTOR_UPPER_BOUND);
         double distributionFactorLower = config.get(SPLIT_KEY_EVEN_DISTRIBUTION_FACTOR_LOWER_BOUND);
+        int sampleShardingThreshold = config.get(SPLIT_KEY_SAMPLE_SHARDING_THRESHOLD);
+        int inverseSamplingRate = config.get(SPLIT_KEY_INVERSE_SAMPLING_RATE);
         boolean scanNewlyAddedTableEnabled = config.get(SCAN_NEWLY_ADDED_TABLE_ENABLED);
         Duration heartbeatInterval = config.get(HEARTBEAT_INTERVAL);
         final String rowKindFiltered = config.get(ROW_KINDS_FILTERED).isEmpty()
@@ -165,6 +175,8 @@ public class MySqlTableInlongSourceFactory implements DynamicTableSourceFactory
         final boolean includeSchemaChange = config.get(INCLUDE_SCHEMA_CHANGE);
         final boolean ghostDdlChange = config.get(GH_OST_DDL_CHANGE);
         final String ghostTableRegex = config.get(GH_OST_TABLE_REGEX);
+        final int binlogDeserializeParallelism = config.get(SCAN_BINLOG_DESERIALIZE_PARALLELISM);
+        validateIntegerOption(SCAN_BINLOG_DESERIALIZE_PARALLELISM, binlogDeserializeParallelism, 1);
         if (enableParallelRead) {
             validateIntegerOption(SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE, splitSize, 1);
             validateIntegerOption(CHUNK_META_GROUP_SIZE, splitMetaGroupSize, 1);
@@ -173,6 +185,8 @@ public class MySqlTableInlongSourceFactory implements DynamicTableSourceFactory
             validateIntegerOption(CONNECT_MAX_RETRIES, connectMaxRetries, 0);
             validateDistributionFactorUpper(distributionFactorUpper);
             validateDistributionFactorLower(distributionFactorLower);
+            validateIntegerOption(SPLIT_KEY_SAMPLE_SHARDING_THRESHOLD, sampleShardingThreshold, 0);
+            validateIntegerOption(SPLIT_KEY_INVERSE_SAMPLING_RATE, inverseSamplingRate, 1);
         }
 
         return new MySqlTableSource(
@@ -195,6 +209,8 @@ public class MySqlTableInlongSourceFactory implements DynamicTableSourceFactory
                 connectionPoolSize,
                 distributionFactorUpper,
                 distributionFactorLower,
+                sampleShardingThreshold,
+                inverseSamplingRate,
                 appendSource,
                 startupOptions,
                 scanNewlyAddedTableEnabled,
@@ -208,7 +224,10 @@ public class MySqlTableInlongSourceFactory implements DynamicTableSourceFactory
                 includeIncremental,
                 ghostDdlChange,
                 ghostTableRegex,
-                auditKeys);
+                auditKeys,
+                dataSizeMode,
+                dataSizeSampleInterval,
+                binlogDeserializeParallelism);
     }
 
     @Override
@@ -248,6 +267,8 @@ public class MySqlTableInlongSourceFactory implements DynamicTableSourceFactory
         options.add(CONNECTION_POOL_SIZE);
         options.add(SPLIT_KEY_EVEN_DISTRIBUTION_FACTOR_UPPER_BOUND);
         options.add(SPLIT_KEY_EVEN_DISTRIBUTION_FACTOR_LOWER_BOUND);
+        options.add(SPLIT_KEY_SAMPLE_SHARDING_THRESHOLD);
+        options.add(SPLIT_KEY_INVERSE_SAMPLING_RATE);
         options.add(CONNECT_MAX_RETRIES);
         options.add(APPEND_MODE);
         options.add(MIGRATE_ALL);
@@ -257,10 +278,13 @@ public class MySqlTableInlongSourceFactory implements DynamicTableSourceFactory
         options.add(INLONG_AUDIT);
         options.add(ROW_KINDS_FILTERED);
         options.add(AUDIT_KEYS);
+        options.add(METRICS_DATA_SIZE_MODE);
+        options.add(METRICS_DATA_SIZE_SAMPLE_INTERVAL);
         options.add(INCLUDE_INCREMENTAL);
         options.add(INCLUDE_SCHEMA_CHANGE);
         options.add(GH_OST_DDL_CHANGE);
         options.add(GH_OST_TABLE_REGEX);
+        options.add(SCAN_BINLOG_DESERIALIZE_PARALLELISM);
         return options;
     }
 
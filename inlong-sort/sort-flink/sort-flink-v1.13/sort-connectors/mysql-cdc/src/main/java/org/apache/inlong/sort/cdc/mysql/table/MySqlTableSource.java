@@ -18,6 +18,7 @@
 package org.apache.inlong.sort.cdc.mysql.table;
 
 import org.apache.inlong.sort.base.filter.RowKindValidator;
+import org.apache.inlong.sort.base.metric.MetricOption.DataSizeMode;
 import org.apache.inlong.sort.cdc.base.debezium.DebeziumDeserializationSchema;
 import org.apache.inlong.sort.cdc.base.debezium.table.MetadataConverter;
 import org.apache.inlong.sort.cdc.base.debezium.table.RowDataDebeziumDeserializeSchema;
@@ -77,6 +78,8 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
     private final int connectMaxRetries;
     private final double distributionFactorUpper;
     private final double distributionFactorLower;
+    private final int sampleShardingThreshold;
+    private final int inverseSamplingRate;
     private final StartupOptions startupOptions;
     private final boolean appendSource;
     private final boolean scanNewlyAddedTableEnabled;
@@ -91,6 +94,9 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
     private final boolean includeSchemaChange;
     private final boolean ghostDdlChange;
     private final String ghostTableRegex;
+    private final DataSizeMode dataSizeMode;
+    private final int dataSizeSampleInterval;
+    private final int binlogDeserializeParallelism;
     // --------------------------------------------------------------------------------------------
     // Mutable attributes
     // --------------------------------------------------------------------------------------------
@@ -128,6 +134,8 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
             int connectionPoolSize,
             double distributionFactorUpper,
             double distributionFactorLower,
+            int sampleShardingThreshold,
+            int inverseSamplingRate,
             boolean appendSource,
             StartupOptions startupOptions,
             boolean scanNewlyAddedTableEnabled,
@@ -141,7 +149,10 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
             boolean includeIncremental,
             boolean ghostDdlChange,
             String ghostTableRegex,
-            String auditKeys) {
+            String auditKeys,
+            DataSizeMode dataSizeMode,
+            int dataSizeSampleInterval,
+            int binlogDeserializeParallelism) {
         this.physicalSchema = physicalSchema;
         this.port = port;
         this.hostname = checkNotNull(hostname);
@@ -161,6 +172,8 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
         this.connectionPoolSize = connectionPoolSize;
         this.distributionFactorUpper = distributionFactorUpper;
         this.distributionFactorLower = distributionFactorLower;
+        this.sampleShardingThreshold = sampleShardingThreshold;
+        this.inverseSamplingRate = inverseSamplingRate;
         this.startupOptions = startupOptions;
         this.appendSource = appendSource;
         this.scanNewlyAddedTableEnabled = scanNewlyAddedTableEnabled;
@@ -178,6 +191,9 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
         this.includeSchemaChange = includeSchemaChange;
         this.ghostDdlChange = ghostDdlChange;
         this.ghostTableRegex = ghostTableRegex;
+        this.dataSizeMode = dataSizeMode;
+        this.dataSizeSampleInterval = dataSizeSampleInterval;
+        this.binlogDeserializeParallelism = binlogDeserializeParallelism;
     }
 
     @Override
@@ -228,6 +244,8 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                             .splitMetaGroupSize(splitMetaGroupSize)
                             .distributionFactorUpper(distributionFactorUpper)
                             .distributionFactorLower(distributionFactorLower)
+                            .sampleShardingThreshold(sampleShardingThreshold)
+                            .inverseSamplingRate(inverseSamplingRate)
                             .fetchSize(fetchSize)
                             .connectTimeout(connectTimeout)
                             .connectMaxRetries(connectMaxRetries)
@@ -242,10 +260,13 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                             .inlongMetric(inlongMetric)
                             .inlongAudit(inlongAudit)
                             .auditKeys(auditKeys)
+                            .dataSizeMode(dataSizeMode)
+                            .dataSizeSampleInterval(dataSizeSampleInterval)
                             .includeIncremental(includeIncremental)
                             .ghostDdlChange(ghostDdlChange)
                             .ghostTableRegex(ghostTableRegex)
                             .migrateAll(migrateAll)
+                            .binlogDeserializeParallelism(binlogDeserializeParallelism)
                             .build();
             return SourceProvider.of(parallelSource);
         } else {
@@ -328,6 +349,8 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                         connectionPoolSize,
                         distributionFactorUpper,
                         distributionFactorLower,
+                        sampleShardingThreshold,
+                        inverseSamplingRate,
                         appendSource,
                         startupOptions,
                         scanNewlyAddedTableEnabled,
@@ -341,7 +364,10 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                         includeIncremental,
                         ghostDdlChange,
                         ghostTableRegex,
-                        auditKeys);
+                        auditKeys,
+                        dataSizeMode,
+                        dataSizeSampleInterval,
+                        binlogDeserializeParallelism);
         source.metadataKeys = metadataKeys;
         source.producedDataType = producedDataType;
         return source;
@@ -363,6 +389,8 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                 && fetchSize == that.fetchSize
                 && distributionFactorUpper == that.distributionFactorUpper
                 && distributionFactorLower == that.distributionFactorLower
+                && sampleShardingThreshold == that.sampleShardingThreshold
+                && inverseSamplingRate == that.inverseSamplingRate
                 && scanNewlyAddedTableEnabled == that.scanNewlyAddedTableEnabled
                 && Objects.equals(physicalSchema, that.physicalSchema)
                 && Objects.equals(hostname, that.hostname)
@@ -386,7 +414,10 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                 && Objects.equals(includeSchemaChange, that.includeSchemaChange)
                 && Objects.equals(includeIncremental, that.includeIncremental)
                 && Objects.equals(ghostDdlChange, that.ghostDdlChange)
-                && Objects.equals(auditKeys, that.auditKeys);
+                && Objects.equals(auditKeys, that.auditKeys)
+                && Objects.equals(dataSizeMode, that.dataSizeMode)
+                && dataSizeSampleInterval == that.dataSizeSampleInterval
+                && binlogDeserializeParallelism == that.binlogDeserializeParallelism;
     }
 
     @Override
@@ -411,6 +442,8 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                 connectionPoolSize,
                 distributionFactorUpper,
                 distributionFactorLower,
+                sampleShardingThreshold,
+                inverseSamplingRate,
                 startupOptions,
                 producedDataType,
                 metadataKeys,
@@ -423,7 +456,10 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                 includeIncremental,
                 ghostDdlChange,
                 ghostTableRegex,
-                auditKeys);
+                auditKeys,
+                dataSizeMode,
+                dataSizeSampleInterval,
+                binlogDeserializeParallelism);
     }
 
     @Override
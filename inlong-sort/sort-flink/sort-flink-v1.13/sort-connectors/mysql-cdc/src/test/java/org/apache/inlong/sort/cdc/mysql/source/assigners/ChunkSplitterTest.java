@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.cdc.mysql.source.assigners;
+
+import org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceConfig;
+import org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceConfigFactory;
+import org.apache.inlong.sort.cdc.mysql.source.utils.StatementUtils;
+
+import io.debezium.jdbc.JdbcConnection;
+import io.debezium.jdbc.JdbcConnection.ResultSetMapper;
+import io.debezium.relational.Column;
+import io.debezium.relational.TableId;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Test for the sampling sharding of {@link ChunkSplitter}, the queries are answered by a mocked
+ * {@link JdbcConnection}.
+ */
+public class ChunkSplitterTest {
+
+    private static final TableId TABLE_ID = new TableId("db", null, "t");
+    private static final Column BIGINT_COLUMN =
+            Column.editor().name("id").type("BIGINT").jdbcType(Types.BIGINT).create();
+    private static final Column VARCHAR_COLUMN =
+            Column.editor().name("id").type("VARCHAR").jdbcType(Types.VARCHAR).length(32).create();
+
+    private final List<String> queries = new ArrayList<>();
+
+    @Test
+    public void testSamplingWithUnevenKeys() throws SQLException {
+        // the keys grow quadratically, so the table is far too sparse for evenly-sized chunks
+        Object[] sample = new Object[100];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = (long) i * i;
+        }
+        JdbcConnection jdbc = mockJdbc(0L, 1_000_000_000L, 1000L, sample);
+        List<ChunkRange> chunks = createSplitter(100, 5, 10).splitTableIntoChunks(jdbc, TABLE_ID, BIGINT_COLUMN);
+
+        // every 100 / 10 = 10th sampled key is a chunk boundary
+        List<ChunkRange> expected = new ArrayList<>();
+        Object chunkStart = null;
+        for (int i = 10; i < sample.length; i += 10) {
+            expected.add(ChunkRange.of(chunkStart, sample[i]));
+            chunkStart = sample[i];
+        }
+        expected.add(ChunkRange.of(chunkStart, null));
+        Assert.assertEquals(expected, chunks);
+        Assert.assertTrue(queries.stream().anyMatch(query -> query.contains("RAND() < 0.1")));
+    }
+
+    @Test
+    public void testSamplingWithDuplicateSamples() throws SQLException {
+        // the first half of the sample is one hot key, then every key is sampled twice
+        Object[] sample = new Object[100];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = i < 50 ? "k00" : String.format("k%02d", i / 2);
+        }
+        JdbcConnection jdbc = mockJdbc("k00", "k49", 1000L, sample);
+        List<ChunkRange> chunks = createSplitter(50, 5, 10).splitTableIntoChunks(jdbc, TABLE_ID, VARCHAR_COLUMN);
+
+        // boundaries are the 5th, 10th, ... sampled keys, the repeated hot key is a boundary only once
+        Assert.assertEquals(
+                Arrays.asList(
+                        ChunkRange.of(null, "k00"),
+                        ChunkRange.of("k00", "k25"),
+                        ChunkRange.of("k25", "k27"),
+                        ChunkRange.of("k27", "k30"),
+                        ChunkRange.of("k30", "k32"),
+                        ChunkRange.of("k32", "k35"),
+                        ChunkRange.of("k35", "k37"),
+                        ChunkRange.of("k37", "k40"),
+                        ChunkRange.of("k40", "k42"),
+                        ChunkRange.of("k42", "k45"),
+                        ChunkRange.of("k45", "k47"),
+                        ChunkRange.of("k47", null)),
+                chunks);
+        assertContiguous(chunks);
+    }
+
+    @Test
+    public void testSamplingRateCappedByChunkSize() throws SQLException {
+        Object[] sample = new Object[]{"a", "b", "c", "d"};
+        JdbcConnection jdbc = mockJdbc("a", "z", 1000L, sample);
+        List<ChunkRange> chunks =
+                createSplitter(100, 5, 1000).splitTableIntoChunks(jdbc, TABLE_ID, VARCHAR_COLUMN);
+
+        // at least one row per chunk is sampled, so every sampled key after the first one is a boundary
+        Assert.assertTrue(queries.stream().anyMatch(query -> query.contains("RAND() < 0.01")));
+        Assert.assertEquals(
+                Arrays.asList(
+                        ChunkRange.of(null, "b"),
+                        ChunkRange.of("b", "c"),
+                        ChunkRange.of("c", "d"),
+                        ChunkRange.of("d", null)),
+                chunks);
+    }
+
+    @Test
+    public void testSamplingWithFewSamples() throws SQLException {
+        JdbcConnection jdbc = mockJdbc("a", "z", 1000L, new Object[0]);
+        Assert.assertEquals(
+                Collections.singletonList(ChunkRange.all()),
+                createSplitter(100, 5, 10).splitTableIntoChunks(jdbc, TABLE_ID, VARCHAR_COLUMN));
+
+        // fewer samples than one chunk needs, the whole table is one chunk
+        jdbc = mockJdbc("a", "z", 1000L, new Object[]{"a", "b", "c"});
+        Assert.assertEquals(
+                Collections.singletonList(ChunkRange.all()),
+                createSplitter(100, 5, 10).splitTableIntoChunks(jdbc, TABLE_ID, VARCHAR_COLUMN));
+    }
+
+    @Test
+    public void testFallbackBelowSamplingThreshold() throws SQLException {
+        // 1000 / 100 = 10 chunks are expected, which is not above the threshold
+        JdbcConnection jdbc = mockJdbc("a", "z", 1000L, new Object[]{"a", "b", "c"});
+        List<ChunkRange> chunks =
+                createSplitter(100, 10, 10).splitTableIntoChunks(jdbc, TABLE_ID, VARCHAR_COLUMN);
+
+        // the next chunk max queried by the unevenly-sized splitting is the max, so there is one chunk
+        Assert.assertEquals(Collections.singletonList(ChunkRange.all()), chunks);
+        Assert.assertTrue(queries.stream().noneMatch(query -> query.contains("RAND()")));
+        Mockito.verify(jdbc).prepareQueryAndMap(anyString(), any(), any());
+    }
+
+    @Test
+    public void testSampleDataFromColumn() throws SQLException {
+        JdbcConnection jdbc = mockJdbc("a", "z", 1000L, new Object[]{"a", "b", "b", "c"});
+        Object[] sample = StatementUtils.sampleDataFromColumn(jdbc, TABLE_ID, "id", 4);
+        Assert.assertArrayEquals(new Object[]{"a", "b", "b", "c"}, sample);
+        Assert.assertEquals(
+                Collections.singletonList("SELECT `id` FROM `db`.`t` WHERE RAND() < 0.25 ORDER BY `id`"),
+                queries);
+    }
+
+    private static ChunkSplitter createSplitter(
+            int splitSize, int sampleShardingThreshold, int inverseSamplingRate) {
+        MySqlSourceConfig sourceConfig = new MySqlSourceConfigFactory()
+                .hostname("localhost")
+                .port(3306)
+                .username("inlong")
+                .password("inlong")
+                .databaseList("db")
+                .tableList("db.t")
+                .splitSize(splitSize)
+                .sampleShardingThreshold(sampleShardingThreshold)
+                .inverseSamplingRate(inverseSamplingRate)
+                .createConfig(0);
+        return new ChunkSplitter(null, sourceConfig);
+    }
+
+    private static void assertContiguous(List<ChunkRange> chunks) {
+        Assert.assertNull(chunks.get(0).getChunkStart());
+        Assert.assertNull(chunks.get(chunks.size() - 1).getChunkEnd());
+        for (int i = 1; i < chunks.size(); i++) {
+            Assert.assertEquals(chunks.get(i - 1).getChunkEnd(), chunks.get(i).getChunkStart());
+        }
+    }
+
+    /**
+     * Mocks a connection answering the min/max, row count and sampling queries, the next chunk max
+     * queried by the unevenly-sized splitting is always the max.
+     */
+    @SuppressWarnings("unchecked")
+    private JdbcConnection mockJdbc(Object min, Object max, long rowCount, Object[] sample)
+            throws SQLException {
+        JdbcConnection jdbc = Mockito.mock(JdbcConnection.class);
+        Mockito.when(jdbc.queryAndMap(anyString(), any())).thenAnswer(invocation -> {
+            String query = invocation.getArgument(0);
+            queries.add(query);
+            ResultSetMapper<Object> mapper = invocation.getArgument(1);
+            if (query.startsWith("SELECT MIN(")) {
+                return mapper.apply(mockResultSet(Collections.singletonList(new Object[]{min, max})));
+            }
+            if (query.startsWith("SHOW TABLE STATUS")) {
+                return mapper.apply(mockResultSet(Collections.singletonList(
+                        new Object[]{"t", "InnoDB", 10, "Dynamic", rowCount})));
+            }
+            List<Object[]> rows = new ArrayList<>();
+            for (Object value : sample) {
+                rows.add(new Object[]{value});
+            }
+            return mapper.apply(mockResultSet(rows));
+        });
+        Mockito.when(jdbc.prepareQueryAndMap(anyString(), any(), any())).thenReturn(max);
+        return jdbc;
+    }
+
+    private static ResultSet mockResultSet(List<Object[]> rows) throws SQLException {
+        AtomicInteger index = new AtomicInteger(-1);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(metaData.getColumnCount()).thenAnswer(invocation -> rows.get(0).length);
+        Mockito.when(resultSet.getMetaData()).thenReturn(metaData);
+        Mockito.when(resultSet.next()).thenAnswer(invocation -> index.incrementAndGet() < rows.size());
+        Mockito.when(resultSet.getObject(Mockito.anyInt()))
+                .thenAnswer(invocation -> rows.get(index.get())[(int) invocation.getArgument(0) - 1]);
+        Mockito.when(resultSet.getLong(Mockito.anyInt()))
+                .thenAnswer(invocation -> ((Number) rows.get(index.get())[(int) invocation.getArgument(0) - 1])
+                        .longValue());
+        return resultSet;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.cdc.mysql.source.reader;
+
+import org.apache.inlong.sort.cdc.base.debezium.DebeziumDeserializationSchema;
+import org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceConfig;
+import org.apache.inlong.sort.cdc.mysql.source.config.MySqlSourceConfigFactory;
+import org.apache.inlong.sort.cdc.mysql.source.metrics.MySqlSourceReaderMetrics;
+import org.apache.inlong.sort.cdc.mysql.source.offset.BinlogOffset;
+import org.apache.inlong.sort.cdc.mysql.source.split.MySqlBinlogSplit;
+import org.apache.inlong.sort.cdc.mysql.source.split.MySqlBinlogSplitState;
+import org.apache.inlong.sort.cdc.mysql.source.split.MySqlSplit;
+import org.apache.inlong.sort.cdc.mysql.source.split.MySqlSplitSerializer;
+
+import io.debezium.data.Envelope;
+import io.debezium.relational.Column;
+import io.debezium.relational.Table;
+import io.debezium.relational.TableId;
+import io.debezium.relational.history.TableChanges.TableChange;
+import io.debezium.relational.history.TableChanges.TableChangeType;
+import org.apache.flink.api.common.eventtime.Watermark;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.api.connector.source.SourceOutput;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.util.Collector;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Test for the parallel binlog conversion of {@link MySqlRecordEmitter}.
+ */
+public class MySqlRecordEmitterTest {
+
+    private static final String BINLOG_FILE = "mysql-bin.000001";
+    private static final long BLOCKED_POSITION = 200L;
+    private static final Schema SOURCE_SCHEMA = SchemaBuilder.struct()
+            .field("db", Schema.STRING_SCHEMA)
+            .field("table", Schema.STRING_SCHEMA)
+            .field("pos", Schema.INT64_SCHEMA)
+            .build();
+    private static final Schema VALUE_SCHEMA = SchemaBuilder.struct()
+            .field(Envelope.FieldName.SOURCE, SOURCE_SCHEMA)
+            .field(Envelope.FieldName.OPERATION, Schema.STRING_SCHEMA)
+            .build();
+
+    /**
+     * Holds the conversion of the record at {@link #BLOCKED_POSITION} until it is counted down.
+     */
+    private static CountDownLatch conversionLatch;
+
+    private MySqlRecordEmitter<String> emitter;
+
+    @Before
+    public void before() {
+        conversionLatch = new CountDownLatch(1);
+        MySqlSourceConfig sourceConfig = new MySqlSourceConfigFactory()
+                .hostname("localhost")
+                .port(3306)
+                .username("inlong")
+                .password("inlong")
+                .databaseList("db")
+                .tableList("db.t")
+                .binlogDeserializeParallelism(2)
+                .createConfig(0);
+        emitter = new MySqlRecordEmitter<>(new PositionDeserializationSchema(),
+                new MySqlSourceReaderMetrics(new UnregisteredMetricsGroup()), sourceConfig);
+    }
+
+    @After
+    public void after() {
+        conversionLatch.countDown();
+        emitter.close();
+    }
+
+    @Test
+    public void testCheckpointWithPendingRecords() throws Exception {
+        MySqlBinlogSplitState splitState = new MySqlBinlogSplitState(new MySqlBinlogSplit("binlog-split",
+                BinlogOffset.ofBinlogFilePosition(BINLOG_FILE, 4L), BinlogOffset.ofNonStopping(),
+                Collections.emptyList(), createTableSchemas(), 0));
+        ListOutput output = new ListOutput();
+
+        emitter.emitRecord(createRecord(100L), output, splitState);
+        emitter.flush();
+        Assert.assertEquals(Collections.singletonList("100"), output.records);
+
+        // the conversion of the record at 200 is blocked, so it and the record after it stay pending
+        emitter.emitRecord(createRecord(BLOCKED_POSITION), output, splitState);
+        emitter.emitRecord(createRecord(300L), output, splitState);
+        Assert.assertEquals(Collections.singletonList("100"), output.records);
+
+        // a checkpoint taken now only covers the emitted record
+        MySqlSplit restoredSplit = restore(splitState.toMySqlSplit());
+        assertStartingOffset(100L, restoredSplit);
+
+        conversionLatch.countDown();
+        emitter.flush();
+        Assert.assertEquals(Arrays.asList("100", "200", "300"), output.records);
+        restoredSplit = restore(splitState.toMySqlSplit());
+        assertStartingOffset(300L, restoredSplit);
+    }
+
+    private static MySqlSplit restore(MySqlSplit split) throws Exception {
+        MySqlSplitSerializer serializer = MySqlSplitSerializer.INSTANCE;
+        return serializer.deserialize(serializer.getVersion(), serializer.serialize(split));
+    }
+
+    private static void assertStartingOffset(long expectedPosition, MySqlSplit split) {
+        BinlogOffset startingOffset = split.asBinlogSplit().getStartingOffset();
+        Assert.assertEquals(BINLOG_FILE, startingOffset.getFilename());
+        Assert.assertEquals(expectedPosition, startingOffset.getPosition());
+    }
+
+    private static Map<TableId, TableChange> createTableSchemas() {
+        TableId tableId = new TableId("db", null, "t");
+        Table table = Table.editor()
+                .tableId(tableId)
+                .addColumn(Column.editor().name("id").type("BIGINT").jdbcType(java.sql.Types.BIGINT).create())
+                .setPrimaryKeyNames("id")
+                .create();
+        Map<TableId, TableChange> tableSchemas = new HashMap<>();
+        tableSchemas.put(tableId, new TableChange(TableChangeType.CREATE, table));
+        return tableSchemas;
+    }
+
+    private static SourceRecord createRecord(long position) {
+        Map<String, Object> sourceOffset = new HashMap<>();
+        sourceOffset.put(BinlogOffset.BINLOG_FILENAME_OFFSET_KEY, BINLOG_FILE);
+        sourceOffset.put(BinlogOffset.BINLOG_POSITION_OFFSET_KEY, position);
+        Struct source = new Struct(SOURCE_SCHEMA)
+                .put("db", "db")
+                .put("table", "t")
+                .put("pos", position);
+        Struct value = new Struct(VALUE_SCHEMA)
+                .put(Envelope.FieldName.SOURCE, source)
+                .put(Envelope.FieldName.OPERATION, Envelope.Operation.CREATE.code());
+        return new SourceRecord(Collections.emptyMap(), sourceOffset, "mysql_binlog_source.db.t", null,
+                null, null, VALUE_SCHEMA, value);
+    }
+
+    /**
+     * Converts a record to its binlog position.
+     */
+    private static class PositionDeserializationSchema implements DebeziumDeserializationSchema<String> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void deserialize(SourceRecord record, Collector<String> out) throws Exception {
+            long position = ((Struct) record.value()).getStruct(Envelope.FieldName.SOURCE).getInt64("pos");
+            if (position == BLOCKED_POSITION) {
+                conversionLatch.await();
+            }
+            out.collect(String.valueOf(position));
+        }
+
+        @Override
+        public void deserialize(SourceRecord record, Collector<String> out, TableChange tableSchema)
+                throws Exception {
+            deserialize(record, out);
+        }
+
+        @Override
+        public TypeInformation<String> getProducedType() {
+            return Types.STRING;
+        }
+    }
+
+    private static class ListOutput implements SourceOutput<String> {
+
+        private final List<String> records = new ArrayList<>();
+
+        @Override
+        public void collect(String record) {
+            records.add(record);
+        }
+
+        @Override
+        public void collect(String record, long timestamp) {
+            records.add(record);
+        }
+
+        @Override
+        public void emitWatermark(Watermark watermark) {
+        }
+
+        @Override
+        public void markIdle() {
+        }
+    }
+}
@@ -30,21 +30,35 @@ public class RedisLookupOptions implements Serializable {
 
     private static final long serialVersionUID = 1L;
     private static final int DEFAULT_MAX_RETRY_TIMES = 3;
+    private static final int DEFAULT_ASYNC_BATCH_SIZE = 100;
+    private static final int DEFAULT_ASYNC_MAX_INFLIGHT = 4;
 
     private final long cacheMaxSize;
     private final long cacheExpireMs;
     private final int maxRetryTimes;
-    /**
-     * Asynchronous processing has not been implemented yet, but the entry is reserved
-     */
     private final boolean lookupAsync;
+    private final int asyncBatchSize;
+    private final int asyncMaxInflight;
+    private final boolean cacheMissingKey;
+    private final long cacheRefreshAheadMs;
 
     public RedisLookupOptions(
             long cacheMaxSize, long cacheExpireMs, int maxRetryTimes, boolean lookupAsync) {
+        this(cacheMaxSize, cacheExpireMs, maxRetryTimes, lookupAsync, DEFAULT_ASYNC_BATCH_SIZE,
+                DEFAULT_ASYNC_MAX_INFLIGHT, true, -1L);
+    }
+
+    public RedisLookupOptions(
+            long cacheMaxSize, long cacheExpireMs, int maxRetryTimes, boolean lookupAsync,
+            int asyncBatchSize, int asyncMaxInflight, boolean cacheMissingKey, long cacheRefreshAheadMs) {
         this.cacheMaxSize = cacheMaxSize;
         this.cacheExpireMs = cacheExpireMs;
         this.maxRetryTimes = maxRetryTimes;
         this.lookupAsync = lookupAsync;
+        this.asyncBatchSize = asyncBatchSize;
+        this.asyncMaxInflight = asyncMaxInflight;
+        this.cacheMissingKey = cacheMissingKey;
+        this.cacheRefreshAheadMs = cacheRefreshAheadMs;
     }
 
     public static Builder builder() {
@@ -67,6 +81,22 @@ public class RedisLookupOptions implements Serializable {
         return lookupAsync;
     }
 
+    public int getAsyncBatchSize() {
+        return asyncBatchSize;
+    }
+
+    public int getAsyncMaxInflight() {
+        return asyncMaxInflight;
+    }
+
+    public boolean getCacheMissingKey() {
+        return cacheMissingKey;
+    }
+
+    public long getCacheRefreshAheadMs() {
+        return cacheRefreshAheadMs;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o instanceof RedisLookupOptions) {
@@ -74,7 +104,11 @@ public class RedisLookupOptions implements Serializable {
             return Objects.equals(cacheMaxSize, options.cacheMaxSize)
                     && Objects.equals(cacheExpireMs, options.cacheExpireMs)
                     && Objects.equals(maxRetryTimes, options.maxRetryTimes)
-                    && Objects.equals(lookupAsync, options.lookupAsync);
+                    && Objects.equals(lookupAsync, options.lookupAsync)
+                    && Objects.equals(asyncBatchSize, options.asyncBatchSize)
+                    && Objects.equals(asyncMaxInflight, options.asyncMaxInflight)
+                    && Objects.equals(cacheMissingKey, options.cacheMissingKey)
+                    && Objects.equals(cacheRefreshAheadMs, options.cacheRefreshAheadMs);
         } else {
             return false;
         }
@@ -89,6 +123,10 @@ public class RedisLookupOptions implements Serializable {
         private long cacheExpireMs = 0L;
         private int maxRetryTimes = DEFAULT_MAX_RETRY_TIMES;
         private boolean lookupAsync = false;
+        private int asyncBatchSize = DEFAULT_ASYNC_BATCH_SIZE;
+        private int asyncMaxInflight = DEFAULT_ASYNC_MAX_INFLIGHT;
+        private boolean cacheMissingKey = true;
+        private long cacheRefreshAheadMs = -1L;
 
         /**
          * optional, lookup cache max size, over this value, the old data will be eliminated.
@@ -122,8 +160,41 @@ public class RedisLookupOptions implements Serializable {
             return this;
         }
 
+        /**
+         * optional, max number of keys looked up in one batch when async lookup is enabled.
+         */
+        public Builder setAsyncBatchSize(int asyncBatchSize) {
+            this.asyncBatchSize = asyncBatchSize;
+            return this;
+        }
+
+        /**
+         * optional, max number of batches in flight when async lookup is enabled.
+         */
+        public Builder setAsyncMaxInflight(int asyncMaxInflight) {
+            this.asyncMaxInflight = asyncMaxInflight;
+            return this;
+        }
+
+        /**
+         * optional, whether to cache the result of missing keys.
+         */
+        public Builder setCacheMissingKey(boolean cacheMissingKey) {
+            this.cacheMissingKey = cacheMissingKey;
+            return this;
+        }
+
+        /**
+         * optional, lookup cache refresh mills, over this time, the cached data will be reloaded in background.
+         */
+        public Builder setCacheRefreshAheadMs(long cacheRefreshAheadMs) {
+            this.cacheRefreshAheadMs = cacheRefreshAheadMs;
+            return this;
+        }
+
         public RedisLookupOptions build() {
-            return new RedisLookupOptions(cacheMaxSize, cacheExpireMs, maxRetryTimes, lookupAsync);
+            return new RedisLookupOptions(cacheMaxSize, cacheExpireMs, maxRetryTimes, lookupAsync,
+                    asyncBatchSize, asyncMaxInflight, cacheMissingKey, cacheRefreshAheadMs);
         }
     }
 }
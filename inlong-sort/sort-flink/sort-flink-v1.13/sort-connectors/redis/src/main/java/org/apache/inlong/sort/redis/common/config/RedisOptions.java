@@ -200,6 +200,43 @@ public class RedisOptions {
                     .booleanType()
                     .defaultValue(false)
                     .withDescription("whether to set async lookup.");
+    /**
+     * Lookup async batch size
+     */
+    public static final ConfigOption<Integer> LOOKUP_ASYNC_BATCH_SIZE =
+            ConfigOptions.key("lookup.async.batch-size")
+                    .intType()
+                    .defaultValue(100)
+                    .withDescription("The max number of concurrent lookup keys which are sent to redis "
+                            + "in one MGET, HMGET or pipeline when async lookup is enabled.");
+    /**
+     * Lookup async max in-flight requests
+     */
+    public static final ConfigOption<Integer> LOOKUP_ASYNC_MAX_INFLIGHT =
+            ConfigOptions.key("lookup.async.max-inflight-requests")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription("The max number of batched requests sent to redis at the same time "
+                            + "when async lookup is enabled.");
+    /**
+     * Lookup cache missing key
+     */
+    public static final ConfigOption<Boolean> LOOKUP_CACHE_MISSING_KEY =
+            ConfigOptions.key("lookup.cache.missing-key")
+                    .booleanType()
+                    .defaultValue(true)
+                    .withDescription("Whether to cache the result of keys which do not exist in redis "
+                            + "when async lookup is enabled.");
+    /**
+     * Lookup cache refresh ahead
+     */
+    public static final ConfigOption<Long> LOOKUP_CACHE_REFRESH_AHEAD =
+            ConfigOptions.key("lookup.cache.refresh-ahead")
+                    .longType()
+                    .defaultValue(-1L)
+                    .withDescription("The time in milliseconds after which a cached row is reloaded in "
+                            + "background while it is still served, it only takes effect when async lookup "
+                            + "is enabled and it is less than \"lookup.cache.ttl\". -1 means disabled.");
 
     public static final ConfigOption<String> EXPIRE_TIME =
             ConfigOptions.key("expire-time")
@@ -256,6 +293,13 @@ public class RedisOptions {
                     .defaultValue("10s")
                     .withDescription("The maximum waiting time for batch data sent by the sink operator ");
 
+    public static final ConfigOption<Long> SINK_MAX_INFLIGHT_BYTES =
+            ConfigOptions.key("sink.max-inflight-bytes")
+                    .longType()
+                    .defaultValue(16 * 1024 * 1024L)
+                    .withDescription("The max bytes of the batches being written to redis, "
+                            + "the sink operator is back-pressured when it is exceeded.");
+
     public static final ConfigOption<RedisDataType> DATA_TYPE =
             ConfigOptions.key("data-type")
                     .enumType(RedisDataType.class)
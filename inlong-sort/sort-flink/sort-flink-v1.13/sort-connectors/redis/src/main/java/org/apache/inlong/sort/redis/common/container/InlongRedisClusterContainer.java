@@ -22,6 +22,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.JedisCluster;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * The redis cluster contain expand from {@link RedisClusterContainer}
  */
@@ -113,6 +116,97 @@ public class InlongRedisClusterContainer extends RedisClusterContainer implement
         }
     }
 
+    /**
+     * The keys may belong to different slots, which MGET of a cluster can not handle, so they are got one by one.
+     */
+    @Override
+    public List<String> mget(List<String> keys) {
+        List<String> values = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            values.add(get(key));
+        }
+        return values;
+    }
+
+    @Override
+    public List<String> hmget(String key, List<String> hashFields) {
+        try {
+            return jedisCluster.hmget(key, hashFields.toArray(new String[0]));
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error("Cannot get values with hmget command from key {} of {} fields error message {}",
+                        key, hashFields.size(), e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Pipelining is not supported by {@link JedisCluster}, so the members are got one by one.
+     */
+    @Override
+    public List<Double> zscores(String key, List<String> members) {
+        List<Double> scores = new ArrayList<>(members.size());
+        for (String member : members) {
+            scores.add(zscore(key, member));
+        }
+        return scores;
+    }
+
+    /**
+     * Pipelining is not supported by {@link JedisCluster}, so the members are got one by one.
+     */
+    @Override
+    public List<Long> zrevranks(String key, List<String> members) {
+        List<Long> ranks = new ArrayList<>(members.size());
+        for (String member : members) {
+            ranks.add(zrevrank(key, member));
+        }
+        return ranks;
+    }
+
+    /**
+     * Pipelining is not supported by {@link JedisCluster}, so the commands are sent one by one.
+     */
+    @Override
+    public InlongRedisPipeline pipelined() {
+        return new InlongRedisPipeline() {
+
+            @Override
+            public void set(String key, String value) {
+                InlongRedisClusterContainer.this.set(key, value);
+            }
+
+            @Override
+            public void setex(String key, String value, Integer ttl) {
+                InlongRedisClusterContainer.this.setex(key, value, ttl);
+            }
+
+            @Override
+            public void hset(String key, String hashField, String value, Integer ttl) {
+                InlongRedisClusterContainer.this.hset(key, hashField, value, ttl);
+            }
+
+            @Override
+            public void setBit(String key, Long offset, Boolean value) {
+                InlongRedisClusterContainer.this.setBit(key, offset, value);
+            }
+
+            @Override
+            public void del(String key) {
+                InlongRedisClusterContainer.this.del(key);
+            }
+
+            @Override
+            public void sync() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
     @Override
     public void setBit(String key, Long offset, Boolean value) {
         try {
@@ -19,6 +19,8 @@ package org.apache.inlong.sort.redis.common.container;
 
 import org.apache.flink.streaming.connectors.redis.common.container.RedisCommandsContainer;
 
+import java.util.List;
+
 /**
  * The container interface expand from {@link RedisCommandsContainer}
  */
@@ -74,5 +76,47 @@ public interface InlongRedisCommandsContainer extends RedisCommandsContainer {
      */
     Long zrevrank(String key, String member);
 
+    /**
+     * Get values from specified keys in one round trip where possible
+     *
+     * @param keys The specified keys
+     * @return The values of specified keys, in the order of keys
+     */
+    List<String> mget(List<String> keys);
+
+    /**
+     * Get values from specified key with hashFields in one round trip
+     *
+     * @param key The specified key
+     * @param hashFields The hash fields
+     * @return The values of hash fields, in the order of hashFields
+     */
+    List<String> hmget(String key, List<String> hashFields);
+
+    /**
+     * Get scores of members from specified key in one round trip where possible
+     *
+     * @param key The specified key
+     * @param members The members of sorted-set
+     * @return The scores of members, in the order of members
+     */
+    List<Double> zscores(String key, List<String> members);
+
+    /**
+     * Get reverse ranks of members from specified key in one round trip where possible
+     *
+     * @param key The specified key
+     * @param members The members of sorted-set
+     * @return The reverse ranks of members, in the order of members
+     */
+    List<Long> zrevranks(String key, List<String> members);
+
     void setBit(String key, Long offset, Boolean value);
+
+    /**
+     * Open a pipeline to send write commands in one round trip where possible.
+     *
+     * @return The pipeline which must be closed after use
+     */
+    InlongRedisPipeline pipelined();
 }
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.redis.common.container;
+
+/**
+ * The write commands sent to redis in one pipeline, whose replies are read back in {@link #sync()}.
+ * A pipeline holds a connection until it is closed.
+ */
+public interface InlongRedisPipeline extends AutoCloseable {
+
+    /**
+     * Set value to specified key.
+     *
+     * @param key The specified key
+     * @param value The value of specified key
+     */
+    void set(String key, String value);
+
+    /**
+     * Set value to specified key with a time to live.
+     *
+     * @param key The specified key
+     * @param value The value of specified key
+     * @param ttl The time to live in seconds
+     */
+    void setex(String key, String value, Integer ttl);
+
+    /**
+     * Set value to the field in the hash stored at key.
+     *
+     * @param key Hash name
+     * @param hashField Hash field
+     * @param value Hash value
+     * @param ttl The time to live of the hash in seconds, it is not changed if it is null
+     */
+    void hset(String key, String hashField, String value, Integer ttl);
+
+    /**
+     * Set bit at offset of the value stored at key.
+     *
+     * @param key The specified key
+     * @param offset The offset of bit
+     * @param value The value of bit
+     */
+    void setBit(String key, Long offset, Boolean value);
+
+    /**
+     * Delete value from specified key.
+     *
+     * @param key The key to be deleted
+     */
+    void del(String key);
+
+    /**
+     * Send the buffered commands and wait for all the replies.
+     *
+     * @throws redis.clients.jedis.exceptions.JedisException if any of the commands failed
+     */
+    void sync();
+
+    /**
+     * Release the connection held by the pipeline.
+     */
+    @Override
+    void close();
+}
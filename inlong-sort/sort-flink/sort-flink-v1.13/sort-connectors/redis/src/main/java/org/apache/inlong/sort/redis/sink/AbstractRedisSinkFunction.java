@@ -32,8 +32,13 @@ import org.apache.flink.api.common.state.ListStateDescriptor;
 import org.apache.flink.api.common.typeinfo.TypeHint;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.metrics.DescriptiveStatisticsHistogram;
 import org.apache.flink.runtime.state.FunctionInitializationContext;
 import org.apache.flink.runtime.state.FunctionSnapshotContext;
+import org.apache.flink.runtime.util.ExecutorThreadFactory;
 import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
 import org.apache.flink.streaming.api.functions.sink.RichSinkFunction;
 import org.apache.flink.streaming.connectors.redis.common.config.FlinkJedisConfigBase;
@@ -47,6 +52,9 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
 import static org.apache.inlong.sort.base.Constants.DIRTY_BYTES_OUT;
@@ -100,6 +108,35 @@ public abstract class AbstractRedisSinkFunction<OUT>
 
     private static final String DEFAULT_OUTPUT_FLUSH_THREAD_NAME = "OutputFlusher";
 
+    private static final int HISTOGRAM_WINDOW_SIZE = 1000;
+
+    /**
+     * The max bytes of the batches being written, {@link #flush()} blocks when it is exceeded.
+     */
+    private final long maxInflightBytes;
+
+    /**
+     * The batches are written by a single thread, so they reach redis in the order they are flushed.
+     */
+    private transient ExecutorService writeExecutor;
+
+    private transient Object inflightLock;
+
+    @GuardedBy("inflightLock")
+    private transient long inflightBytes;
+
+    @GuardedBy("inflightLock")
+    private transient int inflightBatches;
+
+    private transient volatile Throwable writeException;
+
+    @GuardedBy("lock")
+    private transient long bufferedBytes;
+
+    private transient Histogram batchLatencyHistogram;
+
+    private transient Histogram batchSizeHistogram;
+
     private final List<OUT> rows;
 
     /**
@@ -127,6 +164,7 @@ public abstract class AbstractRedisSinkFunction<OUT>
             StateEncoder<OUT> stateEncoder,
             long batchSize,
             Duration flushInterval,
+            long maxInflightBytes,
             Duration configuration,
             FlinkJedisConfigBase flinkJedisConfigBase,
             String inLongMetric,
@@ -139,6 +177,7 @@ public abstract class AbstractRedisSinkFunction<OUT>
 
         this.batchSize = batchSize;
         this.flushIntervalInMillis = flushInterval.toMillis();
+        this.maxInflightBytes = maxInflightBytes;
         this.forceFlush = false;
         this.rows = new ArrayList<>();
         this.flinkJedisConfigBase = flinkJedisConfigBase;
@@ -151,9 +190,22 @@ public abstract class AbstractRedisSinkFunction<OUT>
         LOG.info("Opening redis sink with address");
 
         lock = new Object();
+        inflightLock = new Object();
 
         stopWatch = new StopWatch();
 
+        writeExecutor = Executors.newSingleThreadExecutor(new ExecutorThreadFactory("redis-sink-writer"));
+        MetricGroup redisMetricGroup = getRuntimeContext().getMetricGroup().addGroup("redis");
+        batchLatencyHistogram = redisMetricGroup.histogram("batchLatencyMs",
+                new DescriptiveStatisticsHistogram(HISTOGRAM_WINDOW_SIZE));
+        batchSizeHistogram = redisMetricGroup.histogram("batchSize",
+                new DescriptiveStatisticsHistogram(HISTOGRAM_WINDOW_SIZE));
+        redisMetricGroup.gauge("inflightBytes", (Gauge<Long>) () -> {
+            synchronized (inflightLock) {
+                return inflightBytes;
+            }
+        });
+
         try {
             this.redisCommandsContainer = RedisCommandsContainerBuilder.build(this.flinkJedisConfigBase);
             this.redisCommandsContainer.open();
@@ -214,6 +266,9 @@ public abstract class AbstractRedisSinkFunction<OUT>
     public void snapshotState(FunctionSnapshotContext functionSnapshotContext) throws Exception {
         LOG.info("redis start snapshotState, id: {}", functionSnapshotContext.getCheckpointId());
         synchronized (lock) {
+            // write all the buffered rows before the checkpoint completes
+            flush();
+            waitForInflight();
             listState.clear();
             listState.addAll(rows);
         }
@@ -236,9 +291,11 @@ public abstract class AbstractRedisSinkFunction<OUT>
     public void invoke(RowData in, Context context) {
 
         List<OUT> redisOutputs = serialize(in);
-        sendMetrics(in.toString().getBytes());
+        byte[] document = in.toString().getBytes();
+        sendMetrics(document);
         synchronized (lock) {
             rows.addAll(redisOutputs);
+            bufferedBytes += document.length;
             if (forceFlush || rows.size() >= batchSize) {
                 flush();
             }
@@ -258,7 +315,12 @@ public abstract class AbstractRedisSinkFunction<OUT>
     private void closeClient() {
         synchronized (lock) {
             if (redisCommandsContainer != null) {
-                flush();
+                try {
+                    flush();
+                    waitForInflight();
+                } finally {
+                    writeExecutor.shutdownNow();
+                }
                 try {
                     redisCommandsContainer.close();
                     redisCommandsContainer = null;
@@ -315,14 +377,22 @@ public abstract class AbstractRedisSinkFunction<OUT>
 
     protected abstract void flushInternal(List<OUT> rows);
 
+    /**
+     * Hand the buffered rows to writeExecutor as one batch, it blocks while the in-flight bytes exceed
+     * maxInflightBytes, which back-pressures the upstream.
+     */
     private void flush() {
         synchronized (lock) {
             try {
+                checkWriteException();
                 if (rows != null && rows.size() > 0) {
-                    LOG.debug("Flushing {} records to redis...", rows.size());
-                    flushInternal(rows);
-                    LOG.debug("Flushed {} records to redis...", rows.size());
+                    long batchBytes = bufferedBytes;
+                    acquireInflight(batchBytes);
+                    List<OUT> batch = new ArrayList<>(rows);
                     rows.clear();
+                    bufferedBytes = 0;
+                    LOG.debug("Flushing {} records to redis...", batch.size());
+                    writeExecutor.execute(() -> writeBatch(batch, batchBytes));
                 }
             } finally {
                 forceFlush = false;
@@ -330,6 +400,70 @@ public abstract class AbstractRedisSinkFunction<OUT>
         }
     }
 
+    private void writeBatch(List<OUT> batch, long batchBytes) {
+        try {
+            // the batches after a failed one are dropped, they will be replayed from the last checkpoint
+            if (writeException == null) {
+                long start = System.currentTimeMillis();
+                try {
+                    flushInternal(batch);
+                } catch (Exception e) {
+                    LOG.warn("Failed to write {} records to redis, retry once", batch.size(), e);
+                    flushInternal(batch);
+                }
+                batchLatencyHistogram.update(System.currentTimeMillis() - start);
+                batchSizeHistogram.update(batch.size());
+                LOG.debug("Flushed {} records to redis...", batch.size());
+            }
+        } catch (Throwable t) {
+            LOG.error("Failed to write {} records to redis", batch.size(), t);
+            writeException = t;
+        } finally {
+            synchronized (inflightLock) {
+                inflightBytes -= batchBytes;
+                inflightBatches--;
+                inflightLock.notifyAll();
+            }
+        }
+    }
+
+    private void acquireInflight(long batchBytes) {
+        synchronized (inflightLock) {
+            try {
+                // a batch larger than maxInflightBytes is still written when nothing else is in flight
+                while (inflightBatches > 0 && inflightBytes + batchBytes > maxInflightBytes) {
+                    inflightLock.wait(TimeUnit.SECONDS.toMillis(1));
+                    checkWriteException();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for the redis writes", e);
+            }
+            inflightBytes += batchBytes;
+            inflightBatches++;
+        }
+    }
+
+    private void waitForInflight() {
+        synchronized (inflightLock) {
+            try {
+                while (inflightBatches > 0) {
+                    inflightLock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for the redis writes", e);
+            }
+        }
+        checkWriteException();
+    }
+
+    private void checkWriteException() {
+        if (writeException != null) {
+            throw new RuntimeException("Writing records to redis failed", writeException);
+        }
+    }
+
     protected void sendMetrics(byte[] document) {
         if (sinkMetricData != null) {
             sinkMetricData.invoke(1, document.length);
@@ -17,6 +17,7 @@
 
 package org.apache.inlong.sort.redis.sink;
 
+import org.apache.inlong.sort.redis.common.container.InlongRedisPipeline;
 import org.apache.inlong.sort.redis.common.schema.StateEncoder;
 
 import org.apache.flink.api.common.serialization.SerializationSchema;
@@ -46,6 +47,7 @@ public class RedisBitmapSinkFunction
             StateEncoder<Tuple4<Boolean, String, Long, Boolean>> stateEncoder,
             long batchSize,
             Duration flushInterval,
+            long maxInflightBytes,
             Duration configuration,
             FlinkJedisConfigBase flinkJedisConfigBase,
             String inlongMetric,
@@ -56,6 +58,7 @@ public class RedisBitmapSinkFunction
                 stateEncoder,
                 batchSize,
                 flushInterval,
+                maxInflightBytes,
                 configuration,
                 flinkJedisConfigBase,
                 inlongMetric,
@@ -71,16 +74,19 @@ public class RedisBitmapSinkFunction
 
     @Override
     protected void flushInternal(List<Tuple4<Boolean, String, Long, Boolean>> rows) {
-        for (Tuple4<Boolean, String, Long, Boolean> row : rows) {
-            Boolean rowKind = row.f0;
-            String key = row.f1;
-            Long offset = row.f2;
-            Boolean value = row.f3;
-            if (rowKind) {
-                redisCommandsContainer.setBit(key, offset, value);
-            } else {
-                redisCommandsContainer.del(key);
+        try (InlongRedisPipeline pipeline = redisCommandsContainer.pipelined()) {
+            for (Tuple4<Boolean, String, Long, Boolean> row : rows) {
+                Boolean rowKind = row.f0;
+                String key = row.f1;
+                Long offset = row.f2;
+                Boolean value = row.f3;
+                if (rowKind) {
+                    pipeline.setBit(key, offset, value);
+                } else {
+                    pipeline.del(key);
+                }
             }
+            pipeline.sync();
         }
     }
 }
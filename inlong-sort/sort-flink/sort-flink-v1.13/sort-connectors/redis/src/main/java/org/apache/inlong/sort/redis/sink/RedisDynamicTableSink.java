@@ -44,6 +44,7 @@ import static org.apache.flink.util.TimeUtils.parseDuration;
 import static org.apache.inlong.sort.redis.common.config.RedisOptions.EXPIRE_TIME;
 import static org.apache.inlong.sort.redis.common.config.RedisOptions.SINK_BATCH_SIZE;
 import static org.apache.inlong.sort.redis.common.config.RedisOptions.SINK_FLUSH_INTERVAL;
+import static org.apache.inlong.sort.redis.common.config.RedisOptions.SINK_MAX_INFLIGHT_BYTES;
 import static org.apache.inlong.sort.redis.common.config.SchemaMappingMode.DYNAMIC;
 import static org.apache.inlong.sort.redis.common.config.SchemaMappingMode.STATIC_KV_PAIR;
 import static org.apache.inlong.sort.redis.common.config.SchemaMappingMode.STATIC_PREFIX_MATCH;
@@ -90,11 +91,13 @@ public class RedisDynamicTableSink implements DynamicTableSink {
         batchSize = config.get(SINK_BATCH_SIZE);
         flushInterval = parseDuration(config.get(SINK_FLUSH_INTERVAL));
         expireTime = parseDuration(config.get(EXPIRE_TIME));
+        maxInflightBytes = config.get(SINK_MAX_INFLIGHT_BYTES);
     }
 
     private final Duration expireTime;
     private final Long batchSize;
     private final Duration flushInterval;
+    private final Long maxInflightBytes;
 
     @Override
     public ChangelogMode getChangelogMode(ChangelogMode requestedMode) {
@@ -126,6 +129,7 @@ public class RedisDynamicTableSink implements DynamicTableSink {
                         stateEncoder,
                         batchSize,
                         flushInterval,
+                        maxInflightBytes,
                         expireTime,
                         flinkJedisConfigBase,
                         inlongMetric,
@@ -137,6 +141,7 @@ public class RedisDynamicTableSink implements DynamicTableSink {
                         stateEncoder,
                         batchSize,
                         flushInterval,
+                        maxInflightBytes,
                         expireTime,
                         flinkJedisConfigBase,
                         inlongMetric,
@@ -148,6 +153,7 @@ public class RedisDynamicTableSink implements DynamicTableSink {
                         stateEncoder,
                         batchSize,
                         flushInterval,
+                        maxInflightBytes,
                         expireTime,
                         flinkJedisConfigBase,
 
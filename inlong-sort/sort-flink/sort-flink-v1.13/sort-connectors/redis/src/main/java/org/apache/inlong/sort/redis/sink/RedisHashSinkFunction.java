@@ -17,6 +17,7 @@
 
 package org.apache.inlong.sort.redis.sink;
 
+import org.apache.inlong.sort.redis.common.container.InlongRedisPipeline;
 import org.apache.inlong.sort.redis.common.schema.StateEncoder;
 
 import org.apache.flink.api.common.serialization.SerializationSchema;
@@ -46,6 +47,7 @@ public class RedisHashSinkFunction
             StateEncoder<Tuple4<Boolean, String, String, String>> stateEncoder,
             long batchSize,
             Duration flushInterval,
+            long maxInflightBytes,
             Duration expireTime,
             FlinkJedisConfigBase flinkJedisConfigBase,
             String inlongMetric,
@@ -56,6 +58,7 @@ public class RedisHashSinkFunction
                 stateEncoder,
                 batchSize,
                 flushInterval,
+                maxInflightBytes,
                 expireTime,
                 flinkJedisConfigBase,
 
@@ -72,17 +75,20 @@ public class RedisHashSinkFunction
 
     @Override
     protected void flushInternal(List<Tuple4<Boolean, String, String, String>> rows) {
-        for (Tuple4<Boolean, String, String, String> row : rows) {
-            LOG.info("Flush new row: {}.", row);
-            Boolean rowKind = row.f0;
-            String key = row.f1;
-            String field = row.f2;
-            String value = row.f3;
-            if (rowKind) {
-                redisCommandsContainer.hset(key, field, value, expireTime);
-            } else {
-                redisCommandsContainer.del(key);
+        try (InlongRedisPipeline pipeline = redisCommandsContainer.pipelined()) {
+            for (Tuple4<Boolean, String, String, String> row : rows) {
+                LOG.debug("Flush new row: {}.", row);
+                Boolean rowKind = row.f0;
+                String key = row.f1;
+                String field = row.f2;
+                String value = row.f3;
+                if (rowKind) {
+                    pipeline.hset(key, field, value, expireTime);
+                } else {
+                    pipeline.del(key);
+                }
             }
+            pipeline.sync();
         }
     }
 }
@@ -17,6 +17,7 @@
 
 package org.apache.inlong.sort.redis.sink;
 
+import org.apache.inlong.sort.redis.common.container.InlongRedisPipeline;
 import org.apache.inlong.sort.redis.common.schema.StateEncoder;
 
 import org.apache.flink.api.common.serialization.SerializationSchema;
@@ -46,6 +47,7 @@ public class RedisPlainSinkFunction
             StateEncoder<Tuple3<Boolean, String, String>> stateEncoder,
             long batchSize,
             Duration flushInterval,
+            long maxInflightBytes,
             Duration configuration,
             FlinkJedisConfigBase flinkJedisConfigBase,
             String inlongMetric,
@@ -56,6 +58,7 @@ public class RedisPlainSinkFunction
                 stateEncoder,
                 batchSize,
                 flushInterval,
+                maxInflightBytes,
                 configuration,
                 flinkJedisConfigBase,
                 inlongMetric,
@@ -66,18 +69,21 @@ public class RedisPlainSinkFunction
 
     @Override
     protected void flushInternal(List<Tuple3<Boolean, String, String>> rows) {
-        for (Tuple3<Boolean, String, String> row : rows) {
-            String key = row.f1;
-            String value = row.f2;
-            if (row.f0) {
-                if (expireTime != null) {
-                    redisCommandsContainer.setex(key, value, expireTime);
+        try (InlongRedisPipeline pipeline = redisCommandsContainer.pipelined()) {
+            for (Tuple3<Boolean, String, String> row : rows) {
+                String key = row.f1;
+                String value = row.f2;
+                if (row.f0) {
+                    if (expireTime != null) {
+                        pipeline.setex(key, value, expireTime);
+                    } else {
+                        pipeline.set(key, value);
+                    }
                 } else {
-                    redisCommandsContainer.set(key, value);
+                    pipeline.del(key);
                 }
-            } else {
-                redisCommandsContainer.del(key);
             }
+            pipeline.sync();
         }
     }
 }
@@ -29,6 +29,7 @@ import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.streaming.connectors.redis.common.config.FlinkJedisConfigBase;
 import org.apache.flink.streaming.connectors.redis.common.hanlder.RedisHandlerServices;
 import org.apache.flink.table.catalog.ResolvedSchema;
+import org.apache.flink.table.connector.source.AsyncTableFunctionProvider;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.LookupTableSource;
 import org.apache.flink.table.connector.source.TableFunctionProvider;
@@ -89,6 +90,10 @@ public class RedisDynamicTableSource implements LookupTableSource {
 
     @Override
     public LookupRuntimeProvider getLookupRuntimeProvider(LookupContext context) {
+        if (redisLookupOptions.getLookupAsync()) {
+            return AsyncTableFunctionProvider.of(new RedisRowDataAsyncLookupFunction(
+                    redisMapper.getCommandDescription(), flinkJedisConfigBase, this.redisLookupOptions));
+        }
         return TableFunctionProvider.of(new RedisRowDataLookupFunction(
                 redisMapper.getCommandDescription(), flinkJedisConfigBase, this.redisLookupOptions));
     }
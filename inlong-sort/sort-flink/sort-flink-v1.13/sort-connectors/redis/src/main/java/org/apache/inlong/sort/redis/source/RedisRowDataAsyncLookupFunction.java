@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.redis.source;
+
+import org.apache.inlong.sort.redis.common.config.RedisLookupOptions;
+import org.apache.inlong.sort.redis.common.container.InlongRedisCommandsContainer;
+import org.apache.inlong.sort.redis.common.container.RedisCommandsContainerBuilder;
+import org.apache.inlong.sort.redis.common.mapper.RedisCommand;
+import org.apache.inlong.sort.redis.common.mapper.RedisCommandDescription;
+
+import org.apache.flink.runtime.util.ExecutorThreadFactory;
+import org.apache.flink.shaded.guava18.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava18.com.google.common.cache.CacheBuilder;
+import org.apache.flink.streaming.connectors.redis.common.config.FlinkJedisConfigBase;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.functions.AsyncTableFunction;
+import org.apache.flink.table.functions.FunctionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Redis RowData async lookup function.
+ * The keys looked up at the same time are coalesced into one MGET, HMGET or pipeline, and at most
+ * asyncMaxInflight batches are sent to redis at the same time, so the throughput is not limited
+ * by the round-trip latency of each record.
+ */
+public class RedisRowDataAsyncLookupFunction extends AsyncTableFunction<RowData> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RedisRowDataAsyncLookupFunction.class);
+
+    private static final long serialVersionUID = 1L;
+
+    private final long cacheMaxSize;
+    private final long cacheExpireMs;
+    private final long cacheRefreshAheadMs;
+    private final boolean cacheMissingKey;
+    private final int maxRetryTimes;
+    private final int batchSize;
+    private final int maxInflight;
+    private final FlinkJedisConfigBase flinkJedisConfigBase;
+    private final String additionalKey;
+    private final RedisCommand redisCommand;
+    private transient Cache<String, CacheEntry> cache;
+    private transient InlongRedisCommandsContainer redisCommandsContainer;
+    private transient ExecutorService lookupExecutor;
+    /**
+     * The keys waiting to be looked up, with the futures waiting for each of them.
+     * A key without futures is refreshed ahead for the cache only.
+     */
+    private transient Map<String, List<CompletableFuture<Collection<RowData>>>> pendingKeys;
+    private transient AtomicInteger runningBatches;
+
+    RedisRowDataAsyncLookupFunction(RedisCommandDescription redisCommandDescription,
+            FlinkJedisConfigBase flinkJedisConfigBase, RedisLookupOptions redisLookupOptions) {
+        this.flinkJedisConfigBase = flinkJedisConfigBase;
+        this.redisCommand = redisCommandDescription.getCommand();
+        this.additionalKey = redisCommandDescription.getAdditionalKey();
+        this.cacheMaxSize = redisLookupOptions.getCacheMaxSize();
+        this.cacheExpireMs = redisLookupOptions.getCacheExpireMs();
+        this.cacheRefreshAheadMs = redisLookupOptions.getCacheRefreshAheadMs();
+        this.cacheMissingKey = redisLookupOptions.getCacheMissingKey();
+        this.maxRetryTimes = redisLookupOptions.getMaxRetryTimes();
+        this.batchSize = redisLookupOptions.getAsyncBatchSize();
+        this.maxInflight = redisLookupOptions.getAsyncMaxInflight();
+    }
+
+    @Override
+    public void open(FunctionContext context) throws Exception {
+        try {
+            this.redisCommandsContainer = RedisCommandsContainerBuilder.build(this.flinkJedisConfigBase);
+            this.redisCommandsContainer.open();
+            this.cache = cacheMaxSize == -1 || cacheExpireMs == -1 ? null
+                    : CacheBuilder.newBuilder()
+                            .expireAfterWrite(cacheExpireMs, TimeUnit.MILLISECONDS)
+                            .maximumSize(cacheMaxSize)
+                            .build();
+            this.pendingKeys = new LinkedHashMap<>();
+            this.runningBatches = new AtomicInteger();
+            this.lookupExecutor = Executors.newFixedThreadPool(maxInflight,
+                    new ExecutorThreadFactory("redis-async-lookup"));
+        } catch (Exception e) {
+            LOG.error("Redis has not been properly initialized: ", e);
+            throw e;
+        }
+    }
+
+    /**
+     * This is a lookup method which is called by Flink framework in runtime, only support one key
+     *
+     * @param future The result or exception is returned
+     * @param keys lookup keys
+     */
+    public void eval(CompletableFuture<Collection<RowData>> future, Object... keys) {
+        String key = keys[0].toString();
+        if (cache != null) {
+            CacheEntry entry = cache.getIfPresent(key);
+            if (entry != null) {
+                future.complete(Collections.singletonList(entry.row));
+                if (cacheRefreshAheadMs > 0 && !entry.refreshing
+                        && System.currentTimeMillis() - entry.loadTime >= cacheRefreshAheadMs) {
+                    entry.refreshing = true;
+                    enqueue(key, null);
+                }
+                return;
+            }
+        }
+        enqueue(key, future);
+    }
+
+    private void enqueue(String key, CompletableFuture<Collection<RowData>> future) {
+        synchronized (pendingKeys) {
+            List<CompletableFuture<Collection<RowData>>> futures =
+                    pendingKeys.computeIfAbsent(key, k -> new ArrayList<>(1));
+            if (future != null) {
+                futures.add(future);
+            }
+        }
+        dispatch();
+    }
+
+    /**
+     * Start a new batch loop if there are less than maxInflight loops running, otherwise the key will be
+     * picked up by one of the running loops.
+     */
+    private void dispatch() {
+        int running = runningBatches.get();
+        while (running < maxInflight) {
+            if (runningBatches.compareAndSet(running, running + 1)) {
+                lookupExecutor.execute(this::drain);
+                return;
+            }
+            running = runningBatches.get();
+        }
+    }
+
+    private void drain() {
+        try {
+            Map<String, List<CompletableFuture<Collection<RowData>>>> batch;
+            while (!(batch = pollBatch()).isEmpty()) {
+                lookupBatch(batch);
+            }
+        } finally {
+            runningBatches.decrementAndGet();
+            boolean hasPending;
+            synchronized (pendingKeys) {
+                hasPending = !pendingKeys.isEmpty();
+            }
+            // the keys enqueued after the last poll must not be left behind
+            if (hasPending && !lookupExecutor.isShutdown()) {
+                dispatch();
+            }
+        }
+    }
+
+    private Map<String, List<CompletableFuture<Collection<RowData>>>> pollBatch() {
+        synchronized (pendingKeys) {
+            if (pendingKeys.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            Map<String, List<CompletableFuture<Collection<RowData>>>> batch = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, List<CompletableFuture<Collection<RowData>>>>> iterator =
+                    pendingKeys.entrySet().iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                Map.Entry<String, List<CompletableFuture<Collection<RowData>>>> entry = iterator.next();
+                batch.put(entry.getKey(), entry.getValue());
+                iterator.remove();
+            }
+            return batch;
+        }
+    }
+
+    private void lookupBatch(Map<String, List<CompletableFuture<Collection<RowData>>>> batch) {
+        List<String> keys = new ArrayList<>(batch.keySet());
+        List<?> values = null;
+        for (int retry = 0; retry <= maxRetryTimes; retry++) {
+            try {
+                values = query(keys);
+                break;
+            } catch (Exception e) {
+                LOG.error(String.format("Redis query error, retry times = %d", retry), e);
+                if (retry >= maxRetryTimes) {
+                    failBatch(batch, new RuntimeException("Redis query error failed.", e));
+                    return;
+                }
+                try {
+                    Thread.sleep(1000L * retry);
+                } catch (InterruptedException e1) {
+                    Thread.currentThread().interrupt();
+                    failBatch(batch, e1);
+                    return;
+                }
+            }
+        }
+        long loadTime = System.currentTimeMillis();
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            Object value = values.get(i);
+            RowData rowData = toRowData(key, value);
+            if (cache != null) {
+                if (value != null || cacheMissingKey) {
+                    cache.put(key, new CacheEntry(rowData, loadTime));
+                } else {
+                    cache.invalidate(key);
+                }
+            }
+            Collection<RowData> result = Collections.singletonList(rowData);
+            for (CompletableFuture<Collection<RowData>> future : batch.get(key)) {
+                future.complete(result);
+            }
+        }
+    }
+
+    private List<?> query(List<String> keys) {
+        switch (redisCommand) {
+            case GET:
+                return redisCommandsContainer.mget(keys);
+            case HGET:
+                return redisCommandsContainer.hmget(additionalKey, keys);
+            case ZREVRANK:
+                return redisCommandsContainer.zrevranks(additionalKey, keys);
+            case ZSCORE:
+                return redisCommandsContainer.zscores(additionalKey, keys);
+            default:
+                throw new UnsupportedOperationException(
+                        String.format("Unsupported for redisCommand: %s", redisCommand));
+        }
+    }
+
+    /**
+     * Build the row in the same way as {@link RedisRowDataLookupFunction}, a missing key gets a null value.
+     */
+    private RowData toRowData(String key, Object value) {
+        switch (redisCommand) {
+            case GET:
+            case HGET:
+                return GenericRowData.of(StringData.fromString(key), StringData.fromString((String) value));
+            case ZREVRANK:
+            case ZSCORE:
+                return GenericRowData.of(StringData.fromString(key), value);
+            default:
+                throw new UnsupportedOperationException(
+                        String.format("Unsupported for redisCommand: %s", redisCommand));
+        }
+    }
+
+    private void failBatch(Map<String, List<CompletableFuture<Collection<RowData>>>> batch, Throwable cause) {
+        for (Map.Entry<String, List<CompletableFuture<Collection<RowData>>>> entry : batch.entrySet()) {
+            if (cache != null) {
+                // let the next hit try to refresh again
+                CacheEntry cacheEntry = cache.getIfPresent(entry.getKey());
+                if (cacheEntry != null) {
+                    cacheEntry.refreshing = false;
+                }
+            }
+            for (CompletableFuture<Collection<RowData>> future : entry.getValue()) {
+                future.completeExceptionally(cause);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (lookupExecutor != null) {
+            lookupExecutor.shutdownNow();
+            lookupExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        if (redisCommandsContainer != null) {
+            redisCommandsContainer.close();
+        }
+    }
+
+    /**
+     * The cached row with the time it is loaded at.
+     */
+    private static final class CacheEntry {
+
+        private final RowData row;
+        private final long loadTime;
+        private volatile boolean refreshing;
+
+        private CacheEntry(RowData row, long loadTime) {
+            this.row = row;
+            this.loadTime = loadTime;
+        }
+    }
+}
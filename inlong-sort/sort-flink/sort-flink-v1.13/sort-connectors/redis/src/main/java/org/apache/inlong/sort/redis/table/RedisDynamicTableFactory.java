@@ -55,7 +55,11 @@ import static org.apache.inlong.sort.base.Constants.INLONG_AUDIT;
 import static org.apache.inlong.sort.base.Constants.INLONG_METRIC;
 import static org.apache.inlong.sort.redis.common.config.RedisOptions.DATA_TYPE;
 import static org.apache.inlong.sort.redis.common.config.RedisOptions.LOOKUP_ASYNC;
+import static org.apache.inlong.sort.redis.common.config.RedisOptions.LOOKUP_ASYNC_BATCH_SIZE;
+import static org.apache.inlong.sort.redis.common.config.RedisOptions.LOOKUP_ASYNC_MAX_INFLIGHT;
 import static org.apache.inlong.sort.redis.common.config.RedisOptions.LOOKUP_CACHE_MAX_ROWS;
+import static org.apache.inlong.sort.redis.common.config.RedisOptions.LOOKUP_CACHE_MISSING_KEY;
+import static org.apache.inlong.sort.redis.common.config.RedisOptions.LOOKUP_CACHE_REFRESH_AHEAD;
 import static org.apache.inlong.sort.redis.common.config.RedisOptions.LOOKUP_CACHE_TTL;
 import static org.apache.inlong.sort.redis.common.config.RedisOptions.LOOKUP_MAX_RETRIES;
 import static org.apache.inlong.sort.redis.common.config.RedisOptions.SCHEMA_MAPPING_MODE;
@@ -137,9 +141,20 @@ public class RedisDynamicTableFactory implements DynamicTableSourceFactory, Dyna
     }
 
     private RedisLookupOptions getJdbcLookupOptions(ReadableConfig readableConfig) {
-        return new RedisLookupOptions(readableConfig.get(LOOKUP_CACHE_MAX_ROWS),
-                readableConfig.get(LOOKUP_CACHE_TTL),
-                readableConfig.get(LOOKUP_MAX_RETRIES), readableConfig.get(LOOKUP_ASYNC));
+        int asyncBatchSize = readableConfig.get(LOOKUP_ASYNC_BATCH_SIZE);
+        int asyncMaxInflight = readableConfig.get(LOOKUP_ASYNC_MAX_INFLIGHT);
+        checkState(asyncBatchSize > 0, "The value of " + LOOKUP_ASYNC_BATCH_SIZE.key() + " must be positive");
+        checkState(asyncMaxInflight > 0, "The value of " + LOOKUP_ASYNC_MAX_INFLIGHT.key() + " must be positive");
+        return RedisLookupOptions.builder()
+                .setCacheMaxSize(readableConfig.get(LOOKUP_CACHE_MAX_ROWS))
+                .setCacheExpireMs(readableConfig.get(LOOKUP_CACHE_TTL))
+                .setMaxRetryTimes(readableConfig.get(LOOKUP_MAX_RETRIES))
+                .setLookupAsync(readableConfig.get(LOOKUP_ASYNC))
+                .setAsyncBatchSize(asyncBatchSize)
+                .setAsyncMaxInflight(asyncMaxInflight)
+                .setCacheMissingKey(readableConfig.get(LOOKUP_CACHE_MISSING_KEY))
+                .setCacheRefreshAheadMs(readableConfig.get(LOOKUP_CACHE_REFRESH_AHEAD))
+                .build();
     }
 
     @Override
@@ -204,6 +219,10 @@ public class RedisDynamicTableFactory implements DynamicTableSourceFactory, Dyna
         options.add(RedisOptions.MINIDLE);
         options.add(RedisOptions.REDIS_MASTER_NAME);
         options.add(LOOKUP_ASYNC);
+        options.add(LOOKUP_ASYNC_BATCH_SIZE);
+        options.add(LOOKUP_ASYNC_MAX_INFLIGHT);
+        options.add(LOOKUP_CACHE_MISSING_KEY);
+        options.add(LOOKUP_CACHE_REFRESH_AHEAD);
         options.add(LOOKUP_CACHE_MAX_ROWS);
         options.add(LOOKUP_CACHE_TTL);
         options.add(LOOKUP_MAX_RETRIES);
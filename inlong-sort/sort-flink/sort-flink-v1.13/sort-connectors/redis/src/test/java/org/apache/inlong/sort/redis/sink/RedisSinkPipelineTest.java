@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.redis.sink;
+
+import org.apache.inlong.sort.redis.common.schema.StateEncoder;
+
+import org.apache.flink.api.java.tuple.Tuple3;
+import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.streaming.api.operators.StreamSink;
+import org.apache.flink.streaming.connectors.redis.common.config.FlinkJedisPoolConfig;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.NetUtils;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import redis.clients.jedis.Jedis;
+import redis.embedded.RedisServer;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Test for the pipelined writes of {@link AbstractRedisSinkFunction}
+ */
+public class RedisSinkPipelineTest {
+
+    private static int redisPort;
+
+    private static RedisServer redisServer;
+
+    private Jedis jedis;
+
+    @BeforeClass
+    public static void setup() {
+        redisPort = NetUtils.getAvailablePort();
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @Before
+    public void prepare() {
+        jedis = new Jedis("localhost", redisPort);
+        jedis.flushAll();
+    }
+
+    @Test
+    public void testFlushBatchInOrder() throws Exception {
+        try (OneInputStreamOperatorTestHarness<RowData, Object> harness = createHarness(3)) {
+            harness.open();
+            harness.processElement(createRow(RowKind.INSERT, "k1", "v1"), 1L);
+            harness.processElement(createRow(RowKind.INSERT, "k2", "v2"), 2L);
+            // the delete is written after the insert of the same key in the pipeline
+            harness.processElement(createRow(RowKind.DELETE, "k1", "v1"), 3L);
+
+            await().atMost(20, TimeUnit.SECONDS).untilAsserted(() -> {
+                assertEquals("v2", jedis.get("k2"));
+                assertNull(jedis.get("k1"));
+            });
+        }
+    }
+
+    @Test
+    public void testCheckpointWritesBufferedRows() throws Exception {
+        OperatorSubtaskState state;
+        try (OneInputStreamOperatorTestHarness<RowData, Object> harness = createHarness(100)) {
+            harness.open();
+            harness.processElement(createRow(RowKind.INSERT, "k1", "v1"), 1L);
+            harness.processElement(createRow(RowKind.INSERT, "k2", "v2"), 2L);
+            assertNull(jedis.get("k1"));
+
+            // the checkpoint completes only after the buffered rows are written
+            state = harness.snapshot(1L, 3L);
+            assertEquals("v1", jedis.get("k1"));
+            assertEquals("v2", jedis.get("k2"));
+        }
+
+        // the written rows are not kept in state, so they are not replayed after restore
+        jedis.flushAll();
+        try (OneInputStreamOperatorTestHarness<RowData, Object> harness = createHarness(100)) {
+            harness.initializeState(state);
+            harness.open();
+            harness.processElement(createRow(RowKind.INSERT, "k3", "v3"), 4L);
+        }
+        assertNull(jedis.get("k1"));
+        assertNull(jedis.get("k2"));
+        assertEquals("v3", jedis.get("k3"));
+    }
+
+    private OneInputStreamOperatorTestHarness<RowData, Object> createHarness(long batchSize) throws Exception {
+        FlinkJedisPoolConfig jedisConfig = new FlinkJedisPoolConfig.Builder()
+                .setHost("localhost")
+                .setPort(redisPort)
+                .build();
+        StateEncoder<Tuple3<Boolean, String, String>> stateEncoder = (in, serializationSchema) -> Collections
+                .singletonList(Tuple3.of(in.getRowKind() != RowKind.DELETE,
+                        in.getString(0).toString(), in.getString(1).toString()));
+        RedisPlainSinkFunction sinkFunction = new RedisPlainSinkFunction(
+                row -> new byte[0],
+                stateEncoder,
+                batchSize,
+                Duration.ZERO,
+                1024L,
+                Duration.ZERO,
+                jedisConfig,
+                null,
+                null);
+        return new OneInputStreamOperatorTestHarness<>(new StreamSink<>(sinkFunction));
+    }
+
+    private RowData createRow(RowKind rowKind, String key, String value) {
+        GenericRowData row = GenericRowData.of(StringData.fromString(key), StringData.fromString(value));
+        row.setRowKind(rowKind);
+        return row;
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.inlong.sort.redis.source;
+
+import org.apache.inlong.sort.redis.common.config.RedisLookupOptions;
+import org.apache.inlong.sort.redis.common.mapper.RedisCommand;
+import org.apache.inlong.sort.redis.common.mapper.RedisCommandDescription;
+
+import org.apache.flink.api.common.functions.util.ListCollector;
+import org.apache.flink.streaming.connectors.redis.common.config.FlinkJedisPoolConfig;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.util.NetUtils;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.embedded.RedisServer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link RedisRowDataAsyncLookupFunction}
+ */
+public class RedisRowDataAsyncLookupFunctionTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RedisRowDataAsyncLookupFunctionTest.class);
+
+    private static final int KEY_COUNT = 2000;
+
+    private static int redisPort;
+
+    private static RedisServer redisServer;
+
+    private Jedis jedis;
+
+    @BeforeClass
+    public static void setup() {
+        redisPort = NetUtils.getAvailablePort();
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @Before
+    public void prepare() {
+        jedis = new Jedis("localhost", redisPort);
+        jedis.flushAll();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            jedis.set("k" + i, "v" + i);
+            jedis.hset("hash", "f" + i, "hv" + i);
+            jedis.zadd("zset", i, "m" + i);
+        }
+    }
+
+    @Test
+    public void testLookupSameAsSync() throws Exception {
+        for (RedisCommand command : new RedisCommand[]{RedisCommand.GET, RedisCommand.HGET,
+                RedisCommand.ZSCORE, RedisCommand.ZREVRANK}) {
+            String prefix = command == RedisCommand.GET ? "k" : command == RedisCommand.HGET ? "f" : "m";
+            String additionalKey = command == RedisCommand.HGET ? "hash" : "zset";
+            RedisLookupOptions options = RedisLookupOptions.builder().setAsyncBatchSize(16).build();
+            List<String> keys = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                keys.add(prefix + i);
+            }
+            keys.add("missing");
+            assertEquals(syncLookup(command, additionalKey, options, keys),
+                    asyncLookup(command, additionalKey, options, keys));
+        }
+    }
+
+    @Test
+    public void testNegativeCache() throws Exception {
+        RedisLookupOptions options = RedisLookupOptions.builder()
+                .setCacheMaxSize(100)
+                .setCacheExpireMs(60000)
+                .build();
+        RedisRowDataAsyncLookupFunction function = createAsyncFunction(RedisCommand.GET, null, options);
+        function.open(new FunctionContext(null));
+        try {
+            assertNull(lookup(function, "absent").getString(1));
+            jedis.set("absent", "present");
+            // the missing key is cached
+            assertNull(lookup(function, "absent").getString(1));
+        } finally {
+            function.close();
+        }
+
+        options = RedisLookupOptions.builder()
+                .setCacheMaxSize(100)
+                .setCacheExpireMs(60000)
+                .setCacheMissingKey(false)
+                .build();
+        function = createAsyncFunction(RedisCommand.GET, null, options);
+        function.open(new FunctionContext(null));
+        try {
+            assertNull(lookup(function, "absent2").getString(1));
+            jedis.set("absent2", "present");
+            assertEquals("present", lookup(function, "absent2").getString(1).toString());
+        } finally {
+            function.close();
+        }
+    }
+
+    @Test
+    public void testRefreshAhead() throws Exception {
+        RedisLookupOptions options = RedisLookupOptions.builder()
+                .setCacheMaxSize(100)
+                .setCacheExpireMs(60000)
+                .setCacheRefreshAheadMs(10)
+                .build();
+        RedisRowDataAsyncLookupFunction function = createAsyncFunction(RedisCommand.GET, null, options);
+        function.open(new FunctionContext(null));
+        try {
+            assertEquals("v1", lookup(function, "k1").getString(1).toString());
+            jedis.set("k1", "new");
+            Thread.sleep(20);
+            // the stale row is served while it is refreshed in background
+            assertEquals("v1", lookup(function, "k1").getString(1).toString());
+            await().atMost(10, TimeUnit.SECONDS).untilAsserted(
+                    () -> assertEquals("new", lookup(function, "k1").getString(1).toString()));
+        } finally {
+            function.close();
+        }
+    }
+
+    @Test
+    public void testThroughputComparedWithSync() throws Exception {
+        RedisLookupOptions options = RedisLookupOptions.builder().build();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys.add("k" + i);
+        }
+        // warm up
+        syncLookup(RedisCommand.GET, null, options, keys);
+        asyncLookup(RedisCommand.GET, null, options, keys);
+
+        long start = System.nanoTime();
+        List<RowData> syncRows = syncLookup(RedisCommand.GET, null, options, keys);
+        long syncCost = System.nanoTime() - start;
+        start = System.nanoTime();
+        List<RowData> asyncRows = asyncLookup(RedisCommand.GET, null, options, keys);
+        long asyncCost = System.nanoTime() - start;
+        LOG.info("Looked up {} keys, sync lookup cost {}ms, async lookup cost {}ms", keys.size(),
+                TimeUnit.NANOSECONDS.toMillis(syncCost), TimeUnit.NANOSECONDS.toMillis(asyncCost));
+        assertEquals(syncRows, asyncRows);
+    }
+
+    private List<RowData> syncLookup(RedisCommand command, String additionalKey, RedisLookupOptions options,
+            List<String> keys) throws Exception {
+        RedisRowDataLookupFunction function = new RedisRowDataLookupFunction(
+                new RedisCommandDescription(command, additionalKey, null), poolConfig(), options);
+        List<RowData> rows = new ArrayList<>();
+        function.setCollector(new ListCollector<>(rows));
+        function.open(new FunctionContext(null));
+        try {
+            for (String key : keys) {
+                function.eval(StringData.fromString(key));
+            }
+        } finally {
+            function.close();
+        }
+        return rows;
+    }
+
+    private List<RowData> asyncLookup(RedisCommand command, String additionalKey, RedisLookupOptions options,
+            List<String> keys) throws Exception {
+        RedisRowDataAsyncLookupFunction function = createAsyncFunction(command, additionalKey, options);
+        function.open(new FunctionContext(null));
+        try {
+            List<CompletableFuture<Collection<RowData>>> futures = new ArrayList<>();
+            for (String key : keys) {
+                CompletableFuture<Collection<RowData>> future = new CompletableFuture<>();
+                function.eval(future, StringData.fromString(key));
+                futures.add(future);
+            }
+            List<RowData> rows = new ArrayList<>();
+            for (CompletableFuture<Collection<RowData>> future : futures) {
+                rows.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+            return rows;
+        } finally {
+            function.close();
+        }
+    }
+
+    private RedisRowDataAsyncLookupFunction createAsyncFunction(RedisCommand command, String additionalKey,
+            RedisLookupOptions options) {
+        return new RedisRowDataAsyncLookupFunction(
+                new RedisCommandDescription(command, additionalKey, null), poolConfig(), options);
+    }
+
+    private static GenericRowData lookup(RedisRowDataAsyncLookupFunction function, String key) throws Exception {
+        CompletableFuture<Collection<RowData>> future = new CompletableFuture<>();
+        function.eval(future, StringData.fromString(key));
+        return (GenericRowData) future.get(30, TimeUnit.SECONDS).iterator().next();
+    }
+
+    private static FlinkJedisPoolConfig poolConfig() {
+        return new FlinkJedisPoolConfig.Builder()
+                .setHost("localhost")
+                .setPort(redisPort)
+                .build();
+    }
+}
@@ -28,7 +28,7 @@ import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPut;
-import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.AbstractHttpEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.DefaultRedirectStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
@@ -37,11 +37,15 @@ import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -49,6 +53,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 public class StarRocksStreamLoadVisitor implements Serializable {
 
@@ -69,6 +74,12 @@ public class StarRocksStreamLoadVisitor implements Serializable {
     private static final String RESULT_LABEL_PREPARE = "PREPARE";
     private static final String RESULT_LABEL_ABORTED = "ABORTED";
     private static final String RESULT_LABEL_UNKNOWN = "UNKNOWN";
+    private static final String COMPRESSION_KEY = "compression";
+    private static final String COMPRESSION_GZIP = "gzip";
+    private static final byte[] JSON_ARRAY_START = "[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_ARRAY_DELIMITER = ",".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_ARRAY_END = "]".getBytes(StandardCharsets.UTF_8);
+    private static final int BODY_BUFFER_SIZE = 64 * 1024;
 
     public StarRocksStreamLoadVisitor(StarRocksSinkOptions sinkOptions,
             String[] fieldNames,
@@ -76,6 +87,11 @@ public class StarRocksStreamLoadVisitor implements Serializable {
         this.fieldNames = fieldNames;
         this.sinkOptions = sinkOptions;
         this.opAutoProjectionInJson = opAutoProjectionInJson;
+        String compression = sinkOptions.getSinkStreamLoadProperties().get(COMPRESSION_KEY);
+        if (compression != null && !COMPRESSION_GZIP.equalsIgnoreCase(compression)) {
+            throw new IllegalArgumentException(String.format("Unsupported %s: %s, only '%s' is supported",
+                    COMPRESSION_KEY, compression, COMPRESSION_GZIP));
+        }
     }
 
     public Map<String, Object> doStreamLoad(SinkBufferEntity bufferEntity) throws IOException {
@@ -87,7 +103,7 @@ public class StarRocksStreamLoadVisitor implements Serializable {
                 .append(bufferEntity.getTable()).append("/_stream_load").toString();
         LOG.info(String.format("Start to join batch data: label[%s].", bufferEntity.getLabel()));
         Map<String, Object> loadResult = doHttpPut(loadUrl, bufferEntity.getLabel(),
-                joinRows(bufferEntity.getBuffer(), (int) bufferEntity.getBatchSize()));
+                new RowsEntity(bufferEntity.getBuffer(), bufferEntity.getBatchSize()));
         final String keyStatus = "Status";
         if (null == loadResult || !loadResult.containsKey(keyStatus)) {
             throw new IOException(
@@ -222,40 +238,48 @@ public class StarRocksStreamLoadVisitor implements Serializable {
         }
     }
 
-    private byte[] joinRows(List<byte[]> rows, int totalBytes) throws IOException {
+    /**
+     * Write the rows as the body of a stream load, the rows are framed and optionally compressed while they
+     * are written, so that a batch is not copied into one big array before it is sent.
+     *
+     * @param rows The rows
+     * @param out The output stream
+     * @throws IOException The exception may be thrown when writing
+     */
+    private void writeRows(List<byte[]> rows, OutputStream out) throws IOException {
+        boolean compressed = COMPRESSION_GZIP.equalsIgnoreCase(
+                sinkOptions.getSinkStreamLoadProperties().get(COMPRESSION_KEY));
+        OutputStream body = compressed ? new GZIPOutputStream(new NonClosingOutputStream(out), BODY_BUFFER_SIZE) : out;
         if (StarRocksSinkOptions.StreamLoadFormat.CSV.equals(sinkOptions.getStreamLoadFormat())) {
             byte[] lineDelimiter = StarRocksDelimiterParser.parse(
                     sinkOptions.getSinkStreamLoadProperties().get("row_delimiter"), "\n")
                     .getBytes(StandardCharsets.UTF_8);
-            ByteBuffer bos = ByteBuffer.allocate(totalBytes + rows.size() * lineDelimiter.length);
             for (byte[] row : rows) {
-                bos.put(row);
-                bos.put(lineDelimiter);
+                body.write(row);
+                body.write(lineDelimiter);
             }
-            return bos.array();
-        }
-
-        if (StarRocksSinkOptions.StreamLoadFormat.JSON.equals(sinkOptions.getStreamLoadFormat())) {
-            ByteBuffer bos = ByteBuffer.allocate(totalBytes + (rows.isEmpty() ? 2 : rows.size() + 1));
-            bos.put("[".getBytes(StandardCharsets.UTF_8));
-            byte[] jsonDelimiter = ",".getBytes(StandardCharsets.UTF_8);
+        } else if (StarRocksSinkOptions.StreamLoadFormat.JSON.equals(sinkOptions.getStreamLoadFormat())) {
+            body.write(JSON_ARRAY_START);
             boolean isFirstElement = true;
             for (byte[] row : rows) {
                 if (!isFirstElement) {
-                    bos.put(jsonDelimiter);
+                    body.write(JSON_ARRAY_DELIMITER);
                 }
-                bos.put(row);
+                body.write(row);
                 isFirstElement = false;
             }
-            bos.put("]".getBytes(StandardCharsets.UTF_8));
-            return bos.array();
+            body.write(JSON_ARRAY_END);
+        } else {
+            throw new RuntimeException("Failed to join rows data, unsupported `format` from stream load properties:");
+        }
+        if (compressed) {
+            body.close();
         }
-        throw new RuntimeException("Failed to join rows data, unsupported `format` from stream load properties:");
     }
 
     @SuppressWarnings("unchecked")
-    private Map<String, Object> doHttpPut(String loadUrl, String label, byte[] data) throws IOException {
-        LOG.info(String.format("Executing stream load to: '%s', size: '%s', thread: %d", loadUrl, data.length,
+    private Map<String, Object> doHttpPut(String loadUrl, String label, RowsEntity data) throws IOException {
+        LOG.info(String.format("Executing stream load to: '%s', size: '%s', thread: %d", loadUrl, data.rowsSize,
                 Thread.currentThread().getId()));
         final HttpClientBuilder httpClientBuilder = HttpClients.custom()
                 .setRedirectStrategy(new DefaultRedirectStrategy() {
@@ -288,7 +312,7 @@ public class StarRocksStreamLoadVisitor implements Serializable {
             httpPut.setHeader("label", label);
             httpPut.setHeader("Authorization",
                     getBasicAuthHeader(sinkOptions.getUsername(), sinkOptions.getPassword()));
-            httpPut.setEntity(new ByteArrayEntity(data));
+            httpPut.setEntity(data);
             httpPut.setConfig(RequestConfig.custom().setRedirectsEnabled(true).build());
             try (CloseableHttpResponse resp = httpclient.execute(httpPut)) {
                 HttpEntity respEntity = getHttpEntity(resp);
@@ -306,6 +330,68 @@ public class StarRocksStreamLoadVisitor implements Serializable {
         return new StringBuilder("Basic ").append(new String(encodedAuth)).toString();
     }
 
+    /**
+     * A repeatable entity that streams the rows of a buffer with chunked transfer encoding
+     */
+    private class RowsEntity extends AbstractHttpEntity {
+
+        private final List<byte[]> rows;
+        private final long rowsSize;
+
+        private RowsEntity(List<byte[]> rows, long rowsSize) {
+            this.rows = rows;
+            this.rowsSize = rowsSize;
+            setChunked(true);
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        @Override
+        public long getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writeTo(out);
+            return new ByteArrayInputStream(out.toByteArray());
+        }
+
+        @Override
+        public void writeTo(OutputStream outStream) throws IOException {
+            writeRows(rows, outStream);
+        }
+
+        @Override
+        public boolean isStreaming() {
+            return false;
+        }
+    }
+
+    /**
+     * Keeps the connection stream open when the gzip stream on top of it is finished
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        private NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
     private HttpEntity getHttpEntity(CloseableHttpResponse resp) {
         int code = resp.getStatusLine().getStatusCode();
         if (200 != code) {